@@ -0,0 +1,336 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+
+/**
+ * An asynchronous sink for the TRACE and DEBUG log entries of {@link Audit} instances, which decouples the latency of the
+ * {@link Logger}'s appenders from the latency of the audited JDBC calls. Log entries are published to a bounded, lock-free,
+ * multi-producer single-consumer ring buffer of pre-allocated events, which is drained in batches by a single background thread.
+ * <p>
+ * When the ring buffer is full, the {@link OverflowPolicy} of the sink determines whether the publishing thread drops the entry,
+ * samples the entries, or blocks until space is available. The number of dropped entries is available via {@link #getDropped()}.
+ * <p>
+ * Log entries are rendered on the publishing thread, because the state they render (such as the bound parameters of an
+ * {@link AuditPreparedStatement}) is reused by the publishing thread as soon as the entry is published.
+ *
+ * @see Audit#setAsyncSink(AsyncAuditSink)
+ */
+public final class AsyncAuditSink implements AutoCloseable {
+  /**
+   * The policy that determines the behavior of {@link AsyncAuditSink} when its ring buffer is full.
+   */
+  public enum OverflowPolicy {
+    /** Drop the log entry being published. */
+    DROP,
+    /**
+     * Once the ring buffer is more than half full, admit only every n-th log entry (as specified by the sample rate of the sink),
+     * dropping the others. When the ring buffer is full, drop the log entry being published.
+     */
+    SAMPLE,
+    /** Block the publishing thread until the background thread has made space available in the ring buffer. */
+    BLOCK
+  }
+
+  private static final class Event {
+    private volatile long sequence;
+    private Logger logger;
+    private boolean debug;
+    private String message;
+
+    private Event(final long sequence) {
+      this.sequence = sequence;
+    }
+  }
+
+  private static final long idleParkNanos = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final long blockParkNanos = TimeUnit.MICROSECONDS.toNanos(50);
+
+  private final Event[] events;
+  private final int mask;
+  private final int batchSize;
+  private final OverflowPolicy overflowPolicy;
+  private final int sampleRate;
+  private final AtomicLong tail = new AtomicLong();
+  private final AtomicLong sample = new AtomicLong();
+  private final AtomicInteger producers = new AtomicInteger();
+  private final LongAdder published = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+  private final Thread thread;
+  private volatile long head;
+  private volatile boolean closed;
+
+  /**
+   * Creates a new {@link AsyncAuditSink} with the provided parameters, and starts its background thread.
+   *
+   * @param capacity The capacity of the ring buffer, which is rounded up to the next power of 2.
+   * @param batchSize The maximum number of log entries drained by the background thread before it re-checks whether it is closed.
+   * @param overflowPolicy The {@link OverflowPolicy} that determines the behavior of this sink when its ring buffer is full.
+   * @param sampleRate The rate at which log entries are admitted under {@link OverflowPolicy#SAMPLE} once the ring buffer is more
+   *          than half full, i.e. {@code 1} in {@code sampleRate} log entries are admitted. Ignored for the other policies.
+   * @throws IllegalArgumentException If {@code capacity}, {@code batchSize} or {@code sampleRate} is not positive, or if
+   *           {@code capacity} is greater than {@code 2^30}.
+   * @throws NullPointerException If {@code overflowPolicy} is null.
+   */
+  public AsyncAuditSink(final int capacity, final int batchSize, final OverflowPolicy overflowPolicy, final int sampleRate) {
+    if (capacity <= 0 || capacity > 1 << 30)
+      throw new IllegalArgumentException("capacity (" + capacity + ") must be in (0, 2^30]");
+
+    if (batchSize <= 0)
+      throw new IllegalArgumentException("batchSize (" + batchSize + ") must be positive");
+
+    if (sampleRate <= 0)
+      throw new IllegalArgumentException("sampleRate (" + sampleRate + ") must be positive");
+
+    this.overflowPolicy = Objects.requireNonNull(overflowPolicy);
+    final int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    this.events = new Event[size];
+    for (int i = 0; i < size; ++i) // [A]
+      events[i] = new Event(i);
+
+    this.mask = size - 1;
+    this.batchSize = batchSize;
+    this.sampleRate = sampleRate;
+    this.thread = new Thread(this::run, AsyncAuditSink.class.getSimpleName());
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  /**
+   * Creates a new {@link AsyncAuditSink} with the provided {@code capacity} and {@link OverflowPolicy#DROP}, and starts its
+   * background thread.
+   *
+   * @param capacity The capacity of the ring buffer, which is rounded up to the next power of 2.
+   * @throws IllegalArgumentException If {@code capacity} is not positive, or is greater than {@code 2^30}.
+   */
+  public AsyncAuditSink(final int capacity) {
+    this(capacity, 256, OverflowPolicy.DROP, 1);
+  }
+
+  /**
+   * Returns the capacity of the ring buffer of this sink.
+   *
+   * @return The capacity of the ring buffer of this sink.
+   */
+  public int getCapacity() {
+    return events.length;
+  }
+
+  /**
+   * Returns the {@link OverflowPolicy} of this sink.
+   *
+   * @return The {@link OverflowPolicy} of this sink.
+   */
+  public OverflowPolicy getOverflowPolicy() {
+    return overflowPolicy;
+  }
+
+  /**
+   * Returns the number of log entries that have been published to this sink.
+   *
+   * @return The number of log entries that have been published to this sink.
+   */
+  public long getPublished() {
+    return published.sum();
+  }
+
+  /**
+   * Returns the number of log entries that have been dropped by this sink, due to its {@link OverflowPolicy}, or due to the sink
+   * having been closed.
+   *
+   * @return The number of log entries that have been dropped by this sink.
+   */
+  public long getDropped() {
+    return dropped.sum();
+  }
+
+  /**
+   * Returns the number of log entries that are currently pending in the ring buffer of this sink.
+   *
+   * @return The number of log entries that are currently pending in the ring buffer of this sink.
+   */
+  public int getPending() {
+    return (int)Math.max(0, tail.get() - head);
+  }
+
+  /**
+   * Publishes the provided {@code detail} to be logged to the provided {@link Logger} at the TRACE level.
+   *
+   * @param logger The {@link Logger}.
+   * @param detail The log entry.
+   * @return {@code true} if the log entry was published, or {@code false} if it was dropped.
+   * @throws NullPointerException If {@code logger} or {@code detail} is null.
+   */
+  public boolean trace(final Logger logger, final CharSequence detail) {
+    return publish(logger, false, detail);
+  }
+
+  /**
+   * Publishes the provided {@code detail} to be logged to the provided {@link Logger} at the DEBUG level.
+   *
+   * @param logger The {@link Logger}.
+   * @param detail The log entry.
+   * @return {@code true} if the log entry was published, or {@code false} if it was dropped.
+   * @throws NullPointerException If {@code logger} or {@code detail} is null.
+   */
+  public boolean debug(final Logger logger, final CharSequence detail) {
+    return publish(logger, true, detail);
+  }
+
+  private boolean publish(final Logger logger, final boolean debug, final CharSequence detail) {
+    // A producer is registered before it checks whether the sink is closed, so that close() can wait for it to publish or drop
+    producers.incrementAndGet();
+    try {
+      return publish0(logger, debug, detail);
+    }
+    finally {
+      producers.decrementAndGet();
+    }
+  }
+
+  private boolean publish0(final Logger logger, final boolean debug, final CharSequence detail) {
+    if (closed) {
+      dropped.increment();
+      return false;
+    }
+
+    if (overflowPolicy == OverflowPolicy.SAMPLE && getPending() > (mask >> 1) && sample.getAndIncrement() % sampleRate != 0) {
+      dropped.increment();
+      return false;
+    }
+
+    final String message = detail.toString();
+    while (!offer(logger, debug, message)) {
+      if (overflowPolicy != OverflowPolicy.BLOCK || closed) {
+        dropped.increment();
+        return false;
+      }
+
+      LockSupport.parkNanos(this, blockParkNanos);
+    }
+
+    published.increment();
+    return true;
+  }
+
+  private boolean offer(final Logger logger, final boolean debug, final String message) {
+    final Event[] events = this.events;
+    for (long pos = tail.get();;) {
+      final Event event = events[(int)pos & mask];
+      final long dif = event.sequence - pos;
+      if (dif == 0) {
+        if (tail.compareAndSet(pos, pos + 1)) {
+          event.logger = logger;
+          event.debug = debug;
+          event.message = message;
+          event.sequence = pos + 1;
+          return true;
+        }
+
+        pos = tail.get();
+      }
+      else if (dif < 0) {
+        return false;
+      }
+      else {
+        pos = tail.get();
+      }
+    }
+  }
+
+  private int drain() {
+    final Event[] events = this.events;
+    long pos = head;
+    int count = 0;
+    for (; count < batchSize; ++count, ++pos) {
+      final Event event = events[(int)pos & mask];
+      if (event.sequence != pos + 1)
+        break;
+
+      final Logger logger = event.logger;
+      final boolean debug = event.debug;
+      final String message = event.message;
+      event.logger = null;
+      event.message = null;
+      event.sequence = pos + events.length;
+      head = pos + 1;
+
+      try {
+        if (debug)
+          logger.debug(message);
+        else
+          logger.trace(message);
+      }
+      catch (final RuntimeException e) {
+        // Do not let a failing appender kill the background thread
+      }
+    }
+
+    return count;
+  }
+
+  private void run() {
+    while (!closed)
+      if (drain() == 0)
+        LockSupport.parkNanos(this, idleParkNanos);
+
+    // Producers that observed the sink as open may still be publishing to the slots they claimed, so drain until none remain
+    for (;;) {
+      final boolean quiescent = producers.get() == 0;
+      if (drain() == 0) {
+        if (quiescent && head == tail.get())
+          return;
+
+        LockSupport.parkNanos(this, blockParkNanos);
+      }
+    }
+  }
+
+  /**
+   * Closes this sink, draining the log entries that are pending in its ring buffer before returning. Log entries that are being
+   * published concurrently with this method are either drained before it returns, or dropped, so that every log entry counted by
+   * {@link #getPublished()} is logged. Log entries published after this method is called are dropped. If the calling thread is
+   * interrupted while waiting for the background thread to drain the ring buffer, this method continues to wait, and returns with the
+   * interrupt status of the calling thread set.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    LockSupport.unpark(thread);
+    boolean interrupted = false;
+    for (;;) {
+      try {
+        thread.join();
+        break;
+      }
+      catch (final InterruptedException e) {
+        interrupted = true;
+      }
+    }
+
+    if (interrupted)
+      Thread.currentThread().interrupt();
+  }
+}
\ No newline at end of file
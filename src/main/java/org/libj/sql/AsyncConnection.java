@@ -0,0 +1,475 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A {@link DelegateConnection} that executes statements asynchronously, returning {@link CompletableFuture}s, so that callers do not
+ * block while the driver waits for the database.
+ * <p>
+ * The statements that are created by this connection are {@link AsyncStatement}s and {@link AsyncPreparedStatement}s, which provide
+ * {@code executeQueryAsync}, {@code executeUpdateAsync} and {@code executeBatchAsync} methods. Arbitrary work can be submitted with
+ * {@link #submit(Callable)}.
+ * <p>
+ * Since a {@link Connection} is not safe for concurrent use, the asynchronous tasks of a connection are executed one at a time, in
+ * the order in which they were submitted, on the threads of an {@link Executor}. The tasks of different connections run in parallel.
+ * By default, the {@link Executor} is a shared, unbounded pool of daemon threads: the number of threads that are blocked in the
+ * driver is bounded by the number of connections with outstanding tasks.
+ * <p>
+ * The synchronous methods that create statements, control the transaction, execute statements, or close the connection or its
+ * statements are serialized with the asynchronous tasks: they are called after the tasks that were submitted before them, and block
+ * until they have been called. If the connection has no outstanding tasks, they are called on the calling thread. The parameters
+ * and batches of a statement are captured when its execution is submitted, so that a later {@code setXXX} or {@code addBatch} does
+ * not change an execution that is still pending.
+ * <p>
+ * <b>Note:</b> The other synchronous methods, such as the getters and setters of the properties of the connection and its
+ * statements, are delegated directly, and must not be called while tasks of the connection are outstanding. A
+ * {@link java.sql.ResultSet} returned by {@code executeQueryAsync} must be consumed before the next task of the connection is
+ * submitted, or otherwise within a task submitted with {@link #submit(Callable)}.
+ */
+public class AsyncConnection implements DelegateConnection {
+  private static ExecutorService defaultExecutor;
+
+  private static synchronized Executor getDefaultExecutor() {
+    if (defaultExecutor == null) {
+      defaultExecutor = Executors.newCachedThreadPool((final Runnable r) -> {
+        final Thread thread = new Thread(r, AsyncConnection.class.getSimpleName());
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+
+    return defaultExecutor;
+  }
+
+  private final Connection target;
+  private final Executor executor;
+  private final ArrayDeque<Task<?>> tasks = new ArrayDeque<>();
+  private boolean running;
+  private volatile Thread runner;
+
+  /**
+   * Creates a new {@link AsyncConnection} with the specified {@code target} to which all method calls will be delegated, and which
+   * executes its asynchronous tasks on the threads of the provided {@link Executor}.
+   *
+   * @param target The {@link Connection} to which all method calls will be delegated.
+   * @param executor The {@link Executor} on which to execute the asynchronous tasks.
+   * @throws NullPointerException If the target {@link Connection} or the {@link Executor} is null.
+   */
+  public AsyncConnection(final Connection target, final Executor executor) {
+    if (target == null)
+      throw new NullPointerException("target is null");
+
+    if (executor == null)
+      throw new NullPointerException("executor is null");
+
+    this.target = target;
+    this.executor = executor;
+  }
+
+  /**
+   * Creates a new {@link AsyncConnection} with the specified {@code target} to which all method calls will be delegated, and which
+   * executes its asynchronous tasks on a shared pool of daemon threads.
+   *
+   * @param target The {@link Connection} to which all method calls will be delegated.
+   * @throws NullPointerException If the target {@link Connection} is null.
+   */
+  public AsyncConnection(final Connection target) {
+    this(target, getDefaultExecutor());
+  }
+
+  @Override
+  public Connection getTarget() {
+    return target;
+  }
+
+  /**
+   * Returns the {@link Executor} on which the asynchronous tasks of this connection are executed.
+   *
+   * @return The {@link Executor} on which the asynchronous tasks of this connection are executed.
+   */
+  public Executor getExecutor() {
+    return executor;
+  }
+
+  private void runNext() {
+    final Task<?> task;
+    synchronized (tasks) {
+      task = tasks.poll();
+      if (task == null) {
+        running = false;
+        return;
+      }
+    }
+
+    runner = Thread.currentThread();
+    try {
+      task.run();
+    }
+    finally {
+      runner = null;
+      schedule();
+    }
+  }
+
+  private void schedule() {
+    synchronized (tasks) {
+      if (tasks.isEmpty()) {
+        running = false;
+        return;
+      }
+
+      running = true;
+    }
+
+    try {
+      executor.execute(this::runNext);
+    }
+    catch (final RejectedExecutionException e) {
+      final Task<?>[] rejected;
+      synchronized (tasks) {
+        running = false;
+        rejected = tasks.toArray(new Task<?>[tasks.size()]);
+        tasks.clear();
+      }
+
+      for (final Task<?> task : rejected) // [A]
+        task.future.completeExceptionally(e);
+    }
+  }
+
+  private static final class Task<T> implements Runnable {
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+    private final Callable<T> callable;
+
+    private Task(final Callable<T> callable) {
+      this.callable = callable;
+    }
+
+    @Override
+    public void run() {
+      if (future.isDone())
+        return;
+
+      try {
+        future.complete(callable.call());
+      }
+      catch (final Throwable t) {
+        future.completeExceptionally(t);
+      }
+    }
+  }
+
+  /**
+   * Submits the provided {@link Callable} to be called after the tasks of this connection that were submitted before it, and returns
+   * a {@link CompletableFuture} of its result. If the returned future is cancelled before the task starts, the task is skipped.
+   *
+   * @param <T> The type of the result.
+   * @param callable The {@link Callable} to call.
+   * @return A {@link CompletableFuture} of the result of the provided {@link Callable}.
+   * @throws NullPointerException If {@code callable} is null.
+   */
+  public <T> CompletableFuture<T> submit(final Callable<T> callable) {
+    if (callable == null)
+      throw new NullPointerException("callable is null");
+
+    final Task<T> task = new Task<>(callable);
+    final boolean idle;
+    synchronized (tasks) {
+      tasks.add(task);
+      idle = !running;
+      if (idle)
+        running = true;
+    }
+
+    if (idle) {
+      try {
+        executor.execute(this::runNext);
+      }
+      catch (final RejectedExecutionException e) {
+        synchronized (tasks) {
+          running = false;
+          tasks.remove(task);
+        }
+
+        task.future.completeExceptionally(e);
+      }
+    }
+
+    return task.future;
+  }
+
+  /**
+   * Calls the provided {@link Callable} after the tasks of this connection that were submitted before it, and returns its result. If
+   * this connection has no outstanding tasks, or if this method is called from a task of this connection, the {@link Callable} is
+   * called on the calling thread.
+   *
+   * @param <T> The type of the result.
+   * @param callable The {@link Callable} to call.
+   * @return The result of the provided {@link Callable}.
+   * @throws SQLException If the {@link Callable} throws an exception, or if the calling thread is interrupted while waiting.
+   */
+  <T> T call(final Callable<T> callable) throws SQLException {
+    final Thread thread = Thread.currentThread();
+    if (runner == thread)
+      return call0(callable);
+
+    final boolean idle;
+    synchronized (tasks) {
+      idle = !running;
+      if (idle)
+        running = true;
+    }
+
+    if (idle) {
+      runner = thread;
+      try {
+        return call0(callable);
+      }
+      finally {
+        runner = null;
+        schedule();
+      }
+    }
+
+    final CompletableFuture<T> future = submit(callable);
+    try {
+      return future.get();
+    }
+    catch (final ExecutionException e) {
+      throw toSQLException(e.getCause());
+    }
+    catch (final InterruptedException e) {
+      future.cancel(false);
+      thread.interrupt();
+      throw new SQLException("Interrupted while waiting for the tasks of the connection", "HY008", e);
+    }
+  }
+
+  private static <T> T call0(final Callable<T> callable) throws SQLException {
+    try {
+      return callable.call();
+    }
+    catch (final Exception e) {
+      throw toSQLException(e);
+    }
+  }
+
+  private static SQLException toSQLException(final Throwable t) {
+    if (t instanceof SQLException)
+      return (SQLException)t;
+
+    if (t instanceof RuntimeException)
+      throw (RuntimeException)t;
+
+    if (t instanceof Error)
+      throw (Error)t;
+
+    return new SQLException(t);
+  }
+
+  /**
+   * Submits the commit of the current transaction to be performed after the tasks of this connection that were submitted before it.
+   *
+   * @return A {@link CompletableFuture} that completes when the transaction is committed.
+   * @see Connection#commit()
+   */
+  public CompletableFuture<Void> commitAsync() {
+    return submit(() -> {
+      target.commit();
+      return null;
+    });
+  }
+
+  /**
+   * Submits the rollback of the current transaction to be performed after the tasks of this connection that were submitted before it.
+   *
+   * @return A {@link CompletableFuture} that completes when the transaction is rolled back.
+   * @see Connection#rollback()
+   */
+  public CompletableFuture<Void> rollbackAsync() {
+    return submit(() -> {
+      target.rollback();
+      return null;
+    });
+  }
+
+  /**
+   * Submits the closing of this connection to be performed after the tasks of this connection that were submitted before it.
+   *
+   * @return A {@link CompletableFuture} that completes when this connection is closed.
+   */
+  public CompletableFuture<Void> closeAsync() {
+    return submit(() -> {
+      close();
+      return null;
+    });
+  }
+
+  @Override
+  public AsyncStatement createStatement() throws SQLException {
+    return call(() -> new AsyncStatement(this, target.createStatement()));
+  }
+
+  @Override
+  public AsyncStatement createStatement(final int resultSetType, final int resultSetConcurrency) throws SQLException {
+    return call(() -> new AsyncStatement(this, target.createStatement(resultSetType, resultSetConcurrency)));
+  }
+
+  @Override
+  public AsyncStatement createStatement(final int resultSetType, final int resultSetConcurrency, final int resultSetHoldability) throws SQLException {
+    return call(() -> new AsyncStatement(this, target.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability)));
+  }
+
+  @Override
+  public AsyncPreparedStatement prepareStatement(final String sql) throws SQLException {
+    return call(() -> new AsyncPreparedStatement(this, target.prepareStatement(sql)));
+  }
+
+  @Override
+  public AsyncPreparedStatement prepareStatement(final String sql, final int resultSetType, final int resultSetConcurrency) throws SQLException {
+    return call(() -> new AsyncPreparedStatement(this, target.prepareStatement(sql, resultSetType, resultSetConcurrency)));
+  }
+
+  @Override
+  public AsyncPreparedStatement prepareStatement(final String sql, final int resultSetType, final int resultSetConcurrency, final int resultSetHoldability) throws SQLException {
+    return call(() -> new AsyncPreparedStatement(this, target.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability)));
+  }
+
+  @Override
+  public AsyncPreparedStatement prepareStatement(final String sql, final int autoGeneratedKeys) throws SQLException {
+    return call(() -> new AsyncPreparedStatement(this, target.prepareStatement(sql, autoGeneratedKeys)));
+  }
+
+  @Override
+  public AsyncPreparedStatement prepareStatement(final String sql, final int[] columnIndexes) throws SQLException {
+    return call(() -> new AsyncPreparedStatement(this, target.prepareStatement(sql, columnIndexes)));
+  }
+
+  @Override
+  public AsyncPreparedStatement prepareStatement(final String sql, final String[] columnNames) throws SQLException {
+    return call(() -> new AsyncPreparedStatement(this, target.prepareStatement(sql, columnNames)));
+  }
+
+  @Override
+  public CallableStatement prepareCall(final String sql) throws SQLException {
+    return call(() -> target.prepareCall(sql));
+  }
+
+  @Override
+  public CallableStatement prepareCall(final String sql, final int resultSetType, final int resultSetConcurrency) throws SQLException {
+    return call(() -> target.prepareCall(sql, resultSetType, resultSetConcurrency));
+  }
+
+  @Override
+  public CallableStatement prepareCall(final String sql, final int resultSetType, final int resultSetConcurrency, final int resultSetHoldability) throws SQLException {
+    return call(() -> target.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability));
+  }
+
+  @Override
+  public void setAutoCommit(final boolean autoCommit) throws SQLException {
+    call(() -> {
+      target.setAutoCommit(autoCommit);
+      return null;
+    });
+  }
+
+  @Override
+  public void commit() throws SQLException {
+    call(() -> {
+      target.commit();
+      return null;
+    });
+  }
+
+  @Override
+  public void rollback() throws SQLException {
+    call(() -> {
+      target.rollback();
+      return null;
+    });
+  }
+
+  @Override
+  public void rollback(final Savepoint savepoint) throws SQLException {
+    call(() -> {
+      target.rollback(savepoint);
+      return null;
+    });
+  }
+
+  @Override
+  public Savepoint setSavepoint() throws SQLException {
+    return call(target::setSavepoint);
+  }
+
+  @Override
+  public Savepoint setSavepoint(final String name) throws SQLException {
+    return call(() -> target.setSavepoint(name));
+  }
+
+  @Override
+  public void releaseSavepoint(final Savepoint savepoint) throws SQLException {
+    call(() -> {
+      target.releaseSavepoint(savepoint);
+      return null;
+    });
+  }
+
+  @Override
+  public void setTransactionIsolation(final int level) throws SQLException {
+    call(() -> {
+      target.setTransactionIsolation(level);
+      return null;
+    });
+  }
+
+  @Override
+  public void close() throws SQLException {
+    call(() -> {
+      target.close();
+      return null;
+    });
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    return target.equals(obj);
+  }
+
+  @Override
+  public int hashCode() {
+    return target.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return target.toString();
+  }
+}
\ No newline at end of file
@@ -0,0 +1,399 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A {@link DelegatePreparedStatement} of an {@link AsyncConnection} that provides methods to execute its target
+ * {@link PreparedStatement} asynchronously, after the tasks of the connection that were submitted before. The parameters of the
+ * statement are kept by this statement, and are bound to the target {@link PreparedStatement} by each execution as they were when
+ * the execution was submitted, so that the parameters that are set after the submission of an execution do not change it. Stream
+ * and LOB parameters are read when the execution runs, and must not be closed or changed before then.
+ *
+ * @see AsyncConnection
+ */
+public class AsyncPreparedStatement extends AsyncStatement implements DelegatePreparedStatement {
+  private static final Binder[] NONE = {};
+
+  @FunctionalInterface
+  private interface Binder {
+    void bind(PreparedStatement statement, int parameterIndex) throws SQLException;
+  }
+
+  // The binders of the parameters, which are copied on write once they are captured by an execution
+  private Binder[] parameters = NONE;
+  private boolean captured;
+
+  AsyncPreparedStatement(final AsyncConnection connection, final PreparedStatement target) {
+    super(connection, target);
+  }
+
+  @Override
+  public PreparedStatement getTarget() {
+    return (PreparedStatement)super.getTarget();
+  }
+
+  /**
+   * Asynchronously executes the SQL query of this statement.
+   *
+   * @return A {@link CompletableFuture} of the {@link ResultSet} of the query.
+   * @see PreparedStatement#executeQuery()
+   */
+  public CompletableFuture<ResultSet> executeQueryAsync() {
+    return getConnection().submit(bound(getTarget()::executeQuery));
+  }
+
+  /**
+   * Asynchronously executes the SQL statement of this statement, which must be an SQL Data Manipulation Language (DML) statement, or
+   * an SQL statement that returns nothing.
+   *
+   * @return A {@link CompletableFuture} of the row count.
+   * @see PreparedStatement#executeUpdate()
+   */
+  public CompletableFuture<Integer> executeUpdateAsync() {
+    return getConnection().submit(bound(getTarget()::executeUpdate));
+  }
+
+  private void set(final int parameterIndex, final Binder binder) throws SQLException {
+    if (parameterIndex < 1)
+      throw new SQLException("Invalid parameter index: " + parameterIndex, "07009");
+
+    if (captured || parameterIndex > parameters.length) {
+      parameters = Arrays.copyOf(parameters, Math.max(parameterIndex, parameters.length));
+      captured = false;
+    }
+
+    parameters[parameterIndex - 1] = binder;
+  }
+
+  private Binder[] capture() {
+    captured = true;
+    return parameters;
+  }
+
+  private static void bind(final PreparedStatement target, final Binder[] parameters) throws SQLException {
+    target.clearParameters();
+    for (int i = 0, i$ = parameters.length; i < i$; ++i) { // [A]
+      final Binder binder = parameters[i];
+      if (binder != null)
+        binder.bind(target, i + 1);
+    }
+  }
+
+  private <T> Callable<T> bound(final Callable<T> execute) {
+    final PreparedStatement target = getTarget();
+    final Binder[] parameters = capture();
+    return () -> {
+      bind(target, parameters);
+      return execute.call();
+    };
+  }
+
+  @Override
+  public ResultSet executeQuery() throws SQLException {
+    return getConnection().call(bound(getTarget()::executeQuery));
+  }
+
+  @Override
+  public int executeUpdate() throws SQLException {
+    return getConnection().call(bound(getTarget()::executeUpdate));
+  }
+
+  @Override
+  public boolean execute() throws SQLException {
+    return getConnection().call(bound(getTarget()::execute));
+  }
+
+  @Override
+  public void addBatch() throws SQLException {
+    final PreparedStatement target = getTarget();
+    final Binder[] parameters = capture();
+    batch(() -> {
+      bind(target, parameters);
+      target.addBatch();
+    });
+  }
+
+  @Override
+  public void clearParameters() throws SQLException {
+    parameters = NONE;
+    captured = false;
+  }
+
+  @Override
+  public void setNull(final int parameterIndex, final int sqlType) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setNull(i, sqlType));
+  }
+
+  @Override
+  public void setBoolean(final int parameterIndex, final boolean x) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setBoolean(i, x));
+  }
+
+  @Override
+  public void setByte(final int parameterIndex, final byte x) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setByte(i, x));
+  }
+
+  @Override
+  public void setShort(final int parameterIndex, final short x) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setShort(i, x));
+  }
+
+  @Override
+  public void setInt(final int parameterIndex, final int x) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setInt(i, x));
+  }
+
+  @Override
+  public void setLong(final int parameterIndex, final long x) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setLong(i, x));
+  }
+
+  @Override
+  public void setFloat(final int parameterIndex, final float x) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setFloat(i, x));
+  }
+
+  @Override
+  public void setDouble(final int parameterIndex, final double x) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setDouble(i, x));
+  }
+
+  @Override
+  public void setBigDecimal(final int parameterIndex, final BigDecimal x) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setBigDecimal(i, x));
+  }
+
+  @Override
+  public void setString(final int parameterIndex, final String x) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setString(i, x));
+  }
+
+  @Override
+  public void setBytes(final int parameterIndex, final byte[] x) throws SQLException {
+    final byte[] bytes = x == null ? null : x.clone();
+    set(parameterIndex, (s, i) -> s.setBytes(i, bytes));
+  }
+
+  @Override
+  public void setDate(final int parameterIndex, final Date x) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setDate(i, x));
+  }
+
+  @Override
+  public void setTime(final int parameterIndex, final Time x) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setTime(i, x));
+  }
+
+  @Override
+  public void setTimestamp(final int parameterIndex, final Timestamp x) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setTimestamp(i, x));
+  }
+
+  @Override
+  public void setAsciiStream(final int parameterIndex, final InputStream x, final int length) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setAsciiStream(i, x, length));
+  }
+
+  @Override
+  @Deprecated// (since="1.2")
+  public void setUnicodeStream(final int parameterIndex, final InputStream x, final int length) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setUnicodeStream(i, x, length));
+  }
+
+  @Override
+  public void setBinaryStream(final int parameterIndex, final InputStream x, final int length) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setBinaryStream(i, x, length));
+  }
+
+  @Override
+  public void setObject(final int parameterIndex, final Object x, final int targetSqlType, final int scale) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setObject(i, x, targetSqlType, scale));
+  }
+
+  @Override
+  public void setObject(final int parameterIndex, final Object x, final int targetSqlType) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setObject(i, x, targetSqlType));
+  }
+
+  @Override
+  public void setObject(final int parameterIndex, final Object x) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setObject(i, x));
+  }
+
+  @Override
+  public void setCharacterStream(final int parameterIndex, final Reader reader, final int length) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setCharacterStream(i, reader, length));
+  }
+
+  @Override
+  public void setRef(final int parameterIndex, final Ref x) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setRef(i, x));
+  }
+
+  @Override
+  public void setBlob(final int parameterIndex, final Blob x) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setBlob(i, x));
+  }
+
+  @Override
+  public void setClob(final int parameterIndex, final Clob x) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setClob(i, x));
+  }
+
+  @Override
+  public void setArray(final int parameterIndex, final Array x) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setArray(i, x));
+  }
+
+  @Override
+  public void setDate(final int parameterIndex, final Date x, final Calendar cal) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setDate(i, x, cal));
+  }
+
+  @Override
+  public void setTime(final int parameterIndex, final Time x, final Calendar cal) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setTime(i, x, cal));
+  }
+
+  @Override
+  public void setTimestamp(final int parameterIndex, final Timestamp x, final Calendar cal) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setTimestamp(i, x, cal));
+  }
+
+  @Override
+  public void setNull(final int paramIndex, final int sqlType, final String typeName) throws SQLException {
+    set(paramIndex, (s, i) -> s.setNull(i, sqlType, typeName));
+  }
+
+  @Override
+  public void setURL(final int parameterIndex, final URL x) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setURL(i, x));
+  }
+
+  @Override
+  public void setRowId(final int parameterIndex, final RowId x) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setRowId(i, x));
+  }
+
+  @Override
+  public void setNString(final int parameterIndex, final String value) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setNString(i, value));
+  }
+
+  @Override
+  public void setNCharacterStream(final int parameterIndex, final Reader value, final long length) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setNCharacterStream(i, value, length));
+  }
+
+  @Override
+  public void setNClob(final int parameterIndex, final NClob value) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setNClob(i, value));
+  }
+
+  @Override
+  public void setClob(final int parameterIndex, final Reader reader, final long length) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setClob(i, reader, length));
+  }
+
+  @Override
+  public void setBlob(final int parameterIndex, final InputStream inputStream, final long length) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setBlob(i, inputStream, length));
+  }
+
+  @Override
+  public void setNClob(final int parameterIndex, final Reader reader, final long length) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setNClob(i, reader, length));
+  }
+
+  @Override
+  public void setSQLXML(final int parameterIndex, final SQLXML xmlObject) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setSQLXML(i, xmlObject));
+  }
+
+  @Override
+  public void setAsciiStream(final int parameterIndex, final InputStream x, final long length) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setAsciiStream(i, x, length));
+  }
+
+  @Override
+  public void setBinaryStream(final int parameterIndex, final InputStream x, final long length) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setBinaryStream(i, x, length));
+  }
+
+  @Override
+  public void setCharacterStream(final int parameterIndex, final Reader reader, final long length) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setCharacterStream(i, reader, length));
+  }
+
+  @Override
+  public void setAsciiStream(final int parameterIndex, final InputStream x) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setAsciiStream(i, x));
+  }
+
+  @Override
+  public void setBinaryStream(final int parameterIndex, final InputStream x) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setBinaryStream(i, x));
+  }
+
+  @Override
+  public void setCharacterStream(final int parameterIndex, final Reader reader) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setCharacterStream(i, reader));
+  }
+
+  @Override
+  public void setNCharacterStream(final int parameterIndex, final Reader value) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setNCharacterStream(i, value));
+  }
+
+  @Override
+  public void setClob(final int parameterIndex, final Reader reader) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setClob(i, reader));
+  }
+
+  @Override
+  public void setBlob(final int parameterIndex, final InputStream inputStream) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setBlob(i, inputStream));
+  }
+
+  @Override
+  public void setNClob(final int parameterIndex, final Reader reader) throws SQLException {
+    set(parameterIndex, (s, i) -> s.setNClob(i, reader));
+  }
+}
\ No newline at end of file
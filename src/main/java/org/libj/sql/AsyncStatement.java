@@ -0,0 +1,212 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A {@link DelegateStatement} of an {@link AsyncConnection} that provides methods to execute its target {@link Statement}
+ * asynchronously, after the tasks of the connection that were submitted before. The batch of the statement is kept by this
+ * statement until it is executed, so that the commands that are added after the submission of an execution are not part of it.
+ *
+ * @see AsyncConnection
+ */
+public class AsyncStatement implements DelegateStatement {
+  @FunctionalInterface
+  interface Command {
+    void run() throws SQLException;
+  }
+
+  private final AsyncConnection connection;
+  private final Statement target;
+  private ArrayList<Command> batch;
+
+  AsyncStatement(final AsyncConnection connection, final Statement target) {
+    this.connection = connection;
+    this.target = target;
+  }
+
+  @Override
+  public Statement getTarget() {
+    return target;
+  }
+
+  @Override
+  public AsyncConnection getConnection() {
+    return connection;
+  }
+
+  /**
+   * Asynchronously executes the provided SQL statement, which returns a single {@link ResultSet}.
+   *
+   * @param sql An SQL statement to be sent to the database, typically a static SQL {@code SELECT} statement.
+   * @return A {@link CompletableFuture} of the {@link ResultSet} of the query.
+   * @see Statement#executeQuery(String)
+   */
+  public CompletableFuture<ResultSet> executeQueryAsync(final String sql) {
+    return connection.submit(() -> target.executeQuery(sql));
+  }
+
+  /**
+   * Asynchronously executes the provided SQL statement, which may be an {@code INSERT}, {@code UPDATE}, or {@code DELETE} statement or
+   * an SQL statement that returns nothing, such as an SQL DDL statement.
+   *
+   * @param sql An SQL Data Manipulation Language (DML) statement, or an SQL statement that returns nothing.
+   * @return A {@link CompletableFuture} of the row count.
+   * @see Statement#executeUpdate(String)
+   */
+  public CompletableFuture<Integer> executeUpdateAsync(final String sql) {
+    return connection.submit(() -> target.executeUpdate(sql));
+  }
+
+  /**
+   * Asynchronously executes the batch of commands of this statement.
+   *
+   * @return A {@link CompletableFuture} of the update counts of the commands of the batch.
+   * @see Statement#executeBatch()
+   */
+  public CompletableFuture<int[]> executeBatchAsync() {
+    return connection.submit(batched(target::executeBatch));
+  }
+
+  /**
+   * Adds the provided {@link Command} to the batch of this statement, to be run before the execution of the batch.
+   *
+   * @param command The {@link Command} that adds a command to the batch of the target {@link Statement}.
+   */
+  final void batch(final Command command) {
+    if (batch == null)
+      batch = new ArrayList<>();
+
+    batch.add(command);
+  }
+
+  private <T> Callable<T> batched(final Callable<T> execute) {
+    final ArrayList<Command> batch = this.batch;
+    if (batch == null)
+      return execute;
+
+    this.batch = null;
+    return () -> {
+      try {
+        for (int i = 0, i$ = batch.size(); i < i$; ++i) // [RA]
+          batch.get(i).run();
+
+        return execute.call();
+      }
+      catch (final SQLException e) {
+        try {
+          target.clearBatch();
+        }
+        catch (final SQLException e1) {
+          e.addSuppressed(e1);
+        }
+
+        throw e;
+      }
+    };
+  }
+
+  @Override
+  public void addBatch(final String sql) throws SQLException {
+    batch(() -> target.addBatch(sql));
+  }
+
+  @Override
+  public void clearBatch() throws SQLException {
+    batch = null;
+  }
+
+  @Override
+  public int[] executeBatch() throws SQLException {
+    return connection.call(batched(target::executeBatch));
+  }
+
+  @Override
+  public ResultSet executeQuery(final String sql) throws SQLException {
+    return connection.call(() -> target.executeQuery(sql));
+  }
+
+  @Override
+  public int executeUpdate(final String sql) throws SQLException {
+    return connection.call(() -> target.executeUpdate(sql));
+  }
+
+  @Override
+  public int executeUpdate(final String sql, final int autoGeneratedKeys) throws SQLException {
+    return connection.call(() -> target.executeUpdate(sql, autoGeneratedKeys));
+  }
+
+  @Override
+  public int executeUpdate(final String sql, final int[] columnIndexes) throws SQLException {
+    return connection.call(() -> target.executeUpdate(sql, columnIndexes));
+  }
+
+  @Override
+  public int executeUpdate(final String sql, final String[] columnNames) throws SQLException {
+    return connection.call(() -> target.executeUpdate(sql, columnNames));
+  }
+
+  @Override
+  public boolean execute(final String sql) throws SQLException {
+    return connection.call(() -> target.execute(sql));
+  }
+
+  @Override
+  public boolean execute(final String sql, final int autoGeneratedKeys) throws SQLException {
+    return connection.call(() -> target.execute(sql, autoGeneratedKeys));
+  }
+
+  @Override
+  public boolean execute(final String sql, final int[] columnIndexes) throws SQLException {
+    return connection.call(() -> target.execute(sql, columnIndexes));
+  }
+
+  @Override
+  public boolean execute(final String sql, final String[] columnNames) throws SQLException {
+    return connection.call(() -> target.execute(sql, columnNames));
+  }
+
+  @Override
+  public void close() throws SQLException {
+    batch = null;
+    connection.call(() -> {
+      target.close();
+      return null;
+    });
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    return target.equals(obj);
+  }
+
+  @Override
+  public int hashCode() {
+    return target.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return target.toString();
+  }
+}
\ No newline at end of file
@@ -28,6 +28,125 @@ public abstract class Audit {
     MULTIPLE
   }
 
+  private static volatile AsyncAuditSink asyncSink;
+
+  /**
+   * Sets the {@link AsyncAuditSink} to which the TRACE and DEBUG log entries of all {@link Audit} instances are to be published. If
+   * {@code asyncSink} is null, log entries are written to the {@link Logger} synchronously on the calling thread.
+   *
+   * @param asyncSink The {@link AsyncAuditSink}, or {@code null} to write log entries synchronously.
+   * @return The previously set {@link AsyncAuditSink}, or {@code null} if none was set.
+   */
+  public static AsyncAuditSink setAsyncSink(final AsyncAuditSink asyncSink) {
+    final AsyncAuditSink previous = Audit.asyncSink;
+    Audit.asyncSink = asyncSink;
+    return previous;
+  }
+
+  /**
+   * Returns the {@link AsyncAuditSink} to which the TRACE and DEBUG log entries of all {@link Audit} instances are published, or
+   * {@code null} if log entries are written to the {@link Logger} synchronously on the calling thread.
+   *
+   * @return The {@link AsyncAuditSink} to which the TRACE and DEBUG log entries of all {@link Audit} instances are published, or
+   *         {@code null} if log entries are written to the {@link Logger} synchronously on the calling thread.
+   */
+  public static AsyncAuditSink getAsyncSink() {
+    return asyncSink;
+  }
+
+  private static volatile AuditSampler sampler;
+
+  /**
+   * Sets the {@link AuditSampler} that determines which executions of all {@link Audit} instances are logged at the DEBUG level. If
+   * {@code sampler} is null, all executions are logged.
+   *
+   * @param sampler The {@link AuditSampler}, or {@code null} to log all executions.
+   * @return The previously set {@link AuditSampler}, or {@code null} if none was set.
+   */
+  public static AuditSampler setSampler(final AuditSampler sampler) {
+    final AuditSampler previous = Audit.sampler;
+    Audit.sampler = sampler;
+    return previous;
+  }
+
+  /**
+   * Returns the {@link AuditSampler} that determines which executions of all {@link Audit} instances are logged at the DEBUG level,
+   * or {@code null} if all executions are logged.
+   *
+   * @return The {@link AuditSampler} that determines which executions of all {@link Audit} instances are logged at the DEBUG level,
+   *         or {@code null} if all executions are logged.
+   */
+  public static AuditSampler getSampler() {
+    return sampler;
+  }
+
+  private static volatile AuditMetrics metrics;
+
+  /**
+   * Sets the {@link AuditMetrics} registry to which the executions of all {@link Audit} instances are to be recorded. If
+   * {@code metrics} is null, executions are not recorded.
+   *
+   * @param metrics The {@link AuditMetrics} registry, or {@code null} to not record executions.
+   * @return The previously set {@link AuditMetrics} registry, or {@code null} if none was set.
+   */
+  public static AuditMetrics setMetrics(final AuditMetrics metrics) {
+    final AuditMetrics previous = Audit.metrics;
+    Audit.metrics = metrics;
+    return previous;
+  }
+
+  /**
+   * Returns the {@link AuditMetrics} registry to which the executions of all {@link Audit} instances are recorded, or {@code null}
+   * if executions are not recorded.
+   *
+   * @return The {@link AuditMetrics} registry to which the executions of all {@link Audit} instances are recorded, or {@code null}
+   *         if executions are not recorded.
+   */
+  public static AuditMetrics getMetrics() {
+    return metrics;
+  }
+
+  private static volatile AuditSlowLog slowLog;
+
+  /**
+   * Sets the {@link AuditSlowLog} to which the slow executions of all {@link Audit} instances are to be logged. If {@code slowLog} is
+   * null, slow executions are not logged.
+   *
+   * @param slowLog The {@link AuditSlowLog}, or {@code null} to not log slow executions.
+   * @return The previously set {@link AuditSlowLog}, or {@code null} if none was set.
+   */
+  public static AuditSlowLog setSlowLog(final AuditSlowLog slowLog) {
+    final AuditSlowLog previous = Audit.slowLog;
+    Audit.slowLog = slowLog;
+    return previous;
+  }
+
+  /**
+   * Returns the {@link AuditSlowLog} to which the slow executions of all {@link Audit} instances are logged, or {@code null} if slow
+   * executions are not logged.
+   *
+   * @return The {@link AuditSlowLog} to which the slow executions of all {@link Audit} instances are logged, or {@code null} if slow
+   *         executions are not logged.
+   */
+  public static AuditSlowLog getSlowLog() {
+    return slowLog;
+  }
+
+  /**
+   * Returns whether the DEBUG log entry of an execution of the SQL statement identified by the provided {@code key} is to be logged,
+   * as per the {@link AuditSampler} that is {@linkplain #setSampler(AuditSampler) set}. This method is to be called before the log
+   * entry is rendered.
+   *
+   * @param key The SQL of the statement (without interpolated parameters), or {@code null} if not available.
+   * @param timing The {@link AuditTiming} of the execution, or {@code null} if not measured.
+   * @param exception The exception raised by the execution, or {@code null} if none was raised.
+   * @return Whether the DEBUG log entry of the execution is to be logged.
+   */
+  protected boolean isSampled(final String key, final AuditTiming timing, final Throwable exception) {
+    final AuditSampler sampler = Audit.sampler;
+    return sampler == null || sampler.isSampled(key, timing == null ? -1 : timing.getTotalNanos(), exception);
+  }
+
   /**
    * Returns the {@link Logger} to be used for this instance.
    *
@@ -57,28 +176,46 @@ public abstract class Audit {
 
   /**
    * Logs the provided {@code log} entry to this instance's default logger at the TRACE level.
+   * <p>
+   * The {@code sql} and {@code detail} entries may be lazily rendered, in which case the cost of rendering is paid only if the entry
+   * is consumed (i.e. by invocation of {@link CharSequence#toString()}). If an {@link AsyncAuditSink} is {@linkplain #setAsyncSink
+   * set}, the entry is published to it instead of being written to the logger on the calling thread.
    *
    * @param statementType The {@link StatementType} of the {@code log} entry being logged.
    * @param sql The SQL log entry to log.
    * @param detail The detail log entry to log, which contains the {@code sql} string.
    */
-  protected void trace(final StatementType statementType, final CharSequence sql, final String detail) {
+  protected void trace(final StatementType statementType, final CharSequence sql, final CharSequence detail) {
     final Logger logger;
-    if (detail != null && (logger = logger()) != null)
-      logger.trace(detail);
+    if (detail != null && (logger = logger()) != null) {
+      final AsyncAuditSink asyncSink = Audit.asyncSink;
+      if (asyncSink != null)
+        asyncSink.trace(logger, detail);
+      else
+        logger.trace("{}", detail);
+    }
   }
 
   /**
    * Logs the provided {@code log} entry to this instance's default logger at the DEBUG level.
+   * <p>
+   * The {@code sql} and {@code detail} entries may be lazily rendered, in which case the cost of rendering is paid only if the entry
+   * is consumed (i.e. by invocation of {@link CharSequence#toString()}). If an {@link AsyncAuditSink} is {@linkplain #setAsyncSink
+   * set}, the entry is published to it instead of being written to the logger on the calling thread.
    *
    * @param statementType The {@link StatementType} of the {@code log} entry being logged.
    * @param sql The SQL log entry to log.
    * @param detail The detail log entry to log, which contains the {@code sql} string.
    * @param exception If an exception has occurred during the invocation of the associated method.
    */
-  protected void debug(final StatementType statementType, final CharSequence sql, final String detail, final Throwable exception) {
+  protected void debug(final StatementType statementType, final CharSequence sql, final CharSequence detail, final Throwable exception) {
     final Logger logger;
-    if (detail != null && (logger = logger()) != null)
-      logger.debug(detail);
+    if (detail != null && (logger = logger()) != null) {
+      final AsyncAuditSink asyncSink = Audit.asyncSink;
+      if (asyncSink != null)
+        asyncSink.debug(logger, detail);
+      else
+        logger.debug("{}", detail);
+    }
   }
 }
\ No newline at end of file
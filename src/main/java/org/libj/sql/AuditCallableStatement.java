@@ -322,14 +322,18 @@ public class AuditCallableStatement extends AuditPreparedStatement implements De
 
   @Override
   public void setAsciiStream(final String parameterName, final InputStream x, final int length) throws SQLException {
-    getTarget().setAsciiStream(parameterName, x, length);
-    addParameter(logger.isDebugEnabled(), parameterName, x);
+    final boolean enabled = logger.isDebugEnabled();
+    final InputStream in = preview(enabled, x);
+    getTarget().setAsciiStream(parameterName, in, length);
+    addParameter(enabled, parameterName, in);
   }
 
   @Override
   public void setBinaryStream(final String parameterName, final InputStream x, final int length) throws SQLException {
-    getTarget().setBinaryStream(parameterName, x, length);
-    addParameter(logger.isDebugEnabled(), parameterName, x);
+    final boolean enabled = logger.isDebugEnabled();
+    final InputStream in = preview(enabled, x);
+    getTarget().setBinaryStream(parameterName, in, length);
+    addParameter(enabled, parameterName, in);
   }
 
   @Override
@@ -352,8 +356,10 @@ public class AuditCallableStatement extends AuditPreparedStatement implements De
 
   @Override
   public void setCharacterStream(final String parameterName, final Reader reader, final int length) throws SQLException {
-    getTarget().setCharacterStream(parameterName, reader, length);
-    addParameter(logger.isDebugEnabled(), parameterName, reader);
+    final boolean enabled = logger.isDebugEnabled();
+    final Reader in = preview(enabled, reader);
+    getTarget().setCharacterStream(parameterName, in, length);
+    addParameter(enabled, parameterName, in);
   }
 
   @Override
@@ -519,8 +525,10 @@ public class AuditCallableStatement extends AuditPreparedStatement implements De
 
   @Override
   public void setNCharacterStream(final String parameterName, final Reader value, final long length) throws SQLException {
-    getTarget().setNCharacterStream(parameterName, value, length);
-    addParameter(logger.isDebugEnabled(), parameterName, value);
+    final boolean enabled = logger.isDebugEnabled();
+    final Reader in = preview(enabled, value);
+    getTarget().setNCharacterStream(parameterName, in, length);
+    addParameter(enabled, parameterName, in);
   }
 
   @Override
@@ -531,20 +539,26 @@ public class AuditCallableStatement extends AuditPreparedStatement implements De
 
   @Override
   public void setClob(final String parameterName, final Reader reader, final long length) throws SQLException {
-    getTarget().setClob(parameterName, reader);
-    addParameter(logger.isDebugEnabled(), parameterName, reader);
+    final boolean enabled = logger.isDebugEnabled();
+    final Reader in = preview(enabled, reader);
+    getTarget().setClob(parameterName, in);
+    addParameter(enabled, parameterName, in);
   }
 
   @Override
   public void setBlob(final String parameterName, final InputStream inputStream, final long length) throws SQLException {
-    getTarget().setBlob(parameterName, inputStream);
-    addParameter(logger.isDebugEnabled(), parameterName, inputStream);
+    final boolean enabled = logger.isDebugEnabled();
+    final InputStream in = preview(enabled, inputStream);
+    getTarget().setBlob(parameterName, in);
+    addParameter(enabled, parameterName, in);
   }
 
   @Override
   public void setNClob(final String parameterName, final Reader reader, final long length) throws SQLException {
-    getTarget().setNClob(parameterName, reader, length);
-    addParameter(logger.isDebugEnabled(), parameterName, reader);
+    final boolean enabled = logger.isDebugEnabled();
+    final Reader in = preview(enabled, reader);
+    getTarget().setNClob(parameterName, in, length);
+    addParameter(enabled, parameterName, in);
   }
 
   @Override
@@ -617,62 +631,82 @@ public class AuditCallableStatement extends AuditPreparedStatement implements De
 
   @Override
   public void setAsciiStream(final String parameterName, final InputStream x, final long length) throws SQLException {
-    getTarget().setAsciiStream(parameterName, x, length);
-    addParameter(logger.isDebugEnabled(), parameterName, x);
+    final boolean enabled = logger.isDebugEnabled();
+    final InputStream in = preview(enabled, x);
+    getTarget().setAsciiStream(parameterName, in, length);
+    addParameter(enabled, parameterName, in);
   }
 
   @Override
   public void setBinaryStream(final String parameterName, final InputStream x, final long length) throws SQLException {
-    getTarget().setBinaryStream(parameterName, x, length);
-    addParameter(logger.isDebugEnabled(), parameterName, x);
+    final boolean enabled = logger.isDebugEnabled();
+    final InputStream in = preview(enabled, x);
+    getTarget().setBinaryStream(parameterName, in, length);
+    addParameter(enabled, parameterName, in);
   }
 
   @Override
   public void setCharacterStream(final String parameterName, final Reader reader, final long length) throws SQLException {
-    getTarget().setCharacterStream(parameterName, reader, length);
-    addParameter(logger.isDebugEnabled(), parameterName, reader);
+    final boolean enabled = logger.isDebugEnabled();
+    final Reader in = preview(enabled, reader);
+    getTarget().setCharacterStream(parameterName, in, length);
+    addParameter(enabled, parameterName, in);
   }
 
   @Override
   public void setAsciiStream(final String parameterName, final InputStream x) throws SQLException {
-    getTarget().setAsciiStream(parameterName, x);
-    addParameter(logger.isDebugEnabled(), parameterName, x);
+    final boolean enabled = logger.isDebugEnabled();
+    final InputStream in = preview(enabled, x);
+    getTarget().setAsciiStream(parameterName, in);
+    addParameter(enabled, parameterName, in);
   }
 
   @Override
   public void setBinaryStream(final String parameterName, final InputStream x) throws SQLException {
-    getTarget().setBinaryStream(parameterName, x);
-    addParameter(logger.isDebugEnabled(), parameterName, x);
+    final boolean enabled = logger.isDebugEnabled();
+    final InputStream in = preview(enabled, x);
+    getTarget().setBinaryStream(parameterName, in);
+    addParameter(enabled, parameterName, in);
   }
 
   @Override
   public void setCharacterStream(final String parameterName, final Reader reader) throws SQLException {
-    getTarget().setCharacterStream(parameterName, reader);
-    addParameter(logger.isDebugEnabled(), parameterName, reader);
+    final boolean enabled = logger.isDebugEnabled();
+    final Reader in = preview(enabled, reader);
+    getTarget().setCharacterStream(parameterName, in);
+    addParameter(enabled, parameterName, in);
   }
 
   @Override
   public void setNCharacterStream(final String parameterName, final Reader value) throws SQLException {
-    getTarget().setNCharacterStream(parameterName, value);
-    addParameter(logger.isDebugEnabled(), parameterName, value);
+    final boolean enabled = logger.isDebugEnabled();
+    final Reader in = preview(enabled, value);
+    getTarget().setNCharacterStream(parameterName, in);
+    addParameter(enabled, parameterName, in);
   }
 
   @Override
   public void setClob(final String parameterName, final Reader reader) throws SQLException {
-    getTarget().setClob(parameterName, reader);
-    addParameter(logger.isDebugEnabled(), parameterName, reader);
+    final boolean enabled = logger.isDebugEnabled();
+    final Reader in = preview(enabled, reader);
+    getTarget().setClob(parameterName, in);
+    addParameter(enabled, parameterName, in);
   }
 
   @Override
   public void setBlob(final String parameterName, final InputStream inputStream) throws SQLException {
-    getTarget().setBlob(parameterName, inputStream);
-    addParameter(logger.isDebugEnabled(), parameterName, inputStream);
+    final boolean enabled = logger.isDebugEnabled();
+    final InputStream in = preview(enabled, inputStream);
+    getTarget().setBlob(parameterName, in);
+    addParameter(enabled, parameterName, in);
   }
 
   @Override
   public void setNClob(final String parameterName, final Reader reader) throws SQLException {
-    getTarget().setNClob(parameterName, reader);
-    addParameter(logger.isDebugEnabled(), parameterName, reader);
+    final boolean enabled = logger.isDebugEnabled();
+    final Reader in = preview(enabled, reader);
+    getTarget().setNClob(parameterName, in);
+    addParameter(enabled, parameterName, in);
   }
 
   @Override
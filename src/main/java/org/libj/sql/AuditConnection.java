@@ -23,14 +23,17 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
-import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import org.libj.lang.Numbers;
 import org.libj.lang.Strings;
 import org.libj.lang.Strings.Align;
 import org.libj.lang.Systems;
-import org.libj.lang.Throwables;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,48 +49,166 @@ public class AuditConnection extends Audit implements DelegateConnection {
   private static final Logger logger = LoggerFactory.getLogger(AuditConnection.class);
   private static final boolean traceOpenConnections = Systems.hasProperty("org.libj.sql.AuditConnection.trace");
 
-  private class Trace implements Comparable<Trace> {
-    private final String stackTrace;
-    private final long timestamp;
+  private static final int traceFrames = Math.max(1, Integer.getInteger("org.libj.sql.AuditConnection.traceFrames", 32));
+  private static final long leakThreshold = traceOpenConnections ? Long.getLong("org.libj.sql.AuditConnection.leakThreshold", 0) : 0;
 
-    private Trace() {
-      this.stackTrace = Throwables.toString(new Exception());
-      this.timestamp = System.currentTimeMillis();
+  private static boolean isInternal(final String className) {
+    final String name = AuditConnection.class.getName();
+    return className.startsWith(name) && (className.length() == name.length() || className.charAt(name.length()) == '$');
+  }
+
+  private final class Registration implements Comparable<Registration> {
+    // The frames of a Throwable are only materialized by getStackTrace(), so rendering is deferred until the registration is logged
+    private final Throwable stackTrace = new Throwable();
+    private final long timestamp = System.currentTimeMillis();
+    private boolean reported;
+
+    private long getAge(final long now) {
+      return now - timestamp;
     }
 
     @Override
-    public int compareTo(final Trace o) {
+    public int compareTo(final Registration o) {
       return Long.compare(timestamp, o.timestamp);
     }
 
     @Override
     public String toString() {
-      return AuditConnection.this + "\nAge: " + (System.currentTimeMillis() - timestamp) + "\n" + stackTrace;
+      final StringBuilder b = new StringBuilder();
+      b.append(AuditConnection.this).append("\nAge: ").append(getAge(System.currentTimeMillis()));
+      final StackTraceElement[] frames = stackTrace.getStackTrace();
+      int i = 0;
+      for (; i < frames.length && isInternal(frames[i].getClassName()); ++i); // [ST]
+      final int end = Math.min(frames.length, i + traceFrames);
+      for (; i < end; ++i) // [A]
+        b.append("\n\tat ").append(frames[i]);
+
+      if (end < frames.length)
+        b.append("\n\t... ").append(frames.length - end).append(" more");
+
+      return b.toString();
     }
   }
 
-  private static final IdentityHashMap<AuditConnection,Trace> openConnections = traceOpenConnections ? new IdentityHashMap<>() : null;
-
   /**
-   * Print a log of the open connections to the provided {@link Consumer}.
-   *
-   * @param c The {@link Consumer} by which a log of open connections is to be accepted.
-   * @implSpec This only works if {@code -Dorg.libj.sql.AuditConnection.trace} is specified as a system property.
+   * A registry of open {@link AuditConnection}s.
    */
-  public static void traceOpenConnections(final Consumer<String> c) {
-    if (traceOpenConnections && openConnections.size() > 0) {
-      final ArrayList<Trace> list = new ArrayList<>(openConnections.values());
+  static final class Registry {
+    private final Set<Registration> registrations = ConcurrentHashMap.newKeySet();
+
+    private void add(final Registration registration) {
+      registrations.add(registration);
+    }
+
+    private void remove(final Registration registration) {
+      registrations.remove(registration);
+    }
+
+    private ArrayList<Registration> get(final long thresholdMillis) {
+      final long now = System.currentTimeMillis();
+      final ArrayList<Registration> list = new ArrayList<>();
+      for (final Registration registration : registrations)
+        if (registration.getAge(now) >= thresholdMillis)
+          list.add(registration);
+
       list.sort(null);
+      return list;
+    }
 
+    /**
+     * Prints a log of the connections that have been open for at least {@code thresholdMillis} to the provided {@link Consumer}, in
+     * order of age (oldest first).
+     *
+     * @param thresholdMillis The minimum age in milliseconds of the connections to log.
+     * @param c The {@link Consumer} by which a log of open connections is to be accepted.
+     * @return The number of connections that have been open for at least {@code thresholdMillis}.
+     */
+    int print(final long thresholdMillis, final Consumer<String> c) {
+      if (registrations.size() == 0)
+        return 0;
+
+      final ArrayList<Registration> list = get(thresholdMillis);
       for (int i = 0, i$ = list.size(); i < i$; ++i) { // [RA]
         if (i > 0)
           c.accept("\n");
 
         c.accept(Strings.pad(String.valueOf(i), Align.RIGHT, Numbers.precision(i$)) + ") " + list.get(i).toString().replace("\n", "\n    "));
       }
+
+      return list.size();
+    }
+
+    /**
+     * Reports each connection that has been open for at least {@code thresholdMillis} to the provided {@link Consumer}, unless it has
+     * already been reported by a previous sweep.
+     *
+     * @param thresholdMillis The minimum age in milliseconds of the connections to report.
+     * @param c The {@link Consumer} by which the report of each leaked connection is to be accepted.
+     * @return The number of connections reported.
+     */
+    int sweep(final long thresholdMillis, final Consumer<String> c) {
+      final ArrayList<Registration> list = get(thresholdMillis);
+      int reported = 0;
+      for (int i = 0, i$ = list.size(); i < i$; ++i) { // [RA]
+        final Registration registration = list.get(i);
+        if (!registration.reported) {
+          registration.reported = true;
+          c.accept("Connection open for longer than " + thresholdMillis + "ms: " + registration);
+          ++reported;
+        }
+      }
+
+      return reported;
+    }
+  }
+
+  private static final Registry openConnections = traceOpenConnections ? new Registry() : null;
+
+  static {
+    if (leakThreshold > 0) {
+      final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor((final Runnable r) -> {
+        final Thread thread = new Thread(r, AuditConnection.class.getSimpleName());
+        thread.setDaemon(true);
+        return thread;
+      });
+
+      sweeper.scheduleWithFixedDelay(AuditConnection::sweepLeakedConnections, leakThreshold, leakThreshold, TimeUnit.MILLISECONDS);
     }
   }
 
+  private static void sweepLeakedConnections() {
+    if (logger.isWarnEnabled())
+      openConnections.sweep(leakThreshold, logger::warn);
+  }
+
+  /**
+   * Print a log of the open connections to the provided {@link Consumer}.
+   *
+   * @param c The {@link Consumer} by which a log of open connections is to be accepted.
+   * @implSpec This only works if {@code -Dorg.libj.sql.AuditConnection.trace} is specified as a system property.
+   */
+  public static void traceOpenConnections(final Consumer<String> c) {
+    traceOpenConnections(0, c);
+  }
+
+  /**
+   * Print a log of the connections that have been open for at least {@code thresholdMillis} to the provided {@link Consumer}, in
+   * order of age (oldest first). The age of a connection is measured from the creation of its first statement.
+   * <p>
+   * If the {@code org.libj.sql.AuditConnection.leakThreshold} system property is specified (in milliseconds), the open connections
+   * are periodically swept by a daemon thread, and each connection that has been open for longer than the threshold is logged once at
+   * the WARN level to the logger associated with the {@link AuditConnection} class. The stack trace of each connection is limited to
+   * {@code org.libj.sql.AuditConnection.traceFrames} (default: 32) frames.
+   *
+   * @param thresholdMillis The minimum age in milliseconds of the connections to log.
+   * @param c The {@link Consumer} by which a log of open connections is to be accepted.
+   * @return The number of connections that have been open for at least {@code thresholdMillis}.
+   * @implSpec This only works if {@code -Dorg.libj.sql.AuditConnection.trace} is specified as a system property.
+   */
+  public static int traceOpenConnections(final long thresholdMillis, final Consumer<String> c) {
+    return traceOpenConnections ? openConnections.print(thresholdMillis, c) : 0;
+  }
+
   /**
    * Retrieves whether this {@link Connection} object has been closed. A connection is closed if the method {@code close} has been
    * called on it or if certain fatal errors have occurred. This method is guaranteed to return {@code true} only when it is called
@@ -150,6 +271,7 @@ public class AuditConnection extends Audit implements DelegateConnection {
     return traceOpenConnections || logger.isDebugEnabled() ? new AuditConnection(target) : target;
   }
 
+  private final Registry registry;
   private Connection target;
 
   /**
@@ -159,7 +281,35 @@ public class AuditConnection extends Audit implements DelegateConnection {
    * @throws NullPointerException If the target {@link Connection} is null.
    */
   public AuditConnection(final Connection target) {
+    this(target, openConnections);
+  }
+
+  /**
+   * Creates a new {@link AuditConnection} with the specified {@code target} to which all method calls will be delegated, and which
+   * is to be registered in the provided {@link Registry} of open connections.
+   *
+   * @param target The {@link Connection} to which all method calls will be delegated.
+   * @param registry The {@link Registry} of open connections in which to register this connection, or {@code null} if open
+   *          connections are not traced.
+   */
+  AuditConnection(final Connection target, final Registry registry) {
     this.target = target;
+    this.registry = registry;
+  }
+
+  private volatile Registration registration;
+
+  /**
+   * Registers this connection in the registry of open connections upon the creation of its first statement, if the
+   * {@code org.libj.sql.AuditConnection.trace} system property is specified. Subsequent invocations only incur a volatile read.
+   */
+  private void register() {
+    if (registry != null && registration == null) {
+      synchronized (this) {
+        if (registration == null)
+          registry.add(registration = new Registration());
+      }
+    }
   }
 
   /**
@@ -280,6 +430,13 @@ public class AuditConnection extends Audit implements DelegateConnection {
     return AuditCallableStatement.wrapIfDebugEnabled(statement, sql);
   }
 
+  private static <T extends Statement>T prepared(final T statement, final long prepareNanos) {
+    if (statement instanceof AuditPreparedStatement)
+      ((AuditPreparedStatement)statement).setPrepareNanos(prepareNanos);
+
+    return statement;
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -287,8 +444,7 @@ public class AuditConnection extends Audit implements DelegateConnection {
    */
   @Override
   public Statement createStatement() throws SQLException {
-    if (traceOpenConnections)
-      openConnections.put(this, new Trace());
+    register();
 
     return wrap(target.createStatement());
   }
@@ -300,13 +456,15 @@ public class AuditConnection extends Audit implements DelegateConnection {
    */
   @Override
   public PreparedStatement prepareStatement(final String sql) throws SQLException {
-    if (traceOpenConnections)
-      openConnections.put(this, new Trace());
+    register();
 
     if (isTraceEnabled())
       trace(null, sql, log("executeQuery", true, sql, Integer.MIN_VALUE, null, null, Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE));
 
-    return wrap(target.prepareStatement(sql), sql);
+    final long time = System.nanoTime();
+    final PreparedStatement statement = target.prepareStatement(sql);
+    final long prepareNanos = System.nanoTime() - time;
+    return prepared(wrap(statement, sql), prepareNanos);
   }
 
   /**
@@ -316,8 +474,7 @@ public class AuditConnection extends Audit implements DelegateConnection {
    */
   @Override
   public Statement createStatement(final int resultSetType, final int resultSetConcurrency) throws SQLException {
-    if (traceOpenConnections)
-      openConnections.put(this, new Trace());
+    register();
 
     return wrap(target.createStatement(resultSetType, resultSetConcurrency));
   }
@@ -329,13 +486,15 @@ public class AuditConnection extends Audit implements DelegateConnection {
    */
   @Override
   public PreparedStatement prepareStatement(final String sql, final int resultSetType, final int resultSetConcurrency) throws SQLException {
-    if (traceOpenConnections)
-      openConnections.put(this, new Trace());
+    register();
 
     if (isTraceEnabled())
       trace(null, sql, log("prepareStatement", true, sql, Integer.MIN_VALUE, null, null, resultSetType, resultSetConcurrency, Integer.MIN_VALUE));
 
-    return wrap(target.prepareStatement(sql, resultSetType, resultSetConcurrency), sql);
+    final long time = System.nanoTime();
+    final PreparedStatement statement = target.prepareStatement(sql, resultSetType, resultSetConcurrency);
+    final long prepareNanos = System.nanoTime() - time;
+    return prepared(wrap(statement, sql), prepareNanos);
   }
 
   /**
@@ -345,13 +504,15 @@ public class AuditConnection extends Audit implements DelegateConnection {
    */
   @Override
   public CallableStatement prepareCall(final String sql, final int resultSetType, final int resultSetConcurrency) throws SQLException {
-    if (traceOpenConnections)
-      openConnections.put(this, new Trace());
+    register();
 
     if (isTraceEnabled())
       trace(null, sql, log("prepareCall", true, sql, Integer.MIN_VALUE, null, null, resultSetType, resultSetConcurrency, Integer.MIN_VALUE));
 
-    return wrap(target.prepareCall(sql, resultSetType, resultSetConcurrency), sql);
+    final long time = System.nanoTime();
+    final CallableStatement statement = target.prepareCall(sql, resultSetType, resultSetConcurrency);
+    final long prepareNanos = System.nanoTime() - time;
+    return prepared(wrap(statement, sql), prepareNanos);
   }
 
   /**
@@ -361,8 +522,7 @@ public class AuditConnection extends Audit implements DelegateConnection {
    */
   @Override
   public Statement createStatement(final int resultSetType, final int resultSetConcurrency, final int resultSetHoldability) throws SQLException {
-    if (traceOpenConnections)
-      openConnections.put(this, new Trace());
+    register();
 
     return wrap(target.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability));
   }
@@ -374,13 +534,15 @@ public class AuditConnection extends Audit implements DelegateConnection {
    */
   @Override
   public PreparedStatement prepareStatement(final String sql, final int resultSetType, final int resultSetConcurrency, final int resultSetHoldability) throws SQLException {
-    if (traceOpenConnections)
-      openConnections.put(this, new Trace());
+    register();
 
     if (isTraceEnabled())
       trace(null, sql, log("prepareStatement", true, sql, Integer.MIN_VALUE, null, null, resultSetType, resultSetConcurrency, resultSetHoldability));
 
-    return wrap(target.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability), sql);
+    final long time = System.nanoTime();
+    final PreparedStatement statement = target.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+    final long prepareNanos = System.nanoTime() - time;
+    return prepared(wrap(statement, sql), prepareNanos);
   }
 
   /**
@@ -390,13 +552,15 @@ public class AuditConnection extends Audit implements DelegateConnection {
    */
   @Override
   public CallableStatement prepareCall(final String sql, final int resultSetType, final int resultSetConcurrency, final int resultSetHoldability) throws SQLException {
-    if (traceOpenConnections)
-      openConnections.put(this, new Trace());
+    register();
 
     if (isTraceEnabled())
       trace(null, sql, log("prepareCall", true, sql, Integer.MIN_VALUE, null, null, resultSetType, resultSetConcurrency, resultSetHoldability));
 
-    return wrap(target.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability), sql);
+    final long time = System.nanoTime();
+    final CallableStatement statement = target.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+    final long prepareNanos = System.nanoTime() - time;
+    return prepared(wrap(statement, sql), prepareNanos);
   }
 
   /**
@@ -406,13 +570,15 @@ public class AuditConnection extends Audit implements DelegateConnection {
    */
   @Override
   public PreparedStatement prepareStatement(final String sql, final int autoGeneratedKeys) throws SQLException {
-    if (traceOpenConnections)
-      openConnections.put(this, new Trace());
+    register();
 
     if (isTraceEnabled())
       trace(null, sql, log("prepareStatement", true, sql, autoGeneratedKeys, null, null, Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE));
 
-    return wrap(target.prepareStatement(sql, autoGeneratedKeys), sql);
+    final long time = System.nanoTime();
+    final PreparedStatement statement = target.prepareStatement(sql, autoGeneratedKeys);
+    final long prepareNanos = System.nanoTime() - time;
+    return prepared(wrap(statement, sql), prepareNanos);
   }
 
   /**
@@ -422,13 +588,15 @@ public class AuditConnection extends Audit implements DelegateConnection {
    */
   @Override
   public PreparedStatement prepareStatement(final String sql, final int[] columnIndexes) throws SQLException {
-    if (traceOpenConnections)
-      openConnections.put(this, new Trace());
+    register();
 
     if (isTraceEnabled())
       trace(null, sql, log("prepareStatement", true, sql, Integer.MIN_VALUE, columnIndexes, null, Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE));
 
-    return wrap(target.prepareStatement(sql, columnIndexes), sql);
+    final long time = System.nanoTime();
+    final PreparedStatement statement = target.prepareStatement(sql, columnIndexes);
+    final long prepareNanos = System.nanoTime() - time;
+    return prepared(wrap(statement, sql), prepareNanos);
   }
 
   /**
@@ -438,19 +606,27 @@ public class AuditConnection extends Audit implements DelegateConnection {
    */
   @Override
   public PreparedStatement prepareStatement(final String sql, final String[] columnNames) throws SQLException {
-    if (traceOpenConnections)
-      openConnections.put(this, new Trace());
+    register();
 
     if (isTraceEnabled())
       trace(null, sql, log("prepareStatement", true, sql, Integer.MIN_VALUE, null, columnNames, Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE));
 
-    return wrap(target.prepareStatement(sql, columnNames), sql);
+    final long time = System.nanoTime();
+    final PreparedStatement statement = target.prepareStatement(sql, columnNames);
+    final long prepareNanos = System.nanoTime() - time;
+    return prepared(wrap(statement, sql), prepareNanos);
   }
 
   @Override
   public void close() throws SQLException {
-    if (traceOpenConnections)
-      openConnections.remove(this);
+    if (registry != null) {
+      synchronized (this) {
+        if (registration != null) {
+          registry.remove(registration);
+          registration = null;
+        }
+      }
+    }
 
     DelegateConnection.super.close();
   }
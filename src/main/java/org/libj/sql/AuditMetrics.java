@@ -0,0 +1,358 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.libj.sql.Audit.StatementType;
+
+/**
+ * A registry of execution metrics of audited statements, keyed by the {@link SQLFingerprint} of each statement. For each distinct
+ * statement, the registry maintains the number of calls, the number of errors by SQLSTATE class, the number of rows returned and
+ * affected, and a histogram of latencies.
+ * <p>
+ * All counters are {@link LongAdder}s, so that concurrent executions record their metrics without contention. A {@link #snapshot()}
+ * can be taken at any time without blocking writers, whereby each counter of a {@link Snapshot} is a point-in-time estimate: it is
+ * exact if no executions are recorded while the snapshot is being taken, but otherwise it may or may not include those executions,
+ * and counters may not be mutually consistent with respect to them.
+ * <p>
+ * The latency of an execution is the time spent in the "execute" method, plus (for queries) the time to fetch and close the
+ * {@link java.sql.ResultSet}. The latency histogram has {@value #BUCKETS} buckets, whereby bucket {@code i} counts the latencies in
+ * {@code [2^(i-1), 2^i)} microseconds, and the last bucket counts all greater latencies.
+ *
+ * @see Audit#setMetrics(AuditMetrics)
+ */
+public final class AuditMetrics {
+  /** The number of buckets of the latency histogram. */
+  public static final int BUCKETS = 32;
+
+  /**
+   * Returns the exclusive upper bound in nanoseconds of the latencies counted in the bucket at the provided index of the latency
+   * histogram, or {@link Long#MAX_VALUE} for the last bucket.
+   *
+   * @param bucket The index of the bucket.
+   * @return The exclusive upper bound in nanoseconds of the latencies counted in the bucket at the provided index.
+   * @throws IllegalArgumentException If {@code bucket} is negative, or not less than {@link #BUCKETS}.
+   */
+  public static long getBucketUpperBoundNanos(final int bucket) {
+    if (bucket < 0 || bucket >= BUCKETS)
+      throw new IllegalArgumentException("bucket (" + bucket + ") must be in [0, " + BUCKETS + ")");
+
+    return bucket == BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) * 1000;
+  }
+
+  private static int bucket(final long nanos) {
+    return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos / 1000));
+  }
+
+  private static String getSqlStateClass(final Throwable exception) {
+    if (exception instanceof SQLException) {
+      final String sqlState = ((SQLException)exception).getSQLState();
+      if (sqlState != null && sqlState.length() >= 2)
+        return sqlState.substring(0, 2);
+    }
+
+    return "";
+  }
+
+  private static final class Counters {
+    private final SQLFingerprint fingerprint;
+    private final LongAdder calls = new LongAdder();
+    private final ConcurrentHashMap<String,LongAdder> errors = new ConcurrentHashMap<>();
+    private final LongAdder rowsReturned = new LongAdder();
+    private final LongAdder rowsAffected = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder[] histogram = new LongAdder[BUCKETS];
+
+    private Counters(final SQLFingerprint fingerprint) {
+      this.fingerprint = fingerprint;
+      for (int i = 0; i < BUCKETS; ++i) // [A]
+        histogram[i] = new LongAdder();
+    }
+
+    private void record(final StatementType statementType, final long nanos, final long rows, final Throwable exception) {
+      calls.increment();
+      if (exception != null) {
+        final String sqlStateClass = getSqlStateClass(exception);
+        LongAdder adder = errors.get(sqlStateClass);
+        if (adder == null) {
+          final LongAdder existing = errors.putIfAbsent(sqlStateClass, adder = new LongAdder());
+          if (existing != null)
+            adder = existing;
+        }
+
+        adder.increment();
+      }
+
+      if (rows > 0)
+        (statementType == StatementType.QUERY ? rowsReturned : rowsAffected).add(rows);
+
+      if (nanos >= 0) {
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        histogram[bucket(nanos)].increment();
+      }
+    }
+
+    private Snapshot snapshot() {
+      final long[] histogram = new long[BUCKETS];
+      for (int i = 0; i < BUCKETS; ++i) // [A]
+        histogram[i] = this.histogram[i].sum();
+
+      final HashMap<String,Long> errors = new HashMap<>();
+      for (final Map.Entry<String,LongAdder> entry : this.errors.entrySet())
+        errors.put(entry.getKey(), entry.getValue().sum());
+
+      return new Snapshot(fingerprint, calls.sum(), Collections.unmodifiableMap(errors), rowsReturned.sum(), rowsAffected.sum(), totalNanos.sum(), maxNanos.get(), histogram);
+    }
+  }
+
+  /**
+   * An immutable snapshot of the metrics of a distinct statement in an {@link AuditMetrics} registry.
+   */
+  public static final class Snapshot {
+    private final SQLFingerprint fingerprint;
+    private final long calls;
+    private final Map<String,Long> errors;
+    private final long rowsReturned;
+    private final long rowsAffected;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final long[] histogram;
+
+    private Snapshot(final SQLFingerprint fingerprint, final long calls, final Map<String,Long> errors, final long rowsReturned, final long rowsAffected, final long totalNanos, final long maxNanos, final long[] histogram) {
+      this.fingerprint = fingerprint;
+      this.calls = calls;
+      this.errors = errors;
+      this.rowsReturned = rowsReturned;
+      this.rowsAffected = rowsAffected;
+      this.totalNanos = totalNanos;
+      this.maxNanos = maxNanos;
+      this.histogram = histogram;
+    }
+
+    /**
+     * Returns the {@link SQLFingerprint} of the statement, or {@code null} if this snapshot aggregates the statements beyond the
+     * {@code maxStatements} of the registry.
+     *
+     * @return The {@link SQLFingerprint} of the statement, or {@code null} if this snapshot aggregates the statements beyond the
+     *         {@code maxStatements} of the registry.
+     */
+    public SQLFingerprint getFingerprint() {
+      return fingerprint;
+    }
+
+    /**
+     * Returns the number of executions of the statement.
+     *
+     * @return The number of executions of the statement.
+     */
+    public long getCalls() {
+      return calls;
+    }
+
+    /**
+     * Returns the number of executions of the statement that raised an exception.
+     *
+     * @return The number of executions of the statement that raised an exception.
+     */
+    public long getErrors() {
+      long errors = 0;
+      for (final Long count : this.errors.values())
+        errors += count;
+
+      return errors;
+    }
+
+    /**
+     * Returns the number of executions of the statement that raised an exception, by the SQLSTATE class (i.e. the first two
+     * characters of {@link SQLException#getSQLState()}) of the exception. Exceptions without a SQLSTATE are counted under the empty
+     * string.
+     *
+     * @return The number of executions of the statement that raised an exception, by SQLSTATE class.
+     */
+    public Map<String,Long> getErrorsBySqlStateClass() {
+      return errors;
+    }
+
+    /**
+     * Returns the number of rows returned by executions of the statement, as consumed from the {@link java.sql.ResultSet}.
+     *
+     * @return The number of rows returned by executions of the statement.
+     */
+    public long getRowsReturned() {
+      return rowsReturned;
+    }
+
+    /**
+     * Returns the number of rows affected by executions of the statement, as reported by the update counts.
+     *
+     * @return The number of rows affected by executions of the statement.
+     */
+    public long getRowsAffected() {
+      return rowsAffected;
+    }
+
+    /**
+     * Returns the sum of the latencies of the executions of the statement in nanoseconds.
+     *
+     * @return The sum of the latencies of the executions of the statement in nanoseconds.
+     */
+    public long getTotalNanos() {
+      return totalNanos;
+    }
+
+    /**
+     * Returns the maximum latency of the executions of the statement in nanoseconds.
+     *
+     * @return The maximum latency of the executions of the statement in nanoseconds.
+     */
+    public long getMaxNanos() {
+      return maxNanos;
+    }
+
+    /**
+     * Returns a copy of the latency histogram of the executions of the statement.
+     *
+     * @return A copy of the latency histogram of the executions of the statement.
+     * @see AuditMetrics#getBucketUpperBoundNanos(int)
+     */
+    public long[] getHistogram() {
+      return histogram.clone();
+    }
+
+    /**
+     * Returns an upper bound in nanoseconds of the latency at the provided percentile, as per the resolution of the latency
+     * histogram, or {@code 0} if no latency has been recorded.
+     *
+     * @param percentile The percentile in {@code [0, 100]}.
+     * @return An upper bound in nanoseconds of the latency at the provided percentile.
+     * @throws IllegalArgumentException If {@code percentile} is not in {@code [0, 100]}.
+     */
+    public long getPercentileNanos(final double percentile) {
+      if (!(percentile >= 0 && percentile <= 100))
+        throw new IllegalArgumentException("percentile (" + percentile + ") must be in [0, 100]");
+
+      long count = 0;
+      for (final long bucket : histogram) // [A]
+        count += bucket;
+
+      if (count == 0)
+        return 0;
+
+      final long rank = Math.max(1, (long)Math.ceil(count * percentile / 100));
+      long sum = 0;
+      for (int i = 0; i < BUCKETS; ++i) { // [A]
+        sum += histogram[i];
+        if (sum >= rank)
+          return Math.min(maxNanos, getBucketUpperBoundNanos(i));
+      }
+
+      return maxNanos;
+    }
+
+    @Override
+    public String toString() {
+      final StringBuilder b = new StringBuilder();
+      b.append(fingerprint).append(": calls=").append(calls).append(", errors=").append(errors);
+      b.append(", rowsReturned=").append(rowsReturned).append(", rowsAffected=").append(rowsAffected).append(", total=");
+      AuditTiming.appendMillis(b, totalNanos).append(", max=");
+      AuditTiming.appendMillis(b, maxNanos).append(", p99<=");
+      return AuditTiming.appendMillis(b, getPercentileNanos(99)).toString();
+    }
+  }
+
+  private final int maxStatements;
+  private final ConcurrentHashMap<SQLFingerprint,Counters> counters = new ConcurrentHashMap<>();
+  private volatile Counters overflow = new Counters(null);
+
+  /**
+   * Creates a new {@link AuditMetrics} registry that maintains the metrics of up to {@code maxStatements} distinct statements, beyond
+   * which the metrics of the remaining statements are aggregated into a single entry.
+   *
+   * @param maxStatements The maximum number of distinct statements for which metrics are maintained.
+   * @throws IllegalArgumentException If {@code maxStatements} is not positive.
+   */
+  public AuditMetrics(final int maxStatements) {
+    if (maxStatements <= 0)
+      throw new IllegalArgumentException("maxStatements (" + maxStatements + ") must be positive");
+
+    this.maxStatements = maxStatements;
+  }
+
+  /**
+   * Records an execution of the provided SQL statement.
+   *
+   * @param sql The SQL of the statement (without interpolated parameters).
+   * @param statementType The {@link StatementType} of the execution.
+   * @param timing The {@link AuditTiming} of the execution.
+   * @param rows The number of rows returned or affected by the execution, or {@code -1} if not known.
+   * @param exception The exception raised by the execution, or {@code null} if none was raised.
+   */
+  void record(final String sql, final StatementType statementType, final AuditTiming timing, final long rows, final Throwable exception) {
+    final SQLFingerprint fingerprint = SQLFingerprint.of(sql);
+    Counters counters = this.counters.get(fingerprint);
+    if (counters == null) {
+      if (this.counters.size() >= maxStatements) {
+        counters = overflow;
+      }
+      else {
+        final Counters existing = this.counters.putIfAbsent(fingerprint, counters = new Counters(fingerprint));
+        if (existing != null)
+          counters = existing;
+      }
+    }
+
+    counters.record(statementType, timing.getLatencyNanos(), rows, exception);
+  }
+
+  /**
+   * Returns a snapshot of the metrics of all statements in this registry, without blocking the recording of executions. If the
+   * metrics of any statements have been aggregated due to the {@code maxStatements} limit, the aggregate is included as the last
+   * {@link Snapshot}, with a {@code null} {@linkplain Snapshot#getFingerprint() fingerprint}.
+   *
+   * @return A snapshot of the metrics of all statements in this registry.
+   */
+  public List<Snapshot> snapshot() {
+    final ArrayList<Snapshot> snapshots = new ArrayList<>(counters.size() + 1);
+    for (final Counters counters : this.counters.values())
+      snapshots.add(counters.snapshot());
+
+    final Snapshot overflow = this.overflow.snapshot();
+    if (overflow.getCalls() > 0)
+      snapshots.add(overflow);
+
+    return snapshots;
+  }
+
+  /**
+   * Removes the metrics of all statements from this registry.
+   */
+  public void clear() {
+    counters.clear();
+    overflow = new Counters(null);
+  }
+}
\ No newline at end of file
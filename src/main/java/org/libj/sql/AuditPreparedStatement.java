@@ -16,11 +16,8 @@
 
 package org.libj.sql;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
-import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.net.URL;
 import java.sql.Array;
@@ -40,10 +37,8 @@ import java.text.DecimalFormat;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.temporal.ChronoField;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
-import java.util.HashMap;
-import java.util.Map;
 
 import org.libj.lang.Hexadecimal;
 import org.libj.util.DecimalFormatter;
@@ -63,6 +58,39 @@ public class AuditPreparedStatement extends AuditStatement implements DelegatePr
 
   protected static final String NULL = "NULL";
 
+  /**
+   * The maximum number of leading bytes or characters of {@link InputStream} and {@link Reader} parameters that are rendered in the
+   * log, which can be set with the {@code org.libj.sql.AuditPreparedStatement.previewLength} system property.
+   */
+  static final int previewLength = Math.max(0, Integer.getInteger("org.libj.sql.AuditPreparedStatement.previewLength", 64));
+
+  /**
+   * Returns a {@link PreviewInputStream} to be handed to the driver in place of the provided {@link InputStream} if {@code enabled},
+   * so that a bounded preview of the stream can be logged without buffering or consuming its payload. Otherwise, the provided
+   * {@link InputStream} is returned.
+   *
+   * @param enabled Whether logging is enabled.
+   * @param in The {@link InputStream}.
+   * @return A {@link PreviewInputStream} of the provided {@link InputStream} if {@code enabled}, otherwise the provided
+   *         {@link InputStream}.
+   */
+  static InputStream preview(final boolean enabled, final InputStream in) {
+    return enabled && in != null ? new PreviewInputStream(in, previewLength) : in;
+  }
+
+  /**
+   * Returns a {@link PreviewReader} to be handed to the driver in place of the provided {@link Reader} if {@code enabled}, so that a
+   * bounded preview of the reader can be logged without buffering or consuming its payload. Otherwise, the provided {@link Reader}
+   * is returned.
+   *
+   * @param enabled Whether logging is enabled.
+   * @param in The {@link Reader}.
+   * @return A {@link PreviewReader} of the provided {@link Reader} if {@code enabled}, otherwise the provided {@link Reader}.
+   */
+  static Reader preview(final boolean enabled, final Reader in) {
+    return enabled && in != null ? new PreviewReader(in, previewLength) : in;
+  }
+
   private static String toString(final Object value) {
     if (value == NULL)
       return "NULL";
@@ -70,72 +98,11 @@ public class AuditPreparedStatement extends AuditStatement implements DelegatePr
     if (value instanceof byte[])
       return "X'" + new Hexadecimal((byte[])value) + "'";
 
-    if (value instanceof InputStream) {
-      final InputStream in = (InputStream)value;
-      try {
-        int by = in.read();
-        if (by == -1) {
-          try {
-            in.reset();
-          }
-          catch (final IOException ignore) {
-            return value.toString();
-          }
-        }
-
-        if (in.markSupported())
-          in.mark(Integer.MAX_VALUE);
-
-        by = in.read();
-        if (by != -1) {
-          final ByteArrayOutputStream out = new ByteArrayOutputStream();
-          out.write(by);
-          final byte[] buf = new byte[1024];
-          for (int len; (len = in.read(buf)) != -1; out.write(buf, 0, len)); // [ST]
-          if (in.markSupported())
-            in.reset();
-
-          return "X'" + new Hexadecimal(out.toByteArray()) + "'";
-        }
-      }
-      catch (final IOException e) {
-        throw new UncheckedIOException(e);
-      }
-    }
+    if (value instanceof InputStream)
+      return value instanceof PreviewInputStream ? value.toString() : PreviewInputStream.peek((InputStream)value, previewLength);
 
-    if (value instanceof Reader) {
-      final Reader in = (Reader)value;
-      try {
-        int ch = in.read();
-        if (ch == -1) {
-          try {
-            in.reset();
-          }
-          catch (final IOException ignore) {
-            return value.toString();
-          }
-        }
-
-        if (in.markSupported())
-          in.mark(Integer.MAX_VALUE);
-
-        ch = in.read();
-        if (ch != -1) {
-          final StringBuilder b = new StringBuilder();
-          b.append('\'').append(ch);
-          final char[] buf = new char[1024];
-          for (int len; (len = in.read(buf)) != -1; b.append(buf, 0, len)); // [ST]
-          if (in.markSupported())
-            in.reset();
-
-          b.append('\'');
-          return b.toString();
-        }
-      }
-      catch (final IOException e) {
-        throw new UncheckedIOException(e);
-      }
-    }
+    if (value instanceof Reader)
+      return value instanceof PreviewReader ? value.toString() : PreviewReader.peek((Reader)value, previewLength);
 
     if (value instanceof Date)
       return "'" + ((Date)value).toLocalDate().format(dateFormat) + "'";
@@ -172,55 +139,41 @@ public class AuditPreparedStatement extends AuditStatement implements DelegatePr
     return value.toString();
   }
 
-  private static int writeParameter(final StringBuilder b, final int start, final int end, final Object obj) {
-    final int len = b.length();
-    b.replace(start, end, toString(obj));
-    return b.length() - len;
+  private static String toString(final Parameters parameters, final int parameterIndex) {
+    switch (parameters.getType(parameterIndex)) {
+      case Parameters.LONG:
+        return numberFormat.get().format(parameters.getLong(parameterIndex));
+      case Parameters.DOUBLE:
+        return numberFormat.get().format(parameters.getDouble(parameterIndex));
+      case Parameters.BOOLEAN:
+        return parameters.getBoolean(parameterIndex) ? "TRUE" : "FALSE";
+      default:
+        return toString(parameters.getObject(parameterIndex));
+    }
   }
 
   // FIXME: Add support for "foo => ?" syntax
-  private static StringBuilder toString(final String sql, final Map<Object,Object> parameterMap) {
+  private static StringBuilder toString(final String sql, final Parameters parameters) {
+    final int len = sql.length();
+    final StringBuilder b = new StringBuilder(len + 16);
     int index = 0;
-    boolean escaped = false;
-    char inQuote = '\0';
-    int colon = -1;
-    boolean namedQuoted = false;
-    final StringBuilder b = new StringBuilder(sql);
-    for (int i = 0; i < b.length(); ++i) { // [$]
-      final char ch = b.charAt(i);
-      if (colon != -1) {
-        if (colon == i - 1 && ch == '"') {
-          namedQuoted = true;
-        }
-        else if (ch == ':') {
-          colon = -1;
-        }
-        else if (ch == '"' && namedQuoted || ch != '#' && ch != '$' && (ch < '0' || '9' < ch) && (ch < '@' || 'Z' < ch) && ch != '_' && (ch < 'a' || 'z' < ch)) {
-          i += writeParameter(b, colon, i, parameterMap.get(b.substring(colon + 1, i)));
-          colon = -1;
-        }
-
-        continue;
+    for (int i = 0; i < len; ++i) { // [$]
+      final char ch = sql.charAt(i);
+      int end;
+      if ((end = SQLScanner.skipQuoted(sql, i)) != -1 || (end = SQLScanner.skipComment(sql, i)) != -1) {
+        b.append(sql, i, Math.min(end + 1, len));
+        i = end;
       }
-
-      if (ch == '\\') {
-        escaped = true;
-        continue;
+      else if ((end = SQLScanner.skipNamedParameter(sql, i)) != -1) {
+        b.append(toString(parameters.getNamed(SQLScanner.getParameterName(sql, i, end))));
+        i = end;
       }
-
-      if (inQuote == '\0' || !escaped) {
-        if (ch == '\'' || ch == '"') {
-          inQuote = inQuote == ch ? '\0' : ch;
-        }
-        else if (inQuote == '\0') {
-          if (ch == ':')
-            colon = i;
-          else if (ch == '?')
-            i += writeParameter(b, i, i + 1, parameterMap.get(++index));
-        }
+      else if (ch == '?') {
+        b.append(toString(parameters, ++index));
+      }
+      else {
+        b.append(ch);
       }
-
-      escaped = false;
     }
 
     return b;
@@ -245,8 +198,11 @@ public class AuditPreparedStatement extends AuditStatement implements DelegatePr
   private static final ThreadLocal<DecimalFormat> numberFormat = DecimalFormatter.createDecimalFormat("###############.###############;-###############.###############");
 
   private final String sql;
-  private ArrayList<HashMap<Object,Object>> parameterMaps;
-  private boolean addParameterMap = true;
+  private Parameters[] parameters;
+  private int parameterRows;
+  private boolean addParameterRow = true;
+  private long prepareNanos = -1;
+  private long bindTime = -1;
 
   /**
    * Creates a new {@link AuditPreparedStatement} with the specified {@code target} to which all method calls will be delegated.
@@ -270,40 +226,148 @@ public class AuditPreparedStatement extends AuditStatement implements DelegatePr
   }
 
   /**
-   * Adds a parameter with the provided {@code key} and {@code value} to the parameter map maintained in this instance for the purpose
-   * of audit logging.
+   * Returns the {@link Parameters} buffer of the row of parameters currently being bound. If {@link #addBatch()} has been called
+   * since the last parameter was bound, a new row is started, reusing a previously allocated {@link Parameters} buffer if one is
+   * available.
+   *
+   * @param enabled Whether the timing of the bind phase is enabled.
+   * @return The {@link Parameters} buffer of the row of parameters currently being bound.
+   */
+  private Parameters currentParameters(final boolean enabled) {
+    flushResultSet();
+    if (enabled && bindTime == -1)
+      bindTime = System.nanoTime();
+
+    Parameters[] parameters = this.parameters;
+    if (parameters == null)
+      parameters = this.parameters = new Parameters[1];
+
+    if (addParameterRow) {
+      addParameterRow = false;
+      if (parameterRows == parameters.length)
+        parameters = this.parameters = Arrays.copyOf(parameters, parameterRows * 2);
+
+      final Parameters row = parameters[parameterRows];
+      if (row == null)
+        return parameters[parameterRows++] = new Parameters(8);
+
+      ++parameterRows;
+      return row;
+    }
+
+    return parameters[parameterRows - 1];
+  }
+
+  /**
+   * Sets the time spent preparing this statement, to be reported in the {@link AuditTiming} of its first execution.
+   *
+   * @param prepareNanos The time spent preparing this statement in nanoseconds.
+   */
+  void setPrepareNanos(final long prepareNanos) {
+    this.prepareNanos = prepareNanos;
+  }
+
+  @Override
+  AuditTiming newTiming(final long time) {
+    final AuditTiming timing = super.newTiming(time);
+    timing.prepare = prepareNanos;
+    prepareNanos = -1;
+    if (bindTime != -1) {
+      if (time != -1)
+        timing.bind = time - bindTime;
+
+      bindTime = -1;
+    }
+
+    return timing;
+  }
+
+  /**
+   * Releases the references to the parameters bound to this instance, retaining the allocated {@link Parameters} buffers for reuse.
+   */
+  private void resetParameters() {
+    flushResultSet();
+    for (int i = 0; i < parameterRows; ++i) // [A]
+      parameters[i].clear();
+
+    parameterRows = 0;
+    addParameterRow = true;
+  }
+
+  /**
+   * Adds a parameter with the provided {@code key} and {@code value} to the parameter buffer maintained in this instance for the
+   * purpose of audit logging.
    *
    * @param enabled Whether the addition of parameter is enabled.
-   * @param key The parameter key.
+   * @param key The parameter key, which is either an {@link Integer} parameter index, or a {@link String} parameter name.
    * @param value The parameter value.
    */
   protected void addParameter(final boolean enabled, final Object key, final Object value) {
-    ArrayList<HashMap<Object,Object>> parameterMaps = this.parameterMaps;
-    if (parameterMaps == null)
-      parameterMaps = this.parameterMaps = new ArrayList<>();
-
-    final HashMap<Object,Object> parameterMap;
-    if (addParameterMap) {
-      parameterMaps.add(parameterMap = new HashMap<>());
-      addParameterMap = false;
-    }
-    else {
-      parameterMap = parameterMaps.get(parameterMaps.size() - 1);
-    }
+    if (key instanceof Integer)
+      currentParameters(enabled).setObject((Integer)key, value);
+    else
+      currentParameters(enabled).setNamed(String.valueOf(key), value);
+  }
 
-    parameterMap.put(key, value);
+  /**
+   * Adds a parameter with the provided {@code parameterIndex} and {@code value} to the parameter buffer maintained in this instance
+   * for the purpose of audit logging.
+   *
+   * @param enabled Whether the addition of parameter is enabled.
+   * @param parameterIndex The parameter index, where the first parameter is 1, the second is 2, ...
+   * @param value The parameter value.
+   */
+  protected void addParameter(final boolean enabled, final int parameterIndex, final Object value) {
+    currentParameters(enabled).setObject(parameterIndex, value);
+  }
+
+  /**
+   * Adds an integral parameter with the provided {@code parameterIndex} and {@code value} to the parameter buffer maintained in this
+   * instance for the purpose of audit logging, without boxing the {@code value}.
+   *
+   * @param enabled Whether the addition of parameter is enabled.
+   * @param parameterIndex The parameter index, where the first parameter is 1, the second is 2, ...
+   * @param value The parameter value.
+   */
+  protected void addParameter(final boolean enabled, final int parameterIndex, final long value) {
+    currentParameters(enabled).setLong(parameterIndex, value);
+  }
+
+  /**
+   * Adds a floating point parameter with the provided {@code parameterIndex} and {@code value} to the parameter buffer maintained in
+   * this instance for the purpose of audit logging, without boxing the {@code value}.
+   *
+   * @param enabled Whether the addition of parameter is enabled.
+   * @param parameterIndex The parameter index, where the first parameter is 1, the second is 2, ...
+   * @param value The parameter value.
+   */
+  protected void addParameter(final boolean enabled, final int parameterIndex, final double value) {
+    currentParameters(enabled).setDouble(parameterIndex, value);
+  }
+
+  /**
+   * Adds a {@code boolean} parameter with the provided {@code parameterIndex} and {@code value} to the parameter buffer maintained in
+   * this instance for the purpose of audit logging, without boxing the {@code value}.
+   *
+   * @param enabled Whether the addition of parameter is enabled.
+   * @param parameterIndex The parameter index, where the first parameter is 1, the second is 2, ...
+   * @param value The parameter value.
+   */
+  protected void addParameter(final boolean enabled, final int parameterIndex, final boolean value) {
+    currentParameters(enabled).setBoolean(parameterIndex, value);
   }
 
   /**
    * {@inheritDoc}
    * <p>
-   * <b>Note</b>: For the provided {@code sql} to be added, {@link #addParameter(boolean,Object,Object)} must have been called with
-   * {@code enabled=true} in order to initialize the parameter map maintained in this instance for the purpose of audit logging.
+   * <b>Note</b>: The parameters bound since the previous addition are retained as a row of the batch only if {@code enabled=true};
+   * otherwise, the next parameters overwrite them. An addition is thus enabled whenever a consumer of the parameters (TRACE, DEBUG,
+   * metrics or the slow log) is active.
    */
   @Override
   protected void logAddBatch(final boolean enabled, final String sql) {
     if (enabled)
-      addParameterMap = true;
+      addParameterRow = true;
   }
 
   @Override
@@ -316,34 +380,42 @@ public class AuditPreparedStatement extends AuditStatement implements DelegatePr
     return logger;
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * If DEBUG level logging is enabled, the returned {@link ResultSet} tallies the rows as they are consumed, and the DEBUG log entry
+   * for this method is emitted when the returned {@link ResultSet} is closed, or when the parameters of this statement are next
+   * modified, whichever happens first.
+   */
   @Override
   public ResultSet executeQuery() throws SQLException {
     final PreparedStatement statement = getTarget();
-    int size = -1;
     long time = -1;
+    ResultSet resultSet = null;
     Throwable exception = null;
-    final StringBuilder sql = toStringBuilder();
+    final boolean isTraceEnabled = isTraceEnabled();
     final boolean isDebugEnabled = isDebugEnabled();
+    final CharSequence sql = isTraceEnabled || isDebugEnabled || getSlowLog() != null ? lazyToString() : null;
     try {
-      if (isTraceEnabled())
-        trace(StatementType.QUERY, sql, log("executeQuery", true, sql, Integer.MIN_VALUE, null, null, null, -1));
+      flushResultSet();
+      if (isTraceEnabled)
+        trace(StatementType.QUERY, sql, lazyLog("executeQuery", true, sql, Integer.MIN_VALUE, null, null, null, null));
 
-      if (isDebugEnabled)
-        time = System.currentTimeMillis();
+      time = getLogTimestamp(isTimed(isDebugEnabled));
 
-      final ResultSet resultSet = statement.executeQuery();
-      if (isDebugEnabled)
-        size = ResultSets.getSize(resultSet);
-
-      return resultSet;
+      final ResultSet target = statement.executeQuery();
+      return resultSet = wrap(isDebugEnabled, target, "executeQuery", sql, this.sql, time);
     }
     catch (final Throwable t) {
       exception = t;
       throw t;
     }
     finally {
-      if (isDebugEnabled)
-        debug(StatementType.QUERY, sql, log("executeQuery", true, sql, Integer.MIN_VALUE, null, null, size, time), exception);
+      if (resultSet == null) {
+        final AuditTiming timing = audit(isDebugEnabled, StatementType.QUERY, this.sql, time, -1, exception);
+        if (timing != null)
+          report(StatementType.QUERY, this.sql, sql, lazyLog("executeQuery", true, sql, Integer.MIN_VALUE, null, null, -1, timing), timing, exception);
+      }
     }
   }
 
@@ -352,14 +424,14 @@ public class AuditPreparedStatement extends AuditStatement implements DelegatePr
     long time = -1;
     int count = -1;
     Throwable exception = null;
-    final StringBuilder sql = toStringBuilder();
+    final boolean isTraceEnabled = isTraceEnabled();
     final boolean isDebugEnabled = isDebugEnabled();
+    final CharSequence sql = isTraceEnabled || isDebugEnabled || getSlowLog() != null ? lazyToString() : null;
     try {
-      if (isTraceEnabled())
-        trace(StatementType.UPDATE, sql, log("executeUpdate", true, sql, Integer.MIN_VALUE, null, null, null, -1));
+      if (isTraceEnabled)
+        trace(StatementType.UPDATE, sql, lazyLog("executeUpdate", true, sql, Integer.MIN_VALUE, null, null, null, null));
 
-      if (isDebugEnabled)
-        time = System.currentTimeMillis();
+      time = getLogTimestamp(isTimed(isDebugEnabled));
 
       return count = getTarget().executeUpdate();
     }
@@ -368,8 +440,9 @@ public class AuditPreparedStatement extends AuditStatement implements DelegatePr
       throw t;
     }
     finally {
-      if (isDebugEnabled)
-        debug(StatementType.UPDATE, sql, log("executeUpdate", true, sql, Integer.MIN_VALUE, null, null, count, time), exception);
+      final AuditTiming timing = audit(isDebugEnabled, StatementType.UPDATE, this.sql, time, count, exception);
+      if (timing != null)
+        report(StatementType.UPDATE, this.sql, sql, lazyLog("executeUpdate", true, sql, Integer.MIN_VALUE, null, null, count, timing), timing, exception);
     }
   }
 
@@ -459,28 +532,43 @@ public class AuditPreparedStatement extends AuditStatement implements DelegatePr
 
   @Override
   public void setAsciiStream(final int parameterIndex, final InputStream x, final int length) throws SQLException {
-    getTarget().setAsciiStream(parameterIndex, x, length);
-    addParameter(isDebugEnabled(), parameterIndex, x);
+    final boolean enabled = isDebugEnabled();
+    final InputStream in = preview(enabled, x);
+    getTarget().setAsciiStream(parameterIndex, in, length);
+    addParameter(enabled, parameterIndex, in);
   }
 
   @Override
   @Deprecated// (since="1.2")
   public void setUnicodeStream(final int parameterIndex, final InputStream x, final int length) throws SQLException {
-    getTarget().setUnicodeStream(parameterIndex, x, length);
-    addParameter(isDebugEnabled(), parameterIndex, x);
+    final boolean enabled = isDebugEnabled();
+    final InputStream in = preview(enabled, x);
+    getTarget().setUnicodeStream(parameterIndex, in, length);
+    addParameter(enabled, parameterIndex, in);
   }
 
   @Override
   public void setBinaryStream(final int parameterIndex, final InputStream x, final int length) throws SQLException {
-    getTarget().setBinaryStream(parameterIndex, x, length);
-    addParameter(isDebugEnabled(), parameterIndex, x);
+    final boolean enabled = isDebugEnabled();
+    final InputStream in = preview(enabled, x);
+    getTarget().setBinaryStream(parameterIndex, in, length);
+    addParameter(enabled, parameterIndex, in);
+  }
+
+  @Override
+  public void setCharacterStream(final int parameterIndex, final Reader reader, final int length) throws SQLException {
+    final boolean enabled = isDebugEnabled();
+    final Reader in = preview(enabled, reader);
+    getTarget().setCharacterStream(parameterIndex, in, length);
+    addParameter(enabled, parameterIndex, in);
   }
 
   @Override
   public void clearParameters() throws SQLException {
     getTarget().clearParameters();
-    if (parameterMaps != null)
-      parameterMaps.get(parameterMaps.size() - 1).clear();
+    flushResultSet();
+    if (!addParameterRow)
+      parameters[parameterRows - 1].clear();
   }
 
   @Override
@@ -506,14 +594,14 @@ public class AuditPreparedStatement extends AuditStatement implements DelegatePr
     long time = -1;
     boolean result = false;
     Throwable exception = null;
-    final StringBuilder sql = toStringBuilder();
+    final boolean isTraceEnabled = isTraceEnabled();
     final boolean isDebugEnabled = isDebugEnabled();
+    final CharSequence sql = isTraceEnabled || isDebugEnabled || getSlowLog() != null ? lazyToString() : null;
     try {
-      if (isTraceEnabled())
-        trace(StatementType.MULTIPLE, sql, log("execute", true, sql, Integer.MIN_VALUE, null, null, null, -1));
+      if (isTraceEnabled)
+        trace(StatementType.MULTIPLE, sql, lazyLog("execute", true, sql, Integer.MIN_VALUE, null, null, null, null));
 
-      if (isDebugEnabled)
-        time = System.currentTimeMillis();
+      time = getLogTimestamp(isTimed(isDebugEnabled));
 
       return result = getTarget().execute();
     }
@@ -522,17 +610,39 @@ public class AuditPreparedStatement extends AuditStatement implements DelegatePr
       throw t;
     }
     finally {
-      if (isDebugEnabled)
-        debug(StatementType.MULTIPLE, sql, log("execute", true, sql, Integer.MIN_VALUE, null, null, result, time), exception);
+      final AuditTiming timing = audit(isDebugEnabled, StatementType.MULTIPLE, this.sql, time, -1, exception);
+      if (timing != null)
+        report(StatementType.MULTIPLE, this.sql, sql, lazyLog("execute", true, sql, Integer.MIN_VALUE, null, null, result, timing), timing, exception);
     }
   }
 
   @Override
   public void addBatch() throws SQLException {
-    logAddBatch(isDebugEnabled(), sql);
+    logAddBatch(isTraceEnabled() || isTimed(isDebugEnabled()), sql);
     getTarget().addBatch();
   }
 
+  @Override
+  public void clearBatch() throws SQLException {
+    super.clearBatch();
+    resetParameters();
+  }
+
+  @Override
+  String getBatchKey() {
+    return sql;
+  }
+
+  @Override
+  public int[] executeBatch() throws SQLException {
+    try {
+      return super.executeBatch();
+    }
+    finally {
+      resetParameters();
+    }
+  }
+
   @Override
   public void setRef(final int parameterIndex, final Ref x) throws SQLException {
     getTarget().setRef(parameterIndex, x);
@@ -601,8 +711,10 @@ public class AuditPreparedStatement extends AuditStatement implements DelegatePr
 
   @Override
   public void setNCharacterStream(final int parameterIndex, final Reader value, final long length) throws SQLException {
-    getTarget().setNCharacterStream(parameterIndex, value, length);
-    addParameter(isDebugEnabled(), parameterIndex, value);
+    final boolean enabled = isDebugEnabled();
+    final Reader in = preview(enabled, value);
+    getTarget().setNCharacterStream(parameterIndex, in, length);
+    addParameter(enabled, parameterIndex, in);
   }
 
   @Override
@@ -613,20 +725,26 @@ public class AuditPreparedStatement extends AuditStatement implements DelegatePr
 
   @Override
   public void setClob(final int parameterIndex, final Reader reader, final long length) throws SQLException {
-    getTarget().setClob(parameterIndex, reader, length);
-    addParameter(isDebugEnabled(), parameterIndex, reader);
+    final boolean enabled = isDebugEnabled();
+    final Reader in = preview(enabled, reader);
+    getTarget().setClob(parameterIndex, in, length);
+    addParameter(enabled, parameterIndex, in);
   }
 
   @Override
   public void setBlob(final int parameterIndex, final InputStream inputStream, final long length) throws SQLException {
-    getTarget().setBlob(parameterIndex, inputStream, length);
-    addParameter(isDebugEnabled(), parameterIndex, inputStream);
+    final boolean enabled = isDebugEnabled();
+    final InputStream in = preview(enabled, inputStream);
+    getTarget().setBlob(parameterIndex, in, length);
+    addParameter(enabled, parameterIndex, in);
   }
 
   @Override
   public void setNClob(final int parameterIndex, final Reader reader, final long length) throws SQLException {
-    getTarget().setNClob(parameterIndex, reader, length);
-    addParameter(isDebugEnabled(), parameterIndex, reader);
+    final boolean enabled = isDebugEnabled();
+    final Reader in = preview(enabled, reader);
+    getTarget().setNClob(parameterIndex, in, length);
+    addParameter(enabled, parameterIndex, in);
   }
 
   @Override
@@ -637,116 +755,134 @@ public class AuditPreparedStatement extends AuditStatement implements DelegatePr
 
   @Override
   public void setAsciiStream(final int parameterIndex, final InputStream x, final long length) throws SQLException {
-    getTarget().setAsciiStream(parameterIndex, x, length);
-    addParameter(isDebugEnabled(), parameterIndex, x);
+    final boolean enabled = isDebugEnabled();
+    final InputStream in = preview(enabled, x);
+    getTarget().setAsciiStream(parameterIndex, in, length);
+    addParameter(enabled, parameterIndex, in);
   }
 
   @Override
   public void setBinaryStream(final int parameterIndex, final InputStream x, final long length) throws SQLException {
-    getTarget().setBinaryStream(parameterIndex, x, length);
-    addParameter(isDebugEnabled(), parameterIndex, x);
+    final boolean enabled = isDebugEnabled();
+    final InputStream in = preview(enabled, x);
+    getTarget().setBinaryStream(parameterIndex, in, length);
+    addParameter(enabled, parameterIndex, in);
   }
 
   @Override
   public void setCharacterStream(final int parameterIndex, final Reader reader, final long length) throws SQLException {
-    getTarget().setCharacterStream(parameterIndex, reader, length);
-    addParameter(isDebugEnabled(), parameterIndex, reader);
+    final boolean enabled = isDebugEnabled();
+    final Reader in = preview(enabled, reader);
+    getTarget().setCharacterStream(parameterIndex, in, length);
+    addParameter(enabled, parameterIndex, in);
   }
 
   @Override
   public void setAsciiStream(final int parameterIndex, final InputStream x) throws SQLException {
-    getTarget().setAsciiStream(parameterIndex, x);
-    addParameter(isDebugEnabled(), parameterIndex, x);
+    final boolean enabled = isDebugEnabled();
+    final InputStream in = preview(enabled, x);
+    getTarget().setAsciiStream(parameterIndex, in);
+    addParameter(enabled, parameterIndex, in);
   }
 
   @Override
   public void setBinaryStream(final int parameterIndex, final InputStream x) throws SQLException {
-    getTarget().setBinaryStream(parameterIndex, x);
-    addParameter(isDebugEnabled(), parameterIndex, x);
+    final boolean enabled = isDebugEnabled();
+    final InputStream in = preview(enabled, x);
+    getTarget().setBinaryStream(parameterIndex, in);
+    addParameter(enabled, parameterIndex, in);
   }
 
   @Override
   public void setCharacterStream(final int parameterIndex, final Reader reader) throws SQLException {
-    getTarget().setCharacterStream(parameterIndex, reader);
-    addParameter(isDebugEnabled(), parameterIndex, reader);
+    final boolean enabled = isDebugEnabled();
+    final Reader in = preview(enabled, reader);
+    getTarget().setCharacterStream(parameterIndex, in);
+    addParameter(enabled, parameterIndex, in);
   }
 
   @Override
   public void setNCharacterStream(final int parameterIndex, final Reader value) throws SQLException {
-    getTarget().setNCharacterStream(parameterIndex, value);
-    addParameter(isDebugEnabled(), parameterIndex, value);
+    final boolean enabled = isDebugEnabled();
+    final Reader in = preview(enabled, value);
+    getTarget().setNCharacterStream(parameterIndex, in);
+    addParameter(enabled, parameterIndex, in);
   }
 
   @Override
   public void setClob(final int parameterIndex, final Reader reader) throws SQLException {
-    getTarget().setClob(parameterIndex, reader);
-    addParameter(isDebugEnabled(), parameterIndex, reader);
+    final boolean enabled = isDebugEnabled();
+    final Reader in = preview(enabled, reader);
+    getTarget().setClob(parameterIndex, in);
+    addParameter(enabled, parameterIndex, in);
   }
 
   @Override
   public void setBlob(final int parameterIndex, final InputStream inputStream) throws SQLException {
-    getTarget().setBlob(parameterIndex, inputStream);
-    addParameter(isDebugEnabled(), parameterIndex, inputStream);
+    final boolean enabled = isDebugEnabled();
+    final InputStream in = preview(enabled, inputStream);
+    getTarget().setBlob(parameterIndex, in);
+    addParameter(enabled, parameterIndex, in);
   }
 
   @Override
   public void setNClob(final int parameterIndex, final Reader reader) throws SQLException {
-    getTarget().setNClob(parameterIndex, reader);
-    addParameter(isDebugEnabled(), parameterIndex, reader);
+    final boolean enabled = isDebugEnabled();
+    final Reader in = preview(enabled, reader);
+    getTarget().setNClob(parameterIndex, in);
+    addParameter(enabled, parameterIndex, in);
   }
 
   @Override
   public void close() throws SQLException {
-    if (parameterMaps != null) {
-      parameterMaps.clear();
-      parameterMaps = null;
-    }
-
+    parameters = null;
+    parameterRows = 0;
+    addParameterRow = true;
     super.close();
   }
 
   @Override
   protected boolean toStringBatch(final StringBuilder b, final int[] count, final boolean indent) {
-    if (parameterMaps == null)
+    final int size = parameterRows;
+    if (size == 0)
       return false;
 
-    final int size = parameterMaps.size();
     if (size > 1)
       b.append("[\n");
 
     if (count != null) {
       if (indent) {
-        for (int i = 0; i < size; ++i) { // [RA]
+        for (int i = 0; i < size; ++i) { // [A]
           if (i > 0)
             b.append('\n');
 
-          b.append("  ").append(toString(sql, parameterMaps.get(i))).append(" -> ").append(count[i]);
+          b.append("  ").append(toString(sql, parameters[i])).append(" -> ").append(count[i]);
         }
       }
       else {
-        for (int i = 0; i < size; ++i) { // [RA]
+        for (int i = 0; i < size; ++i) { // [A]
           if (i > 0)
             b.append('\n');
 
-          b.append(toString(sql, parameterMaps.get(i))).append(" -> ").append(count[i]);
+          b.append(toString(sql, parameters[i])).append(" -> ").append(count[i]);
         }
       }
     }
     else {
       if (indent) {
-        for (int i = 0; i < size; ++i) { // [RA]
+        for (int i = 0; i < size; ++i) { // [A]
           if (i > 0)
             b.append('\n');
 
-          b.append("  ").append(toString(sql, parameterMaps.get(i)));
+          b.append("  ").append(toString(sql, parameters[i]));
         }
       }
       else {
-        for (int i = 0; i < size; ++i) { // [RA]
+        for (int i = 0; i < size; ++i) { // [A]
           if (i > 0)
             b.append('\n');
 
-          b.append(toString(sql, parameterMaps.get(i)));
+          b.append(toString(sql, parameters[i]));
         }
       }
     }
@@ -758,7 +894,7 @@ public class AuditPreparedStatement extends AuditStatement implements DelegatePr
   }
 
   private StringBuilder toStringBuilder() {
-    if (parameterMaps == null)
+    if (parameterRows == 0)
       return new StringBuilder(sql);
 
     final StringBuilder b = new StringBuilder();
@@ -766,6 +902,22 @@ public class AuditPreparedStatement extends AuditStatement implements DelegatePr
     return b;
   }
 
+  /**
+   * Returns a lazily rendered string representation of this instance's prepared SQL statement with its parameters applied. The SQL
+   * is interpolated upon first access of the returned {@link CharSequence}, which must therefore happen before the parameters of
+   * this instance are modified.
+   *
+   * @return A lazily rendered string representation of this instance's prepared SQL statement with its parameters applied.
+   */
+  private CharSequence lazyToString() {
+    return new LazyCharSequence() {
+      @Override
+      CharSequence render() {
+        return toStringBuilder();
+      }
+    };
+  }
+
   /**
    * Returns a string representation of this instance's prepared SQL statement with its parameters applied.
    *
@@ -773,7 +925,7 @@ public class AuditPreparedStatement extends AuditStatement implements DelegatePr
    */
   @Override
   public String toString() {
-    if (parameterMaps == null)
+    if (parameterRows == 0)
       return sql;
 
     final StringBuilder b = new StringBuilder();
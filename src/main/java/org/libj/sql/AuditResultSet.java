@@ -0,0 +1,123 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A {@link DelegateResultSet} returned by the "executeQuery" methods of {@link AuditStatement} and its subclasses, which tallies the
+ * rows as they are consumed by the application via {@link #next()}, instead of scrolling the result set ahead of the application.
+ * The audit record of the query that produced this result set is deferred until {@link #close()}, at which point it includes the
+ * number of rows consumed, and the {@link AuditTiming} of the query including the time to the first row, the total fetch time, and
+ * the time to close this result set.
+ */
+final class AuditResultSet extends DelegateResultSet {
+  private final AuditStatement statement;
+  private final String method;
+  private final CharSequence sql;
+  private final String key;
+  private final AuditTiming timing;
+  private final long executed;
+  private int size;
+  private boolean logged;
+
+  /**
+   * Creates a new {@link AuditResultSet} with the specified target {@link ResultSet}.
+   *
+   * @param statement The {@link AuditStatement} that produced the {@code target} result set.
+   * @param target The target {@link ResultSet}.
+   * @param method The name of the method that produced the {@code target} result set.
+   * @param sql The SQL statement that produced the {@code target} result set.
+   * @param key The SQL (without interpolated parameters) by which the query is recorded to the {@link AuditMetrics} registry and
+   *          the {@link AuditSlowLog}.
+   * @param timing The {@link AuditTiming} of the execution that produced the {@code target} result set, to which the phases of this
+   *          result set are to be recorded.
+   * @throws NullPointerException If the target {@link ResultSet} is null.
+   */
+  AuditResultSet(final AuditStatement statement, final ResultSet target, final String method, final CharSequence sql, final String key, final AuditTiming timing) {
+    super(target);
+    this.statement = statement;
+    this.method = method;
+    this.sql = sql;
+    this.key = key;
+    this.timing = timing;
+    this.executed = System.nanoTime();
+  }
+
+  /**
+   * Returns the number of rows that have been consumed from this result set via {@link #next()}.
+   *
+   * @return The number of rows that have been consumed from this result set via {@link #next()}.
+   */
+  int getSize() {
+    return size;
+  }
+
+  @Override
+  public boolean next() throws SQLException {
+    final boolean next = target.next();
+    if (next) {
+      if (size++ == 0)
+        timing.firstRow = System.nanoTime() - executed;
+    }
+    else if (timing.fetch == -1) {
+      timing.fetch = System.nanoTime() - executed;
+    }
+
+    return next;
+  }
+
+  @Override
+  public Statement getStatement() throws SQLException {
+    return statement;
+  }
+
+  @Override
+  public void close() throws SQLException {
+    final long time = System.nanoTime();
+    try {
+      target.close();
+    }
+    finally {
+      if (!logged) {
+        if (timing.fetch == -1)
+          timing.fetch = time - executed;
+
+        timing.close = System.nanoTime() - time;
+      }
+
+      log();
+    }
+  }
+
+  /**
+   * Emits the audit record of the query that produced this result set (i.e. its DEBUG log entry and its {@link AuditMetrics}
+   * record), if it has not already been emitted.
+   */
+  void log() {
+    if (logged)
+      return;
+
+    logged = true;
+    if (timing.fetch == -1)
+      timing.fetch = System.nanoTime() - executed;
+
+    statement.logResultSet(this, method, sql, key, timing);
+  }
+}
\ No newline at end of file
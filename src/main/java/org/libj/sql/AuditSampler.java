@@ -0,0 +1,234 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A policy that determines which executions of audited statements are logged at the DEBUG level, so that DEBUG logging can be
+ * enabled on a high-throughput system without logging every statement.
+ * <p>
+ * The decision is made once the statement has been executed (or, in the case of a query, once its {@link java.sql.ResultSet} has
+ * been closed), but before its log entry is rendered. Executions that raise an exception (if {@code logErrors} is set) and executions
+ * that are slower than the {@code slowThresholdNanos} (including the time to fetch the rows of a query) are always logged. All other
+ * executions are subject to the rate decision of {@link #sample(String)}. An execution that is not sampled is not rendered at all.
+ * <p>
+ * The TRACE log entries that precede executions are not subject to sampling.
+ *
+ * @see Audit#setSampler(AuditSampler)
+ */
+public abstract class AuditSampler {
+  private static final class OneIn extends AuditSampler {
+    private final int n;
+    private final AtomicLong count = new AtomicLong();
+
+    private OneIn(final int n, final boolean logErrors, final long slowThresholdNanos) {
+      super(logErrors, slowThresholdNanos);
+      if (n <= 0)
+        throw new IllegalArgumentException("n (" + n + ") must be positive");
+
+      this.n = n;
+    }
+
+    @Override
+    protected boolean sample(final String key) {
+      return n == 1 || count.getAndIncrement() % n == 0;
+    }
+  }
+
+  private static final class TokenBucket {
+    private final double permitsPerNano;
+    private final double burst;
+    private double tokens;
+    private long time;
+
+    private TokenBucket(final double permitsPerNano, final double burst, final long time) {
+      this.permitsPerNano = permitsPerNano;
+      this.burst = burst;
+      this.tokens = burst;
+      this.time = time;
+    }
+
+    private synchronized boolean acquire(final long now) {
+      tokens = Math.min(burst, tokens + (now - time) * permitsPerNano);
+      time = now;
+      if (tokens < 1)
+        return false;
+
+      --tokens;
+      return true;
+    }
+  }
+
+  private static final class PerStatement extends AuditSampler {
+    private final double permitsPerNano;
+    private final int burst;
+    private final int maxStatements;
+    private final ConcurrentHashMap<String,TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final TokenBucket overflow;
+
+    private PerStatement(final double permitsPerSecond, final int burst, final int maxStatements, final boolean logErrors, final long slowThresholdNanos) {
+      super(logErrors, slowThresholdNanos);
+      if (!(permitsPerSecond > 0))
+        throw new IllegalArgumentException("permitsPerSecond (" + permitsPerSecond + ") must be positive");
+
+      if (burst <= 0)
+        throw new IllegalArgumentException("burst (" + burst + ") must be positive");
+
+      if (maxStatements <= 0)
+        throw new IllegalArgumentException("maxStatements (" + maxStatements + ") must be positive");
+
+      this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+      this.burst = burst;
+      this.maxStatements = maxStatements;
+      this.overflow = new TokenBucket(permitsPerNano, burst, System.nanoTime());
+    }
+
+    @Override
+    protected boolean sample(final String key) {
+      final long now = System.nanoTime();
+      if (key == null)
+        return overflow.acquire(now);
+
+      final String fingerprint = SQLFingerprint.of(key).getFingerprint();
+      TokenBucket bucket = buckets.get(fingerprint);
+      if (bucket == null) {
+        if (buckets.size() >= maxStatements)
+          return overflow.acquire(now);
+
+        final TokenBucket existing = buckets.putIfAbsent(fingerprint, bucket = new TokenBucket(permitsPerNano, burst, now));
+        if (existing != null)
+          bucket = existing;
+      }
+
+      return bucket.acquire(now);
+    }
+  }
+
+  /**
+   * Returns an {@link AuditSampler} that logs every {@code n}-th execution of all audited statements.
+   *
+   * @param n The sampling interval, i.e. {@code 1} in {@code n} executions is logged.
+   * @param logErrors Whether executions that raise an exception are always logged.
+   * @param slowThresholdNanos The duration in nanoseconds at or above which executions are always logged, or {@code -1} to disable.
+   * @return An {@link AuditSampler} that logs every {@code n}-th execution of all audited statements.
+   * @throws IllegalArgumentException If {@code n} is not positive.
+   */
+  public static AuditSampler oneIn(final int n, final boolean logErrors, final long slowThresholdNanos) {
+    return new OneIn(n, logErrors, slowThresholdNanos);
+  }
+
+  /**
+   * Returns an {@link AuditSampler} that logs at most {@code permitsPerSecond} executions per second of each distinct SQL statement,
+   * with bursts of up to {@code burst} executions. SQL statements are distinguished by their {@link SQLFingerprint}, and each
+   * distinct statement is allotted its own token bucket, up to {@code maxStatements} distinct statements, beyond which the remaining
+   * statements share a single token bucket.
+   *
+   * @param permitsPerSecond The sustained number of executions per second of each distinct SQL statement that are logged.
+   * @param burst The maximum number of executions of each distinct SQL statement that are logged in a burst.
+   * @param maxStatements The maximum number of distinct SQL statements for which a token bucket is maintained.
+   * @param logErrors Whether executions that raise an exception are always logged.
+   * @param slowThresholdNanos The duration in nanoseconds at or above which executions are always logged, or {@code -1} to disable.
+   * @return An {@link AuditSampler} that logs at most {@code permitsPerSecond} executions per second of each distinct SQL statement.
+   * @throws IllegalArgumentException If {@code permitsPerSecond}, {@code burst} or {@code maxStatements} is not positive.
+   */
+  public static AuditSampler perStatement(final double permitsPerSecond, final int burst, final int maxStatements, final boolean logErrors, final long slowThresholdNanos) {
+    return new PerStatement(permitsPerSecond, burst, maxStatements, logErrors, slowThresholdNanos);
+  }
+
+  private final boolean logErrors;
+  private final long slowThresholdNanos;
+  private final LongAdder sampled = new LongAdder();
+  private final LongAdder suppressed = new LongAdder();
+
+  /**
+   * Creates a new {@link AuditSampler} with the provided parameters.
+   *
+   * @param logErrors Whether executions that raise an exception are always logged.
+   * @param slowThresholdNanos The duration in nanoseconds at or above which executions are always logged, or {@code -1} to disable.
+   */
+  protected AuditSampler(final boolean logErrors, final long slowThresholdNanos) {
+    this.logErrors = logErrors;
+    this.slowThresholdNanos = slowThresholdNanos;
+  }
+
+  /**
+   * Returns whether executions that raise an exception are always logged.
+   *
+   * @return Whether executions that raise an exception are always logged.
+   */
+  public boolean isLogErrors() {
+    return logErrors;
+  }
+
+  /**
+   * Returns the duration in nanoseconds at or above which executions are always logged, or {@code -1} if disabled.
+   *
+   * @return The duration in nanoseconds at or above which executions are always logged, or {@code -1} if disabled.
+   */
+  public long getSlowThresholdNanos() {
+    return slowThresholdNanos;
+  }
+
+  /**
+   * Returns the number of executions that have been logged as per this sampler.
+   *
+   * @return The number of executions that have been logged as per this sampler.
+   */
+  public long getSampled() {
+    return sampled.sum();
+  }
+
+  /**
+   * Returns the number of executions that have not been logged as per this sampler.
+   *
+   * @return The number of executions that have not been logged as per this sampler.
+   */
+  public long getSuppressed() {
+    return suppressed.sum();
+  }
+
+  /**
+   * Returns whether an execution of the SQL statement identified by the provided {@code key}, which is neither erroneous nor slow, is
+   * to be logged. This method is called for every such execution, and must therefore be cheap.
+   *
+   * @param key The SQL of the statement (without interpolated parameters), or {@code null} if not available.
+   * @return Whether the execution is to be logged.
+   */
+  protected abstract boolean sample(String key);
+
+  /**
+   * Returns whether an execution of the SQL statement identified by the provided {@code key} is to be logged.
+   *
+   * @param key The SQL of the statement (without interpolated parameters), or {@code null} if not available.
+   * @param nanos The duration of the execution in nanoseconds, or {@code -1} if not measured.
+   * @param exception The exception raised by the execution, or {@code null} if none was raised.
+   * @return Whether the execution is to be logged.
+   */
+  public boolean isSampled(final String key, final long nanos, final Throwable exception) {
+    if (exception != null && logErrors || slowThresholdNanos != -1 && nanos >= slowThresholdNanos || sample(key)) {
+      sampled.increment();
+      return true;
+    }
+
+    suppressed.increment();
+    return false;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,339 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A log of the executions of audited statements whose latency is at or above a threshold. Each slow execution is logged at the WARN
+ * level to the logger associated with the {@link AuditSlowLog} class, with its SQL and interpolated parameters. Executions below the
+ * threshold are not rendered at all.
+ * <p>
+ * In addition, the slow log maintains two fixed-size tables of the {@code k} slowest statements, keyed by {@link SQLFingerprint}:
+ * <ul>
+ * <li>{@link #getTopByMax()}: The statements with the greatest maximum latency, along with the SQL of the slowest execution.</li>
+ * <li>{@link #getTopByTotal()}: The statements with the greatest total latency of slow executions. Once the table is full, a new
+ * statement replaces the entry with the least total latency and inherits its total (as per the "Space-Saving" algorithm), so the
+ * totals are upper bounds, overestimated by at most {@link Entry#getErrorNanos()}.</li>
+ * </ul>
+ * The latency of an execution is the time spent in the "execute" method, plus (for queries) the time to fetch and close the
+ * {@link java.sql.ResultSet}.
+ *
+ * @see Audit#setSlowLog(AuditSlowLog)
+ */
+public final class AuditSlowLog {
+  private static final Logger logger = LoggerFactory.getLogger(AuditSlowLog.class);
+
+  /**
+   * An entry of the top-k tables of an {@link AuditSlowLog}.
+   */
+  public static final class Entry {
+    private final SQLFingerprint fingerprint;
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+    private long errorNanos;
+    private String sql;
+
+    private Entry(final SQLFingerprint fingerprint) {
+      this.fingerprint = fingerprint;
+    }
+
+    private Entry(final Entry copy) {
+      this.fingerprint = copy.fingerprint;
+      this.count = copy.count;
+      this.totalNanos = copy.totalNanos;
+      this.maxNanos = copy.maxNanos;
+      this.errorNanos = copy.errorNanos;
+      this.sql = copy.sql;
+    }
+
+    /**
+     * Returns the {@link SQLFingerprint} of the statement.
+     *
+     * @return The {@link SQLFingerprint} of the statement.
+     */
+    public SQLFingerprint getFingerprint() {
+      return fingerprint;
+    }
+
+    /**
+     * Returns the number of slow executions of the statement.
+     *
+     * @return The number of slow executions of the statement.
+     */
+    public long getCount() {
+      return count;
+    }
+
+    /**
+     * Returns the total latency of the slow executions of the statement in nanoseconds.
+     *
+     * @return The total latency of the slow executions of the statement in nanoseconds.
+     */
+    public long getTotalNanos() {
+      return totalNanos;
+    }
+
+    /**
+     * Returns the maximum latency of the slow executions of the statement in nanoseconds.
+     *
+     * @return The maximum latency of the slow executions of the statement in nanoseconds.
+     */
+    public long getMaxNanos() {
+      return maxNanos;
+    }
+
+    /**
+     * Returns the maximum overestimation of {@link #getTotalNanos()} and {@link #getCount()} (in nanoseconds) that is due to the
+     * eviction of another statement from the table, or {@code 0} if the total is exact.
+     *
+     * @return The maximum overestimation of {@link #getTotalNanos()} in nanoseconds.
+     */
+    public long getErrorNanos() {
+      return errorNanos;
+    }
+
+    /**
+     * Returns the log entry (with interpolated parameters) of the slowest execution of the statement that has been recorded in this
+     * entry.
+     *
+     * @return The log entry of the slowest execution of the statement that has been recorded in this entry.
+     */
+    public String getSql() {
+      return sql;
+    }
+
+    @Override
+    public String toString() {
+      final StringBuilder b = new StringBuilder();
+      b.append(fingerprint).append(": count=").append(count).append(", total=");
+      AuditTiming.appendMillis(b, totalNanos).append(", max=");
+      return AuditTiming.appendMillis(b, maxNanos).toString();
+    }
+  }
+
+  private static final Comparator<Entry> byMax = (o1, o2) -> Long.compare(o2.maxNanos, o1.maxNanos);
+  private static final Comparator<Entry> byTotal = (o1, o2) -> Long.compare(o2.totalNanos, o1.totalNanos);
+
+  private static int indexOf(final Entry[] entries, final int size, final SQLFingerprint fingerprint) {
+    for (int i = 0; i < size; ++i) // [A]
+      if (entries[i].fingerprint.equals(fingerprint))
+        return i;
+
+    return -1;
+  }
+
+  private static int indexOfMin(final Entry[] entries, final int size, final Comparator<Entry> comparator) {
+    int min = 0;
+    for (int i = 1; i < size; ++i) // [A]
+      if (comparator.compare(entries[i], entries[min]) > 0)
+        min = i;
+
+    return min;
+  }
+
+  private static List<Entry> snapshot(final Entry[] entries, final int size, final Comparator<Entry> comparator) {
+    final Entry[] copy = new Entry[size];
+    for (int i = 0; i < size; ++i) // [A]
+      copy[i] = new Entry(entries[i]);
+
+    Arrays.sort(copy, comparator);
+    return new ArrayList<>(Arrays.asList(copy));
+  }
+
+  private static void append(final StringBuilder b, final List<Entry> entries) {
+    for (int i = 0, i$ = entries.size(); i < i$; ++i) // [RA]
+      b.append("\n  ").append(entries.get(i));
+  }
+
+  private final long thresholdNanos;
+  private final Entry[] topByMax;
+  private final Entry[] topByTotal;
+  private final LongAdder slow = new LongAdder();
+  private int sizeByMax;
+  private int sizeByTotal;
+
+  /**
+   * Creates a new {@link AuditSlowLog} with the provided threshold and size of the top-k tables.
+   *
+   * @param thresholdNanos The latency in nanoseconds at or above which executions are considered slow.
+   * @param k The size of the top-k tables.
+   * @throws IllegalArgumentException If {@code thresholdNanos} is negative, or if {@code k} is not positive.
+   */
+  public AuditSlowLog(final long thresholdNanos, final int k) {
+    if (thresholdNanos < 0)
+      throw new IllegalArgumentException("thresholdNanos (" + thresholdNanos + ") must be non-negative");
+
+    if (k <= 0)
+      throw new IllegalArgumentException("k (" + k + ") must be positive");
+
+    this.thresholdNanos = thresholdNanos;
+    this.topByMax = new Entry[k];
+    this.topByTotal = new Entry[k];
+  }
+
+  /**
+   * Returns the latency in nanoseconds at or above which executions are considered slow.
+   *
+   * @return The latency in nanoseconds at or above which executions are considered slow.
+   */
+  public long getThresholdNanos() {
+    return thresholdNanos;
+  }
+
+  /**
+   * Returns the number of slow executions that have been recorded.
+   *
+   * @return The number of slow executions that have been recorded.
+   */
+  public long getSlowCount() {
+    return slow.sum();
+  }
+
+  /**
+   * Returns whether the execution with the provided {@link AuditTiming} is slow.
+   *
+   * @param timing The {@link AuditTiming} of the execution.
+   * @return Whether the execution with the provided {@link AuditTiming} is slow.
+   */
+  boolean isSlow(final AuditTiming timing) {
+    return timing.getLatencyNanos() >= thresholdNanos;
+  }
+
+  /**
+   * Records the execution of the provided statement if it is {@linkplain #isSlow(AuditTiming) slow}, in which case its log entry is
+   * rendered and logged. Otherwise, the log entry is not rendered.
+   *
+   * @param key The SQL of the statement (without interpolated parameters), or {@code null} if not available.
+   * @param timing The {@link AuditTiming} of the execution.
+   * @param detail The (lazily rendered) log entry of the execution.
+   */
+  void record(final String key, final AuditTiming timing, final CharSequence detail) {
+    if (!isSlow(timing))
+      return;
+
+    slow.increment();
+    final long nanos = timing.getLatencyNanos();
+    final String sql = detail.toString();
+    if (logger.isWarnEnabled()) { logger.warn("Slow statement ({}): {}", timing, sql); }
+
+    if (key == null)
+      return;
+
+    final SQLFingerprint fingerprint = SQLFingerprint.of(key);
+    synchronized (this) {
+      int i = indexOf(topByMax, sizeByMax, fingerprint);
+      if (i == -1) {
+        if (sizeByMax < topByMax.length) {
+          i = sizeByMax++;
+        }
+        else {
+          i = indexOfMin(topByMax, sizeByMax, byMax);
+          if (topByMax[i].maxNanos >= nanos)
+            i = -1;
+        }
+
+        if (i != -1)
+          topByMax[i] = new Entry(fingerprint);
+      }
+
+      if (i != -1) {
+        final Entry entry = topByMax[i];
+        ++entry.count;
+        entry.totalNanos += nanos;
+        if (nanos > entry.maxNanos) {
+          entry.maxNanos = nanos;
+          entry.sql = sql;
+        }
+      }
+
+      i = indexOf(topByTotal, sizeByTotal, fingerprint);
+      if (i == -1) {
+        final Entry entry = new Entry(fingerprint);
+        if (sizeByTotal < topByTotal.length) {
+          i = sizeByTotal++;
+        }
+        else {
+          i = indexOfMin(topByTotal, sizeByTotal, byTotal);
+          final Entry min = topByTotal[i];
+          entry.count = min.count;
+          entry.totalNanos = entry.errorNanos = min.totalNanos;
+        }
+
+        topByTotal[i] = entry;
+      }
+
+      final Entry entry = topByTotal[i];
+      ++entry.count;
+      entry.totalNanos += nanos;
+      if (nanos > entry.maxNanos) {
+        entry.maxNanos = nanos;
+        entry.sql = sql;
+      }
+    }
+  }
+
+  /**
+   * Returns a snapshot of the statements with the greatest maximum latency, in descending order of maximum latency.
+   *
+   * @return A snapshot of the statements with the greatest maximum latency, in descending order of maximum latency.
+   */
+  public synchronized List<Entry> getTopByMax() {
+    return snapshot(topByMax, sizeByMax, byMax);
+  }
+
+  /**
+   * Returns a snapshot of the statements with the greatest total latency of slow executions, in descending order of total latency.
+   *
+   * @return A snapshot of the statements with the greatest total latency of slow executions, in descending order of total latency.
+   */
+  public synchronized List<Entry> getTopByTotal() {
+    return snapshot(topByTotal, sizeByTotal, byTotal);
+  }
+
+  /**
+   * Clears the top-k tables of this slow log.
+   */
+  public synchronized void clear() {
+    Arrays.fill(topByMax, 0, sizeByMax, null);
+    Arrays.fill(topByTotal, 0, sizeByTotal, null);
+    sizeByMax = 0;
+    sizeByTotal = 0;
+  }
+
+  /**
+   * Returns a report of the top-k tables of this slow log.
+   *
+   * @return A report of the top-k tables of this slow log.
+   */
+  @Override
+  public String toString() {
+    final StringBuilder b = new StringBuilder("Top by max:");
+    append(b, getTopByMax());
+    b.append("\nTop by total:");
+    append(b, getTopByTotal());
+    return b.toString();
+  }
+}
\ No newline at end of file
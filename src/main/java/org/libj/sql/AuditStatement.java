@@ -74,6 +74,8 @@ public class AuditStatement extends Audit implements DelegateStatement {
 
   private final Statement target;
   private ArrayList<String> batchLogs;
+  private AuditResultSet resultSet;
+  private AuditTiming timing;
 
   /**
    * Creates a new {@link AuditStatement} with the specified {@code target} to which all method calls will be delegated.
@@ -89,12 +91,157 @@ public class AuditStatement extends Audit implements DelegateStatement {
     return logger;
   }
 
+  /**
+   * Returns the value of {@link System#nanoTime()} if {@code enabled}, otherwise {@code -1}.
+   *
+   * @param enabled Whether timing is enabled.
+   * @return The value of {@link System#nanoTime()} if {@code enabled}, otherwise {@code -1}.
+   */
   protected long getLogTimestamp(final boolean enabled) {
-    return enabled ? System.currentTimeMillis() : -1;
+    return enabled ? System.nanoTime() : -1;
+  }
+
+  /**
+   * Returns the {@link AuditTiming} of the last execution of this statement, or {@code null} if this statement has not been executed
+   * with DEBUG level logging enabled or an {@link AuditMetrics} registry set. If the last execution returned a {@link ResultSet}, the
+   * phases pertaining to the {@link ResultSet} are complete only once it has been closed.
+   *
+   * @return The {@link AuditTiming} of the last execution of this statement, or {@code null} if this statement has not been executed
+   *         with DEBUG level logging enabled or an {@link AuditMetrics} registry set.
+   */
+  public AuditTiming getTiming() {
+    return timing;
+  }
+
+  /**
+   * Returns a new {@link AuditTiming} for the execution that started at the provided {@code time}, and sets it as the
+   * {@linkplain #getTiming() timing of the last execution} of this statement.
+   *
+   * @param time The value of {@link System#nanoTime()} before the execution, or {@code -1} if the execution was not timed.
+   * @return A new {@link AuditTiming} for the execution that started at the provided {@code time}.
+   */
+  AuditTiming newTiming(final long time) {
+    final AuditTiming timing = new AuditTiming();
+    if (time != -1)
+      timing.execute = System.nanoTime() - time;
+
+    return this.timing = timing;
+  }
+
+  /**
+   * Returns whether executions are to be timed, which is the case if DEBUG level logging is enabled, or if an {@link AuditMetrics}
+   * registry or an {@link AuditSlowLog} is set.
+   *
+   * @param isDebugEnabled Whether DEBUG level logging is enabled.
+   * @return Whether executions are to be timed.
+   */
+  static boolean isTimed(final boolean isDebugEnabled) {
+    return isDebugEnabled || getMetrics() != null || getSlowLog() != null;
+  }
+
+  /**
+   * Completes the audit of an execution that started at the provided {@code time}, by recording it to the {@link AuditMetrics}
+   * registry (if {@linkplain #setMetrics(AuditMetrics) set}), and returns its {@link AuditTiming} if its log entry is to be
+   * {@linkplain #report reported}, which is the case if its DEBUG log entry is to be emitted as per
+   * {@link #isSampled(String,AuditTiming,Throwable)}, or if it is slow as per the {@link AuditSlowLog} (if
+   * {@linkplain #setSlowLog(AuditSlowLog) set}).
+   *
+   * @param isDebugEnabled Whether DEBUG level logging is enabled.
+   * @param statementType The {@link StatementType} of the execution.
+   * @param key The SQL of the statement (without interpolated parameters), or {@code null} if not available.
+   * @param time The value of {@link System#nanoTime()} before the execution, or {@code -1} if the execution was not timed.
+   * @param rows The number of rows affected by the execution, or {@code -1} if not known.
+   * @param exception The exception raised by the execution, or {@code null} if none was raised.
+   * @return The {@link AuditTiming} of the execution if its log entry is to be reported, otherwise {@code null}.
+   */
+  AuditTiming audit(final boolean isDebugEnabled, final StatementType statementType, final String key, final long time, final long rows, final Throwable exception) {
+    final AuditMetrics metrics = getMetrics();
+    final AuditSlowLog slowLog = getSlowLog();
+    if (!isDebugEnabled && metrics == null && slowLog == null)
+      return null;
+
+    final AuditTiming timing = newTiming(time);
+    if (metrics != null && key != null)
+      metrics.record(key, statementType, timing, rows, exception);
+
+    timing.sampled = isDebugEnabled && isSampled(key, timing, exception);
+    return timing.sampled || slowLog != null && slowLog.isSlow(timing) ? timing : null;
   }
 
-  protected int getLogResultSetSize(final boolean enabled, final ResultSet resultSet) throws SQLException {
-    return enabled ? ResultSets.getSize(resultSet) : -1;
+  /**
+   * Reports the provided log entry of an execution that has been {@linkplain #audit audited}, by recording it to the
+   * {@link AuditSlowLog} (if {@linkplain #setSlowLog(AuditSlowLog) set}), and by logging it at the DEBUG level if it has been
+   * sampled. The {@code detail} entry is rendered only if either is the case.
+   *
+   * @param statementType The {@link StatementType} of the execution.
+   * @param key The SQL of the statement (without interpolated parameters), or {@code null} if not available.
+   * @param sql The SQL log entry.
+   * @param detail The detail log entry, which contains the {@code sql} string.
+   * @param timing The {@link AuditTiming} of the execution.
+   * @param exception The exception raised by the execution, or {@code null} if none was raised.
+   */
+  void report(final StatementType statementType, final String key, final CharSequence sql, final CharSequence detail, final AuditTiming timing, final Throwable exception) {
+    final AuditSlowLog slowLog = getSlowLog();
+    if (slowLog != null)
+      slowLog.record(key, timing, detail);
+
+    if (timing.sampled)
+      debug(statementType, sql, detail, exception);
+  }
+
+  /**
+   * Returns an {@link AuditResultSet} wrapping the provided {@link ResultSet} if the query that produced it is to be audited, which
+   * defers the log entry and the {@link AuditMetrics} record of the query until the {@link AuditResultSet} is closed. The query is
+   * audited if an {@link AuditMetrics} registry or an {@link AuditSlowLog} is set, or if {@code isDebugEnabled}. Otherwise, or if
+   * {@code resultSet} is null, the provided {@link ResultSet} is returned. Whether the DEBUG log entry of the query is
+   * {@linkplain #isSampled(String,AuditTiming,Throwable) sampled} is decided when the {@link AuditResultSet} is closed, with the
+   * {@link AuditTiming} that includes the time to fetch and close it.
+   *
+   * @param isDebugEnabled Whether DEBUG level logging is enabled.
+   * @param resultSet The {@link ResultSet} to wrap.
+   * @param method The name of the method that produced the {@code resultSet}.
+   * @param sql The SQL statement that produced the {@code resultSet}.
+   * @param key The SQL of the statement (without interpolated parameters), or {@code null} if not available.
+   * @param time The value of {@link System#nanoTime()} before the execution, or {@code -1} if the execution was not timed.
+   * @return An {@link AuditResultSet} wrapping the provided {@link ResultSet} if the query is to be audited, otherwise the provided
+   *         {@link ResultSet}.
+   */
+  ResultSet wrap(final boolean isDebugEnabled, final ResultSet resultSet, final String method, final CharSequence sql, final String key, final long time) {
+    final AuditMetrics metrics = getMetrics();
+    final AuditSlowLog slowLog = getSlowLog();
+    if (resultSet == null || !isDebugEnabled && metrics == null && slowLog == null)
+      return resultSet;
+
+    // The sampling decision is deferred until the result set is closed, so that a query that is slow to fetch is not sampled out
+    flushResultSet();
+    return this.resultSet = new AuditResultSet(this, resultSet, method, sql, key, newTiming(time));
+  }
+
+  /**
+   * Emits the deferred DEBUG log entry of the {@link AuditResultSet} last returned by this instance, if it has not already been
+   * emitted. This method is called when the result set is implicitly closed by the driver, or when the SQL of the query that
+   * produced it is about to change.
+   */
+  void flushResultSet() {
+    final AuditResultSet resultSet = this.resultSet;
+    if (resultSet != null) {
+      this.resultSet = null;
+      resultSet.log();
+    }
+  }
+
+  void logResultSet(final AuditResultSet resultSet, final String method, final CharSequence sql, final String key, final AuditTiming timing) {
+    if (this.resultSet == resultSet)
+      this.resultSet = null;
+
+    final AuditMetrics metrics = getMetrics();
+    if (metrics != null && key != null)
+      metrics.record(key, StatementType.QUERY, timing, resultSet.getSize(), null);
+
+    timing.sampled = isDebugEnabled() && isSampled(key, timing, null);
+    final AuditSlowLog slowLog = getSlowLog();
+    if (timing.sampled || slowLog != null && slowLog.isSlow(timing))
+      report(StatementType.QUERY, key, sql, lazyLog(method, true, sql, Integer.MIN_VALUE, null, null, resultSet.getSize(), timing), timing, null);
   }
 
   /**
@@ -112,11 +259,11 @@ public class AuditStatement extends Audit implements DelegateStatement {
    * @param columnNames An array of column names indicating the columns that should be returned from the inserted row or rows, or
    *          {@code null} for the parameter to be omitted.
    * @param result An object representing the result value from the caller's context.
-   * @param time The timestamp before the invocation of the method to be timed.
+   * @param timing The {@link AuditTiming} of the invocation of the method, or {@code null} if the method has not been invoked.
    * @return A log entry for the provided parameters.
    * @throws SQLException If a SQL error has occurred.
    */
-  protected String log(final String method, final boolean newLine, final CharSequence sql, final int autoGeneratedKeys, final int[] columnIndexes, final String[] columnNames, final Object result, final long time) throws SQLException {
+  protected String log(final String method, final boolean newLine, final CharSequence sql, final int autoGeneratedKeys, final int[] columnIndexes, final String[] columnNames, final Object result, final AuditTiming timing) throws SQLException {
     final StringBuilder b = AuditUtil.log(this, method, getConnection(), newLine, sql);
     if (autoGeneratedKeys != Integer.MIN_VALUE) {
       b.append(", ").append(autoGeneratedKeys);
@@ -133,38 +280,81 @@ public class AuditStatement extends Audit implements DelegateStatement {
     b.append("\n)");
 
     if (result != null)
-      withResult(b, result, time);
+      withResult(b, result, timing);
 
     return b.toString();
   }
 
+  /**
+   * Returns a lazily rendered log entry for the provided parameters. The entry is rendered by
+   * {@link #log(String,boolean,CharSequence,int,int[],String[],Object,AuditTiming)} upon first access, and is therefore only paid for if
+   * it is consumed by the sink to which it is provided.
+   *
+   * @param method The name of the method for which the log entry is being created.
+   * @param newLine If {@code true}, a newline character {@code '\n'} will be appended before the {@code sql} string. If
+   *          {@code false}, no newline character will be appended before the {@code sql} string.
+   * @param sql The SQL statement.
+   * @param autoGeneratedKeys A flag indicating whether auto-generated keys should be returned; one of
+   *          {@link Statement#RETURN_GENERATED_KEYS}, {@link Statement#NO_GENERATED_KEYS}, or {@code Integer.MIN_VALUE} for the
+   *          parameter to be omitted.
+   * @param columnIndexes An array of column indexes indicating the columns that should be returned from the inserted row or rows, or
+   *          {@code null} for the parameter to be omitted.
+   * @param columnNames An array of column names indicating the columns that should be returned from the inserted row or rows, or
+   *          {@code null} for the parameter to be omitted.
+   * @param result An object representing the result value from the caller's context.
+   * @param timing The {@link AuditTiming} of the invocation of the method, or {@code null} if the method has not been invoked.
+   * @return A lazily rendered log entry for the provided parameters.
+   */
+  protected CharSequence lazyLog(final String method, final boolean newLine, final CharSequence sql, final int autoGeneratedKeys, final int[] columnIndexes, final String[] columnNames, final Object result, final AuditTiming timing) {
+    return new LazyCharSequence() {
+      @Override
+      CharSequence render() {
+        try {
+          return log(method, newLine, sql, autoGeneratedKeys, columnIndexes, columnNames, result, timing);
+        }
+        catch (final SQLException e) {
+          throw new IllegalStateException(e);
+        }
+      }
+    };
+  }
+
   @Override
   public Statement getTarget() {
     return target;
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * If DEBUG level logging is enabled, the returned {@link ResultSet} tallies the rows as they are consumed, and the DEBUG log entry
+   * for this method is emitted when the returned {@link ResultSet} is closed.
+   */
   @Override
   public ResultSet executeQuery(final String sql) throws SQLException {
     long time = -1;
-    int size = -1;
+    ResultSet resultSet = null;
     Throwable exception = null;
     final boolean isDebugEnabled = isDebugEnabled();
     try {
+      flushResultSet();
       if (isTraceEnabled())
-        trace(StatementType.QUERY, sql, log("executeQuery", true, sql, Integer.MIN_VALUE, null, null, null, -1));
+        trace(StatementType.QUERY, sql, lazyLog("executeQuery", true, sql, Integer.MIN_VALUE, null, null, null, null));
 
-      time = getLogTimestamp(isDebugEnabled);
-      final ResultSet resultSet = getTarget().executeQuery(sql);
-      size = getLogResultSetSize(isDebugEnabled, resultSet);
-      return resultSet;
+      time = getLogTimestamp(isTimed(isDebugEnabled));
+      final ResultSet target = getTarget().executeQuery(sql);
+      return resultSet = wrap(isDebugEnabled, target, "executeQuery", sql, sql, time);
     }
     catch (final Throwable t) {
       exception = t;
       throw t;
     }
     finally {
-      if (isDebugEnabled)
-        debug(StatementType.QUERY, sql, log("executeQuery", true, sql, Integer.MIN_VALUE, null, null, size, time), exception);
+      if (resultSet == null) {
+        final AuditTiming timing = audit(isDebugEnabled, StatementType.QUERY, sql, time, -1, exception);
+        if (timing != null)
+          report(StatementType.QUERY, sql, sql, lazyLog("executeQuery", true, sql, Integer.MIN_VALUE, null, null, -1, timing), timing, exception);
+      }
     }
   }
 
@@ -176,9 +366,9 @@ public class AuditStatement extends Audit implements DelegateStatement {
     final boolean isDebugEnabled = isDebugEnabled();
     try {
       if (isTraceEnabled())
-        trace(StatementType.UPDATE, sql, log("executeUpdate", true, sql, Integer.MIN_VALUE, null, null, null, -1));
+        trace(StatementType.UPDATE, sql, lazyLog("executeUpdate", true, sql, Integer.MIN_VALUE, null, null, null, null));
 
-      time = getLogTimestamp(isDebugEnabled);
+      time = getLogTimestamp(isTimed(isDebugEnabled));
       return count = getTarget().executeUpdate(sql);
     }
     catch (final Throwable t) {
@@ -186,14 +376,16 @@ public class AuditStatement extends Audit implements DelegateStatement {
       throw t;
     }
     finally {
-      if (isDebugEnabled)
-        debug(StatementType.UPDATE, sql, log("executeUpdate", true, sql, Integer.MIN_VALUE, null, null, count, time), exception);
+      final AuditTiming timing = audit(isDebugEnabled, StatementType.UPDATE, sql, time, count, exception);
+      if (timing != null)
+        report(StatementType.UPDATE, sql, sql, lazyLog("executeUpdate", true, sql, Integer.MIN_VALUE, null, null, count, timing), timing, exception);
     }
   }
 
   @Override
   public void close() throws SQLException {
     try {
+      flushResultSet();
       final Statement target = getTarget();
       if (!target.isClosed())
         target.close();
@@ -217,9 +409,9 @@ public class AuditStatement extends Audit implements DelegateStatement {
     final boolean isDebugEnabled = isDebugEnabled();
     try {
       if (isTraceEnabled())
-        trace(StatementType.MULTIPLE, sql, log("execute", true, sql, Integer.MIN_VALUE, null, null, null, -1));
+        trace(StatementType.MULTIPLE, sql, lazyLog("execute", true, sql, Integer.MIN_VALUE, null, null, null, null));
 
-      time = getLogTimestamp(isDebugEnabled);
+      time = getLogTimestamp(isTimed(isDebugEnabled));
       return result = getTarget().execute(sql);
     }
     catch (final Throwable t) {
@@ -227,15 +419,18 @@ public class AuditStatement extends Audit implements DelegateStatement {
       throw t;
     }
     finally {
-      if (isDebugEnabled)
-        debug(StatementType.MULTIPLE, sql, log("execute", true, sql, Integer.MIN_VALUE, null, null, result, time), exception);
+      final AuditTiming timing = audit(isDebugEnabled, StatementType.MULTIPLE, sql, time, -1, exception);
+      if (timing != null)
+        report(StatementType.MULTIPLE, sql, sql, lazyLog("execute", true, sql, Integer.MIN_VALUE, null, null, result, timing), timing, exception);
     }
   }
 
   /**
-   * Adds the provided {@code sql} to the list of statements executed as a batch by this instance, for the purpose of logging.
+   * Adds the provided {@code sql} to the list of statements executed as a batch by this instance, for the purpose of logging, and
+   * of the {@linkplain #getBatchKey() key} by which the batch is recorded to the {@link AuditMetrics} registry and the
+   * {@link AuditSlowLog}.
    *
-   * @param enabled Whether the addition of parameter is enabled.
+   * @param enabled Whether the addition is enabled, which is the case if the batch is {@linkplain #isTimed(boolean) timed}.
    * @param sql The SQL to add.
    */
   protected void logAddBatch(final boolean enabled, final String sql) {
@@ -250,7 +445,7 @@ public class AuditStatement extends Audit implements DelegateStatement {
 
   @Override
   public void addBatch(final String sql) throws SQLException {
-    logAddBatch(isDebugEnabled(), sql);
+    logAddBatch(isTimed(isDebugEnabled()), sql);
     getTarget().addBatch(sql);
   }
 
@@ -268,11 +463,12 @@ public class AuditStatement extends Audit implements DelegateStatement {
     Throwable exception = null;
     final boolean isDebugEnabled = isDebugEnabled();
     try {
-      final StringBuilder sql = logExecuteBatch(null, -1);
-      if (isTraceEnabled())
-        trace(StatementType.MULTIPLE, sql.toString(), log("executeBatch", false, sql, Integer.MIN_VALUE, null, null, null, -1));
+      if (isTraceEnabled()) {
+        final CharSequence sql = lazyLogExecuteBatch(null, null);
+        trace(StatementType.MULTIPLE, sql, lazyLog("executeBatch", false, sql, Integer.MIN_VALUE, null, null, null, null));
+      }
 
-      time = getLogTimestamp(isDebugEnabled);
+      time = getLogTimestamp(isTimed(isDebugEnabled));
       return count = getTarget().executeBatch();
     }
     catch (final Throwable t) {
@@ -280,14 +476,16 @@ public class AuditStatement extends Audit implements DelegateStatement {
       throw t;
     }
     finally {
-      final StringBuilder sql = logExecuteBatch(count, time);
-      if ("[])".equals(sql.toString()))
-        logExecuteBatch(count, time);
-
-      if (isDebugEnabled)
-        debug(StatementType.MULTIPLE, sql.toString(), log("executeBatch", false, sql, Integer.MIN_VALUE, null, null, null, -1), exception);
+      final String key = getBatchKey();
+      final AuditTiming timing = audit(isDebugEnabled, StatementType.UPDATE, key, time, sum(count), exception);
+      if (timing != null) {
+        final CharSequence sql = lazyLogExecuteBatch(count, timing);
+        report(StatementType.MULTIPLE, key, sql, lazyLog("executeBatch", false, sql, Integer.MIN_VALUE, null, null, null, null), timing, exception);
+      }
 
-      logExecuteBatch(count, time);
+      // The batch of the target is cleared by its execution
+      if (batchLogs != null)
+        batchLogs.clear();
     }
   }
 
@@ -299,9 +497,9 @@ public class AuditStatement extends Audit implements DelegateStatement {
     final boolean isDebugEnabled = isDebugEnabled();
     try {
       if (isTraceEnabled())
-        trace(StatementType.UPDATE, sql, log("executeUpdate", true, sql, autoGeneratedKeys, null, null, null, -1));
+        trace(StatementType.UPDATE, sql, lazyLog("executeUpdate", true, sql, autoGeneratedKeys, null, null, null, null));
 
-      time = getLogTimestamp(isDebugEnabled);
+      time = getLogTimestamp(isTimed(isDebugEnabled));
       return count = getTarget().executeUpdate(sql, autoGeneratedKeys);
     }
     catch (final Throwable t) {
@@ -309,8 +507,9 @@ public class AuditStatement extends Audit implements DelegateStatement {
       throw t;
     }
     finally {
-      if (isDebugEnabled)
-        debug(StatementType.UPDATE, sql, log("executeUpdate", true, sql, autoGeneratedKeys, null, null, count, time), exception);
+      final AuditTiming timing = audit(isDebugEnabled, StatementType.UPDATE, sql, time, count, exception);
+      if (timing != null)
+        report(StatementType.UPDATE, sql, sql, lazyLog("executeUpdate", true, sql, autoGeneratedKeys, null, null, count, timing), timing, exception);
     }
   }
 
@@ -322,9 +521,9 @@ public class AuditStatement extends Audit implements DelegateStatement {
     final boolean isDebugEnabled = isDebugEnabled();
     try {
       if (isTraceEnabled())
-        trace(StatementType.UPDATE, sql, log("executeUpdate", true, sql, Integer.MIN_VALUE, columnIndexes, null, null, -1));
+        trace(StatementType.UPDATE, sql, lazyLog("executeUpdate", true, sql, Integer.MIN_VALUE, columnIndexes, null, null, null));
 
-      time = getLogTimestamp(isDebugEnabled);
+      time = getLogTimestamp(isTimed(isDebugEnabled));
       return count = getTarget().executeUpdate(sql, columnIndexes);
     }
     catch (final Throwable t) {
@@ -332,8 +531,9 @@ public class AuditStatement extends Audit implements DelegateStatement {
       throw t;
     }
     finally {
-      if (isDebugEnabled)
-        debug(StatementType.UPDATE, sql, log("executeUpdate", true, sql, Integer.MIN_VALUE, columnIndexes, null, count, time), exception);
+      final AuditTiming timing = audit(isDebugEnabled, StatementType.UPDATE, sql, time, count, exception);
+      if (timing != null)
+        report(StatementType.UPDATE, sql, sql, lazyLog("executeUpdate", true, sql, Integer.MIN_VALUE, columnIndexes, null, count, timing), timing, exception);
     }
   }
 
@@ -345,9 +545,9 @@ public class AuditStatement extends Audit implements DelegateStatement {
     final boolean isDebugEnabled = isDebugEnabled();
     try {
       if (isTraceEnabled())
-        trace(StatementType.UPDATE, sql, log("executeUpdate", true, sql, Integer.MIN_VALUE, null, columnNames, null, -1));
+        trace(StatementType.UPDATE, sql, lazyLog("executeUpdate", true, sql, Integer.MIN_VALUE, null, columnNames, null, null));
 
-      time = getLogTimestamp(isDebugEnabled);
+      time = getLogTimestamp(isTimed(isDebugEnabled));
       return count = getTarget().executeUpdate(sql, columnNames);
     }
     catch (final Throwable t) {
@@ -355,8 +555,9 @@ public class AuditStatement extends Audit implements DelegateStatement {
       throw t;
     }
     finally {
-      if (isDebugEnabled)
-        debug(StatementType.UPDATE, sql, log("executeUpdate", true, sql, Integer.MIN_VALUE, null, columnNames, count, time), exception);
+      final AuditTiming timing = audit(isDebugEnabled, StatementType.UPDATE, sql, time, count, exception);
+      if (timing != null)
+        report(StatementType.UPDATE, sql, sql, lazyLog("executeUpdate", true, sql, Integer.MIN_VALUE, null, columnNames, count, timing), timing, exception);
     }
   }
 
@@ -368,9 +569,9 @@ public class AuditStatement extends Audit implements DelegateStatement {
     final boolean isDebugEnabled = isDebugEnabled();
     try {
       if (isTraceEnabled())
-        trace(StatementType.MULTIPLE, sql, log("execute", true, sql, autoGeneratedKeys, null, null, null, -1));
+        trace(StatementType.MULTIPLE, sql, lazyLog("execute", true, sql, autoGeneratedKeys, null, null, null, null));
 
-      time = getLogTimestamp(isDebugEnabled);
+      time = getLogTimestamp(isTimed(isDebugEnabled));
       return result = getTarget().execute(sql, autoGeneratedKeys);
     }
     catch (final Throwable t) {
@@ -378,8 +579,9 @@ public class AuditStatement extends Audit implements DelegateStatement {
       throw t;
     }
     finally {
-      if (isDebugEnabled)
-        debug(StatementType.MULTIPLE, sql, log("execute", true, sql, autoGeneratedKeys, null, null, result, time), exception);
+      final AuditTiming timing = audit(isDebugEnabled, StatementType.MULTIPLE, sql, time, -1, exception);
+      if (timing != null)
+        report(StatementType.MULTIPLE, sql, sql, lazyLog("execute", true, sql, autoGeneratedKeys, null, null, result, timing), timing, exception);
     }
   }
 
@@ -391,9 +593,9 @@ public class AuditStatement extends Audit implements DelegateStatement {
     final boolean isDebugEnabled = isDebugEnabled();
     try {
       if (isTraceEnabled())
-        trace(StatementType.MULTIPLE, sql, log("execute", true, sql, Integer.MIN_VALUE, columnIndexes, null, null, -1));
+        trace(StatementType.MULTIPLE, sql, lazyLog("execute", true, sql, Integer.MIN_VALUE, columnIndexes, null, null, null));
 
-      time = getLogTimestamp(isDebugEnabled);
+      time = getLogTimestamp(isTimed(isDebugEnabled));
       return result = getTarget().execute(sql, columnIndexes);
     }
     catch (final Throwable t) {
@@ -401,8 +603,9 @@ public class AuditStatement extends Audit implements DelegateStatement {
       throw t;
     }
     finally {
-      if (isDebugEnabled)
-        debug(StatementType.MULTIPLE, sql, log("execute", true, sql, Integer.MIN_VALUE, columnIndexes, null, result, time), exception);
+      final AuditTiming timing = audit(isDebugEnabled, StatementType.MULTIPLE, sql, time, -1, exception);
+      if (timing != null)
+        report(StatementType.MULTIPLE, sql, sql, lazyLog("execute", true, sql, Integer.MIN_VALUE, columnIndexes, null, result, timing), timing, exception);
     }
   }
 
@@ -414,9 +617,9 @@ public class AuditStatement extends Audit implements DelegateStatement {
     final boolean isDebugEnabled = isDebugEnabled();
     try {
       if (isTraceEnabled())
-        trace(StatementType.MULTIPLE, sql, log("execute", true, sql, Integer.MIN_VALUE, null, columnNames, null, -1));
+        trace(StatementType.MULTIPLE, sql, lazyLog("execute", true, sql, Integer.MIN_VALUE, null, columnNames, null, null));
 
-      time = getLogTimestamp(isDebugEnabled);
+      time = getLogTimestamp(isTimed(isDebugEnabled));
       return result = getTarget().execute(sql, columnNames);
     }
     catch (final Throwable t) {
@@ -424,8 +627,9 @@ public class AuditStatement extends Audit implements DelegateStatement {
       throw t;
     }
     finally {
-      if (isDebugEnabled)
-        debug(StatementType.MULTIPLE, sql, log("execute", true, sql, Integer.MIN_VALUE, null, columnNames, result, time), exception);
+      final AuditTiming timing = audit(isDebugEnabled, StatementType.MULTIPLE, sql, time, -1, exception);
+      if (timing != null)
+        report(StatementType.MULTIPLE, sql, sql, lazyLog("execute", true, sql, Integer.MIN_VALUE, null, columnNames, result, timing), timing, exception);
     }
   }
 
@@ -439,26 +643,62 @@ public class AuditStatement extends Audit implements DelegateStatement {
     return getTarget().hashCode();
   }
 
+  /**
+   * Returns the SQL (without interpolated parameters) by which the batch of this statement is audited, or {@code null} if not
+   * available.
+   *
+   * @return The SQL by which the batch of this statement is audited, or {@code null} if not available.
+   */
+  String getBatchKey() {
+    return batchLogs == null || batchLogs.isEmpty() ? null : batchLogs.get(0);
+  }
+
+  private static long sum(final int[] counts) {
+    if (counts == null)
+      return -1;
+
+    long sum = 0;
+    for (final int count : counts) // [A]
+      if (count > 0)
+        sum += count;
+
+    return sum;
+  }
+
   /**
    * Returns a log entry for the provided parameters for the context of {@link #executeBatch()}.
    *
    * @param count An array of {@code int} values representing the row counts for execution in the batch.
-   * @param time The timestamp before the invocation of the method to be timed.
+   * @param timing The {@link AuditTiming} of the invocation of {@link #executeBatch()}, or {@code null} if it has not been invoked.
    * @return A log entry for the provided parameters for the context of {@link #executeBatch()}.
    * @throws SQLException If an I/O error has occurred.
    */
-  protected StringBuilder logExecuteBatch(final int[] count, final long time) throws SQLException {
+  protected StringBuilder logExecuteBatch(final int[] count, final AuditTiming timing) throws SQLException {
     final StringBuilder b = new StringBuilder();
     if (!toStringBatch(b, count, true))
       b.setLength(1);
 
     b.append(')');
-    if (count != null)
-      b.append(' ').append(System.currentTimeMillis() - time).append("ms");
+    if (timing != null)
+      b.append(' ').append(timing);
 
     return b;
   }
 
+  private CharSequence lazyLogExecuteBatch(final int[] count, final AuditTiming timing) {
+    return new LazyCharSequence() {
+      @Override
+      CharSequence render() {
+        try {
+          return logExecuteBatch(count, timing);
+        }
+        catch (final SQLException e) {
+          throw new IllegalStateException(e);
+        }
+      }
+    };
+  }
+
   protected boolean toStringBatch(final StringBuilder b, final int[] count, final boolean indent) {
     if (batchLogs == null)
       return false;
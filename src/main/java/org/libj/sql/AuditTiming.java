@@ -0,0 +1,200 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+/**
+ * The per-phase timing of a single execution of an {@link AuditStatement}, measured with {@link System#nanoTime()}. Each phase is
+ * reported in nanoseconds, or as {@code -1} if the phase was not measured:
+ * <ul>
+ * <li>{@link #getPrepareNanos() prepare}: The time spent in {@link java.sql.Connection#prepareStatement(String)} (or the like), which
+ * is only reported for the first execution of a {@link java.sql.PreparedStatement}.</li>
+ * <li>{@link #getBindNanos() bind}: The time from the binding of the first parameter to the start of the execution.</li>
+ * <li>{@link #getExecuteNanos() execute}: The time spent in the "execute" method.</li>
+ * <li>{@link #getFirstRowNanos() first row}: The time from the end of the execution to the retrieval of the first row of the
+ * {@link java.sql.ResultSet}.</li>
+ * <li>{@link #getFetchNanos() fetch}: The time from the end of the execution to the retrieval of the last row of the
+ * {@link java.sql.ResultSet}, or to its closing if it was not fully consumed.</li>
+ * <li>{@link #getCloseNanos() close}: The time spent in {@link java.sql.ResultSet#close()}.</li>
+ * </ul>
+ * The phases of the {@link java.sql.ResultSet} are measured as the application consumes it, and are therefore only complete once the
+ * {@link java.sql.ResultSet} is closed.
+ */
+public final class AuditTiming {
+  /**
+   * Appends the provided duration in nanoseconds to the provided {@link StringBuilder} as milliseconds with microsecond precision
+   * (i.e. {@code "1.234ms"}).
+   *
+   * @param b The {@link StringBuilder}.
+   * @param nanos The non-negative duration in nanoseconds.
+   * @return The provided {@link StringBuilder}.
+   */
+  static StringBuilder appendMillis(final StringBuilder b, final long nanos) {
+    final long micros = nanos / 1000;
+    final long fraction = micros % 1000;
+    b.append(micros / 1000).append('.');
+    if (fraction < 100)
+      b.append(fraction < 10 ? "00" : "0");
+
+    return b.append(fraction).append("ms");
+  }
+
+  long prepare = -1;
+  long bind = -1;
+  long execute = -1;
+  long firstRow = -1;
+  long fetch = -1;
+  long close = -1;
+  boolean sampled;
+
+  AuditTiming() {
+  }
+
+  /**
+   * Returns the time spent preparing the statement in nanoseconds, or {@code -1} if not measured.
+   *
+   * @return The time spent preparing the statement in nanoseconds, or {@code -1} if not measured.
+   */
+  public long getPrepareNanos() {
+    return prepare;
+  }
+
+  /**
+   * Returns the time from the binding of the first parameter to the start of the execution in nanoseconds, or {@code -1} if not
+   * measured.
+   *
+   * @return The time from the binding of the first parameter to the start of the execution in nanoseconds, or {@code -1} if not
+   *         measured.
+   */
+  public long getBindNanos() {
+    return bind;
+  }
+
+  /**
+   * Returns the time spent in the "execute" method in nanoseconds, or {@code -1} if not measured.
+   *
+   * @return The time spent in the "execute" method in nanoseconds, or {@code -1} if not measured.
+   */
+  public long getExecuteNanos() {
+    return execute;
+  }
+
+  /**
+   * Returns the time from the end of the execution to the retrieval of the first row in nanoseconds, or {@code -1} if not measured.
+   *
+   * @return The time from the end of the execution to the retrieval of the first row in nanoseconds, or {@code -1} if not measured.
+   */
+  public long getFirstRowNanos() {
+    return firstRow;
+  }
+
+  /**
+   * Returns the time from the end of the execution to the retrieval of the last row in nanoseconds, or {@code -1} if not measured.
+   *
+   * @return The time from the end of the execution to the retrieval of the last row in nanoseconds, or {@code -1} if not measured.
+   */
+  public long getFetchNanos() {
+    return fetch;
+  }
+
+  /**
+   * Returns the time spent closing the {@link java.sql.ResultSet} in nanoseconds, or {@code -1} if not measured.
+   *
+   * @return The time spent closing the {@link java.sql.ResultSet} in nanoseconds, or {@code -1} if not measured.
+   */
+  public long getCloseNanos() {
+    return close;
+  }
+
+  /**
+   * Returns the sum of all measured phases in nanoseconds.
+   *
+   * @return The sum of all measured phases in nanoseconds.
+   */
+  public long getTotalNanos() {
+    long total = 0;
+    if (prepare != -1)
+      total += prepare;
+
+    if (bind != -1)
+      total += bind;
+
+    if (execute != -1)
+      total += execute;
+
+    if (fetch != -1)
+      total += fetch;
+    else if (firstRow != -1)
+      total += firstRow;
+
+    if (close != -1)
+      total += close;
+
+    return total;
+  }
+
+  /**
+   * Returns the latency of the execution in nanoseconds, which is the time spent in the "execute" method, plus the time to fetch and
+   * close the {@link java.sql.ResultSet} (if measured), or {@code -1} if the execution was not measured.
+   *
+   * @return The latency of the execution in nanoseconds, or {@code -1} if the execution was not measured.
+   */
+  long getLatencyNanos() {
+    long nanos = execute;
+    if (nanos != -1) {
+      if (fetch != -1)
+        nanos += fetch;
+
+      if (close != -1)
+        nanos += close;
+    }
+
+    return nanos;
+  }
+
+  private static boolean append(final StringBuilder b, final boolean first, final String phase, final long nanos) {
+    if (nanos == -1)
+      return first;
+
+    b.append(first ? " (" : ", ").append(phase).append(": ");
+    appendMillis(b, nanos);
+    return false;
+  }
+
+  /**
+   * Returns a string representation of this timing, which starts with the execution time, followed by the other measured phases in
+   * parentheses, i.e. {@code "1.532ms (bind: 0.012ms, first row: 0.210ms, fetch: 3.100ms, close: 0.020ms)"}.
+   *
+   * @return A string representation of this timing.
+   */
+  @Override
+  public String toString() {
+    final StringBuilder b = new StringBuilder();
+    if (execute != -1)
+      appendMillis(b, execute);
+    else
+      b.append('?');
+
+    boolean first = append(b, true, "prepare", prepare);
+    first = append(b, first, "bind", bind);
+    first = append(b, first, "first row", firstRow);
+    first = append(b, first, "fetch", fetch);
+    if (!append(b, first, "close", close))
+      b.append(')');
+
+    return b.toString();
+  }
+}
\ No newline at end of file
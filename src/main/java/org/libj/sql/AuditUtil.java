@@ -32,10 +32,10 @@ class AuditUtil {
     return b.append(Strings.indent(sql, 2));
   }
 
-  static StringBuilder withResult(final StringBuilder b, final Object result, final long time) {
+  static StringBuilder withResult(final StringBuilder b, final Object result, final AuditTiming timing) {
     b.append(" -> ").append(result);
-    if (time != -1)
-      b.append(' ').append(System.currentTimeMillis() - time).append("ms");
+    if (timing != null)
+      b.append(' ').append(timing);
 
     return b;
   }
@@ -0,0 +1,701 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.BatchUpdateException;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+
+/**
+ * A {@link DelegatePreparedStatement} that rewrites the batch of a single-row {@code INSERT ... VALUES (?, ...)} statement into
+ * multi-row {@code INSERT ... VALUES (?, ...), (?, ...), ...} statements of a configurable width, so that each round trip to the
+ * database inserts {@code width} rows instead of one. This is meant for drivers that do not rewrite batches natively.
+ * <p>
+ * The parameters that are set on this statement are delegated to the target {@link PreparedStatement}, and are also captured for
+ * each row that is added with {@link #addBatch()}. Upon {@link #executeBatch()}, the captured rows are bound to a multi-row
+ * statement (prepared once on the provided {@link Connection}) in chunks of {@code width} rows, and the remaining rows are executed
+ * as a regular batch of the target {@link PreparedStatement}.
+ * <p>
+ * Since the database reports a single update count for each multi-row statement, the update count of each row of a chunk is
+ * {@code 1} if the chunk inserted exactly {@code width} rows, and {@link Statement#SUCCESS_NO_INFO} otherwise. If a chunk fails, a
+ * {@link BatchUpdateException} is thrown with the update counts of the rows that precede the failed chunk, and the rows that follow
+ * it are not executed.
+ * <p>
+ * The SQL is rewritten only if it is an {@code INSERT} statement with a single {@code VALUES} row that contains all of its
+ * parameters. Otherwise, this statement simply delegates to the target {@link PreparedStatement}. The width is capped so that a
+ * multi-row statement does not exceed {@value #MAX_PARAMETERS} parameters.
+ */
+public class BatchRewritingPreparedStatement implements DelegatePreparedStatement {
+  /** The maximum number of parameters of a multi-row statement. */
+  public static final int MAX_PARAMETERS = 32767;
+
+  @FunctionalInterface
+  private interface Binder {
+    void bind(PreparedStatement statement, int parameterIndex) throws SQLException;
+  }
+
+  /**
+   * The parsed form of a rewritable {@code INSERT} statement, in which {@link #row} is the parenthesized list of values that is
+   * repeated for each row.
+   */
+  static final class Template {
+    final String prefix;
+    final String row;
+    final String suffix;
+    final int parameters;
+
+    private Template(final String prefix, final String row, final String suffix, final int parameters) {
+      this.prefix = prefix;
+      this.row = row;
+      this.suffix = suffix;
+      this.parameters = parameters;
+    }
+
+    String toSql(final int rows) {
+      final StringBuilder b = new StringBuilder(prefix.length() + (row.length() + 2) * rows + suffix.length());
+      b.append(prefix).append(row);
+      for (int i = 1; i < rows; ++i)
+        b.append(", ").append(row);
+
+      return b.append(suffix).toString();
+    }
+  }
+
+  private static boolean isWord(final String sql, final int start, final int end, final String word) {
+    return end - start == word.length() && sql.regionMatches(true, start, word, 0, word.length());
+  }
+
+  /**
+   * Returns the {@link Template} of the provided SQL if it is a single-row {@code INSERT ... VALUES (...)} statement whose parameters
+   * are all in its {@code VALUES} row, or {@code null} if the SQL cannot be rewritten.
+   *
+   * @param sql The SQL.
+   * @return The {@link Template} of the provided SQL, or {@code null} if the SQL cannot be rewritten.
+   */
+  static Template parse(final String sql) {
+    boolean first = true;
+    int values = -1;
+    int open = -1;
+    int close = -1;
+    int depth = 0;
+    int parameters = 0;
+    int rowParameters = 0;
+    for (int i = 0, len = sql.length(); i < len; ++i) { // [$]
+      final char ch = sql.charAt(i);
+      int end;
+      if ((end = SQLScanner.skipQuoted(sql, i)) != -1 || (end = SQLScanner.skipComment(sql, i)) != -1) {
+        if (end == len)
+          return null;
+
+        i = end;
+      }
+      else if (ch == '?') {
+        ++parameters;
+        if (close == -1 && open != -1)
+          ++rowParameters;
+      }
+      else if (ch == '(') {
+        if (depth++ == 0 && values != -1 && open == -1)
+          open = i;
+      }
+      else if (ch == ')') {
+        if (--depth == 0 && open != -1 && close == -1)
+          close = i;
+        else if (depth < 0)
+          return null;
+      }
+      else if (ch == ';') {
+        // Multiple statements
+        if (depth == 0 && sql.substring(i + 1).trim().length() > 0)
+          return null;
+      }
+      else if (Character.isLetter(ch) || ch == '_') {
+        final int start = i;
+        for (; i + 1 < len && SQLScanner.isNameChar(sql.charAt(i + 1)); ++i); // [ST]
+        if (first) {
+          if (!isWord(sql, start, i + 1, "INSERT"))
+            return null;
+
+          first = false;
+        }
+        else if (depth == 0 && values == -1 && (isWord(sql, start, i + 1, "VALUES") || isWord(sql, start, i + 1, "VALUE"))) {
+          values = i;
+        }
+        else if (values != -1 && open == -1) {
+          // A word between VALUES and its row, i.e. VALUES ROW(...)
+          return null;
+        }
+      }
+      else if (first && !Character.isWhitespace(ch)) {
+        return null;
+      }
+    }
+
+    if (close == -1 || depth != 0 || rowParameters == 0 || rowParameters != parameters)
+      return null;
+
+    final String suffix = sql.substring(close + 1);
+    // A multi-row VALUES list
+    if (suffix.trim().startsWith(","))
+      return null;
+
+    return new Template(sql.substring(0, open), sql.substring(open, close + 1), suffix, rowParameters);
+  }
+
+  /**
+   * Prepares the provided SQL on the provided {@link Connection}, and returns a {@link BatchRewritingPreparedStatement} if the SQL
+   * can be rewritten to insert {@code width} rows per statement. Otherwise, returns the {@link PreparedStatement} prepared by the
+   * {@link Connection}.
+   *
+   * @param connection The {@link Connection} on which to prepare the statements.
+   * @param sql A single-row {@code INSERT ... VALUES (?, ...)} SQL statement.
+   * @param width The number of rows of each multi-row statement.
+   * @return A {@link BatchRewritingPreparedStatement} if the SQL can be rewritten, or otherwise the {@link PreparedStatement} prepared
+   *         by the {@link Connection}.
+   * @throws SQLException If a database access error occurs.
+   * @throws IllegalArgumentException If {@code width} is not positive.
+   * @throws NullPointerException If {@code connection} or {@code sql} is null.
+   */
+  public static PreparedStatement prepareStatement(final Connection connection, final String sql, final int width) throws SQLException {
+    if (width <= 0)
+      throw new IllegalArgumentException("width (" + width + ") must be positive");
+
+    final PreparedStatement statement = connection.prepareStatement(sql);
+    final Template template = width == 1 ? null : parse(sql);
+    return template == null ? statement : new BatchRewritingPreparedStatement(connection, statement, template, width);
+  }
+
+  private final Connection connection;
+  private final PreparedStatement target;
+  private final Template template;
+  private final int width;
+  private final Binder[] current;
+  private final ArrayList<Binder[]> rows;
+  private PreparedStatement multiRow;
+
+  private BatchRewritingPreparedStatement(final Connection connection, final PreparedStatement target, final Template template, final int width) {
+    this.connection = connection;
+    this.target = target;
+    this.template = template;
+    this.width = template == null ? 1 : Math.min(width, MAX_PARAMETERS / template.parameters);
+    final boolean rewrite = this.width > 1;
+    this.current = rewrite ? new Binder[template.parameters] : null;
+    this.rows = rewrite ? new ArrayList<>() : null;
+  }
+
+  /**
+   * Creates a new {@link BatchRewritingPreparedStatement} with the specified {@code target} to which all method calls will be
+   * delegated, and which rewrites the batch of the provided SQL into multi-row statements of {@code width} rows that are prepared on
+   * the provided {@link Connection}. If the SQL cannot be rewritten, all method calls are simply delegated to the {@code target}.
+   *
+   * @param connection The {@link Connection} on which to prepare the multi-row statement.
+   * @param target The {@link PreparedStatement} of the provided SQL, to which all method calls will be delegated.
+   * @param sql The SQL of the {@code target} {@link PreparedStatement}.
+   * @param width The number of rows of each multi-row statement.
+   * @throws IllegalArgumentException If {@code width} is not positive.
+   * @throws NullPointerException If {@code connection}, {@code target} or {@code sql} is null.
+   */
+  public BatchRewritingPreparedStatement(final Connection connection, final PreparedStatement target, final String sql, final int width) {
+    this(check(connection, target, width), target, parse(sql), width);
+  }
+
+  private static Connection check(final Connection connection, final PreparedStatement target, final int width) {
+    if (connection == null)
+      throw new NullPointerException("connection is null");
+
+    if (target == null)
+      throw new NullPointerException("target is null");
+
+    if (width <= 0)
+      throw new IllegalArgumentException("width (" + width + ") must be positive");
+
+    return connection;
+  }
+
+  @Override
+  public PreparedStatement getTarget() {
+    return target;
+  }
+
+  /**
+   * Returns whether the batch of this statement is rewritten into multi-row statements.
+   *
+   * @return Whether the batch of this statement is rewritten into multi-row statements.
+   */
+  public boolean isRewriting() {
+    return rows != null;
+  }
+
+  /**
+   * Returns the number of rows of each multi-row statement, or {@code 1} if the batch of this statement is not rewritten.
+   *
+   * @return The number of rows of each multi-row statement, or {@code 1} if the batch of this statement is not rewritten.
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  private void bind(final int parameterIndex, final Binder binder) {
+    if (current != null && 0 < parameterIndex && parameterIndex <= current.length)
+      current[parameterIndex - 1] = binder;
+  }
+
+  private static void bind(final PreparedStatement statement, final Binder[] row, final int offset) throws SQLException {
+    for (int i = 0; i < row.length; ++i) // [A]
+      row[i].bind(statement, offset + i + 1);
+  }
+
+  @Override
+  public void setNull(final int parameterIndex, final int sqlType) throws SQLException {
+    target.setNull(parameterIndex, sqlType);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setNull(i, sqlType));
+  }
+
+  @Override
+  public void setBoolean(final int parameterIndex, final boolean x) throws SQLException {
+    target.setBoolean(parameterIndex, x);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setBoolean(i, x));
+  }
+
+  @Override
+  public void setByte(final int parameterIndex, final byte x) throws SQLException {
+    target.setByte(parameterIndex, x);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setByte(i, x));
+  }
+
+  @Override
+  public void setShort(final int parameterIndex, final short x) throws SQLException {
+    target.setShort(parameterIndex, x);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setShort(i, x));
+  }
+
+  @Override
+  public void setInt(final int parameterIndex, final int x) throws SQLException {
+    target.setInt(parameterIndex, x);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setInt(i, x));
+  }
+
+  @Override
+  public void setLong(final int parameterIndex, final long x) throws SQLException {
+    target.setLong(parameterIndex, x);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setLong(i, x));
+  }
+
+  @Override
+  public void setFloat(final int parameterIndex, final float x) throws SQLException {
+    target.setFloat(parameterIndex, x);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setFloat(i, x));
+  }
+
+  @Override
+  public void setDouble(final int parameterIndex, final double x) throws SQLException {
+    target.setDouble(parameterIndex, x);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setDouble(i, x));
+  }
+
+  @Override
+  public void setBigDecimal(final int parameterIndex, final BigDecimal x) throws SQLException {
+    target.setBigDecimal(parameterIndex, x);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setBigDecimal(i, x));
+  }
+
+  @Override
+  public void setString(final int parameterIndex, final String x) throws SQLException {
+    target.setString(parameterIndex, x);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setString(i, x));
+  }
+
+  @Override
+  public void setBytes(final int parameterIndex, final byte[] x) throws SQLException {
+    target.setBytes(parameterIndex, x);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setBytes(i, x));
+  }
+
+  @Override
+  public void setDate(final int parameterIndex, final Date x) throws SQLException {
+    target.setDate(parameterIndex, x);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setDate(i, x));
+  }
+
+  @Override
+  public void setTime(final int parameterIndex, final Time x) throws SQLException {
+    target.setTime(parameterIndex, x);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setTime(i, x));
+  }
+
+  @Override
+  public void setTimestamp(final int parameterIndex, final Timestamp x) throws SQLException {
+    target.setTimestamp(parameterIndex, x);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setTimestamp(i, x));
+  }
+
+  @Override
+  public void setAsciiStream(final int parameterIndex, final InputStream x, final int length) throws SQLException {
+    target.setAsciiStream(parameterIndex, x, length);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setAsciiStream(i, x, length));
+  }
+
+  @Override
+  @Deprecated
+  public void setUnicodeStream(final int parameterIndex, final InputStream x, final int length) throws SQLException {
+    target.setUnicodeStream(parameterIndex, x, length);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setUnicodeStream(i, x, length));
+  }
+
+  @Override
+  public void setBinaryStream(final int parameterIndex, final InputStream x, final int length) throws SQLException {
+    target.setBinaryStream(parameterIndex, x, length);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setBinaryStream(i, x, length));
+  }
+
+  @Override
+  public void setObject(final int parameterIndex, final Object x, final int targetSqlType, final int scale) throws SQLException {
+    target.setObject(parameterIndex, x, targetSqlType, scale);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setObject(i, x, targetSqlType, scale));
+  }
+
+  @Override
+  public void setObject(final int parameterIndex, final Object x, final int targetSqlType) throws SQLException {
+    target.setObject(parameterIndex, x, targetSqlType);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setObject(i, x, targetSqlType));
+  }
+
+  @Override
+  public void setObject(final int parameterIndex, final Object x) throws SQLException {
+    target.setObject(parameterIndex, x);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setObject(i, x));
+  }
+
+  @Override
+  public void setCharacterStream(final int parameterIndex, final Reader reader, final int length) throws SQLException {
+    target.setCharacterStream(parameterIndex, reader, length);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setCharacterStream(i, reader, length));
+  }
+
+  @Override
+  public void setRef(final int parameterIndex, final Ref x) throws SQLException {
+    target.setRef(parameterIndex, x);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setRef(i, x));
+  }
+
+  @Override
+  public void setBlob(final int parameterIndex, final Blob x) throws SQLException {
+    target.setBlob(parameterIndex, x);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setBlob(i, x));
+  }
+
+  @Override
+  public void setClob(final int parameterIndex, final Clob x) throws SQLException {
+    target.setClob(parameterIndex, x);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setClob(i, x));
+  }
+
+  @Override
+  public void setArray(final int parameterIndex, final Array x) throws SQLException {
+    target.setArray(parameterIndex, x);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setArray(i, x));
+  }
+
+  @Override
+  public void setDate(final int parameterIndex, final Date x, final Calendar cal) throws SQLException {
+    target.setDate(parameterIndex, x, cal);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setDate(i, x, cal));
+  }
+
+  @Override
+  public void setTime(final int parameterIndex, final Time x, final Calendar cal) throws SQLException {
+    target.setTime(parameterIndex, x, cal);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setTime(i, x, cal));
+  }
+
+  @Override
+  public void setTimestamp(final int parameterIndex, final Timestamp x, final Calendar cal) throws SQLException {
+    target.setTimestamp(parameterIndex, x, cal);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setTimestamp(i, x, cal));
+  }
+
+  @Override
+  public void setNull(final int parameterIndex, final int sqlType, final String typeName) throws SQLException {
+    target.setNull(parameterIndex, sqlType, typeName);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setNull(i, sqlType, typeName));
+  }
+
+  @Override
+  public void setURL(final int parameterIndex, final URL x) throws SQLException {
+    target.setURL(parameterIndex, x);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setURL(i, x));
+  }
+
+  @Override
+  public void setRowId(final int parameterIndex, final RowId x) throws SQLException {
+    target.setRowId(parameterIndex, x);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setRowId(i, x));
+  }
+
+  @Override
+  public void setNString(final int parameterIndex, final String value) throws SQLException {
+    target.setNString(parameterIndex, value);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setNString(i, value));
+  }
+
+  @Override
+  public void setNCharacterStream(final int parameterIndex, final Reader value, final long length) throws SQLException {
+    target.setNCharacterStream(parameterIndex, value, length);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setNCharacterStream(i, value, length));
+  }
+
+  @Override
+  public void setNClob(final int parameterIndex, final NClob value) throws SQLException {
+    target.setNClob(parameterIndex, value);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setNClob(i, value));
+  }
+
+  @Override
+  public void setClob(final int parameterIndex, final Reader reader, final long length) throws SQLException {
+    target.setClob(parameterIndex, reader, length);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setClob(i, reader, length));
+  }
+
+  @Override
+  public void setBlob(final int parameterIndex, final InputStream inputStream, final long length) throws SQLException {
+    target.setBlob(parameterIndex, inputStream, length);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setBlob(i, inputStream, length));
+  }
+
+  @Override
+  public void setNClob(final int parameterIndex, final Reader reader, final long length) throws SQLException {
+    target.setNClob(parameterIndex, reader, length);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setNClob(i, reader, length));
+  }
+
+  @Override
+  public void setSQLXML(final int parameterIndex, final SQLXML xmlObject) throws SQLException {
+    target.setSQLXML(parameterIndex, xmlObject);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setSQLXML(i, xmlObject));
+  }
+
+  @Override
+  public void setAsciiStream(final int parameterIndex, final InputStream x, final long length) throws SQLException {
+    target.setAsciiStream(parameterIndex, x, length);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setAsciiStream(i, x, length));
+  }
+
+  @Override
+  public void setBinaryStream(final int parameterIndex, final InputStream x, final long length) throws SQLException {
+    target.setBinaryStream(parameterIndex, x, length);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setBinaryStream(i, x, length));
+  }
+
+  @Override
+  public void setCharacterStream(final int parameterIndex, final Reader reader, final long length) throws SQLException {
+    target.setCharacterStream(parameterIndex, reader, length);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setCharacterStream(i, reader, length));
+  }
+
+  @Override
+  public void setAsciiStream(final int parameterIndex, final InputStream x) throws SQLException {
+    target.setAsciiStream(parameterIndex, x);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setAsciiStream(i, x));
+  }
+
+  @Override
+  public void setBinaryStream(final int parameterIndex, final InputStream x) throws SQLException {
+    target.setBinaryStream(parameterIndex, x);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setBinaryStream(i, x));
+  }
+
+  @Override
+  public void setCharacterStream(final int parameterIndex, final Reader reader) throws SQLException {
+    target.setCharacterStream(parameterIndex, reader);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setCharacterStream(i, reader));
+  }
+
+  @Override
+  public void setNCharacterStream(final int parameterIndex, final Reader value) throws SQLException {
+    target.setNCharacterStream(parameterIndex, value);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setNCharacterStream(i, value));
+  }
+
+  @Override
+  public void setClob(final int parameterIndex, final Reader reader) throws SQLException {
+    target.setClob(parameterIndex, reader);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setClob(i, reader));
+  }
+
+  @Override
+  public void setBlob(final int parameterIndex, final InputStream inputStream) throws SQLException {
+    target.setBlob(parameterIndex, inputStream);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setBlob(i, inputStream));
+  }
+
+  @Override
+  public void setNClob(final int parameterIndex, final Reader reader) throws SQLException {
+    target.setNClob(parameterIndex, reader);
+    bind(parameterIndex, (final PreparedStatement s, final int i) -> s.setNClob(i, reader));
+  }
+
+  @Override
+  public void clearParameters() throws SQLException {
+    target.clearParameters();
+    if (current != null)
+      Arrays.fill(current, null);
+  }
+
+  @Override
+  public void addBatch() throws SQLException {
+    if (rows == null) {
+      target.addBatch();
+      return;
+    }
+
+    for (int i = 0; i < current.length; ++i) // [A]
+      if (current[i] == null)
+        throw new SQLException("Parameter " + (i + 1) + " is not set", "07001");
+
+    rows.add(current.clone());
+  }
+
+  @Override
+  public void clearBatch() throws SQLException {
+    if (rows != null)
+      rows.clear();
+
+    target.clearBatch();
+  }
+
+  private void expand(final int[] chunkCounts, final int length, final int[] counts) {
+    for (int i = 0; i < length; ++i) { // [A]
+      final int count = chunkCounts[i];
+      Arrays.fill(counts, i * width, (i + 1) * width, count == width ? 1 : count == Statement.EXECUTE_FAILED ? count : Statement.SUCCESS_NO_INFO);
+    }
+  }
+
+  private static BatchUpdateException newBatchUpdateException(final BatchUpdateException e, final int[] counts, final int length) {
+    final BatchUpdateException exception = new BatchUpdateException(e.getMessage(), e.getSQLState(), e.getErrorCode(), Arrays.copyOf(counts, length), e.getCause());
+    exception.setNextException(e);
+    return exception;
+  }
+
+  @Override
+  public int[] executeBatch() throws SQLException {
+    if (rows == null || rows.size() == 0)
+      return target.executeBatch();
+
+    try {
+      final int size = rows.size();
+      final int chunks = size / width;
+      final int[] counts = new int[size];
+      int index = 0;
+      if (chunks > 0) {
+        if (multiRow == null)
+          multiRow = connection.prepareStatement(template.toSql(width));
+
+        for (int i = 0; i < chunks; ++i) {
+          for (int j = 0; j < width; ++j, ++index)
+            bind(multiRow, rows.get(index), j * template.parameters);
+
+          multiRow.addBatch();
+        }
+
+        try {
+          final int[] chunkCounts = multiRow.executeBatch();
+          expand(chunkCounts, chunkCounts.length, counts);
+        }
+        catch (final BatchUpdateException e) {
+          final int[] chunkCounts = e.getUpdateCounts();
+          final int length = chunkCounts == null ? 0 : chunkCounts.length;
+          expand(chunkCounts, length, counts);
+          throw newBatchUpdateException(e, counts, length * width);
+        }
+      }
+
+      if (index < size) {
+        final int offset = index;
+        for (; index < size; ++index) {
+          bind(target, rows.get(index), 0);
+          target.addBatch();
+        }
+
+        try {
+          final int[] remainder = target.executeBatch();
+          System.arraycopy(remainder, 0, counts, offset, remainder.length);
+        }
+        catch (final BatchUpdateException e) {
+          final int[] remainder = e.getUpdateCounts();
+          final int length = remainder == null ? 0 : remainder.length;
+          if (length > 0)
+            System.arraycopy(remainder, 0, counts, offset, length);
+
+          throw newBatchUpdateException(e, counts, offset + length);
+        }
+      }
+
+      return counts;
+    }
+    finally {
+      rows.clear();
+    }
+  }
+
+  @Override
+  public void close() throws SQLException {
+    if (rows != null)
+      rows.clear();
+
+    try {
+      if (multiRow != null)
+        multiRow.close();
+    }
+    finally {
+      target.close();
+    }
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    return target.equals(obj);
+  }
+
+  @Override
+  public int hashCode() {
+    return target.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return target.toString();
+  }
+}
\ No newline at end of file
@@ -0,0 +1,1387 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Calendar;
+import java.util.Map;
+
+import javax.sql.rowset.serial.SerialArray;
+import javax.sql.rowset.serial.SerialBlob;
+import javax.sql.rowset.serial.SerialClob;
+
+/**
+ * A read-only {@link DelegateResultSet} that serves the values of its current row from a buffer that has been read from another
+ * {@link ResultSet}, rather than from the cursor of the driver. The values are read with {@link #decode(ResultSet,int)}, and the
+ * typed getters convert them in the same way as a lenient driver would: numbers from any {@link Number}, {@link Boolean} or numeric
+ * {@link String}, dates and times from any {@link java.util.Date} or {@code java.time} value, and so on.
+ * <p>
+ * Subclasses provide the cursor and the buffer by implementing the navigation methods and {@link #getValue(int)}. The
+ * {@link ResultSetMetaData} is copied upon construction, so that it remains usable after the source {@link ResultSet} is closed.
+ */
+abstract class BufferedResultSet extends DelegateResultSet {
+  /**
+   * Returns the value of the provided column of the current row of the provided {@link ResultSet}, decoded into a value that remains
+   * valid after the cursor is moved or the {@link ResultSet} is closed. LOBs are read into {@code byte[]} and {@link String} values,
+   * {@link SQLXML} values into {@link String} values, and {@link Array} values into {@link SerialArray} values.
+   *
+   * @param resultSet The {@link ResultSet}.
+   * @param columnIndex The index of the column, starting at {@code 1}.
+   * @return The decoded value of the provided column of the current row of the provided {@link ResultSet}.
+   * @throws SQLException If a database access error occurs.
+   */
+  static Object decode(final ResultSet resultSet, final int columnIndex) throws SQLException {
+    final Object value = resultSet.getObject(columnIndex);
+    if (value instanceof Blob) {
+      final Blob blob = (Blob)value;
+      return blob.getBytes(1, (int)blob.length());
+    }
+
+    if (value instanceof Clob) {
+      final Clob clob = (Clob)value;
+      return clob.getSubString(1, (int)clob.length());
+    }
+
+    if (value instanceof SQLXML)
+      return ((SQLXML)value).getString();
+
+    if (value instanceof Array)
+      return new SerialArray((Array)value);
+
+    return value;
+  }
+
+  private static SQLException cannotConvert(final Object value, final Class<?> type) {
+    return new SQLException("Cannot convert " + value.getClass().getName() + " to " + type.getName(), "22018");
+  }
+
+  private static SQLException readOnly() {
+    return new SQLException("ResultSet is read-only");
+  }
+
+  private static Number toNumber(final Object value) throws SQLException {
+    if (value == null || value instanceof Number)
+      return (Number)value;
+
+    if (value instanceof Boolean)
+      return (Boolean)value ? 1 : 0;
+
+    if (value instanceof String || value instanceof Character) {
+      try {
+        return new BigDecimal(value.toString().trim());
+      }
+      catch (final NumberFormatException e) {
+        throw new SQLException("Cannot convert \"" + value + "\" to " + Number.class.getName(), "22018", e);
+      }
+    }
+
+    throw cannotConvert(value, Number.class);
+  }
+
+  private static long toMillis(final long millis, final Calendar cal) {
+    if (cal == null)
+      return millis;
+
+    final Calendar local = Calendar.getInstance();
+    local.setTimeInMillis(millis);
+    final Calendar target = (Calendar)cal.clone();
+    target.clear();
+    target.set(local.get(Calendar.YEAR), local.get(Calendar.MONTH), local.get(Calendar.DAY_OF_MONTH), local.get(Calendar.HOUR_OF_DAY), local.get(Calendar.MINUTE), local.get(Calendar.SECOND));
+    target.set(Calendar.MILLISECOND, local.get(Calendar.MILLISECOND));
+    return target.getTimeInMillis();
+  }
+
+  private final Statement statement;
+  private final DetachedResultSetMetaData metaData;
+  private final ColumnLabels columnLabels;
+  /** The number of columns of this result set. */
+  final int columnCount;
+  /** Whether the last column that was read had a value of SQL {@code NULL}. */
+  boolean wasNull;
+  /** Whether this result set is closed. */
+  volatile boolean closed;
+  private int fetchDirection = FETCH_FORWARD;
+  private int fetchSize;
+
+  /**
+   * Creates a new {@link BufferedResultSet} with the {@link Statement}, {@link ResultSetMetaData} and fetch size of the provided
+   * {@link ResultSet}, which is not retained as the target of this result set.
+   *
+   * @param resultSet The {@link ResultSet} from which this result set is buffered.
+   * @throws SQLException If a database access error occurs.
+   * @throws NullPointerException If {@code resultSet} is null.
+   */
+  BufferedResultSet(final ResultSet resultSet) throws SQLException {
+    this(resultSet, false);
+  }
+
+  /**
+   * Creates a new {@link BufferedResultSet} with the {@link Statement}, {@link ResultSetMetaData} and fetch size of the provided
+   * {@link ResultSet}, which is retained as the target of this result set if {@code retainTarget} is {@code true}.
+   *
+   * @param resultSet The {@link ResultSet} from which this result set is buffered.
+   * @param retainTarget Whether {@code resultSet} is to be retained as the target of this result set.
+   * @throws SQLException If a database access error occurs.
+   * @throws NullPointerException If {@code resultSet} is null.
+   */
+  BufferedResultSet(final ResultSet resultSet, final boolean retainTarget) throws SQLException {
+    if (retainTarget)
+      this.target = resultSet;
+
+    this.statement = resultSet.getStatement();
+    this.metaData = new DetachedResultSetMetaData(resultSet.getMetaData());
+    this.columnCount = metaData.getColumnCount();
+    this.columnLabels = ColumnLabels.of(metaData);
+
+    this.fetchSize = resultSet.getFetchSize();
+  }
+
+  /**
+   * Returns the value of the provided column of the current row, as returned by {@link #decode(ResultSet,int)}.
+   *
+   * @param columnIndex The index of the column, starting at {@code 1}, which has been checked to be valid.
+   * @return The value of the provided column of the current row.
+   * @throws SQLException If this result set is closed, or if the cursor is not on a row.
+   */
+  abstract Object getValue(int columnIndex) throws SQLException;
+
+  /**
+   * Throws a {@link SQLException} if this result set is closed.
+   *
+   * @throws SQLException If this result set is closed.
+   */
+  final void checkOpen() throws SQLException {
+    if (closed)
+      throw new SQLException("ResultSet is closed", "24000");
+  }
+
+  /**
+   * Throws a {@link SQLException} if the provided column index is not valid.
+   *
+   * @param columnIndex The index of the column, starting at {@code 1}.
+   * @throws SQLException If the provided column index is not valid.
+   */
+  final void checkColumn(final int columnIndex) throws SQLException {
+    if (columnIndex < 1 || columnIndex > columnCount)
+      throw new SQLException("Invalid column index: " + columnIndex, "07009");
+  }
+
+  private Object value(final int columnIndex) throws SQLException {
+    checkColumn(columnIndex);
+    final Object value = getValue(columnIndex);
+    wasNull = value == null;
+    return value;
+  }
+
+  @Override
+  public abstract boolean next() throws SQLException;
+
+  @Override
+  public abstract boolean isBeforeFirst() throws SQLException;
+
+  @Override
+  public abstract boolean isAfterLast() throws SQLException;
+
+  @Override
+  public abstract boolean isFirst() throws SQLException;
+
+  @Override
+  public abstract boolean isLast() throws SQLException;
+
+  @Override
+  public abstract void beforeFirst() throws SQLException;
+
+  @Override
+  public abstract void afterLast() throws SQLException;
+
+  @Override
+  public abstract boolean first() throws SQLException;
+
+  @Override
+  public abstract boolean last() throws SQLException;
+
+  @Override
+  public abstract int getRow() throws SQLException;
+
+  @Override
+  public abstract boolean absolute(int row) throws SQLException;
+
+  @Override
+  public abstract boolean relative(int rows) throws SQLException;
+
+  @Override
+  public abstract boolean previous() throws SQLException;
+
+  @Override
+  public abstract int getType() throws SQLException;
+
+  @Override
+  public void close() throws SQLException {
+    closed = true;
+  }
+
+  @Override
+  public boolean isClosed() {
+    return closed;
+  }
+
+  @Override
+  public boolean wasNull() throws SQLException {
+    return wasNull;
+  }
+
+  @Override
+  public ResultSetMetaData getMetaData() throws SQLException {
+    return metaData;
+  }
+
+  @Override
+  public int findColumn(final String columnLabel) throws SQLException {
+    return columnLabels.findColumn(columnLabel);
+  }
+
+  @Override
+  public Statement getStatement() throws SQLException {
+    return statement;
+  }
+
+  @Override
+  public SQLWarning getWarnings() throws SQLException {
+    checkOpen();
+    return null;
+  }
+
+  @Override
+  public void clearWarnings() throws SQLException {
+    checkOpen();
+  }
+
+  @Override
+  public String getCursorName() throws SQLException {
+    throw new SQLFeatureNotSupportedException();
+  }
+
+  @Override
+  public void setFetchDirection(final int direction) throws SQLException {
+    if (direction != FETCH_FORWARD && direction != FETCH_REVERSE && direction != FETCH_UNKNOWN)
+      throw new SQLException("Invalid fetch direction: " + direction);
+
+    checkOpen();
+    fetchDirection = direction;
+  }
+
+  @Override
+  public int getFetchDirection() throws SQLException {
+    return fetchDirection;
+  }
+
+  @Override
+  public void setFetchSize(final int rows) throws SQLException {
+    if (rows < 0)
+      throw new SQLException("Invalid fetch size: " + rows);
+
+    checkOpen();
+    fetchSize = rows;
+  }
+
+  @Override
+  public int getFetchSize() throws SQLException {
+    return fetchSize;
+  }
+
+  @Override
+  public int getConcurrency() throws SQLException {
+    return CONCUR_READ_ONLY;
+  }
+
+  @Override
+  public int getHoldability() throws SQLException {
+    return HOLD_CURSORS_OVER_COMMIT;
+  }
+
+  @Override
+  public boolean rowUpdated() throws SQLException {
+    return false;
+  }
+
+  @Override
+  public boolean rowInserted() throws SQLException {
+    return false;
+  }
+
+  @Override
+  public boolean rowDeleted() throws SQLException {
+    return false;
+  }
+
+  @Override
+  public Object getObject(final int columnIndex) throws SQLException {
+    return value(columnIndex);
+  }
+
+  @Override
+  public Object getObject(final int columnIndex, final Map<String,Class<?>> map) throws SQLException {
+    return value(columnIndex);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T getObject(final int columnIndex, final Class<T> type) throws SQLException {
+    if (type == null)
+      throw new SQLException("type is null");
+
+    final Object value = value(columnIndex);
+    if (value == null || type.isInstance(value))
+      return (T)value;
+
+    final Object object;
+    if (type == String.class)
+      object = getString(columnIndex);
+    else if (type == Boolean.class)
+      object = getBoolean(columnIndex);
+    else if (type == Byte.class)
+      object = getByte(columnIndex);
+    else if (type == Short.class)
+      object = getShort(columnIndex);
+    else if (type == Integer.class)
+      object = getInt(columnIndex);
+    else if (type == Long.class)
+      object = getLong(columnIndex);
+    else if (type == Float.class)
+      object = getFloat(columnIndex);
+    else if (type == Double.class)
+      object = getDouble(columnIndex);
+    else if (type == BigDecimal.class)
+      object = getBigDecimal(columnIndex);
+    else if (type == BigInteger.class)
+      object = getBigDecimal(columnIndex).toBigInteger();
+    else if (type == byte[].class)
+      object = getBytes(columnIndex);
+    else if (type == Date.class)
+      object = getDate(columnIndex);
+    else if (type == Time.class)
+      object = getTime(columnIndex);
+    else if (type == Timestamp.class)
+      object = getTimestamp(columnIndex);
+    else if (type == LocalDate.class)
+      object = getDate(columnIndex).toLocalDate();
+    else if (type == LocalTime.class)
+      object = DateTimes.toLocalTime(getTime(columnIndex));
+    else if (type == LocalDateTime.class)
+      object = getTimestamp(columnIndex).toLocalDateTime();
+    else
+      throw cannotConvert(value, type);
+
+    return (T)object;
+  }
+
+  @Override
+  public String getString(final int columnIndex) throws SQLException {
+    final Object value = value(columnIndex);
+    if (value == null)
+      return null;
+
+    if (value instanceof byte[])
+      return new String((byte[])value, StandardCharsets.UTF_8);
+
+    if (value instanceof BigDecimal)
+      return ((BigDecimal)value).toPlainString();
+
+    return value.toString();
+  }
+
+  @Override
+  public String getNString(final int columnIndex) throws SQLException {
+    return getString(columnIndex);
+  }
+
+  @Override
+  public boolean getBoolean(final int columnIndex) throws SQLException {
+    final Object value = value(columnIndex);
+    if (value == null)
+      return false;
+
+    if (value instanceof Boolean)
+      return (Boolean)value;
+
+    if (value instanceof String) {
+      final String string = ((String)value).trim();
+      if ("true".equalsIgnoreCase(string))
+        return true;
+
+      if ("false".equalsIgnoreCase(string))
+        return false;
+    }
+
+    return getBigDecimal(columnIndex).signum() != 0;
+  }
+
+  @Override
+  public byte getByte(final int columnIndex) throws SQLException {
+    final Number value = toNumber(value(columnIndex));
+    return value == null ? 0 : value.byteValue();
+  }
+
+  @Override
+  public short getShort(final int columnIndex) throws SQLException {
+    final Number value = toNumber(value(columnIndex));
+    return value == null ? 0 : value.shortValue();
+  }
+
+  @Override
+  public int getInt(final int columnIndex) throws SQLException {
+    final Number value = toNumber(value(columnIndex));
+    return value == null ? 0 : value.intValue();
+  }
+
+  @Override
+  public long getLong(final int columnIndex) throws SQLException {
+    final Number value = toNumber(value(columnIndex));
+    return value == null ? 0 : value.longValue();
+  }
+
+  @Override
+  public float getFloat(final int columnIndex) throws SQLException {
+    final Number value = toNumber(value(columnIndex));
+    return value == null ? 0 : value.floatValue();
+  }
+
+  @Override
+  public double getDouble(final int columnIndex) throws SQLException {
+    final Number value = toNumber(value(columnIndex));
+    return value == null ? 0 : value.doubleValue();
+  }
+
+  @Override
+  public BigDecimal getBigDecimal(final int columnIndex) throws SQLException {
+    final Number value = toNumber(value(columnIndex));
+    if (value == null || value instanceof BigDecimal)
+      return (BigDecimal)value;
+
+    if (value instanceof BigInteger)
+      return new BigDecimal((BigInteger)value);
+
+    if (value instanceof Double || value instanceof Float)
+      return BigDecimal.valueOf(value.doubleValue());
+
+    return BigDecimal.valueOf(value.longValue());
+  }
+
+  @Override
+  @Deprecated// (since="1.2")
+  public BigDecimal getBigDecimal(final int columnIndex, final int scale) throws SQLException {
+    final BigDecimal value = getBigDecimal(columnIndex);
+    return value == null ? null : value.setScale(scale, BigDecimal.ROUND_HALF_UP);
+  }
+
+  @Override
+  public byte[] getBytes(final int columnIndex) throws SQLException {
+    final Object value = value(columnIndex);
+    if (value == null || value instanceof byte[])
+      return (byte[])value;
+
+    if (value instanceof String)
+      return ((String)value).getBytes(StandardCharsets.UTF_8);
+
+    throw cannotConvert(value, byte[].class);
+  }
+
+  @Override
+  public Date getDate(final int columnIndex) throws SQLException {
+    return getDate(columnIndex, null);
+  }
+
+  @Override
+  public Date getDate(final int columnIndex, final Calendar cal) throws SQLException {
+    final Object value = value(columnIndex);
+    if (value == null)
+      return null;
+
+    if (value instanceof java.util.Date)
+      return new Date(toMillis(((java.util.Date)value).getTime(), cal));
+
+    if (value instanceof LocalDate)
+      return new Date(toMillis(Date.valueOf((LocalDate)value).getTime(), cal));
+
+    if (value instanceof LocalDateTime)
+      return new Date(toMillis(Date.valueOf(((LocalDateTime)value).toLocalDate()).getTime(), cal));
+
+    if (value instanceof String) {
+      try {
+        return new Date(toMillis(Date.valueOf(((String)value).trim()).getTime(), cal));
+      }
+      catch (final IllegalArgumentException e) {
+        throw new SQLException("Cannot convert \"" + value + "\" to " + Date.class.getName(), "22018", e);
+      }
+    }
+
+    throw cannotConvert(value, Date.class);
+  }
+
+  @Override
+  public Time getTime(final int columnIndex) throws SQLException {
+    return getTime(columnIndex, null);
+  }
+
+  @Override
+  public Time getTime(final int columnIndex, final Calendar cal) throws SQLException {
+    final Object value = value(columnIndex);
+    if (value == null)
+      return null;
+
+    if (value instanceof java.util.Date)
+      return new Time(toMillis(((java.util.Date)value).getTime(), cal));
+
+    if (value instanceof LocalTime)
+      return new Time(toMillis(DateTimes.toTime((LocalTime)value).getTime(), cal));
+
+    if (value instanceof String) {
+      try {
+        return new Time(toMillis(Time.valueOf(((String)value).trim()).getTime(), cal));
+      }
+      catch (final IllegalArgumentException e) {
+        throw new SQLException("Cannot convert \"" + value + "\" to " + Time.class.getName(), "22018", e);
+      }
+    }
+
+    throw cannotConvert(value, Time.class);
+  }
+
+  @Override
+  public Timestamp getTimestamp(final int columnIndex) throws SQLException {
+    return getTimestamp(columnIndex, null);
+  }
+
+  @Override
+  public Timestamp getTimestamp(final int columnIndex, final Calendar cal) throws SQLException {
+    final Object value = value(columnIndex);
+    if (value == null)
+      return null;
+
+    final Timestamp timestamp;
+    if (value instanceof Timestamp)
+      timestamp = (Timestamp)value;
+    else if (value instanceof java.util.Date)
+      timestamp = new Timestamp(((java.util.Date)value).getTime());
+    else if (value instanceof LocalDateTime)
+      timestamp = Timestamp.valueOf((LocalDateTime)value);
+    else if (value instanceof LocalDate)
+      timestamp = Timestamp.valueOf(((LocalDate)value).atStartOfDay());
+    else if (value instanceof String) {
+      try {
+        timestamp = Timestamp.valueOf(((String)value).trim());
+      }
+      catch (final IllegalArgumentException e) {
+        throw new SQLException("Cannot convert \"" + value + "\" to " + Timestamp.class.getName(), "22018", e);
+      }
+    }
+    else {
+      throw cannotConvert(value, Timestamp.class);
+    }
+
+    if (cal == null)
+      return timestamp == value ? (Timestamp)timestamp.clone() : timestamp;
+
+    final Timestamp adjusted = new Timestamp(toMillis(timestamp.getTime(), cal));
+    adjusted.setNanos(timestamp.getNanos());
+    return adjusted;
+  }
+
+  @Override
+  public InputStream getAsciiStream(final int columnIndex) throws SQLException {
+    final Object value = value(columnIndex);
+    if (value == null)
+      return null;
+
+    if (value instanceof byte[])
+      return new ByteArrayInputStream((byte[])value);
+
+    return new ByteArrayInputStream(getString(columnIndex).getBytes(StandardCharsets.US_ASCII));
+  }
+
+  @Override
+  @Deprecated// (since="1.2")
+  public InputStream getUnicodeStream(final int columnIndex) throws SQLException {
+    final String value = getString(columnIndex);
+    return value == null ? null : new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_16BE));
+  }
+
+  @Override
+  public InputStream getBinaryStream(final int columnIndex) throws SQLException {
+    final byte[] value = getBytes(columnIndex);
+    return value == null ? null : new ByteArrayInputStream(value);
+  }
+
+  @Override
+  public Reader getCharacterStream(final int columnIndex) throws SQLException {
+    final String value = getString(columnIndex);
+    return value == null ? null : new StringReader(value);
+  }
+
+  @Override
+  public Reader getNCharacterStream(final int columnIndex) throws SQLException {
+    return getCharacterStream(columnIndex);
+  }
+
+  @Override
+  public Blob getBlob(final int columnIndex) throws SQLException {
+    final Object value = value(columnIndex);
+    if (value == null || value instanceof Blob)
+      return (Blob)value;
+
+    if (value instanceof byte[])
+      return new SerialBlob((byte[])value);
+
+    throw cannotConvert(value, Blob.class);
+  }
+
+  @Override
+  public Clob getClob(final int columnIndex) throws SQLException {
+    final Object value = value(columnIndex);
+    if (value == null || value instanceof Clob)
+      return (Clob)value;
+
+    if (value instanceof String)
+      return new SerialClob(((String)value).toCharArray());
+
+    throw cannotConvert(value, Clob.class);
+  }
+
+  @Override
+  public NClob getNClob(final int columnIndex) throws SQLException {
+    return cast(columnIndex, NClob.class);
+  }
+
+  @Override
+  public Array getArray(final int columnIndex) throws SQLException {
+    return cast(columnIndex, Array.class);
+  }
+
+  @Override
+  public Ref getRef(final int columnIndex) throws SQLException {
+    return cast(columnIndex, Ref.class);
+  }
+
+  @Override
+  public RowId getRowId(final int columnIndex) throws SQLException {
+    return cast(columnIndex, RowId.class);
+  }
+
+  @Override
+  public SQLXML getSQLXML(final int columnIndex) throws SQLException {
+    return cast(columnIndex, SQLXML.class);
+  }
+
+  @Override
+  public URL getURL(final int columnIndex) throws SQLException {
+    final Object value = value(columnIndex);
+    if (value == null || value instanceof URL)
+      return (URL)value;
+
+    if (value instanceof String) {
+      try {
+        return new URL((String)value);
+      }
+      catch (final MalformedURLException e) {
+        throw new SQLException("Cannot convert \"" + value + "\" to " + URL.class.getName(), "22018", e);
+      }
+    }
+
+    throw cannotConvert(value, URL.class);
+  }
+
+  private <T> T cast(final int columnIndex, final Class<T> type) throws SQLException {
+    final Object value = value(columnIndex);
+    if (value == null || type.isInstance(value))
+      return type.cast(value);
+
+    throw cannotConvert(value, type);
+  }
+
+  @Override
+  public String getString(final String columnLabel) throws SQLException {
+    return getString(findColumn(columnLabel));
+  }
+
+  @Override
+  public boolean getBoolean(final String columnLabel) throws SQLException {
+    return getBoolean(findColumn(columnLabel));
+  }
+
+  @Override
+  public byte getByte(final String columnLabel) throws SQLException {
+    return getByte(findColumn(columnLabel));
+  }
+
+  @Override
+  public short getShort(final String columnLabel) throws SQLException {
+    return getShort(findColumn(columnLabel));
+  }
+
+  @Override
+  public int getInt(final String columnLabel) throws SQLException {
+    return getInt(findColumn(columnLabel));
+  }
+
+  @Override
+  public long getLong(final String columnLabel) throws SQLException {
+    return getLong(findColumn(columnLabel));
+  }
+
+  @Override
+  public float getFloat(final String columnLabel) throws SQLException {
+    return getFloat(findColumn(columnLabel));
+  }
+
+  @Override
+  public double getDouble(final String columnLabel) throws SQLException {
+    return getDouble(findColumn(columnLabel));
+  }
+
+  @Override
+  public byte[] getBytes(final String columnLabel) throws SQLException {
+    return getBytes(findColumn(columnLabel));
+  }
+
+  @Override
+  public Date getDate(final String columnLabel) throws SQLException {
+    return getDate(findColumn(columnLabel));
+  }
+
+  @Override
+  public Time getTime(final String columnLabel) throws SQLException {
+    return getTime(findColumn(columnLabel));
+  }
+
+  @Override
+  public Timestamp getTimestamp(final String columnLabel) throws SQLException {
+    return getTimestamp(findColumn(columnLabel));
+  }
+
+  @Override
+  public InputStream getAsciiStream(final String columnLabel) throws SQLException {
+    return getAsciiStream(findColumn(columnLabel));
+  }
+
+  @Override
+  public InputStream getBinaryStream(final String columnLabel) throws SQLException {
+    return getBinaryStream(findColumn(columnLabel));
+  }
+
+  @Override
+  @Deprecated// (since="1.2")
+  public InputStream getUnicodeStream(final String columnLabel) throws SQLException {
+    return getUnicodeStream(findColumn(columnLabel));
+  }
+
+  @Override
+  public Object getObject(final String columnLabel) throws SQLException {
+    return getObject(findColumn(columnLabel));
+  }
+
+  @Override
+  public Reader getCharacterStream(final String columnLabel) throws SQLException {
+    return getCharacterStream(findColumn(columnLabel));
+  }
+
+  @Override
+  public BigDecimal getBigDecimal(final String columnLabel) throws SQLException {
+    return getBigDecimal(findColumn(columnLabel));
+  }
+
+  @Override
+  @Deprecated// (since="1.2")
+  public BigDecimal getBigDecimal(final String columnLabel, final int scale) throws SQLException {
+    return getBigDecimal(findColumn(columnLabel), scale);
+  }
+
+  @Override
+  public Object getObject(final String columnLabel, final Map<String,Class<?>> map) throws SQLException {
+    return getObject(findColumn(columnLabel), map);
+  }
+
+  @Override
+  public Ref getRef(final String columnLabel) throws SQLException {
+    return getRef(findColumn(columnLabel));
+  }
+
+  @Override
+  public Blob getBlob(final String columnLabel) throws SQLException {
+    return getBlob(findColumn(columnLabel));
+  }
+
+  @Override
+  public Clob getClob(final String columnLabel) throws SQLException {
+    return getClob(findColumn(columnLabel));
+  }
+
+  @Override
+  public Array getArray(final String columnLabel) throws SQLException {
+    return getArray(findColumn(columnLabel));
+  }
+
+  @Override
+  public Date getDate(final String columnLabel, final Calendar cal) throws SQLException {
+    return getDate(findColumn(columnLabel), cal);
+  }
+
+  @Override
+  public Time getTime(final String columnLabel, final Calendar cal) throws SQLException {
+    return getTime(findColumn(columnLabel), cal);
+  }
+
+  @Override
+  public Timestamp getTimestamp(final String columnLabel, final Calendar cal) throws SQLException {
+    return getTimestamp(findColumn(columnLabel), cal);
+  }
+
+  @Override
+  public URL getURL(final String columnLabel) throws SQLException {
+    return getURL(findColumn(columnLabel));
+  }
+
+  @Override
+  public RowId getRowId(final String columnLabel) throws SQLException {
+    return getRowId(findColumn(columnLabel));
+  }
+
+  @Override
+  public NClob getNClob(final String columnLabel) throws SQLException {
+    return getNClob(findColumn(columnLabel));
+  }
+
+  @Override
+  public SQLXML getSQLXML(final String columnLabel) throws SQLException {
+    return getSQLXML(findColumn(columnLabel));
+  }
+
+  @Override
+  public String getNString(final String columnLabel) throws SQLException {
+    return getNString(findColumn(columnLabel));
+  }
+
+  @Override
+  public Reader getNCharacterStream(final String columnLabel) throws SQLException {
+    return getNCharacterStream(findColumn(columnLabel));
+  }
+
+  @Override
+  public <T> T getObject(final String columnLabel, final Class<T> type) throws SQLException {
+    return getObject(findColumn(columnLabel), type);
+  }
+
+  @Override
+  public void updateNull(final int columnIndex) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateBoolean(final int columnIndex, final boolean x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateByte(final int columnIndex, final byte x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateShort(final int columnIndex, final short x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateInt(final int columnIndex, final int x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateLong(final int columnIndex, final long x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateFloat(final int columnIndex, final float x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateDouble(final int columnIndex, final double x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateBigDecimal(final int columnIndex, final BigDecimal x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateString(final int columnIndex, final String x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateBytes(final int columnIndex, final byte[] x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateDate(final int columnIndex, final Date x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateTime(final int columnIndex, final Time x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateTimestamp(final int columnIndex, final Timestamp x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateAsciiStream(final int columnIndex, final InputStream x, final int length) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateBinaryStream(final int columnIndex, final InputStream x, final int length) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateCharacterStream(final int columnIndex, final Reader x, final int length) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateObject(final int columnIndex, final Object x, final int scale) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateObject(final int columnIndex, final Object x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateNull(final String columnName) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateBoolean(final String columnName, final boolean x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateByte(final String columnName, final byte x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateShort(final String columnName, final short x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateInt(final String columnName, final int x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateLong(final String columnName, final long x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateFloat(final String columnName, final float x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateDouble(final String columnName, final double x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateBigDecimal(final String columnName, final BigDecimal x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateString(final String columnName, final String x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateBytes(final String columnName, final byte[] x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateDate(final String columnName, final Date x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateTime(final String columnName, final Time x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateTimestamp(final String columnName, final Timestamp x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateAsciiStream(final String columnName, final InputStream x, final int length) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateBinaryStream(final String columnName, final InputStream x, final int length) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateCharacterStream(final String columnName, final Reader reader, final int length) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateObject(final String columnName, final Object x, final int scale) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateObject(final String columnName, final Object x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateRow() throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateRef(final int columnIndex, final Ref x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateRef(final String columnName, final Ref x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateBlob(final int columnIndex, final Blob x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateBlob(final String columnName, final Blob x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateClob(final int columnIndex, final Clob x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateClob(final String columnName, final Clob x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateArray(final int columnIndex, final Array x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateArray(final String columnName, final Array x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateRowId(final int columnIndex, final RowId x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateRowId(final String columnLabel, final RowId x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateNString(final int columnIndex, final String nString) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateNString(final String columnLabel, final String nString) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateNClob(final int columnIndex, final NClob nClob) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateNClob(final String columnLabel, final NClob nClob) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateSQLXML(final int columnIndex, final SQLXML xmlObject) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateSQLXML(final String columnLabel, final SQLXML xmlObject) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateNCharacterStream(final int columnIndex, final Reader x, final long length) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateNCharacterStream(final String columnLabel, final Reader reader, final long length) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateAsciiStream(final int columnIndex, final InputStream x, final long length) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateBinaryStream(final int columnIndex, final InputStream x, final long length) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateCharacterStream(final int columnIndex, final Reader x, final long length) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateAsciiStream(final String columnLabel, final InputStream x, final long length) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateBinaryStream(final String columnLabel, final InputStream x, final long length) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateCharacterStream(final String columnLabel, final Reader reader, final long length) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateBlob(final int columnIndex, final InputStream inputStream, final long length) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateBlob(final String columnLabel, final InputStream inputStream, final long length) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateClob(final int columnIndex, final Reader reader, final long length) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateClob(final String columnLabel, final Reader reader, final long length) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateNClob(final int columnIndex, final Reader reader, final long length) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateNClob(final String columnLabel, final Reader reader, final long length) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateNCharacterStream(final int columnIndex, final Reader x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateNCharacterStream(final String columnLabel, final Reader reader) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateAsciiStream(final int columnIndex, final InputStream x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateBinaryStream(final int columnIndex, final InputStream x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateCharacterStream(final int columnIndex, final Reader x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateAsciiStream(final String columnLabel, final InputStream x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateBinaryStream(final String columnLabel, final InputStream x) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateCharacterStream(final String columnLabel, final Reader reader) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateBlob(final int columnIndex, final InputStream inputStream) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateBlob(final String columnLabel, final InputStream inputStream) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateClob(final int columnIndex, final Reader reader) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateClob(final String columnLabel, final Reader reader) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateNClob(final int columnIndex, final Reader reader) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void updateNClob(final String columnLabel, final Reader reader) throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void insertRow() throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void deleteRow() throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void refreshRow() throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void cancelRowUpdates() throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void moveToInsertRow() throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  public void moveToCurrentRow() throws SQLException {
+    throw readOnly();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T unwrap(final Class<T> iface) throws SQLException {
+    if (iface.isInstance(this))
+      return (T)this;
+
+    throw new SQLException("Not a wrapper for " + iface.getName());
+  }
+
+  @Override
+  public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+    return iface.isInstance(this);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    return this == obj;
+  }
+
+  @Override
+  public int hashCode() {
+    return System.identityHashCode(this);
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getName() + "@" + Integer.toHexString(hashCode());
+  }
+}
\ No newline at end of file
@@ -0,0 +1,549 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link DelegateConnection} that caches the {@link PreparedStatement}s of its target {@link Connection}, so that a statement that
+ * is prepared repeatedly on the same connection is prepared by the driver only once.
+ * <p>
+ * Each "prepareStatement" method returns a logical handle to a physical {@link PreparedStatement}. Statements are cached by their SQL
+ * and by the options with which they were prepared (result set type, concurrency and holdability, and the auto-generated keys
+ * specification). When a handle is closed, its physical statement is reset (its parameters, batch, open {@link ResultSet} and
+ * modified limits are cleared) and is returned to the cache, instead of being closed. The cache holds at most {@code maxStatements}
+ * idle statements per connection, beyond which the least recently used statement is evicted and closed. A statement that is in use
+ * is not in the cache, so the same SQL may be prepared concurrently with separate physical statements.
+ * <p>
+ * A statement is not returned to the cache if it has been marked as not {@linkplain Statement#setPoolable(boolean) poolable}, if
+ * {@link Statement#closeOnCompletion()}, {@link Statement#setCursorName(String)} or
+ * {@link Statement#setEscapeProcessing(boolean)} has been invoked on its handle, or if it could not be reset. Closing this connection
+ * closes all cached statements.
+ * <p>
+ * {@link java.sql.CallableStatement}s are not cached.
+ */
+public class CachingConnection implements DelegateConnection {
+  private static final int OMITTED = Integer.MIN_VALUE;
+  private static final long LARGE_OMITTED = Long.MIN_VALUE;
+  private static final PreparedStatement CLOSED = ClosedTarget.of(PreparedStatement.class, "Statement is closed", "HY010");
+
+  private static final class Key {
+    private final String sql;
+    private final int resultSetType;
+    private final int resultSetConcurrency;
+    private final int resultSetHoldability;
+    private final int autoGeneratedKeys;
+    private final int[] columnIndexes;
+    private final String[] columnNames;
+    private final int hashCode;
+
+    private Key(final String sql, final int resultSetType, final int resultSetConcurrency, final int resultSetHoldability, final int autoGeneratedKeys, final int[] columnIndexes, final String[] columnNames) {
+      this.sql = sql;
+      this.resultSetType = resultSetType;
+      this.resultSetConcurrency = resultSetConcurrency;
+      this.resultSetHoldability = resultSetHoldability;
+      this.autoGeneratedKeys = autoGeneratedKeys;
+      this.columnIndexes = columnIndexes == null ? null : columnIndexes.clone();
+      this.columnNames = columnNames == null ? null : columnNames.clone();
+      int hashCode = sql.hashCode();
+      hashCode = 31 * hashCode + resultSetType;
+      hashCode = 31 * hashCode + resultSetConcurrency;
+      hashCode = 31 * hashCode + resultSetHoldability;
+      hashCode = 31 * hashCode + autoGeneratedKeys;
+      hashCode = 31 * hashCode + Arrays.hashCode(columnIndexes);
+      hashCode = 31 * hashCode + Arrays.hashCode(columnNames);
+      this.hashCode = hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (obj == this)
+        return true;
+
+      if (!(obj instanceof Key))
+        return false;
+
+      final Key that = (Key)obj;
+      return hashCode == that.hashCode && sql.equals(that.sql) && resultSetType == that.resultSetType && resultSetConcurrency == that.resultSetConcurrency && resultSetHoldability == that.resultSetHoldability && autoGeneratedKeys == that.autoGeneratedKeys && Arrays.equals(columnIndexes, that.columnIndexes) && Arrays.equals(columnNames, that.columnNames);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public String toString() {
+      return sql;
+    }
+  }
+
+  /**
+   * The logical handle to a cached physical {@link PreparedStatement}.
+   */
+  private final class CachedPreparedStatement implements DelegatePreparedStatement {
+    private final Key key;
+    private PreparedStatement target;
+    private ResultSet resultSet;
+    private boolean batched;
+    private boolean poolable = true;
+    private int maxRows = OMITTED;
+    private long largeMaxRows = LARGE_OMITTED;
+    private int maxFieldSize = OMITTED;
+    private int queryTimeout = OMITTED;
+    private int fetchSize = OMITTED;
+    private int fetchDirection = OMITTED;
+
+    private CachedPreparedStatement(final Key key, final PreparedStatement target) {
+      this.key = key;
+      this.target = target;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If this handle is closed, the returned {@link PreparedStatement} throws a {@link SQLException} from each of its methods.
+     */
+    @Override
+    public PreparedStatement getTarget() {
+      final PreparedStatement target = this.target;
+      return target != null ? target : CLOSED;
+    }
+
+    private ResultSet track(final ResultSet resultSet) {
+      return this.resultSet = resultSet;
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+      return track(getTarget().executeQuery());
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+      return track(getTarget().getResultSet());
+    }
+
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException {
+      return track(getTarget().getGeneratedKeys());
+    }
+
+    @Override
+    public void addBatch() throws SQLException {
+      getTarget().addBatch();
+      batched = true;
+    }
+
+    @Override
+    public void addBatch(final String sql) throws SQLException {
+      getTarget().addBatch(sql);
+      batched = true;
+    }
+
+    @Override
+    public void setMaxRows(final int max) throws SQLException {
+      final PreparedStatement target = getTarget();
+      if (maxRows == OMITTED && largeMaxRows == LARGE_OMITTED)
+        maxRows = target.getMaxRows();
+
+      target.setMaxRows(max);
+    }
+
+    @Override
+    public void setLargeMaxRows(final long max) throws SQLException {
+      final PreparedStatement target = getTarget();
+      if (maxRows == OMITTED && largeMaxRows == LARGE_OMITTED)
+        largeMaxRows = target.getLargeMaxRows();
+
+      target.setLargeMaxRows(max);
+    }
+
+    @Override
+    public void setMaxFieldSize(final int max) throws SQLException {
+      final PreparedStatement target = getTarget();
+      if (maxFieldSize == OMITTED)
+        maxFieldSize = target.getMaxFieldSize();
+
+      target.setMaxFieldSize(max);
+    }
+
+    @Override
+    public void setQueryTimeout(final int seconds) throws SQLException {
+      final PreparedStatement target = getTarget();
+      if (queryTimeout == OMITTED)
+        queryTimeout = target.getQueryTimeout();
+
+      target.setQueryTimeout(seconds);
+    }
+
+    @Override
+    public void setFetchSize(final int rows) throws SQLException {
+      final PreparedStatement target = getTarget();
+      if (fetchSize == OMITTED)
+        fetchSize = target.getFetchSize();
+
+      target.setFetchSize(rows);
+    }
+
+    @Override
+    public void setFetchDirection(final int direction) throws SQLException {
+      final PreparedStatement target = getTarget();
+      if (fetchDirection == OMITTED)
+        fetchDirection = target.getFetchDirection();
+
+      target.setFetchDirection(direction);
+    }
+
+    @Override
+    public void setPoolable(final boolean poolable) throws SQLException {
+      getTarget().setPoolable(poolable);
+      this.poolable = poolable;
+    }
+
+    @Override
+    public void closeOnCompletion() throws SQLException {
+      getTarget().closeOnCompletion();
+      poolable = false;
+    }
+
+    @Override
+    public void setCursorName(final String name) throws SQLException {
+      getTarget().setCursorName(name);
+      poolable = false;
+    }
+
+    @Override
+    public void setEscapeProcessing(final boolean enable) throws SQLException {
+      getTarget().setEscapeProcessing(enable);
+      poolable = false;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      if (target == null)
+        throw new SQLException("Statement is closed", "HY010");
+
+      return CachingConnection.this;
+    }
+
+    @Override
+    public boolean isClosed() {
+      return target == null;
+    }
+
+    /**
+     * Resets the physical statement to the state in which it was prepared.
+     *
+     * @param target The physical statement.
+     * @return Whether the physical statement was reset, and can therefore be returned to the cache.
+     */
+    private boolean reset(final PreparedStatement target) {
+      try {
+        if (!poolable || target.isClosed())
+          return false;
+
+        if (resultSet != null)
+          resultSet.close();
+
+        target.clearParameters();
+        if (batched)
+          target.clearBatch();
+
+        if (maxRows != OMITTED)
+          target.setMaxRows(maxRows);
+
+        if (largeMaxRows != LARGE_OMITTED)
+          target.setLargeMaxRows(largeMaxRows);
+
+        if (maxFieldSize != OMITTED)
+          target.setMaxFieldSize(maxFieldSize);
+
+        if (queryTimeout != OMITTED)
+          target.setQueryTimeout(queryTimeout);
+
+        if (fetchSize != OMITTED)
+          target.setFetchSize(fetchSize);
+
+        if (fetchDirection != OMITTED)
+          target.setFetchDirection(fetchDirection);
+
+        target.clearWarnings();
+        return true;
+      }
+      catch (final SQLException e) {
+        return false;
+      }
+    }
+
+    @Override
+    public void close() throws SQLException {
+      final PreparedStatement target = this.target;
+      if (target == null)
+        return;
+
+      this.target = null;
+      if (reset(target))
+        release(key, target);
+      else
+        target.close();
+    }
+
+    @Override
+    public String toString() {
+      final PreparedStatement target = this.target;
+      return target != null ? target.toString() : key.toString();
+    }
+  }
+
+  private final Connection target;
+  private final int maxStatements;
+  private final LinkedHashMap<Key,PreparedStatement> cache;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private boolean closed;
+
+  /**
+   * Creates a new {@link CachingConnection} with the specified {@code target} to which all method calls will be delegated, and which
+   * caches at most {@code maxStatements} idle {@link PreparedStatement}s.
+   *
+   * @param target The {@link Connection} to which all method calls will be delegated.
+   * @param maxStatements The maximum number of idle {@link PreparedStatement}s to cache.
+   * @throws NullPointerException If the target {@link Connection} is null.
+   * @throws IllegalArgumentException If {@code maxStatements} is not positive.
+   */
+  public CachingConnection(final Connection target, final int maxStatements) {
+    if (maxStatements <= 0)
+      throw new IllegalArgumentException("maxStatements (" + maxStatements + ") must be positive");
+
+    if (target == null)
+      throw new NullPointerException("target is null");
+
+    this.target = target;
+    this.maxStatements = maxStatements;
+    this.cache = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  @Override
+  public Connection getTarget() {
+    return target;
+  }
+
+  /**
+   * Returns the maximum number of idle {@link PreparedStatement}s that are cached by this connection.
+   *
+   * @return The maximum number of idle {@link PreparedStatement}s that are cached by this connection.
+   */
+  public int getMaxStatements() {
+    return maxStatements;
+  }
+
+  /**
+   * Returns the number of idle {@link PreparedStatement}s that are currently cached by this connection.
+   *
+   * @return The number of idle {@link PreparedStatement}s that are currently cached by this connection.
+   */
+  public int getCacheSize() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  /**
+   * Returns the number of {@link PreparedStatement}s that have been served from the cache.
+   *
+   * @return The number of {@link PreparedStatement}s that have been served from the cache.
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * Returns the number of {@link PreparedStatement}s that have been prepared by the target {@link Connection}, because they were not
+   * in the cache.
+   *
+   * @return The number of {@link PreparedStatement}s that have been prepared by the target {@link Connection}.
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * Returns the number of {@link PreparedStatement}s that have been evicted from the cache (and closed) to make room for others.
+   *
+   * @return The number of {@link PreparedStatement}s that have been evicted from the cache.
+   */
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  private PreparedStatement acquire(final Key key) {
+    final PreparedStatement statement;
+    synchronized (cache) {
+      statement = cache.remove(key);
+    }
+
+    if (statement != null)
+      hits.increment();
+    else
+      misses.increment();
+
+    return statement;
+  }
+
+  /**
+   * Returns the provided physical statement to the cache, and closes the least recently used statement if it is evicted as a result.
+   * If this connection is closed, or if a statement with the same {@link Key} is already cached, the provided statement is closed
+   * instead. Statements are closed outside of the lock on the cache.
+   *
+   * @param key The {@link Key} of the statement.
+   * @param statement The physical statement.
+   * @throws SQLException If a database access error occurs while closing a statement.
+   */
+  private void release(final Key key, final PreparedStatement statement) throws SQLException {
+    PreparedStatement evicted = null;
+    synchronized (cache) {
+      if (closed || cache.containsKey(key)) {
+        evicted = statement;
+      }
+      else {
+        cache.put(key, statement);
+        if (cache.size() > maxStatements) {
+          final Iterator<PreparedStatement> iterator = cache.values().iterator();
+          evicted = iterator.next();
+          iterator.remove();
+          evictions.increment();
+        }
+      }
+    }
+
+    if (evicted != null)
+      evicted.close();
+  }
+
+  @Override
+  public PreparedStatement prepareStatement(final String sql) throws SQLException {
+    final Key key = new Key(sql, OMITTED, OMITTED, OMITTED, OMITTED, null, null);
+    final PreparedStatement statement = acquire(key);
+    return new CachedPreparedStatement(key, statement != null ? statement : target.prepareStatement(sql));
+  }
+
+  @Override
+  public PreparedStatement prepareStatement(final String sql, final int resultSetType, final int resultSetConcurrency) throws SQLException {
+    final Key key = new Key(sql, resultSetType, resultSetConcurrency, OMITTED, OMITTED, null, null);
+    final PreparedStatement statement = acquire(key);
+    return new CachedPreparedStatement(key, statement != null ? statement : target.prepareStatement(sql, resultSetType, resultSetConcurrency));
+  }
+
+  @Override
+  public PreparedStatement prepareStatement(final String sql, final int resultSetType, final int resultSetConcurrency, final int resultSetHoldability) throws SQLException {
+    final Key key = new Key(sql, resultSetType, resultSetConcurrency, resultSetHoldability, OMITTED, null, null);
+    final PreparedStatement statement = acquire(key);
+    return new CachedPreparedStatement(key, statement != null ? statement : target.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability));
+  }
+
+  @Override
+  public PreparedStatement prepareStatement(final String sql, final int autoGeneratedKeys) throws SQLException {
+    final Key key = new Key(sql, OMITTED, OMITTED, OMITTED, autoGeneratedKeys, null, null);
+    final PreparedStatement statement = acquire(key);
+    return new CachedPreparedStatement(key, statement != null ? statement : target.prepareStatement(sql, autoGeneratedKeys));
+  }
+
+  @Override
+  public PreparedStatement prepareStatement(final String sql, final int[] columnIndexes) throws SQLException {
+    final Key key = new Key(sql, OMITTED, OMITTED, OMITTED, OMITTED, columnIndexes, null);
+    final PreparedStatement statement = acquire(key);
+    return new CachedPreparedStatement(key, statement != null ? statement : target.prepareStatement(sql, columnIndexes));
+  }
+
+  @Override
+  public PreparedStatement prepareStatement(final String sql, final String[] columnNames) throws SQLException {
+    final Key key = new Key(sql, OMITTED, OMITTED, OMITTED, OMITTED, null, columnNames);
+    final PreparedStatement statement = acquire(key);
+    return new CachedPreparedStatement(key, statement != null ? statement : target.prepareStatement(sql, columnNames));
+  }
+
+  private void closeCache() throws SQLException {
+    final PreparedStatement[] statements;
+    synchronized (cache) {
+      closed = true;
+      statements = cache.values().toArray(new PreparedStatement[cache.size()]);
+      cache.clear();
+    }
+
+    SQLException exception = null;
+    for (final PreparedStatement statement : statements) { // [A]
+      try {
+        statement.close();
+      }
+      catch (final SQLException e) {
+        if (exception == null)
+          exception = e;
+        else
+          exception.addSuppressed(e);
+      }
+    }
+
+    if (exception != null)
+      throw exception;
+  }
+
+  @Override
+  public void close() throws SQLException {
+    try {
+      closeCache();
+    }
+    finally {
+      target.close();
+    }
+  }
+
+  @Override
+  public void abort(final Executor executor) throws SQLException {
+    synchronized (cache) {
+      closed = true;
+      cache.clear();
+    }
+
+    target.abort(executor);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    return target.equals(obj);
+  }
+
+  @Override
+  public int hashCode() {
+    return target.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return target.toString();
+  }
+}
\ No newline at end of file
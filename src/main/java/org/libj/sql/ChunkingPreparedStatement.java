@@ -0,0 +1,544 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+
+package org.libj.sql;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.BatchUpdateException;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Calendar;
+
+/**
+ * A {@link DelegatePreparedStatement} that transparently executes the batch of its target {@link PreparedStatement} in chunks,
+ * whenever the number of rows added with {@link #addBatch()} reaches {@code maxRows}, or the estimated size of their bound parameters
+ * reaches {@code maxBytes}. This bounds the memory that is held by the driver and the duration of the locks that are held by the
+ * database for a bulk job that adds a very large number of rows to a single batch.
+ * <p>
+ * {@link #executeBatch()} executes the rows that remain, and returns the update counts of all of the rows of the batch, in the order
+ * in which they were added. If a chunk fails, the {@link BatchUpdateException} is deferred until {@link #executeBatch()}, and its
+ * update counts are offset by the number of rows of the preceding chunks. If the driver stopped at the failed row, the rows that are
+ * added afterwards are discarded. If the driver continued with the rows after the failed row, then so are the chunks that follow,
+ * and the {@link BatchUpdateException} reports the update counts of all of the rows of the batch.
+ * <p>
+ * <b>Note:</b> Chunks that have been executed are not undone by {@link #clearBatch()}. If the batch must be atomic, auto-commit must
+ * be disabled on the connection.
+ * <p>
+ * The size of a parameter is estimated as the size of its primitive type, the length of its {@code byte[]} or stream, or two bytes per
+ * character of its {@link String} or character stream. The size of other values is an approximation. A stream parameter that is set
+ * without a length is not counted, because its length is not known until the driver reads it.
+ */
+public class ChunkingPreparedStatement implements DelegatePreparedStatement {
+  private static long sizeOf(final Object x) {
+    if (x == null)
+      return 0;
+
+    if (x instanceof String)
+      return 2L * ((String)x).length();
+
+    if (x instanceof byte[])
+      return ((byte[])x).length;
+
+    if (x instanceof BigDecimal)
+      return ((BigDecimal)x).precision();
+
+    if (x instanceof Number || x instanceof Boolean || x instanceof java.util.Date)
+      return 8;
+
+    return 16;
+  }
+
+  private final PreparedStatement target;
+  private final int maxRows;
+  private final long maxBytes;
+  private long[] sizes = new long[8];
+  private long rowBytes;
+  private int rows;
+  private long bytes;
+  private int[] counts = new int[16];
+  private int size;
+  private BatchUpdateException exception;
+  private boolean stopped;
+
+  /**
+   * Creates a new {@link ChunkingPreparedStatement} with the specified {@code target} to which all method calls will be delegated,
+   * and which executes the batch of the {@code target} whenever it reaches {@code maxRows} rows or {@code maxBytes} bytes of bound
+   * parameters.
+   *
+   * @param target The {@link PreparedStatement} to which all method calls will be delegated.
+   * @param maxRows The maximum number of rows of a chunk.
+   * @param maxBytes The maximum estimated size of the bound parameters of a chunk, in bytes.
+   * @throws IllegalArgumentException If {@code maxRows} or {@code maxBytes} is not positive.
+   * @throws NullPointerException If the target {@link PreparedStatement} is null.
+   */
+  public ChunkingPreparedStatement(final PreparedStatement target, final int maxRows, final long maxBytes) {
+    if (target == null)
+      throw new NullPointerException("target is null");
+
+    if (maxRows <= 0)
+      throw new IllegalArgumentException("maxRows (" + maxRows + ") must be positive");
+
+    if (maxBytes <= 0)
+      throw new IllegalArgumentException("maxBytes (" + maxBytes + ") must be positive");
+
+    this.target = target;
+    this.maxRows = maxRows;
+    this.maxBytes = maxBytes;
+  }
+
+  @Override
+  public PreparedStatement getTarget() {
+    return target;
+  }
+
+  /**
+   * Returns the maximum number of rows of a chunk.
+   *
+   * @return The maximum number of rows of a chunk.
+   */
+  public int getMaxRows() {
+    return maxRows;
+  }
+
+  /**
+   * Returns the maximum estimated size of the bound parameters of a chunk, in bytes.
+   *
+   * @return The maximum estimated size of the bound parameters of a chunk, in bytes.
+   */
+  public long getMaxBytes() {
+    return maxBytes;
+  }
+
+  private void bind(final int parameterIndex, final long size) {
+    if (parameterIndex <= 0)
+      return;
+
+    if (parameterIndex > sizes.length)
+      sizes = Arrays.copyOf(sizes, Math.max(parameterIndex, sizes.length * 2));
+
+    rowBytes += size - sizes[parameterIndex - 1];
+    sizes[parameterIndex - 1] = size;
+  }
+
+  @Override
+  public void setNull(final int parameterIndex, final int sqlType) throws SQLException {
+    target.setNull(parameterIndex, sqlType);
+    bind(parameterIndex, 0);
+  }
+
+  @Override
+  public void setBoolean(final int parameterIndex, final boolean x) throws SQLException {
+    target.setBoolean(parameterIndex, x);
+    bind(parameterIndex, 1);
+  }
+
+  @Override
+  public void setByte(final int parameterIndex, final byte x) throws SQLException {
+    target.setByte(parameterIndex, x);
+    bind(parameterIndex, 1);
+  }
+
+  @Override
+  public void setShort(final int parameterIndex, final short x) throws SQLException {
+    target.setShort(parameterIndex, x);
+    bind(parameterIndex, 2);
+  }
+
+  @Override
+  public void setInt(final int parameterIndex, final int x) throws SQLException {
+    target.setInt(parameterIndex, x);
+    bind(parameterIndex, 4);
+  }
+
+  @Override
+  public void setLong(final int parameterIndex, final long x) throws SQLException {
+    target.setLong(parameterIndex, x);
+    bind(parameterIndex, 8);
+  }
+
+  @Override
+  public void setFloat(final int parameterIndex, final float x) throws SQLException {
+    target.setFloat(parameterIndex, x);
+    bind(parameterIndex, 4);
+  }
+
+  @Override
+  public void setDouble(final int parameterIndex, final double x) throws SQLException {
+    target.setDouble(parameterIndex, x);
+    bind(parameterIndex, 8);
+  }
+
+  @Override
+  public void setBigDecimal(final int parameterIndex, final BigDecimal x) throws SQLException {
+    target.setBigDecimal(parameterIndex, x);
+    bind(parameterIndex, sizeOf(x));
+  }
+
+  @Override
+  public void setString(final int parameterIndex, final String x) throws SQLException {
+    target.setString(parameterIndex, x);
+    bind(parameterIndex, sizeOf(x));
+  }
+
+  @Override
+  public void setBytes(final int parameterIndex, final byte[] x) throws SQLException {
+    target.setBytes(parameterIndex, x);
+    bind(parameterIndex, sizeOf(x));
+  }
+
+  @Override
+  public void setDate(final int parameterIndex, final Date x) throws SQLException {
+    target.setDate(parameterIndex, x);
+    bind(parameterIndex, sizeOf(x));
+  }
+
+  @Override
+  public void setTime(final int parameterIndex, final Time x) throws SQLException {
+    target.setTime(parameterIndex, x);
+    bind(parameterIndex, sizeOf(x));
+  }
+
+  @Override
+  public void setTimestamp(final int parameterIndex, final Timestamp x) throws SQLException {
+    target.setTimestamp(parameterIndex, x);
+    bind(parameterIndex, sizeOf(x));
+  }
+
+  @Override
+  public void setAsciiStream(final int parameterIndex, final InputStream x, final int length) throws SQLException {
+    target.setAsciiStream(parameterIndex, x, length);
+    bind(parameterIndex, length);
+  }
+
+  @Override
+  @Deprecated
+  public void setUnicodeStream(final int parameterIndex, final InputStream x, final int length) throws SQLException {
+    target.setUnicodeStream(parameterIndex, x, length);
+    bind(parameterIndex, length);
+  }
+
+  @Override
+  public void setBinaryStream(final int parameterIndex, final InputStream x, final int length) throws SQLException {
+    target.setBinaryStream(parameterIndex, x, length);
+    bind(parameterIndex, length);
+  }
+
+  @Override
+  public void setObject(final int parameterIndex, final Object x, final int targetSqlType, final int scale) throws SQLException {
+    target.setObject(parameterIndex, x, targetSqlType, scale);
+    bind(parameterIndex, sizeOf(x));
+  }
+
+  @Override
+  public void setObject(final int parameterIndex, final Object x, final int targetSqlType) throws SQLException {
+    target.setObject(parameterIndex, x, targetSqlType);
+    bind(parameterIndex, sizeOf(x));
+  }
+
+  @Override
+  public void setObject(final int parameterIndex, final Object x) throws SQLException {
+    target.setObject(parameterIndex, x);
+    bind(parameterIndex, sizeOf(x));
+  }
+
+  @Override
+  public void setCharacterStream(final int parameterIndex, final Reader reader, final int length) throws SQLException {
+    target.setCharacterStream(parameterIndex, reader, length);
+    bind(parameterIndex, 2L * length);
+  }
+
+  @Override
+  public void setRef(final int parameterIndex, final Ref x) throws SQLException {
+    target.setRef(parameterIndex, x);
+    bind(parameterIndex, sizeOf(x));
+  }
+
+  @Override
+  public void setBlob(final int parameterIndex, final Blob x) throws SQLException {
+    target.setBlob(parameterIndex, x);
+    bind(parameterIndex, sizeOf(x));
+  }
+
+  @Override
+  public void setClob(final int parameterIndex, final Clob x) throws SQLException {
+    target.setClob(parameterIndex, x);
+    bind(parameterIndex, sizeOf(x));
+  }
+
+  @Override
+  public void setArray(final int parameterIndex, final Array x) throws SQLException {
+    target.setArray(parameterIndex, x);
+    bind(parameterIndex, sizeOf(x));
+  }
+
+  @Override
+  public void setDate(final int parameterIndex, final Date x, final Calendar cal) throws SQLException {
+    target.setDate(parameterIndex, x, cal);
+    bind(parameterIndex, sizeOf(x));
+  }
+
+  @Override
+  public void setTime(final int parameterIndex, final Time x, final Calendar cal) throws SQLException {
+    target.setTime(parameterIndex, x, cal);
+    bind(parameterIndex, sizeOf(x));
+  }
+
+  @Override
+  public void setTimestamp(final int parameterIndex, final Timestamp x, final Calendar cal) throws SQLException {
+    target.setTimestamp(parameterIndex, x, cal);
+    bind(parameterIndex, sizeOf(x));
+  }
+
+  @Override
+  public void setNull(final int parameterIndex, final int sqlType, final String typeName) throws SQLException {
+    target.setNull(parameterIndex, sqlType, typeName);
+    bind(parameterIndex, 0);
+  }
+
+  @Override
+  public void setURL(final int parameterIndex, final URL x) throws SQLException {
+    target.setURL(parameterIndex, x);
+    bind(parameterIndex, sizeOf(x));
+  }
+
+  @Override
+  public void setRowId(final int parameterIndex, final RowId x) throws SQLException {
+    target.setRowId(parameterIndex, x);
+    bind(parameterIndex, sizeOf(x));
+  }
+
+  @Override
+  public void setNString(final int parameterIndex, final String value) throws SQLException {
+    target.setNString(parameterIndex, value);
+    bind(parameterIndex, sizeOf(value));
+  }
+
+  @Override
+  public void setNCharacterStream(final int parameterIndex, final Reader value, final long length) throws SQLException {
+    target.setNCharacterStream(parameterIndex, value, length);
+    bind(parameterIndex, 2L * length);
+  }
+
+  @Override
+  public void setNClob(final int parameterIndex, final NClob value) throws SQLException {
+    target.setNClob(parameterIndex, value);
+    bind(parameterIndex, sizeOf(value));
+  }
+
+  @Override
+  public void setClob(final int parameterIndex, final Reader reader, final long length) throws SQLException {
+    target.setClob(parameterIndex, reader, length);
+    bind(parameterIndex, 2L * length);
+  }
+
+  @Override
+  public void setBlob(final int parameterIndex, final InputStream inputStream, final long length) throws SQLException {
+    target.setBlob(parameterIndex, inputStream, length);
+    bind(parameterIndex, length);
+  }
+
+  @Override
+  public void setNClob(final int parameterIndex, final Reader reader, final long length) throws SQLException {
+    target.setNClob(parameterIndex, reader, length);
+    bind(parameterIndex, 2L * length);
+  }
+
+  @Override
+  public void setSQLXML(final int parameterIndex, final SQLXML xmlObject) throws SQLException {
+    target.setSQLXML(parameterIndex, xmlObject);
+    bind(parameterIndex, sizeOf(xmlObject));
+  }
+
+  @Override
+  public void setAsciiStream(final int parameterIndex, final InputStream x, final long length) throws SQLException {
+    target.setAsciiStream(parameterIndex, x, length);
+    bind(parameterIndex, length);
+  }
+
+  @Override
+  public void setBinaryStream(final int parameterIndex, final InputStream x, final long length) throws SQLException {
+    target.setBinaryStream(parameterIndex, x, length);
+    bind(parameterIndex, length);
+  }
+
+  @Override
+  public void setCharacterStream(final int parameterIndex, final Reader reader, final long length) throws SQLException {
+    target.setCharacterStream(parameterIndex, reader, length);
+    bind(parameterIndex, 2L * length);
+  }
+
+  @Override
+  public void setAsciiStream(final int parameterIndex, final InputStream x) throws SQLException {
+    target.setAsciiStream(parameterIndex, x);
+    bind(parameterIndex, 0);
+  }
+
+  @Override
+  public void setBinaryStream(final int parameterIndex, final InputStream x) throws SQLException {
+    target.setBinaryStream(parameterIndex, x);
+    bind(parameterIndex, 0);
+  }
+
+  @Override
+  public void setCharacterStream(final int parameterIndex, final Reader reader) throws SQLException {
+    target.setCharacterStream(parameterIndex, reader);
+    bind(parameterIndex, 0);
+  }
+
+  @Override
+  public void setNCharacterStream(final int parameterIndex, final Reader value) throws SQLException {
+    target.setNCharacterStream(parameterIndex, value);
+    bind(parameterIndex, 0);
+  }
+
+  @Override
+  public void setClob(final int parameterIndex, final Reader reader) throws SQLException {
+    target.setClob(parameterIndex, reader);
+    bind(parameterIndex, 0);
+  }
+
+  @Override
+  public void setBlob(final int parameterIndex, final InputStream inputStream) throws SQLException {
+    target.setBlob(parameterIndex, inputStream);
+    bind(parameterIndex, 0);
+  }
+
+  @Override
+  public void setNClob(final int parameterIndex, final Reader reader) throws SQLException {
+    target.setNClob(parameterIndex, reader);
+    bind(parameterIndex, 0);
+  }
+
+  @Override
+  public void clearParameters() throws SQLException {
+    target.clearParameters();
+    Arrays.fill(sizes, 0);
+    rowBytes = 0;
+  }
+
+  @Override
+  public void addBatch() throws SQLException {
+    if (stopped)
+      return;
+
+    target.addBatch();
+    ++rows;
+    bytes += rowBytes;
+    if (rows >= maxRows || bytes >= maxBytes)
+      flush();
+  }
+
+  private void append(final int[] chunk, final int length) {
+    if (size + length > counts.length)
+      counts = Arrays.copyOf(counts, Math.max(size + length, counts.length * 2));
+
+    System.arraycopy(chunk, 0, counts, size, length);
+    size += length;
+  }
+
+  private void flush() throws SQLException {
+    final int chunk = rows;
+    rows = 0;
+    bytes = 0;
+    try {
+      final int[] updateCounts = target.executeBatch();
+      append(updateCounts, updateCounts.length);
+    }
+    catch (final BatchUpdateException e) {
+      final int[] updateCounts = e.getUpdateCounts();
+      final int length = updateCounts == null ? 0 : updateCounts.length;
+      append(updateCounts, length);
+      if (length < chunk) {
+        stopped = true;
+        target.clearBatch();
+      }
+
+      if (exception == null)
+        exception = e;
+      else
+        exception.setNextException(e);
+    }
+  }
+
+  private void reset() {
+    rows = 0;
+    bytes = 0;
+    size = 0;
+    exception = null;
+    stopped = false;
+  }
+
+  @Override
+  public int[] executeBatch() throws SQLException {
+    try {
+      if (rows > 0)
+        flush();
+
+      final int[] updateCounts = Arrays.copyOf(counts, size);
+      if (exception == null)
+        return updateCounts;
+
+      final BatchUpdateException e = new BatchUpdateException(exception.getMessage(), exception.getSQLState(), exception.getErrorCode(), updateCounts, exception.getCause());
+      e.setNextException(exception);
+      throw e;
+    }
+    finally {
+      reset();
+    }
+  }
+
+  @Override
+  public void clearBatch() throws SQLException {
+    reset();
+    target.clearBatch();
+  }
+
+  @Override
+  public void close() throws SQLException {
+    reset();
+    target.close();
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    return target.equals(obj);
+  }
+
+  @Override
+  public int hashCode() {
+    return target.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return target.toString();
+  }
+}
\ No newline at end of file
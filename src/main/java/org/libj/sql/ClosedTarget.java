@@ -0,0 +1,70 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+
+package org.libj.sql;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.SQLClientInfoException;
+import java.sql.SQLException;
+import java.sql.Wrapper;
+
+/**
+ * Utility for the target of a closed logical handle (such as a pooled {@link java.sql.Connection} or a cached
+ * {@link java.sql.PreparedStatement}), whose every method throws a {@link SQLException}. A handle that returns such a target from
+ * its {@code getTarget()} method when it is closed thereby fails each of its delegated methods with a checked exception, as the
+ * JDBC specification requires of a closed object.
+ */
+final class ClosedTarget {
+  /**
+   * Returns an instance of the provided interface whose {@code isClosed()} method returns {@code true}, whose {@code close()}
+   * method has no effect, and whose every other JDBC method throws a {@link SQLException} with the provided {@code reason} and
+   * {@code sqlState}.
+   *
+   * @param <T> The type parameter of the interface.
+   * @param type The interface.
+   * @param reason The reason of the thrown {@link SQLException}s.
+   * @param sqlState The SQLState of the thrown {@link SQLException}s.
+   * @return An instance of the provided interface whose every JDBC method throws a {@link SQLException}.
+   */
+  static <T extends Wrapper>T of(final Class<T> type, final String reason, final String sqlState) {
+    return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (final Object proxy, final Method method, final Object[] args) -> {
+      switch (method.getName()) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "toString":
+          return reason;
+        case "isClosed":
+          return Boolean.TRUE;
+        case "close":
+          return null;
+      }
+
+      // Connection.setClientInfo(...) declares only the SQLClientInfoException subclass of SQLException
+      for (final Class<?> exceptionType : method.getExceptionTypes()) // [A]
+        if (exceptionType == SQLException.class)
+          throw new SQLException(reason, sqlState);
+
+      throw new SQLClientInfoException(reason, sqlState, 0, null);
+    }));
+  }
+
+  private ClosedTarget() {
+  }
+}
\ No newline at end of file
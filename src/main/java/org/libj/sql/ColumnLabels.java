@@ -0,0 +1,131 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable index of the column labels of a {@link java.sql.ResultSet}, which resolves a column label to the index of its column
+ * with the semantics of {@link java.sql.ResultSet#findColumn(String)}: labels are matched case-insensitively, and if several columns
+ * have the same label, the index of the first is returned.
+ * <p>
+ * The index is a precomputed hash of the labels as they are returned by {@link ResultSetMetaData#getColumnLabel(int)}, and of their
+ * upper-case form. A label that is spelled as in the metadata is therefore resolved with a single lookup and without allocation, and
+ * other spellings with an additional lookup of the upper-case form.
+ * <p>
+ * Indexes are obtained with {@link #of(ResultSetMetaData)}, which shares the index among all result sets with the same sequence of
+ * column labels, for up to {@code org.libj.sql.ColumnLabels.cacheSize} (default: 1024) distinct sequences.
+ */
+final class ColumnLabels {
+  private static final int cacheSize = Math.max(0, Integer.getInteger("org.libj.sql.ColumnLabels.cacheSize", 1024));
+  private static final ConcurrentHashMap<List<String>,ColumnLabels> cache = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the {@link ColumnLabels} of the provided {@link ResultSetMetaData}. Indexes are cached by the sequence of column labels.
+   * Once the cache is full, it is cleared, so that the indexes of the queries that are executed most frequently are quickly re-cached.
+   *
+   * @param metaData The {@link ResultSetMetaData}.
+   * @return The {@link ColumnLabels} of the provided {@link ResultSetMetaData}.
+   * @throws SQLException If a database access error occurs.
+   * @throws NullPointerException If {@code metaData} is null.
+   */
+  static ColumnLabels of(final ResultSetMetaData metaData) throws SQLException {
+    final String[] labels = new String[metaData.getColumnCount()];
+    for (int i = 0, i$ = labels.length; i < i$; ++i) // [A]
+      labels[i] = metaData.getColumnLabel(i + 1);
+
+    final List<String> key = Arrays.asList(labels);
+    ColumnLabels columnLabels = cache.get(key);
+    if (columnLabels != null)
+      return columnLabels;
+
+    columnLabels = new ColumnLabels(labels);
+    if (cacheSize > 0) {
+      if (cache.size() >= cacheSize)
+        cache.clear();
+
+      cache.put(key, columnLabels);
+    }
+
+    return columnLabels;
+  }
+
+  private final HashMap<String,Integer> indexes;
+  private final int size;
+
+  private ColumnLabels(final String[] labels) {
+    this.size = labels.length;
+    this.indexes = new HashMap<>(size * 4);
+    // Each key maps to the first column whose label matches it case-insensitively, so iterate in reverse to let the first column win
+    for (int i = size - 1; i >= 0; --i) // [A]
+      if (labels[i] != null)
+        indexes.put(labels[i].toUpperCase(Locale.ROOT), i + 1);
+
+    for (int i = 0; i < size; ++i) { // [A]
+      final String label = labels[i];
+      if (label != null)
+        indexes.put(label, indexes.get(label.toUpperCase(Locale.ROOT)));
+    }
+  }
+
+  /**
+   * Returns the number of columns of this index.
+   *
+   * @return The number of columns of this index.
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Returns the index of the first column with the provided label (matched case-insensitively), or {@code 0} if there is no such
+   * column.
+   *
+   * @param columnLabel The column label.
+   * @return The index of the first column with the provided label, starting at {@code 1}, or {@code 0} if there is no such column.
+   * @throws NullPointerException If {@code columnLabel} is null.
+   */
+  int indexOf(final String columnLabel) {
+    Integer columnIndex = indexes.get(columnLabel);
+    if (columnIndex == null && (columnIndex = indexes.get(columnLabel.toUpperCase(Locale.ROOT))) == null)
+      return 0;
+
+    return columnIndex;
+  }
+
+  /**
+   * Returns the index of the first column with the provided label (matched case-insensitively).
+   *
+   * @param columnLabel The column label.
+   * @return The index of the first column with the provided label, starting at {@code 1}.
+   * @throws SQLException If there is no column with the provided label.
+   * @throws NullPointerException If {@code columnLabel} is null.
+   */
+  int findColumn(final String columnLabel) throws SQLException {
+    final int columnIndex = indexOf(columnLabel);
+    if (columnIndex == 0)
+      throw new SQLException("Invalid column label: " + columnLabel, "42S22");
+
+    return columnIndex;
+  }
+}
\ No newline at end of file
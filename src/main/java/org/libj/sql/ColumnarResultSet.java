@@ -0,0 +1,433 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+
+package org.libj.sql;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * A disconnected, scrollable {@link DelegateResultSet} that holds all of the rows of another {@link ResultSet} in memory, in a
+ * columnar layout: the values of each column are held in a single primitive array (i.e. {@code int[]}, {@code long[]},
+ * {@code double[]} or a bitmap for {@code BOOLEAN} columns), with a bitmap of the {@code NULL} values, and the values of character
+ * columns are dictionary-encoded into {@code int[]} codes. This avoids the per-row and per-value objects of a row-oriented cache,
+ * which makes small results, such as lookup tables, cheap to hold in memory for a long time.
+ * <p>
+ * The layout of each column is chosen by its {@link ResultSetMetaData#getColumnType(int) SQL type}. If the driver returns a value
+ * that does not fit the layout (i.e. a {@link Long} for an {@code INTEGER} column), the column falls back to an {@code Object[]}.
+ * Numeric values of a primitive column are returned by {@link #getObject(int)} as the widened type of the column (i.e. {@link Integer}
+ * for {@code SMALLINT}, and {@link Double} for {@code REAL}).
+ * <p>
+ * The source {@link ResultSet} is read to the end and closed by the constructor, so that its resources (and the connection, if the
+ * result set is the last use of it) are released immediately. The number of rows is available in constant time with
+ * {@link #getSize()}.
+ */
+public class ColumnarResultSet extends ScrollableResultSet {
+  private abstract static class Column {
+    private long[] nulls;
+
+    Column(final int capacity) {
+      this.nulls = new long[(capacity + 63) >>> 6];
+    }
+
+    final boolean isNull(final int row) {
+      return (nulls[row >>> 6] & 1L << row) != 0;
+    }
+
+    final void setNull(final int row) {
+      nulls[row >>> 6] |= 1L << row;
+    }
+
+    void resize(final int capacity) {
+      nulls = Arrays.copyOf(nulls, (capacity + 63) >>> 6);
+    }
+
+    /**
+     * Trims this column to the provided number of rows, after which no more values are set.
+     *
+     * @param size The number of rows.
+     */
+    void trim(final int size) {
+      resize(size);
+    }
+
+    /**
+     * Sets the provided non-null value of the provided row, if it fits the layout of this column.
+     *
+     * @param row The index of the row.
+     * @param value The non-null value.
+     * @return Whether the value fits the layout of this column.
+     */
+    abstract boolean set(int row, Object value);
+
+    /**
+     * Returns the non-null value of the provided row.
+     *
+     * @param row The index of the row.
+     * @return The non-null value of the provided row.
+     */
+    abstract Object get(int row);
+  }
+
+  private static final class IntColumn extends Column {
+    private int[] values;
+
+    private IntColumn(final int capacity) {
+      super(capacity);
+      this.values = new int[capacity];
+    }
+
+    @Override
+    void resize(final int capacity) {
+      super.resize(capacity);
+      values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    boolean set(final int row, final Object value) {
+      if (!(value instanceof Integer || value instanceof Short || value instanceof Byte))
+        return false;
+
+      values[row] = ((Number)value).intValue();
+      return true;
+    }
+
+    @Override
+    Object get(final int row) {
+      return values[row];
+    }
+  }
+
+  private static final class LongColumn extends Column {
+    private long[] values;
+
+    private LongColumn(final int capacity) {
+      super(capacity);
+      this.values = new long[capacity];
+    }
+
+    @Override
+    void resize(final int capacity) {
+      super.resize(capacity);
+      values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    boolean set(final int row, final Object value) {
+      if (!(value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte))
+        return false;
+
+      values[row] = ((Number)value).longValue();
+      return true;
+    }
+
+    @Override
+    Object get(final int row) {
+      return values[row];
+    }
+  }
+
+  private static final class DoubleColumn extends Column {
+    private double[] values;
+
+    private DoubleColumn(final int capacity) {
+      super(capacity);
+      this.values = new double[capacity];
+    }
+
+    @Override
+    void resize(final int capacity) {
+      super.resize(capacity);
+      values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    boolean set(final int row, final Object value) {
+      if (!(value instanceof Double || value instanceof Float))
+        return false;
+
+      values[row] = ((Number)value).doubleValue();
+      return true;
+    }
+
+    @Override
+    Object get(final int row) {
+      return values[row];
+    }
+  }
+
+  private static final class BooleanColumn extends Column {
+    private long[] values;
+
+    private BooleanColumn(final int capacity) {
+      super(capacity);
+      this.values = new long[(capacity + 63) >>> 6];
+    }
+
+    @Override
+    void resize(final int capacity) {
+      super.resize(capacity);
+      values = Arrays.copyOf(values, (capacity + 63) >>> 6);
+    }
+
+    @Override
+    boolean set(final int row, final Object value) {
+      if (!(value instanceof Boolean))
+        return false;
+
+      if ((Boolean)value)
+        values[row >>> 6] |= 1L << row;
+
+      return true;
+    }
+
+    boolean getBoolean(final int row) {
+      return (values[row >>> 6] & 1L << row) != 0;
+    }
+
+    @Override
+    Object get(final int row) {
+      return getBoolean(row);
+    }
+  }
+
+  private static final class StringColumn extends Column {
+    private final ArrayList<String> dictionary = new ArrayList<>();
+    private HashMap<String,Integer> codes = new HashMap<>();
+    private int[] values;
+
+    private StringColumn(final int capacity) {
+      super(capacity);
+      this.values = new int[capacity];
+    }
+
+    @Override
+    void resize(final int capacity) {
+      super.resize(capacity);
+      values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    void trim(final int size) {
+      super.trim(size);
+      codes = null;
+      dictionary.trimToSize();
+    }
+
+    @Override
+    boolean set(final int row, final Object value) {
+      if (!(value instanceof String))
+        return false;
+
+      Integer code = codes.get(value);
+      if (code == null) {
+        code = dictionary.size();
+        codes.put((String)value, code);
+        dictionary.add((String)value);
+      }
+
+      values[row] = code;
+      return true;
+    }
+
+    @Override
+    Object get(final int row) {
+      return dictionary.get(values[row]);
+    }
+  }
+
+  private static final class ObjectColumn extends Column {
+    private Object[] values;
+
+    private ObjectColumn(final int capacity) {
+      super(capacity);
+      this.values = new Object[capacity];
+    }
+
+    private ObjectColumn(final Column column, final int rows, final int capacity) {
+      this(capacity);
+      for (int i = 0; i < rows; ++i) { // [A]
+        if (column.isNull(i))
+          setNull(i);
+        else
+          values[i] = column.get(i);
+      }
+    }
+
+    @Override
+    void resize(final int capacity) {
+      super.resize(capacity);
+      values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    boolean set(final int row, final Object value) {
+      values[row] = value;
+      return true;
+    }
+
+    @Override
+    Object get(final int row) {
+      return values[row];
+    }
+  }
+
+  private static Column newColumn(final int sqlType, final int capacity) {
+    switch (sqlType) {
+      case Types.TINYINT:
+      case Types.SMALLINT:
+      case Types.INTEGER:
+        return new IntColumn(capacity);
+      case Types.BIGINT:
+        return new LongColumn(capacity);
+      case Types.REAL:
+      case Types.FLOAT:
+      case Types.DOUBLE:
+        return new DoubleColumn(capacity);
+      case Types.BIT:
+      case Types.BOOLEAN:
+        return new BooleanColumn(capacity);
+      case Types.CHAR:
+      case Types.VARCHAR:
+      case Types.LONGVARCHAR:
+      case Types.NCHAR:
+      case Types.NVARCHAR:
+      case Types.LONGNVARCHAR:
+        return new StringColumn(capacity);
+      default:
+        return new ObjectColumn(capacity);
+    }
+  }
+
+  private Column[] columns;
+
+  /**
+   * Creates a new {@link ColumnarResultSet} with all of the rows of the provided {@link ResultSet}, which is read to the end and
+   * closed.
+   *
+   * @param resultSet The {@link ResultSet} to read.
+   * @throws SQLException If a database access error occurs.
+   * @throws NullPointerException If {@code resultSet} is null.
+   */
+  public ColumnarResultSet(final ResultSet resultSet) throws SQLException {
+    super(resultSet);
+    try {
+      final ResultSetMetaData metaData = getMetaData();
+      final int fetchSize = resultSet.getFetchSize();
+      int capacity = fetchSize > 0 ? fetchSize : 16;
+      final Column[] columns = new Column[columnCount];
+      for (int i = 0; i < columnCount; ++i) // [A]
+        columns[i] = newColumn(metaData.getColumnType(i + 1), capacity);
+
+      int rows = 0;
+      for (; resultSet.next(); ++rows) { // [ST]
+        if (rows == capacity) {
+          if (capacity == Integer.MAX_VALUE)
+            throw new SQLException("ResultSet has more than " + Integer.MAX_VALUE + " rows");
+
+          capacity = (int)Math.min(Integer.MAX_VALUE, capacity * 2L);
+          for (int i = 0; i < columnCount; ++i) // [A]
+            columns[i].resize(capacity);
+        }
+
+        for (int i = 0; i < columnCount; ++i) { // [A]
+          final Object value = decode(resultSet, i + 1);
+          if (value == null) {
+            columns[i].setNull(rows);
+          }
+          else if (!columns[i].set(rows, value)) {
+            columns[i] = new ObjectColumn(columns[i], rows, capacity);
+            columns[i].set(rows, value);
+          }
+        }
+      }
+
+      for (int i = 0; i < columnCount; ++i) // [A]
+        columns[i].trim(rows);
+
+      this.columns = columns;
+      this.size = rows;
+    }
+    finally {
+      resultSet.close();
+    }
+  }
+
+  @Override
+  Object getValue(final int row, final int columnIndex) {
+    final Column column = columns[columnIndex - 1];
+    return column.isNull(row) ? null : column.get(row);
+  }
+
+  @Override
+  public boolean getBoolean(final int columnIndex) throws SQLException {
+    checkColumn(columnIndex);
+    final int row = cursor();
+    final Column column = columns[columnIndex - 1];
+    if (!(column instanceof BooleanColumn))
+      return super.getBoolean(columnIndex);
+
+    return !(wasNull = column.isNull(row)) && ((BooleanColumn)column).getBoolean(row);
+  }
+
+  @Override
+  public int getInt(final int columnIndex) throws SQLException {
+    checkColumn(columnIndex);
+    final int row = cursor();
+    final Column column = columns[columnIndex - 1];
+    if (!(column instanceof IntColumn))
+      return super.getInt(columnIndex);
+
+    return (wasNull = column.isNull(row)) ? 0 : ((IntColumn)column).values[row];
+  }
+
+  @Override
+  public long getLong(final int columnIndex) throws SQLException {
+    checkColumn(columnIndex);
+    final int row = cursor();
+    final Column column = columns[columnIndex - 1];
+    if (column instanceof LongColumn)
+      return (wasNull = column.isNull(row)) ? 0 : ((LongColumn)column).values[row];
+
+    if (column instanceof IntColumn)
+      return (wasNull = column.isNull(row)) ? 0 : ((IntColumn)column).values[row];
+
+    return super.getLong(columnIndex);
+  }
+
+  @Override
+  public double getDouble(final int columnIndex) throws SQLException {
+    checkColumn(columnIndex);
+    final int row = cursor();
+    final Column column = columns[columnIndex - 1];
+    if (!(column instanceof DoubleColumn))
+      return super.getDouble(columnIndex);
+
+    return (wasNull = column.isNull(row)) ? 0 : ((DoubleColumn)column).values[row];
+  }
+
+  @Override
+  public void close() throws SQLException {
+    super.close();
+    columns = null;
+  }
+}
\ No newline at end of file
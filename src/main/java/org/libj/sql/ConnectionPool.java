@@ -0,0 +1,1011 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import java.io.PrintWriter;
+import java.lang.ref.WeakReference;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLClientInfoException;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.LoggerFactory;
+
+/**
+ * A lightweight pool of {@link Connection}s, whose handles are {@link DelegateConnection}s that return their physical connection to
+ * the pool when closed.
+ * <p>
+ * Connections are borrowed without locks: A borrowing thread first attempts to reclaim the connection that it last returned to the
+ * pool, then scans the pool for an idle connection, then creates a new connection if the pool is not full, and finally waits for a
+ * connection to be handed off to it by a returning thread. A returning thread waits only briefly for a waiting thread to take its
+ * connection, and a waiting thread scans the pool again periodically, so that neither spins and a connection that is returned as a
+ * thread begins to wait is not missed. Connections are claimed by compare-and-set of their state, and no monitor
+ * is held while a connection is created, validated or closed, so the pool does not pin the carrier threads of virtual threads.
+ * <p>
+ * A physical connection is retired when it has been open for longer than {@code maxLifetimeMillis}, or when it has been idle for
+ * longer than {@code idleTimeoutMillis}. Idle connections are retired by a daemon housekeeping thread, and connections that are in
+ * use are retired when they are returned.
+ * <p>
+ * The state of each physical connection (its auto-commit and read-only modes, transaction isolation, catalog, schema, client info and
+ * network timeout) is recorded when it is created. When a handle is closed, the statements that were opened through it and left open
+ * are closed, a connection in manual commit mode is rolled back, and the properties that were modified through the handle are
+ * restored to their recorded state. A connection whose state cannot be restored is retired. The statements that are created through
+ * a handle are returned as logical statements whose {@link Statement#getConnection()} (and that of the {@link Statement} of their
+ * {@link ResultSet}s) is the handle, so that the physical connection cannot be reached through them.
+ * <p>
+ * The pool records the time that threads wait to borrow a connection ({@link #getWaitStats()}), and the time that connections are
+ * held before they are returned ({@link #getHoldStats()}).
+ */
+public class ConnectionPool implements DataSource, AutoCloseable {
+  private static final org.slf4j.Logger logger = LoggerFactory.getLogger(ConnectionPool.class);
+
+  /**
+   * A factory of physical {@link Connection}s for a {@link ConnectionPool}.
+   */
+  @FunctionalInterface
+  public interface ConnectionFactory {
+    /**
+     * Returns a new physical {@link Connection}.
+     *
+     * @return A new physical {@link Connection}.
+     * @throws SQLException If a database access error occurs.
+     */
+    Connection newConnection() throws SQLException;
+  }
+
+  /**
+   * Statistics of a duration that is measured by a {@link ConnectionPool}.
+   */
+  public static final class Stats {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    private Stats() {
+    }
+
+    private void record(final long nanos) {
+      count.increment();
+      totalNanos.add(nanos);
+      maxNanos.accumulate(nanos);
+    }
+
+    /**
+     * Returns the number of measurements.
+     *
+     * @return The number of measurements.
+     */
+    public long getCount() {
+      return count.sum();
+    }
+
+    /**
+     * Returns the total of all measurements in nanoseconds.
+     *
+     * @return The total of all measurements in nanoseconds.
+     */
+    public long getTotalNanos() {
+      return totalNanos.sum();
+    }
+
+    /**
+     * Returns the maximum measurement in nanoseconds.
+     *
+     * @return The maximum measurement in nanoseconds.
+     */
+    public long getMaxNanos() {
+      return maxNanos.get();
+    }
+
+    /**
+     * Returns the mean of all measurements in nanoseconds, or {@code 0} if there are no measurements.
+     *
+     * @return The mean of all measurements in nanoseconds, or {@code 0} if there are no measurements.
+     */
+    public long getMeanNanos() {
+      final long count = getCount();
+      return count == 0 ? 0 : getTotalNanos() / count;
+    }
+
+    @Override
+    public String toString() {
+      final StringBuilder b = new StringBuilder();
+      b.append("count=").append(getCount()).append(", mean=");
+      AuditTiming.appendMillis(b, getMeanNanos()).append(", max=");
+      return AuditTiming.appendMillis(b, getMaxNanos()).toString();
+    }
+  }
+
+  private static final int IDLE = 0;
+  private static final int IN_USE = 1;
+  private static final int REMOVED = -1;
+
+  private static final int AUTO_COMMIT = 0x1;
+  private static final int READ_ONLY = 0x2;
+  private static final int TRANSACTION_ISOLATION = 0x4;
+  private static final int CATALOG = 0x8;
+  private static final int SCHEMA = 0x10;
+  private static final int CLIENT_INFO = 0x20;
+  private static final int NETWORK_TIMEOUT = 0x40;
+
+  /**
+   * The state of a physical connection when it was created, to which the connection is restored when it is returned to the pool. A
+   * property that the driver does not report (because it does not support the property, or reports it as {@code null}) cannot be
+   * restored, so a connection whose handle modified such a property is retired when it is returned.
+   */
+  private static final class InitialState {
+    private final boolean autoCommit;
+    private final boolean readOnly;
+    private final int transactionIsolation;
+    private final String catalog;
+    private final String schema;
+    private final Properties clientInfo;
+    private final int networkTimeout;
+
+    private InitialState(final Connection connection) throws SQLException {
+      this.autoCommit = connection.getAutoCommit();
+      this.readOnly = connection.isReadOnly();
+      this.transactionIsolation = connection.getTransactionIsolation();
+      this.catalog = connection.getCatalog();
+      String schema;
+      try {
+        schema = connection.getSchema();
+      }
+      catch (final AbstractMethodError | SQLFeatureNotSupportedException e) {
+        schema = null;
+      }
+
+      this.schema = schema;
+      Properties clientInfo;
+      try {
+        clientInfo = connection.getClientInfo();
+      }
+      catch (final AbstractMethodError | SQLFeatureNotSupportedException e) {
+        clientInfo = null;
+      }
+
+      this.clientInfo = clientInfo;
+      int networkTimeout;
+      try {
+        networkTimeout = connection.getNetworkTimeout();
+      }
+      catch (final AbstractMethodError | SQLFeatureNotSupportedException e) {
+        networkTimeout = -1;
+      }
+
+      this.networkTimeout = networkTimeout;
+    }
+
+    /**
+     * Restores the provided properties of the provided connection to this state.
+     *
+     * @param connection The physical connection.
+     * @param modified The bit mask of the properties that were modified.
+     * @param executor The {@link Executor} with which the network timeout was last set.
+     * @return Whether the properties were restored, which is not the case if any of them was not reported by the driver.
+     * @throws SQLException If a database access error occurs.
+     */
+    private boolean restore(final Connection connection, final int modified, final Executor executor) throws SQLException {
+      if ((modified & CATALOG) != 0 && catalog == null || (modified & SCHEMA) != 0 && schema == null || (modified & CLIENT_INFO) != 0 && clientInfo == null || (modified & NETWORK_TIMEOUT) != 0 && networkTimeout == -1)
+        return false;
+
+      if (!autoCommit || (modified & AUTO_COMMIT) != 0) {
+        if (!connection.getAutoCommit())
+          connection.rollback();
+
+        if ((modified & AUTO_COMMIT) != 0)
+          connection.setAutoCommit(autoCommit);
+      }
+
+      if ((modified & READ_ONLY) != 0)
+        connection.setReadOnly(readOnly);
+
+      if ((modified & TRANSACTION_ISOLATION) != 0)
+        connection.setTransactionIsolation(transactionIsolation);
+
+      if ((modified & CATALOG) != 0)
+        connection.setCatalog(catalog);
+
+      if ((modified & SCHEMA) != 0)
+        connection.setSchema(schema);
+
+      if ((modified & CLIENT_INFO) != 0)
+        connection.setClientInfo(clientInfo);
+
+      if ((modified & NETWORK_TIMEOUT) != 0)
+        connection.setNetworkTimeout(executor, networkTimeout);
+
+      return true;
+    }
+  }
+
+  private static final class Entry {
+    private final Connection connection;
+    private final InitialState initialState;
+    private final AtomicInteger state = new AtomicInteger(IN_USE);
+    private final WeakReference<Entry> reference = new WeakReference<>(this);
+    private final long created = System.nanoTime();
+    private volatile long lastReturned = created;
+
+    private Entry(final Connection connection, final InitialState initialState) {
+      this.connection = connection;
+      this.initialState = initialState;
+    }
+  }
+
+  /** The maximum time that a returning thread waits for a waiting thread to take its connection. */
+  private static final long HANDOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+  /** The maximum time that a waiting thread waits for a handoff before it scans the pool again. */
+  private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  /** Handed off to waiting threads to signal that capacity has become available in the pool. */
+  private static final Entry CAPACITY = new Entry(null, null);
+
+  private static final Connection CLOSED = ClosedTarget.of(Connection.class, "Connection is closed", "08003");
+
+  /**
+   * A {@link ResultSet} of a statement that was created through a {@link PooledConnection}, whose {@link #getStatement()} is the
+   * logical statement, so that the physical connection is not reachable from it.
+   */
+  private static final class PooledResultSet extends DelegateResultSet {
+    private final Statement statement;
+
+    private PooledResultSet(final Statement statement, final ResultSet target) {
+      super(target);
+      this.statement = statement;
+    }
+
+    @Override
+    public Statement getStatement() {
+      return statement;
+    }
+  }
+
+  /**
+   * A {@link Statement} that was created through a {@link PooledConnection}, whose {@link #getConnection()} is the handle, so that the
+   * physical connection is not reachable from it.
+   */
+  private static class PooledStatement implements DelegateStatement {
+    private final Connection connection;
+    private final Statement target;
+
+    private PooledStatement(final Connection connection, final Statement target) {
+      this.connection = connection;
+      this.target = target;
+    }
+
+    @Override
+    public Statement getTarget() {
+      return target;
+    }
+
+    final ResultSet wrap(final ResultSet resultSet) {
+      return resultSet == null ? null : new PooledResultSet(this, resultSet);
+    }
+
+    @Override
+    public Connection getConnection() {
+      return connection;
+    }
+
+    @Override
+    public ResultSet executeQuery(final String sql) throws SQLException {
+      return wrap(target.executeQuery(sql));
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+      return wrap(target.getResultSet());
+    }
+
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException {
+      return wrap(target.getGeneratedKeys());
+    }
+
+    @Override
+    public String toString() {
+      return target.toString();
+    }
+  }
+
+  /**
+   * A {@link PreparedStatement} that was created through a {@link PooledConnection}.
+   */
+  private static class PooledPreparedStatement extends PooledStatement implements DelegatePreparedStatement {
+    private PooledPreparedStatement(final Connection connection, final PreparedStatement target) {
+      super(connection, target);
+    }
+
+    @Override
+    public PreparedStatement getTarget() {
+      return (PreparedStatement)super.getTarget();
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+      return wrap(getTarget().executeQuery());
+    }
+  }
+
+  /**
+   * A {@link CallableStatement} that was created through a {@link PooledConnection}.
+   */
+  private static final class PooledCallableStatement extends PooledPreparedStatement implements DelegateCallableStatement {
+    private PooledCallableStatement(final Connection connection, final CallableStatement target) {
+      super(connection, target);
+    }
+
+    @Override
+    public CallableStatement getTarget() {
+      return (CallableStatement)super.getTarget();
+    }
+  }
+
+  /**
+   * The handle to a physical connection that is borrowed from the pool.
+   */
+  private final class PooledConnection implements DelegateConnection {
+    private final Entry entry;
+    private final long borrowed = System.nanoTime();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private int modified;
+    private Executor networkTimeoutExecutor;
+    private ArrayList<Statement> statements;
+    private int pruneAt = 16;
+
+    private PooledConnection(final Entry entry) {
+      this.entry = entry;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If this handle is closed, the returned {@link Connection} throws a {@link SQLException} with SQLState {@code 08003} from each
+     * of its methods.
+     */
+    @Override
+    public Connection getTarget() {
+      return closed.get() ? CLOSED : entry.connection;
+    }
+
+    /**
+     * Tracks the provided logical statement, to be closed if it is left open when this handle is closed. Statements that have been closed
+     * are pruned whenever the number of tracked statements doubles.
+     *
+     * @param <T> The type parameter of the statement.
+     * @param statement The statement.
+     * @return The provided statement.
+     */
+    private <T extends Statement>T track(final T statement) {
+      ArrayList<Statement> statements = this.statements;
+      if (statements == null)
+        statements = this.statements = new ArrayList<>();
+      else if (statements.size() == pruneAt) {
+        statements.removeIf(ConnectionPool::isClosed);
+        pruneAt = Math.max(pruneAt, statements.size() * 2);
+      }
+
+      statements.add(statement);
+      return statement;
+    }
+
+    @Override
+    public Statement createStatement() throws SQLException {
+      return track(new PooledStatement(this, getTarget().createStatement()));
+    }
+
+    @Override
+    public Statement createStatement(final int resultSetType, final int resultSetConcurrency) throws SQLException {
+      return track(new PooledStatement(this, getTarget().createStatement(resultSetType, resultSetConcurrency)));
+    }
+
+    @Override
+    public Statement createStatement(final int resultSetType, final int resultSetConcurrency, final int resultSetHoldability) throws SQLException {
+      return track(new PooledStatement(this, getTarget().createStatement(resultSetType, resultSetConcurrency, resultSetHoldability)));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(final String sql) throws SQLException {
+      return track(new PooledPreparedStatement(this, getTarget().prepareStatement(sql)));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(final String sql, final int resultSetType, final int resultSetConcurrency) throws SQLException {
+      return track(new PooledPreparedStatement(this, getTarget().prepareStatement(sql, resultSetType, resultSetConcurrency)));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(final String sql, final int resultSetType, final int resultSetConcurrency, final int resultSetHoldability) throws SQLException {
+      return track(new PooledPreparedStatement(this, getTarget().prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability)));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(final String sql, final int autoGeneratedKeys) throws SQLException {
+      return track(new PooledPreparedStatement(this, getTarget().prepareStatement(sql, autoGeneratedKeys)));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(final String sql, final int[] columnIndexes) throws SQLException {
+      return track(new PooledPreparedStatement(this, getTarget().prepareStatement(sql, columnIndexes)));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(final String sql, final String[] columnNames) throws SQLException {
+      return track(new PooledPreparedStatement(this, getTarget().prepareStatement(sql, columnNames)));
+    }
+
+    @Override
+    public CallableStatement prepareCall(final String sql) throws SQLException {
+      return track(new PooledCallableStatement(this, getTarget().prepareCall(sql)));
+    }
+
+    @Override
+    public CallableStatement prepareCall(final String sql, final int resultSetType, final int resultSetConcurrency) throws SQLException {
+      return track(new PooledCallableStatement(this, getTarget().prepareCall(sql, resultSetType, resultSetConcurrency)));
+    }
+
+    @Override
+    public CallableStatement prepareCall(final String sql, final int resultSetType, final int resultSetConcurrency, final int resultSetHoldability) throws SQLException {
+      return track(new PooledCallableStatement(this, getTarget().prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability)));
+    }
+
+    @Override
+    public void setAutoCommit(final boolean autoCommit) throws SQLException {
+      final Connection target = getTarget();
+      modified |= AUTO_COMMIT;
+      target.setAutoCommit(autoCommit);
+    }
+
+    @Override
+    public void setReadOnly(final boolean readOnly) throws SQLException {
+      final Connection target = getTarget();
+      modified |= READ_ONLY;
+      target.setReadOnly(readOnly);
+    }
+
+    @Override
+    public void setTransactionIsolation(final int level) throws SQLException {
+      final Connection target = getTarget();
+      modified |= TRANSACTION_ISOLATION;
+      target.setTransactionIsolation(level);
+    }
+
+    @Override
+    public void setCatalog(final String catalog) throws SQLException {
+      final Connection target = getTarget();
+      modified |= CATALOG;
+      target.setCatalog(catalog);
+    }
+
+    @Override
+    public void setSchema(final String schema) throws SQLException {
+      final Connection target = getTarget();
+      modified |= SCHEMA;
+      target.setSchema(schema);
+    }
+
+    @Override
+    public void setClientInfo(final String name, final String value) throws SQLClientInfoException {
+      final Connection target = getTarget();
+      modified |= CLIENT_INFO;
+      target.setClientInfo(name, value);
+    }
+
+    @Override
+    public void setClientInfo(final Properties properties) throws SQLClientInfoException {
+      final Connection target = getTarget();
+      modified |= CLIENT_INFO;
+      target.setClientInfo(properties);
+    }
+
+    @Override
+    public void setNetworkTimeout(final Executor executor, final int milliseconds) throws SQLException {
+      final Connection target = getTarget();
+      modified |= NETWORK_TIMEOUT;
+      networkTimeoutExecutor = executor;
+      target.setNetworkTimeout(executor, milliseconds);
+    }
+
+    @Override
+    public boolean isClosed() {
+      return closed.get();
+    }
+
+    @Override
+    public boolean isValid(final int timeout) throws SQLException {
+      return !closed.get() && entry.connection.isValid(timeout);
+    }
+
+    @Override
+    public void close() {
+      if (!closed.compareAndSet(false, true))
+        return;
+
+      holdStats.record(System.nanoTime() - borrowed);
+      release(entry, statements, modified, networkTimeoutExecutor);
+    }
+
+    @Override
+    public void abort(final Executor executor) throws SQLException {
+      if (!closed.compareAndSet(false, true))
+        return;
+
+      holdStats.record(System.nanoTime() - borrowed);
+      if (entry.state.compareAndSet(IN_USE, REMOVED)) {
+        remove(entry);
+        entry.connection.abort(executor);
+      }
+    }
+
+    @Override
+    public String toString() {
+      return entry.connection.toString();
+    }
+  }
+
+  private final ConnectionFactory factory;
+  private final int maxSize;
+  private final long connectionTimeoutNanos;
+  private final long idleTimeoutNanos;
+  private final long maxLifetimeNanos;
+
+  private final CopyOnWriteArrayList<Entry> entries = new CopyOnWriteArrayList<>();
+  private final AtomicInteger size = new AtomicInteger();
+  private final AtomicInteger waiters = new AtomicInteger();
+  private final SynchronousQueue<Entry> handoff = new SynchronousQueue<>(true);
+  private final ThreadLocal<WeakReference<Entry>> lastEntry = new ThreadLocal<>();
+  private final ScheduledExecutorService housekeeper;
+
+  private final Stats waitStats = new Stats();
+  private final Stats holdStats = new Stats();
+  private final LongAdder timeouts = new LongAdder();
+
+  private volatile boolean closed;
+  private volatile PrintWriter logWriter;
+  private volatile int loginTimeout;
+
+  /**
+   * Creates a new {@link ConnectionPool} with the provided parameters.
+   *
+   * @param factory The {@link ConnectionFactory} of physical {@link Connection}s.
+   * @param maxSize The maximum number of physical connections in the pool.
+   * @param connectionTimeoutMillis The maximum time in milliseconds to wait for a connection to be available.
+   * @param idleTimeoutMillis The time in milliseconds after which an idle connection is retired, or {@code 0} to disable.
+   * @param maxLifetimeMillis The time in milliseconds after which a connection is retired, or {@code 0} to disable.
+   * @throws NullPointerException If {@code factory} is null.
+   * @throws IllegalArgumentException If {@code maxSize} is not positive, or if any of the timeouts is negative.
+   */
+  public ConnectionPool(final ConnectionFactory factory, final int maxSize, final long connectionTimeoutMillis, final long idleTimeoutMillis, final long maxLifetimeMillis) {
+    if (factory == null)
+      throw new NullPointerException("factory is null");
+
+    if (maxSize <= 0)
+      throw new IllegalArgumentException("maxSize (" + maxSize + ") must be positive");
+
+    if (connectionTimeoutMillis < 0)
+      throw new IllegalArgumentException("connectionTimeoutMillis (" + connectionTimeoutMillis + ") must be non-negative");
+
+    if (idleTimeoutMillis < 0)
+      throw new IllegalArgumentException("idleTimeoutMillis (" + idleTimeoutMillis + ") must be non-negative");
+
+    if (maxLifetimeMillis < 0)
+      throw new IllegalArgumentException("maxLifetimeMillis (" + maxLifetimeMillis + ") must be non-negative");
+
+    this.factory = factory;
+    this.maxSize = maxSize;
+    this.connectionTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(connectionTimeoutMillis);
+    this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+    this.maxLifetimeNanos = TimeUnit.MILLISECONDS.toNanos(maxLifetimeMillis);
+
+    final long period = idleTimeoutMillis == 0 ? maxLifetimeMillis : maxLifetimeMillis == 0 ? idleTimeoutMillis : Math.min(idleTimeoutMillis, maxLifetimeMillis);
+    if (period == 0) {
+      this.housekeeper = null;
+    }
+    else {
+      this.housekeeper = Executors.newSingleThreadScheduledExecutor((final Runnable r) -> {
+        final Thread thread = new Thread(r, ConnectionPool.class.getSimpleName());
+        thread.setDaemon(true);
+        return thread;
+      });
+
+      final long delay = Math.max(100, period / 2);
+      housekeeper.scheduleWithFixedDelay(this::retire, delay, delay, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Returns the maximum number of physical connections in the pool.
+   *
+   * @return The maximum number of physical connections in the pool.
+   */
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Returns the number of physical connections in the pool, including those that are being created.
+   *
+   * @return The number of physical connections in the pool.
+   */
+  public int getSize() {
+    return size.get();
+  }
+
+  /**
+   * Returns the number of idle physical connections in the pool.
+   *
+   * @return The number of idle physical connections in the pool.
+   */
+  public int getIdleCount() {
+    int count = 0;
+    for (final Entry entry : entries)
+      if (entry.state.get() == IDLE)
+        ++count;
+
+    return count;
+  }
+
+  /**
+   * Returns the number of threads that are waiting for a connection.
+   *
+   * @return The number of threads that are waiting for a connection.
+   */
+  public int getWaiterCount() {
+    return waiters.get();
+  }
+
+  /**
+   * Returns the {@link Stats} of the time that threads waited to borrow a connection from this pool.
+   *
+   * @return The {@link Stats} of the time that threads waited to borrow a connection from this pool.
+   */
+  public Stats getWaitStats() {
+    return waitStats;
+  }
+
+  /**
+   * Returns the {@link Stats} of the time that connections were held before they were returned to this pool.
+   *
+   * @return The {@link Stats} of the time that connections were held before they were returned to this pool.
+   */
+  public Stats getHoldStats() {
+    return holdStats;
+  }
+
+  /**
+   * Returns the number of times that a thread timed out waiting for a connection.
+   *
+   * @return The number of times that a thread timed out waiting for a connection.
+   */
+  public long getTimeouts() {
+    return timeouts.sum();
+  }
+
+  private boolean isExpired(final Entry entry, final long now) {
+    return maxLifetimeNanos != 0 && now - entry.created >= maxLifetimeNanos;
+  }
+
+  private boolean claim(final Entry entry) {
+    if (entry == null || !entry.state.compareAndSet(IDLE, IN_USE))
+      return false;
+
+    if (!isExpired(entry, System.nanoTime()))
+      return true;
+
+    retire(entry);
+    return false;
+  }
+
+  private Entry scan() {
+    final WeakReference<Entry> reference = lastEntry.get();
+    if (reference != null) {
+      final Entry entry = reference.get();
+      if (claim(entry))
+        return entry;
+    }
+
+    for (final Entry entry : entries)
+      if (claim(entry))
+        return entry;
+
+    return null;
+  }
+
+  private Entry create() throws SQLException {
+    for (int n; (n = size.get()) < maxSize;) {
+      if (size.compareAndSet(n, n + 1)) {
+        try {
+          final Connection connection = factory.newConnection();
+          final InitialState initialState;
+          try {
+            initialState = new InitialState(connection);
+          }
+          catch (final Throwable t) {
+            connection.close();
+            throw t;
+          }
+
+          final Entry entry = new Entry(connection, initialState);
+          entries.add(entry);
+          return entry;
+        }
+        catch (final Throwable t) {
+          size.decrementAndGet();
+          signal();
+          throw t;
+        }
+      }
+    }
+
+    return null;
+  }
+
+  private void signal() {
+    if (waiters.get() > 0)
+      handoff.offer(CAPACITY);
+  }
+
+  private void remove(final Entry entry) {
+    entries.remove(entry);
+    size.decrementAndGet();
+    signal();
+  }
+
+  private static void close(final Entry entry) {
+    try {
+      entry.connection.close();
+    }
+    catch (final SQLException e) {
+      if (logger.isWarnEnabled()) { logger.warn(entry.connection.getClass().getName() + ".close(): " + e.getMessage()); }
+    }
+  }
+
+  private void checkClosed() throws SQLException {
+    if (closed)
+      throw new SQLNonTransientConnectionException("Connection pool is closed", "08003");
+  }
+
+  /**
+   * Returns a {@link DelegateConnection} to a physical connection borrowed from this pool, which is returned to this pool when the
+   * handle is closed.
+   *
+   * @return A {@link DelegateConnection} to a physical connection borrowed from this pool.
+   * @throws SQLTransientConnectionException If a connection is not available within the connection timeout.
+   * @throws SQLNonTransientConnectionException If this pool is closed.
+   * @throws SQLException If a database access error occurs while creating a physical connection.
+   */
+  @Override
+  public Connection getConnection() throws SQLException {
+    checkClosed();
+    final long start = System.nanoTime();
+    Entry entry = scan();
+    if (entry == null && (entry = create()) == null) {
+      waiters.incrementAndGet();
+      try {
+        for (long remaining = connectionTimeoutNanos; entry == null;) {
+          checkClosed();
+          if ((entry = scan()) != null || (entry = create()) != null)
+            break;
+
+          if (remaining <= 0) {
+            timeouts.increment();
+            throw new SQLTransientConnectionException("Connection is not available after " + TimeUnit.NANOSECONDS.toMillis(connectionTimeoutNanos) + "ms", "08001");
+          }
+
+          final Entry handed = handoff.poll(Math.min(remaining, POLL_NANOS), TimeUnit.NANOSECONDS);
+          if (handed != null && handed != CAPACITY && claim(handed))
+            entry = handed;
+
+          remaining = connectionTimeoutNanos - (System.nanoTime() - start);
+        }
+      }
+      catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new SQLTransientConnectionException("Interrupted while waiting for a connection", "08001", e);
+      }
+      finally {
+        waiters.decrementAndGet();
+      }
+    }
+
+    waitStats.record(System.nanoTime() - start);
+    return new PooledConnection(entry);
+  }
+
+  /**
+   * Not supported.
+   *
+   * @throws SQLFeatureNotSupportedException Always.
+   */
+  @Override
+  public Connection getConnection(final String username, final String password) throws SQLException {
+    throw new SQLFeatureNotSupportedException("getConnection(String,String) is not supported");
+  }
+
+  private static boolean isClosed(final Statement statement) {
+    try {
+      return statement.isClosed();
+    }
+    catch (final SQLException e) {
+      return true;
+    }
+  }
+
+  /**
+   * Returns the provided physical connection to the pool, after closing the provided statements that were left open by its handle and
+   * restoring the provided modified properties to the {@link InitialState} of the connection. A connection that could not be reset is
+   * retired.
+   *
+   * @param entry The {@link Entry} of the physical connection.
+   * @param statements The statements that were opened by the handle, or {@code null} if none were opened.
+   * @param modified The bit mask of the properties that were modified by the handle.
+   * @param executor The {@link Executor} with which the network timeout was last set by the handle.
+   */
+  private void release(final Entry entry, final ArrayList<Statement> statements, final int modified, final Executor executor) {
+    final Connection connection = entry.connection;
+    try {
+      if (closed || connection.isClosed() || isExpired(entry, System.nanoTime())) {
+        retire(entry);
+        return;
+      }
+
+      if (statements != null)
+        for (int i = 0, i$ = statements.size(); i < i$; ++i) // [RA]
+          statements.get(i).close();
+
+      if (!entry.initialState.restore(connection, modified, executor)) {
+        if (logger.isDebugEnabled()) { logger.debug("Retiring connection whose modified state cannot be restored"); }
+        retire(entry);
+        return;
+      }
+    }
+    catch (final SQLException e) {
+      if (logger.isWarnEnabled()) { logger.warn("Retiring connection that could not be reset: " + e.getMessage()); }
+      retire(entry);
+      return;
+    }
+
+    entry.lastReturned = System.nanoTime();
+    if (!entry.state.compareAndSet(IN_USE, IDLE))
+      return;
+
+    lastEntry.set(entry.reference);
+    if (waiters.get() > 0 && entry.state.get() == IDLE) {
+      try {
+        handoff.offer(entry, HANDOFF_NANOS, TimeUnit.NANOSECONDS);
+      }
+      catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private void retire(final Entry entry) {
+    if (entry.state.getAndSet(REMOVED) != REMOVED) {
+      remove(entry);
+      close(entry);
+    }
+  }
+
+  /**
+   * Retires the idle connections that have expired, or that have been idle for longer than the idle timeout.
+   */
+  private void retire() {
+    final long now = System.nanoTime();
+    for (final Entry entry : entries) {
+      if (entry.state.get() == IDLE && (isExpired(entry, now) || idleTimeoutNanos != 0 && now - entry.lastReturned >= idleTimeoutNanos) && entry.state.compareAndSet(IDLE, REMOVED)) {
+        remove(entry);
+        close(entry);
+      }
+    }
+  }
+
+  /**
+   * Closes this pool, and all of its idle physical connections. Connections that are in use are closed when they are returned.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    if (housekeeper != null)
+      housekeeper.shutdownNow();
+
+    for (final Entry entry : entries) {
+      if (entry.state.compareAndSet(IDLE, REMOVED)) {
+        remove(entry);
+        close(entry);
+      }
+    }
+
+    while (waiters.get() > 0 && handoff.offer(CAPACITY)); // [ST]
+  }
+
+  /**
+   * Returns whether this pool is closed.
+   *
+   * @return Whether this pool is closed.
+   */
+  public boolean isClosed() {
+    return closed;
+  }
+
+  @Override
+  public PrintWriter getLogWriter() {
+    return logWriter;
+  }
+
+  @Override
+  public void setLogWriter(final PrintWriter out) {
+    this.logWriter = out;
+  }
+
+  @Override
+  public void setLoginTimeout(final int seconds) {
+    this.loginTimeout = seconds;
+  }
+
+  @Override
+  public int getLoginTimeout() {
+    return loginTimeout;
+  }
+
+  @Override
+  public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+    throw new SQLFeatureNotSupportedException();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T unwrap(final Class<T> iface) throws SQLException {
+    if (iface.isInstance(this))
+      return (T)this;
+
+    throw new SQLException("Not a wrapper for " + iface.getName());
+  }
+
+  @Override
+  public boolean isWrapperFor(final Class<?> iface) {
+    return iface.isInstance(this);
+  }
+
+  @Override
+  public String toString() {
+    return ConnectionPool.class.getSimpleName() + "[size=" + getSize() + ", idle=" + getIdleCount() + ", waiters=" + getWaiterCount() + ", wait={" + waitStats + "}, hold={" + holdStats + "}]";
+  }
+}
\ No newline at end of file
@@ -876,27 +876,27 @@ public abstract class DelegateResultSet implements ResultSet {
 
   @Override
   public void updateAsciiStream(final int columnIndex, final InputStream x, final long length) throws SQLException {
-    target.updateAsciiStream(columnIndex, x);
+    target.updateAsciiStream(columnIndex, x, length);
   }
 
   @Override
   public void updateBinaryStream(final int columnIndex, final InputStream x, final long length) throws SQLException {
-    target.updateBinaryStream(columnIndex, x);
+    target.updateBinaryStream(columnIndex, x, length);
   }
 
   @Override
   public void updateCharacterStream(final int columnIndex, final Reader x, final long length) throws SQLException {
-    target.updateCharacterStream(columnIndex, x);
+    target.updateCharacterStream(columnIndex, x, length);
   }
 
   @Override
   public void updateAsciiStream(final String columnLabel, final InputStream x, final long length) throws SQLException {
-    target.updateAsciiStream(columnLabel, x);
+    target.updateAsciiStream(columnLabel, x, length);
   }
 
   @Override
   public void updateBinaryStream(final String columnLabel, final InputStream x, final long length) throws SQLException {
-    target.updateBinaryStream(columnLabel, x);
+    target.updateBinaryStream(columnLabel, x, length);
   }
 
   @Override
@@ -906,7 +906,7 @@ public abstract class DelegateResultSet implements ResultSet {
 
   @Override
   public void updateBlob(final int columnIndex, final InputStream inputStream, final long length) throws SQLException {
-    target.updateBlob(columnIndex, inputStream);
+    target.updateBlob(columnIndex, inputStream, length);
   }
 
   @Override
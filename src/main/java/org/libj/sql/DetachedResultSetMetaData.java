@@ -0,0 +1,227 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+
+package org.libj.sql;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * An immutable copy of a {@link ResultSetMetaData}, which remains usable after the {@link java.sql.ResultSet} from which it was
+ * copied is closed, and which can be used concurrently with the cursor of that {@link java.sql.ResultSet}.
+ */
+final class DetachedResultSetMetaData implements ResultSetMetaData {
+  private final boolean[] autoIncrement;
+  private final boolean[] caseSensitive;
+  private final boolean[] searchable;
+  private final boolean[] currency;
+  private final int[] nullable;
+  private final boolean[] signed;
+  private final int[] columnDisplaySize;
+  private final String[] columnLabel;
+  private final String[] columnName;
+  private final String[] schemaName;
+  private final int[] precision;
+  private final int[] scale;
+  private final String[] tableName;
+  private final String[] catalogName;
+  private final int[] columnType;
+  private final String[] columnTypeName;
+  private final boolean[] readOnly;
+  private final boolean[] writable;
+  private final boolean[] definitelyWritable;
+  private final String[] columnClassName;
+
+  /**
+   * Creates a new {@link DetachedResultSetMetaData} with a copy of the provided {@link ResultSetMetaData}.
+   *
+   * @param metaData The {@link ResultSetMetaData} to copy.
+   * @throws SQLException If a database access error occurs.
+   */
+  DetachedResultSetMetaData(final ResultSetMetaData metaData) throws SQLException {
+    final int columnCount = metaData.getColumnCount();
+    this.autoIncrement = new boolean[columnCount];
+    this.caseSensitive = new boolean[columnCount];
+    this.searchable = new boolean[columnCount];
+    this.currency = new boolean[columnCount];
+    this.nullable = new int[columnCount];
+    this.signed = new boolean[columnCount];
+    this.columnDisplaySize = new int[columnCount];
+    this.columnLabel = new String[columnCount];
+    this.columnName = new String[columnCount];
+    this.schemaName = new String[columnCount];
+    this.precision = new int[columnCount];
+    this.scale = new int[columnCount];
+    this.tableName = new String[columnCount];
+    this.catalogName = new String[columnCount];
+    this.columnType = new int[columnCount];
+    this.columnTypeName = new String[columnCount];
+    this.readOnly = new boolean[columnCount];
+    this.writable = new boolean[columnCount];
+    this.definitelyWritable = new boolean[columnCount];
+    this.columnClassName = new String[columnCount];
+    for (int i = 0; i < columnCount; ++i) { // [A]
+      final int column = i + 1;
+      autoIncrement[i] = metaData.isAutoIncrement(column);
+      caseSensitive[i] = metaData.isCaseSensitive(column);
+      searchable[i] = metaData.isSearchable(column);
+      currency[i] = metaData.isCurrency(column);
+      nullable[i] = metaData.isNullable(column);
+      signed[i] = metaData.isSigned(column);
+      columnDisplaySize[i] = metaData.getColumnDisplaySize(column);
+      columnLabel[i] = metaData.getColumnLabel(column);
+      columnName[i] = metaData.getColumnName(column);
+      schemaName[i] = metaData.getSchemaName(column);
+      precision[i] = metaData.getPrecision(column);
+      scale[i] = metaData.getScale(column);
+      tableName[i] = metaData.getTableName(column);
+      catalogName[i] = metaData.getCatalogName(column);
+      columnType[i] = metaData.getColumnType(column);
+      columnTypeName[i] = metaData.getColumnTypeName(column);
+      readOnly[i] = metaData.isReadOnly(column);
+      writable[i] = metaData.isWritable(column);
+      definitelyWritable[i] = metaData.isDefinitelyWritable(column);
+      columnClassName[i] = metaData.getColumnClassName(column);
+    }
+  }
+
+  private int index(final int column) throws SQLException {
+    if (column < 1 || column > columnLabel.length)
+      throw new SQLException("Invalid column index: " + column, "07009");
+
+    return column - 1;
+  }
+
+  @Override
+  public int getColumnCount() {
+    return columnLabel.length;
+  }
+
+  @Override
+  public boolean isAutoIncrement(final int column) throws SQLException {
+    return autoIncrement[index(column)];
+  }
+
+  @Override
+  public boolean isCaseSensitive(final int column) throws SQLException {
+    return caseSensitive[index(column)];
+  }
+
+  @Override
+  public boolean isSearchable(final int column) throws SQLException {
+    return searchable[index(column)];
+  }
+
+  @Override
+  public boolean isCurrency(final int column) throws SQLException {
+    return currency[index(column)];
+  }
+
+  @Override
+  public int isNullable(final int column) throws SQLException {
+    return nullable[index(column)];
+  }
+
+  @Override
+  public boolean isSigned(final int column) throws SQLException {
+    return signed[index(column)];
+  }
+
+  @Override
+  public int getColumnDisplaySize(final int column) throws SQLException {
+    return columnDisplaySize[index(column)];
+  }
+
+  @Override
+  public String getColumnLabel(final int column) throws SQLException {
+    return columnLabel[index(column)];
+  }
+
+  @Override
+  public String getColumnName(final int column) throws SQLException {
+    return columnName[index(column)];
+  }
+
+  @Override
+  public String getSchemaName(final int column) throws SQLException {
+    return schemaName[index(column)];
+  }
+
+  @Override
+  public int getPrecision(final int column) throws SQLException {
+    return precision[index(column)];
+  }
+
+  @Override
+  public int getScale(final int column) throws SQLException {
+    return scale[index(column)];
+  }
+
+  @Override
+  public String getTableName(final int column) throws SQLException {
+    return tableName[index(column)];
+  }
+
+  @Override
+  public String getCatalogName(final int column) throws SQLException {
+    return catalogName[index(column)];
+  }
+
+  @Override
+  public int getColumnType(final int column) throws SQLException {
+    return columnType[index(column)];
+  }
+
+  @Override
+  public String getColumnTypeName(final int column) throws SQLException {
+    return columnTypeName[index(column)];
+  }
+
+  @Override
+  public boolean isReadOnly(final int column) throws SQLException {
+    return readOnly[index(column)];
+  }
+
+  @Override
+  public boolean isWritable(final int column) throws SQLException {
+    return writable[index(column)];
+  }
+
+  @Override
+  public boolean isDefinitelyWritable(final int column) throws SQLException {
+    return definitelyWritable[index(column)];
+  }
+
+  @Override
+  public String getColumnClassName(final int column) throws SQLException {
+    return columnClassName[index(column)];
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T unwrap(final Class<T> iface) throws SQLException {
+    if (iface.isInstance(this))
+      return (T)this;
+
+    throw new SQLException("Not a wrapper for " + iface.getName());
+  }
+
+  @Override
+  public boolean isWrapperFor(final Class<?> iface) {
+    return iface.isInstance(this);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,530 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+/**
+ * An exporter that drains a {@link ResultSet} batch by batch into a columnar layout in direct (off-heap) {@link ByteBuffer}s, for
+ * consumption by analytics code that expects contiguous primitive buffers. The layout of each {@link Column} follows the columnar
+ * format of Apache Arrow:
+ * <ul>
+ * <li>A validity bitmap, in which bit {@code i} (least-significant bit first) is set if the value of row {@code i} is not SQL
+ * {@code NULL}.</li>
+ * <li>For fixed-width types, a data buffer of little-endian values (bit-packed for {@link Type#BOOL}).</li>
+ * <li>For variable-width types, an offsets buffer of {@code rowCount + 1} little-endian {@code int32} offsets, and a data buffer of
+ * the concatenated values, in which the value of row {@code i} spans from {@code offsets[i]} to {@code offsets[i + 1]}.</li>
+ * </ul>
+ * The {@link Type} of each column is determined by its {@link ResultSetMetaData#getColumnType(int) SQL type}, as per
+ * {@link Type#of(int)}. The buffers of each column are allocated once, with the capacity of a full batch, and are reused for each
+ * batch, so that the rows of a large export do not create objects on the heap: values of fixed-width types are read with the
+ * primitive getters of {@link ResultSet}, and character values are encoded to UTF-8 directly into the data buffer. Only the data
+ * buffer of a variable-width column is reallocated, when a batch does not fit its capacity.
+ * <p>
+ * The buffers returned by {@link Column} are read-only views of the buffers of the current batch, which are overwritten by the next
+ * call to {@link #next()}. This class is not thread safe.
+ */
+public class DirectColumnarExporter implements AutoCloseable {
+  /** The maximum number of rows of a batch. */
+  public static final int MAX_BATCH_SIZE = 1 << 24;
+  private static final int MAX_CAPACITY = Integer.MAX_VALUE - 7;
+
+  /**
+   * The type of the values of a {@link Column}, which determines the layout of its buffers.
+   */
+  public enum Type {
+    /** Bit-packed boolean values, for {@link Types#BIT} and {@link Types#BOOLEAN}. */
+    BOOL(1),
+    /** 8-bit signed integers, for {@link Types#TINYINT}. */
+    INT8(8),
+    /** 16-bit signed integers, for {@link Types#SMALLINT}. */
+    INT16(16),
+    /** 32-bit signed integers, for {@link Types#INTEGER}. */
+    INT32(32),
+    /** 64-bit signed integers, for {@link Types#BIGINT}. */
+    INT64(64),
+    /** 32-bit floating point numbers, for {@link Types#REAL}. */
+    FLOAT32(32),
+    /** 64-bit floating point numbers, for {@link Types#FLOAT} and {@link Types#DOUBLE}. */
+    FLOAT64(64),
+    /** 32-bit signed integers of the days since the epoch, for {@link Types#DATE}. */
+    DATE32(32),
+    /**
+     * 64-bit signed integers of the microseconds since the epoch, as per {@link Timestamp#getTime()}, for {@link Types#TIMESTAMP}.
+     */
+    TIMESTAMP(64),
+    /** Variable-width UTF-8 strings, for character types and all types that do not have a more specific {@link Type}. */
+    UTF8(0),
+    /** Variable-width binary values, for {@link Types#BINARY}, {@link Types#VARBINARY}, {@link Types#LONGVARBINARY} and {@link Types#BLOB}. */
+    BINARY(0);
+
+    /**
+     * Returns the {@link Type} of values of the provided {@link Types SQL type}. Types without an exact fixed-width representation
+     * (i.e. {@link Types#DECIMAL}, {@link Types#TIME}) are exported as {@link #UTF8} strings, as per {@link ResultSet#getString(int)}.
+     *
+     * @param sqlType The {@link Types SQL type}.
+     * @return The {@link Type} of values of the provided {@link Types SQL type}.
+     */
+    public static Type of(final int sqlType) {
+      switch (sqlType) {
+        case Types.BIT:
+        case Types.BOOLEAN:
+          return BOOL;
+        case Types.TINYINT:
+          return INT8;
+        case Types.SMALLINT:
+          return INT16;
+        case Types.INTEGER:
+          return INT32;
+        case Types.BIGINT:
+          return INT64;
+        case Types.REAL:
+          return FLOAT32;
+        case Types.FLOAT:
+        case Types.DOUBLE:
+          return FLOAT64;
+        case Types.DATE:
+          return DATE32;
+        case Types.TIMESTAMP:
+          return TIMESTAMP;
+        case Types.BINARY:
+        case Types.VARBINARY:
+        case Types.LONGVARBINARY:
+        case Types.BLOB:
+          return BINARY;
+        default:
+          return UTF8;
+      }
+    }
+
+    private final int bitWidth;
+
+    private Type(final int bitWidth) {
+      this.bitWidth = bitWidth;
+    }
+
+    /**
+     * Returns the number of bits of each value of this type, or {@code 0} if this type is variable-width.
+     *
+     * @return The number of bits of each value of this type, or {@code 0} if this type is variable-width.
+     */
+    public int getBitWidth() {
+      return bitWidth;
+    }
+
+    /**
+     * Returns whether the values of this type are variable-width, and thus have an offsets buffer.
+     *
+     * @return Whether the values of this type are variable-width.
+     */
+    public boolean isVariableWidth() {
+      return bitWidth == 0;
+    }
+  }
+
+  /**
+   * A column of the current batch of a {@link DirectColumnarExporter}.
+   */
+  public static final class Column {
+    private final String label;
+    private final Type type;
+    private final int columnIndex;
+    private final ByteBuffer validity;
+    private final ByteBuffer offsets;
+    private ByteBuffer data;
+    private int length;
+    private int rowCount;
+    private int nullCount;
+
+    private Column(final String label, final Type type, final int columnIndex, final int batchSize) {
+      this.label = label;
+      this.type = type;
+      this.columnIndex = columnIndex;
+      this.validity = allocate((batchSize + 7) >> 3);
+      if (type.isVariableWidth()) {
+        this.offsets = allocate((batchSize + 1) << 2);
+        this.data = allocate(Math.max(64, batchSize << 3));
+      }
+      else {
+        this.offsets = null;
+        this.data = allocate(type == Type.BOOL ? (batchSize + 7) >> 3 : batchSize * (type.bitWidth >> 3));
+      }
+    }
+
+    /**
+     * Returns the label of this column.
+     *
+     * @return The label of this column.
+     */
+    public String getLabel() {
+      return label;
+    }
+
+    /**
+     * Returns the {@link Type} of this column.
+     *
+     * @return The {@link Type} of this column.
+     */
+    public Type getType() {
+      return type;
+    }
+
+    /**
+     * Returns the number of values of this column in the current batch.
+     *
+     * @return The number of values of this column in the current batch.
+     */
+    public int getRowCount() {
+      return rowCount;
+    }
+
+    /**
+     * Returns the number of SQL {@code NULL} values of this column in the current batch.
+     *
+     * @return The number of SQL {@code NULL} values of this column in the current batch.
+     */
+    public int getNullCount() {
+      return nullCount;
+    }
+
+    /**
+     * Returns whether the value of the provided row of the current batch is SQL {@code NULL}.
+     *
+     * @param row The index of the row in the current batch, starting at {@code 0}.
+     * @return Whether the value of the provided row of the current batch is SQL {@code NULL}.
+     * @throws IndexOutOfBoundsException If {@code row} is negative, or is not less than {@link #getRowCount()}.
+     */
+    public boolean isNull(final int row) {
+      if (row < 0 || row >= rowCount)
+        throw new IndexOutOfBoundsException("row (" + row + ") is out of bounds [0, " + rowCount + ")");
+
+      return (validity.get(row >> 3) & 1 << (row & 7)) == 0;
+    }
+
+    /**
+     * Returns a read-only little-endian view of the validity bitmap of the current batch.
+     *
+     * @return A read-only little-endian view of the validity bitmap of the current batch.
+     */
+    public ByteBuffer getValidity() {
+      return view(validity, (rowCount + 7) >> 3);
+    }
+
+    /**
+     * Returns a read-only little-endian view of the {@code int32} offsets of the current batch, or {@code null} if the {@link Type}
+     * of this column is not variable-width.
+     *
+     * @return A read-only little-endian view of the {@code int32} offsets of the current batch, or {@code null} if the {@link Type}
+     *         of this column is not variable-width.
+     */
+    public ByteBuffer getOffsets() {
+      return offsets == null ? null : view(offsets, (rowCount + 1) << 2);
+    }
+
+    /**
+     * Returns a read-only little-endian view of the data of the current batch.
+     *
+     * @return A read-only little-endian view of the data of the current batch.
+     */
+    public ByteBuffer getData() {
+      return view(data, type.isVariableWidth() ? length : type == Type.BOOL ? (rowCount + 7) >> 3 : rowCount * (type.bitWidth >> 3));
+    }
+
+    private void reset() {
+      clear(validity);
+      if (type == Type.BOOL)
+        clear(data);
+      else if (offsets != null)
+        offsets.putInt(0, 0);
+
+      length = 0;
+      rowCount = 0;
+      nullCount = 0;
+    }
+
+    private void read(final ResultSet resultSet, final int row) throws SQLException {
+      final boolean valid;
+      switch (type) {
+        case BOOL:
+          if (resultSet.getBoolean(columnIndex))
+            data.put(row >> 3, (byte)(data.get(row >> 3) | 1 << (row & 7)));
+
+          valid = !resultSet.wasNull();
+          break;
+        case INT8:
+          data.put(row, resultSet.getByte(columnIndex));
+          valid = !resultSet.wasNull();
+          break;
+        case INT16:
+          data.putShort(row << 1, resultSet.getShort(columnIndex));
+          valid = !resultSet.wasNull();
+          break;
+        case INT32:
+          data.putInt(row << 2, resultSet.getInt(columnIndex));
+          valid = !resultSet.wasNull();
+          break;
+        case INT64:
+          data.putLong(row << 3, resultSet.getLong(columnIndex));
+          valid = !resultSet.wasNull();
+          break;
+        case FLOAT32:
+          data.putFloat(row << 2, resultSet.getFloat(columnIndex));
+          valid = !resultSet.wasNull();
+          break;
+        case FLOAT64:
+          data.putDouble(row << 3, resultSet.getDouble(columnIndex));
+          valid = !resultSet.wasNull();
+          break;
+        case DATE32:
+          final Date date = resultSet.getDate(columnIndex);
+          valid = date != null;
+          data.putInt(row << 2, valid ? (int)date.toLocalDate().toEpochDay() : 0);
+          break;
+        case TIMESTAMP:
+          final Timestamp timestamp = resultSet.getTimestamp(columnIndex);
+          valid = timestamp != null;
+          data.putLong(row << 3, valid ? Math.floorDiv(timestamp.getTime(), 1000) * 1000000 + timestamp.getNanos() / 1000 : 0);
+          break;
+        case UTF8:
+          final String string = resultSet.getString(columnIndex);
+          if (valid = string != null)
+            putUtf8(string);
+
+          offsets.putInt((row + 1) << 2, length);
+          break;
+        case BINARY:
+          final byte[] bytes = resultSet.getBytes(columnIndex);
+          if (valid = bytes != null) {
+            ensureCapacity((long)length + bytes.length);
+            data.position(length);
+            data.put(bytes);
+            length += bytes.length;
+          }
+
+          offsets.putInt((row + 1) << 2, length);
+          break;
+        default:
+          throw new AssertionError(type);
+      }
+
+      if (valid)
+        validity.put(row >> 3, (byte)(validity.get(row >> 3) | 1 << (row & 7)));
+      else
+        ++nullCount;
+    }
+
+    private void putUtf8(final String string) throws SQLException {
+      final int len = string.length();
+      ensureCapacity(length + 3L * len);
+      final ByteBuffer data = this.data;
+      int p = length;
+      for (int i = 0; i < len; ++i) { // [$]
+        final char ch = string.charAt(i);
+        if (ch < 0x80) {
+          data.put(p++, (byte)ch);
+        }
+        else if (ch < 0x800) {
+          data.put(p++, (byte)(0xC0 | ch >> 6));
+          data.put(p++, (byte)(0x80 | ch & 0x3F));
+        }
+        else if (!Character.isSurrogate(ch)) {
+          data.put(p++, (byte)(0xE0 | ch >> 12));
+          data.put(p++, (byte)(0x80 | ch >> 6 & 0x3F));
+          data.put(p++, (byte)(0x80 | ch & 0x3F));
+        }
+        else if (Character.isHighSurrogate(ch) && i + 1 < len && Character.isLowSurrogate(string.charAt(i + 1))) {
+          final int codePoint = Character.toCodePoint(ch, string.charAt(++i));
+          data.put(p++, (byte)(0xF0 | codePoint >> 18));
+          data.put(p++, (byte)(0x80 | codePoint >> 12 & 0x3F));
+          data.put(p++, (byte)(0x80 | codePoint >> 6 & 0x3F));
+          data.put(p++, (byte)(0x80 | codePoint & 0x3F));
+        }
+        else {
+          // Unpaired surrogates are replaced, as per String.getBytes(StandardCharsets.UTF_8)
+          data.put(p++, (byte)'?');
+        }
+      }
+
+      length = p;
+    }
+
+    private void ensureCapacity(final long capacity) throws SQLException {
+      if (capacity <= data.capacity())
+        return;
+
+      if (capacity > MAX_CAPACITY)
+        throw new SQLException("Data of column " + label + " exceeds the maximum capacity of a batch (" + MAX_CAPACITY + ")", "22001");
+
+      final ByteBuffer data = allocate((int)Math.min(MAX_CAPACITY, Math.max(capacity, (long)this.data.capacity() << 1)));
+      final ByteBuffer old = this.data;
+      old.position(0);
+      old.limit(length);
+      data.put(old);
+      this.data = data;
+    }
+
+    @Override
+    public String toString() {
+      return label + " " + type;
+    }
+  }
+
+  private static ByteBuffer allocate(final int capacity) {
+    // Capacities are padded to a multiple of 8 bytes, as recommended by the Arrow format
+    return ByteBuffer.allocateDirect(Math.min(MAX_CAPACITY, capacity + 7 & ~7)).order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  private static void clear(final ByteBuffer buffer) {
+    for (int i = 0, i$ = buffer.capacity(); i < i$; i += 8)
+      buffer.putLong(i, 0);
+  }
+
+  private static ByteBuffer view(final ByteBuffer buffer, final int limit) {
+    final ByteBuffer view = buffer.asReadOnlyBuffer();
+    view.position(0);
+    view.limit(limit);
+    return view.order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  private final ResultSet resultSet;
+  private final Column[] columns;
+  private final int batchSize;
+  private int rowCount;
+  private boolean done;
+
+  /**
+   * Creates a new {@link DirectColumnarExporter} that drains the provided {@link ResultSet} in batches of up to {@code batchSize}
+   * rows, and allocates the buffers of its columns.
+   *
+   * @param resultSet The {@link ResultSet} to drain.
+   * @param batchSize The maximum number of rows of a batch.
+   * @throws SQLException If the metadata of {@code resultSet} cannot be read.
+   * @throws IllegalArgumentException If {@code batchSize} is not positive, or is greater than {@link #MAX_BATCH_SIZE}.
+   * @throws NullPointerException If {@code resultSet} is null.
+   */
+  public DirectColumnarExporter(final ResultSet resultSet, final int batchSize) throws SQLException {
+    if (resultSet == null)
+      throw new NullPointerException("resultSet is null");
+
+    if (batchSize <= 0)
+      throw new IllegalArgumentException("batchSize (" + batchSize + ") must be positive");
+
+    if (batchSize > MAX_BATCH_SIZE)
+      throw new IllegalArgumentException("batchSize (" + batchSize + ") must not be greater than " + MAX_BATCH_SIZE);
+
+    this.resultSet = resultSet;
+    this.batchSize = batchSize;
+    final ResultSetMetaData metaData = resultSet.getMetaData();
+    this.columns = new Column[metaData.getColumnCount()];
+    for (int i = 0, i$ = columns.length; i < i$; ++i) // [A]
+      columns[i] = new Column(metaData.getColumnLabel(i + 1), Type.of(metaData.getColumnType(i + 1)), i + 1, batchSize);
+  }
+
+  /**
+   * Returns the maximum number of rows of a batch.
+   *
+   * @return The maximum number of rows of a batch.
+   */
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * Returns the number of columns.
+   *
+   * @return The number of columns.
+   */
+  public int getColumnCount() {
+    return columns.length;
+  }
+
+  /**
+   * Returns the {@link Column} with the provided index.
+   *
+   * @param columnIndex The index of the column, starting at {@code 1}.
+   * @return The {@link Column} with the provided index.
+   * @throws IndexOutOfBoundsException If {@code columnIndex} is not between {@code 1} and {@link #getColumnCount()}.
+   */
+  public Column getColumn(final int columnIndex) {
+    if (columnIndex < 1 || columnIndex > columns.length)
+      throw new IndexOutOfBoundsException("columnIndex (" + columnIndex + ") is out of bounds [1, " + columns.length + "]");
+
+    return columns[columnIndex - 1];
+  }
+
+  /**
+   * Returns the number of rows of the current batch.
+   *
+   * @return The number of rows of the current batch.
+   */
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * Reads the next batch of up to {@link #getBatchSize()} rows from the {@link ResultSet} into the buffers of the columns, replacing
+   * the current batch.
+   *
+   * @return The number of rows of the new batch, or {@code 0} if the {@link ResultSet} is drained.
+   * @throws SQLException If a database access error occurs, or if the variable-width data of a column in a batch exceeds the
+   *           maximum capacity of a {@link ByteBuffer}.
+   */
+  public int next() throws SQLException {
+    final Column[] columns = this.columns;
+    for (final Column column : columns) // [A]
+      column.reset();
+
+    int rows = 0;
+    if (!done) {
+      try {
+        for (; rows < batchSize; ++rows) {
+          if (!resultSet.next()) {
+            done = true;
+            break;
+          }
+
+          for (final Column column : columns) // [A]
+            column.read(resultSet, rows);
+        }
+      }
+      finally {
+        for (final Column column : columns) // [A]
+          column.rowCount = rows;
+      }
+    }
+
+    return rowCount = rows;
+  }
+
+  /**
+   * Closes the {@link ResultSet}. The buffers of the columns are released when this exporter is garbage collected.
+   *
+   * @throws SQLException If a database access error occurs.
+   */
+  @Override
+  public void close() throws SQLException {
+    done = true;
+    resultSet.close();
+  }
+}
\ No newline at end of file
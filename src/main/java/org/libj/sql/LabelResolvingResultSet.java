@@ -0,0 +1,455 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Map;
+
+/**
+ * A {@link DelegateResultSet} that resolves column labels itself, and dispatches each method that takes a column label to the
+ * corresponding method that takes a column index. Many drivers resolve a column label with a linear, case-insensitive search over the
+ * columns on each call, which dominates the cost of reading rows by label from wide result sets.
+ * <p>
+ * Column labels are resolved with {@link #findColumn(String)}, which matches labels case-insensitively and returns the first column
+ * with the provided label, as per the contract of {@link ResultSet#findColumn(String)}. The index of the labels is computed from the
+ * {@link java.sql.ResultSetMetaData} of the target {@link ResultSet} on the first call that resolves a column label, and is shared
+ * among result sets with the same sequence of column labels (i.e. the result sets of repeated executions of the same query).
+ */
+public class LabelResolvingResultSet extends DelegateResultSet {
+  private ColumnLabels columnLabels;
+
+  /**
+   * Creates a new {@link LabelResolvingResultSet} with the specified target {@link ResultSet}.
+   *
+   * @param target The target {@link ResultSet}.
+   * @throws NullPointerException If the target {@link ResultSet} is null.
+   */
+  public LabelResolvingResultSet(final ResultSet target) {
+    super(target);
+  }
+
+  /**
+   * Returns the index of the first column with the provided label, which is matched case-insensitively against the column labels of
+   * the {@link java.sql.ResultSetMetaData} of the target {@link ResultSet}.
+   *
+   * @param columnLabel The column label.
+   * @return The index of the first column with the provided label, starting at {@code 1}.
+   * @throws SQLException If there is no column with the provided label, if the metadata of the target {@link ResultSet} cannot be
+   *           read, or if a database access error occurs.
+   * @throws NullPointerException If {@code columnLabel} is null.
+   */
+  @Override
+  public int findColumn(final String columnLabel) throws SQLException {
+    if (columnLabels == null)
+      columnLabels = ColumnLabels.of(target.getMetaData());
+
+    return columnLabels.findColumn(columnLabel);
+  }
+
+  @Override
+  public String getString(final String columnName) throws SQLException {
+    return getString(findColumn(columnName));
+  }
+
+  @Override
+  public boolean getBoolean(final String columnName) throws SQLException {
+    return getBoolean(findColumn(columnName));
+  }
+
+  @Override
+  public byte getByte(final String columnName) throws SQLException {
+    return getByte(findColumn(columnName));
+  }
+
+  @Override
+  public short getShort(final String columnName) throws SQLException {
+    return getShort(findColumn(columnName));
+  }
+
+  @Override
+  public int getInt(final String columnName) throws SQLException {
+    return getInt(findColumn(columnName));
+  }
+
+  @Override
+  public long getLong(final String columnName) throws SQLException {
+    return getLong(findColumn(columnName));
+  }
+
+  @Override
+  public float getFloat(final String columnName) throws SQLException {
+    return getFloat(findColumn(columnName));
+  }
+
+  @Override
+  public double getDouble(final String columnName) throws SQLException {
+    return getDouble(findColumn(columnName));
+  }
+
+  @Override
+  @Deprecated// (since="1.2")
+  public BigDecimal getBigDecimal(final String columnName, final int scale) throws SQLException {
+    return getBigDecimal(findColumn(columnName), scale);
+  }
+
+  @Override
+  public byte[] getBytes(final String columnName) throws SQLException {
+    return getBytes(findColumn(columnName));
+  }
+
+  @Override
+  public Date getDate(final String columnName) throws SQLException {
+    return getDate(findColumn(columnName));
+  }
+
+  @Override
+  public Time getTime(final String columnName) throws SQLException {
+    return getTime(findColumn(columnName));
+  }
+
+  @Override
+  public Timestamp getTimestamp(final String columnName) throws SQLException {
+    return getTimestamp(findColumn(columnName));
+  }
+
+  @Override
+  public InputStream getAsciiStream(final String columnName) throws SQLException {
+    return getAsciiStream(findColumn(columnName));
+  }
+
+  @Override
+  @Deprecated// (since="1.2")
+  public InputStream getUnicodeStream(final String columnName) throws SQLException {
+    return getUnicodeStream(findColumn(columnName));
+  }
+
+  @Override
+  public InputStream getBinaryStream(final String columnName) throws SQLException {
+    return getBinaryStream(findColumn(columnName));
+  }
+
+  @Override
+  public Object getObject(final String columnName) throws SQLException {
+    return getObject(findColumn(columnName));
+  }
+
+  @Override
+  public Reader getCharacterStream(final String columnName) throws SQLException {
+    return getCharacterStream(findColumn(columnName));
+  }
+
+  @Override
+  public BigDecimal getBigDecimal(final String columnName) throws SQLException {
+    return getBigDecimal(findColumn(columnName));
+  }
+
+  @Override
+  public void updateNull(final String columnName) throws SQLException {
+    updateNull(findColumn(columnName));
+  }
+
+  @Override
+  public void updateBoolean(final String columnName, final boolean x) throws SQLException {
+    updateBoolean(findColumn(columnName), x);
+  }
+
+  @Override
+  public void updateByte(final String columnName, final byte x) throws SQLException {
+    updateByte(findColumn(columnName), x);
+  }
+
+  @Override
+  public void updateShort(final String columnName, final short x) throws SQLException {
+    updateShort(findColumn(columnName), x);
+  }
+
+  @Override
+  public void updateInt(final String columnName, final int x) throws SQLException {
+    updateInt(findColumn(columnName), x);
+  }
+
+  @Override
+  public void updateLong(final String columnName, final long x) throws SQLException {
+    updateLong(findColumn(columnName), x);
+  }
+
+  @Override
+  public void updateFloat(final String columnName, final float x) throws SQLException {
+    updateFloat(findColumn(columnName), x);
+  }
+
+  @Override
+  public void updateDouble(final String columnName, final double x) throws SQLException {
+    updateDouble(findColumn(columnName), x);
+  }
+
+  @Override
+  public void updateBigDecimal(final String columnName, final BigDecimal x) throws SQLException {
+    updateBigDecimal(findColumn(columnName), x);
+  }
+
+  @Override
+  public void updateString(final String columnName, final String x) throws SQLException {
+    updateString(findColumn(columnName), x);
+  }
+
+  @Override
+  public void updateBytes(final String columnName, final byte[] x) throws SQLException {
+    updateBytes(findColumn(columnName), x);
+  }
+
+  @Override
+  public void updateDate(final String columnName, final Date x) throws SQLException {
+    updateDate(findColumn(columnName), x);
+  }
+
+  @Override
+  public void updateTime(final String columnName, final Time x) throws SQLException {
+    updateTime(findColumn(columnName), x);
+  }
+
+  @Override
+  public void updateTimestamp(final String columnName, final Timestamp x) throws SQLException {
+    updateTimestamp(findColumn(columnName), x);
+  }
+
+  @Override
+  public void updateAsciiStream(final String columnName, final InputStream x, final int length) throws SQLException {
+    updateAsciiStream(findColumn(columnName), x, length);
+  }
+
+  @Override
+  public void updateBinaryStream(final String columnName, final InputStream x, final int length) throws SQLException {
+    updateBinaryStream(findColumn(columnName), x, length);
+  }
+
+  @Override
+  public void updateCharacterStream(final String columnName, final Reader reader, final int length) throws SQLException {
+    updateCharacterStream(findColumn(columnName), reader, length);
+  }
+
+  @Override
+  public void updateObject(final String columnName, final Object x, final int scale) throws SQLException {
+    updateObject(findColumn(columnName), x, scale);
+  }
+
+  @Override
+  public void updateObject(final String columnName, final Object x) throws SQLException {
+    updateObject(findColumn(columnName), x);
+  }
+
+  @Override
+  public Object getObject(final String colName, final Map<String,Class<?>> map) throws SQLException {
+    return getObject(findColumn(colName), map);
+  }
+
+  @Override
+  public Ref getRef(final String colName) throws SQLException {
+    return getRef(findColumn(colName));
+  }
+
+  @Override
+  public Blob getBlob(final String colName) throws SQLException {
+    return getBlob(findColumn(colName));
+  }
+
+  @Override
+  public Clob getClob(final String colName) throws SQLException {
+    return getClob(findColumn(colName));
+  }
+
+  @Override
+  public Array getArray(final String colName) throws SQLException {
+    return getArray(findColumn(colName));
+  }
+
+  @Override
+  public Date getDate(final String columnName, final Calendar cal) throws SQLException {
+    return getDate(findColumn(columnName), cal);
+  }
+
+  @Override
+  public Time getTime(final String columnName, final Calendar cal) throws SQLException {
+    return getTime(findColumn(columnName), cal);
+  }
+
+  @Override
+  public Timestamp getTimestamp(final String columnName, final Calendar cal) throws SQLException {
+    return getTimestamp(findColumn(columnName), cal);
+  }
+
+  @Override
+  public URL getURL(final String columnName) throws SQLException {
+    return getURL(findColumn(columnName));
+  }
+
+  @Override
+  public void updateRef(final String columnName, final Ref x) throws SQLException {
+    updateRef(findColumn(columnName), x);
+  }
+
+  @Override
+  public void updateBlob(final String columnName, final Blob x) throws SQLException {
+    updateBlob(findColumn(columnName), x);
+  }
+
+  @Override
+  public void updateClob(final String columnName, final Clob x) throws SQLException {
+    updateClob(findColumn(columnName), x);
+  }
+
+  @Override
+  public void updateArray(final String columnName, final Array x) throws SQLException {
+    updateArray(findColumn(columnName), x);
+  }
+
+  @Override
+  public RowId getRowId(final String columnLabel) throws SQLException {
+    return getRowId(findColumn(columnLabel));
+  }
+
+  @Override
+  public void updateRowId(final String columnLabel, final RowId x) throws SQLException {
+    updateRowId(findColumn(columnLabel), x);
+  }
+
+  @Override
+  public void updateNString(final String columnLabel, final String nString) throws SQLException {
+    updateNString(findColumn(columnLabel), nString);
+  }
+
+  @Override
+  public void updateNClob(final String columnLabel, final NClob nClob) throws SQLException {
+    updateNClob(findColumn(columnLabel), nClob);
+  }
+
+  @Override
+  public NClob getNClob(final String columnLabel) throws SQLException {
+    return getNClob(findColumn(columnLabel));
+  }
+
+  @Override
+  public SQLXML getSQLXML(final String columnLabel) throws SQLException {
+    return getSQLXML(findColumn(columnLabel));
+  }
+
+  @Override
+  public void updateSQLXML(final String columnLabel, final SQLXML xmlObject) throws SQLException {
+    updateSQLXML(findColumn(columnLabel), xmlObject);
+  }
+
+  @Override
+  public String getNString(final String columnLabel) throws SQLException {
+    return getNString(findColumn(columnLabel));
+  }
+
+  @Override
+  public Reader getNCharacterStream(final String columnLabel) throws SQLException {
+    return getNCharacterStream(findColumn(columnLabel));
+  }
+
+  @Override
+  public void updateNCharacterStream(final String columnLabel, final Reader reader, final long length) throws SQLException {
+    updateNCharacterStream(findColumn(columnLabel), reader, length);
+  }
+
+  @Override
+  public void updateAsciiStream(final String columnLabel, final InputStream x, final long length) throws SQLException {
+    updateAsciiStream(findColumn(columnLabel), x, length);
+  }
+
+  @Override
+  public void updateBinaryStream(final String columnLabel, final InputStream x, final long length) throws SQLException {
+    updateBinaryStream(findColumn(columnLabel), x, length);
+  }
+
+  @Override
+  public void updateCharacterStream(final String columnLabel, final Reader reader, final long length) throws SQLException {
+    updateCharacterStream(findColumn(columnLabel), reader, length);
+  }
+
+  @Override
+  public void updateBlob(final String columnLabel, final InputStream inputStream, final long length) throws SQLException {
+    updateBlob(findColumn(columnLabel), inputStream, length);
+  }
+
+  @Override
+  public void updateClob(final String columnLabel, final Reader reader, final long length) throws SQLException {
+    updateClob(findColumn(columnLabel), reader, length);
+  }
+
+  @Override
+  public void updateNClob(final String columnLabel, final Reader reader, final long length) throws SQLException {
+    updateNClob(findColumn(columnLabel), reader, length);
+  }
+
+  @Override
+  public void updateNCharacterStream(final String columnLabel, final Reader reader) throws SQLException {
+    updateNCharacterStream(findColumn(columnLabel), reader);
+  }
+
+  @Override
+  public void updateAsciiStream(final String columnLabel, final InputStream x) throws SQLException {
+    updateAsciiStream(findColumn(columnLabel), x);
+  }
+
+  @Override
+  public void updateBinaryStream(final String columnLabel, final InputStream x) throws SQLException {
+    updateBinaryStream(findColumn(columnLabel), x);
+  }
+
+  @Override
+  public void updateCharacterStream(final String columnLabel, final Reader reader) throws SQLException {
+    updateCharacterStream(findColumn(columnLabel), reader);
+  }
+
+  @Override
+  public void updateBlob(final String columnLabel, final InputStream inputStream) throws SQLException {
+    updateBlob(findColumn(columnLabel), inputStream);
+  }
+
+  @Override
+  public void updateClob(final String columnLabel, final Reader reader) throws SQLException {
+    updateClob(findColumn(columnLabel), reader);
+  }
+
+  @Override
+  public void updateNClob(final String columnLabel, final Reader reader) throws SQLException {
+    updateNClob(findColumn(columnLabel), reader);
+  }
+
+  @Override
+  public <T> T getObject(final String columnLabel, final Class<T> type) throws SQLException {
+    return getObject(findColumn(columnLabel), type);
+  }
+}
\ No newline at end of file
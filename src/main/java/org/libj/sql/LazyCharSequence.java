@@ -0,0 +1,66 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+/**
+ * A {@link CharSequence} whose content is rendered upon first access, and cached thereafter. Log records are passed to sinks as
+ * {@link LazyCharSequence}s, so that the cost of rendering is only paid if the sink actually consumes the record.
+ */
+abstract class LazyCharSequence implements CharSequence {
+  private CharSequence value;
+
+  /**
+   * Returns the rendered content of this {@link LazyCharSequence}. This method is called at most once per instance.
+   *
+   * @return The rendered content of this {@link LazyCharSequence}.
+   */
+  abstract CharSequence render();
+
+  private CharSequence value() {
+    final CharSequence value = this.value;
+    return value != null ? value : (this.value = render());
+  }
+
+  /**
+   * Returns whether the content of this {@link LazyCharSequence} has been rendered.
+   *
+   * @return Whether the content of this {@link LazyCharSequence} has been rendered.
+   */
+  boolean isRendered() {
+    return value != null;
+  }
+
+  @Override
+  public int length() {
+    return value().length();
+  }
+
+  @Override
+  public char charAt(final int index) {
+    return value().charAt(index);
+  }
+
+  @Override
+  public CharSequence subSequence(final int start, final int end) {
+    return value().subSequence(start, end);
+  }
+
+  @Override
+  public String toString() {
+    return value().toString();
+  }
+}
\ No newline at end of file
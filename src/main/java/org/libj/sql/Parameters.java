@@ -0,0 +1,148 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * An index-addressed, growable buffer of the parameters bound to a single row of a {@link java.sql.PreparedStatement}, maintained
+ * for the purpose of audit logging. Primitive values are stored unboxed, and named parameters are kept in a separate side table
+ * that is only allocated if a named parameter is bound. Between rows, a {@link Parameters} instance is {@linkplain #clear()
+ * cleared} rather than reallocated.
+ */
+final class Parameters {
+  static final byte UNSET = 0;
+  static final byte OBJECT = 1;
+  static final byte LONG = 2;
+  static final byte DOUBLE = 3;
+  static final byte BOOLEAN = 4;
+
+  private byte[] types;
+  private long[] primitives;
+  private Object[] objects;
+  private int length;
+  private HashMap<String,Object> named;
+
+  /**
+   * Creates a new {@link Parameters} buffer with the specified initial capacity of index-addressed slots.
+   *
+   * @param initialCapacity The initial capacity of index-addressed slots.
+   * @throws NegativeArraySizeException If {@code initialCapacity} is negative.
+   */
+  Parameters(final int initialCapacity) {
+    this.types = new byte[initialCapacity];
+    this.primitives = new long[initialCapacity];
+    this.objects = new Object[initialCapacity];
+  }
+
+  private int slot(final int parameterIndex, final byte type) {
+    final int i = parameterIndex - 1;
+    if (i >= types.length) {
+      final int capacity = Math.max(i + 1, types.length * 2);
+      types = Arrays.copyOf(types, capacity);
+      primitives = Arrays.copyOf(primitives, capacity);
+      objects = Arrays.copyOf(objects, capacity);
+    }
+
+    if (i >= length)
+      length = i + 1;
+
+    types[i] = type;
+    return i;
+  }
+
+  void setObject(final int parameterIndex, final Object value) {
+    objects[slot(parameterIndex, OBJECT)] = value;
+  }
+
+  void setLong(final int parameterIndex, final long value) {
+    final int i = slot(parameterIndex, LONG);
+    primitives[i] = value;
+    objects[i] = null;
+  }
+
+  void setDouble(final int parameterIndex, final double value) {
+    final int i = slot(parameterIndex, DOUBLE);
+    primitives[i] = Double.doubleToRawLongBits(value);
+    objects[i] = null;
+  }
+
+  void setBoolean(final int parameterIndex, final boolean value) {
+    final int i = slot(parameterIndex, BOOLEAN);
+    primitives[i] = value ? 1 : 0;
+    objects[i] = null;
+  }
+
+  void setNamed(final String parameterName, final Object value) {
+    if (named == null)
+      named = new HashMap<>();
+
+    named.put(parameterName, value);
+  }
+
+  byte getType(final int parameterIndex) {
+    final int i = parameterIndex - 1;
+    return i < length ? types[i] : UNSET;
+  }
+
+  Object getObject(final int parameterIndex) {
+    final int i = parameterIndex - 1;
+    return i < length ? objects[i] : null;
+  }
+
+  long getLong(final int parameterIndex) {
+    return primitives[parameterIndex - 1];
+  }
+
+  double getDouble(final int parameterIndex) {
+    return Double.longBitsToDouble(primitives[parameterIndex - 1]);
+  }
+
+  boolean getBoolean(final int parameterIndex) {
+    return primitives[parameterIndex - 1] != 0;
+  }
+
+  Object getNamed(final String parameterName) {
+    return named == null ? null : named.get(parameterName);
+  }
+
+  /**
+   * Returns the highest parameter index that has been bound in this buffer, or {@code 0} if no index-addressed parameter has been
+   * bound.
+   *
+   * @return The highest parameter index that has been bound in this buffer.
+   */
+  int length() {
+    return length;
+  }
+
+  boolean isEmpty() {
+    return length == 0 && (named == null || named.isEmpty());
+  }
+
+  /**
+   * Clears this buffer, releasing references to the bound values but retaining the allocated capacity.
+   */
+  void clear() {
+    Arrays.fill(types, 0, length, UNSET);
+    Arrays.fill(objects, 0, length, null);
+    length = 0;
+    if (named != null)
+      named.clear();
+  }
+}
\ No newline at end of file
@@ -0,0 +1,285 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+
+package org.libj.sql;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A forward-only {@link DelegateResultSet} that reads the rows of its target {@link ResultSet} ahead of the application on a
+ * background thread, into a bounded buffer of decoded rows, so that the time the driver spends fetching rows from the database
+ * overlaps with the time the application spends processing the rows that precede them.
+ * <p>
+ * The capacity of the buffer is the fetch size of the target {@link ResultSet} (or {@code 256} if the fetch size is not set), so
+ * that the background thread reads at most one fetch ahead of the application. The values of each row are read with
+ * {@link ResultSet#getObject(int)}, and LOBs are read into memory. If the target {@link ResultSet} raises a {@link SQLException}, the
+ * rows that precede the failure are returned first, and the {@link SQLException} is thrown by the next call to {@link #next()}.
+ * <p>
+ * {@link #close()} stops the background thread (cancelling the {@link Statement} if the thread is waiting for the driver), and then
+ * closes the target {@link ResultSet}. The target {@link ResultSet} must not be used directly while this result set is open.
+ */
+public class PrefetchingResultSet extends BufferedResultSet {
+  private static final Logger logger = LoggerFactory.getLogger(PrefetchingResultSet.class);
+  private static final Object[] END = {};
+  private static ExecutorService defaultExecutor;
+
+  private static synchronized Executor getDefaultExecutor() {
+    if (defaultExecutor == null) {
+      defaultExecutor = Executors.newCachedThreadPool((final Runnable r) -> {
+        final Thread thread = new Thread(r, PrefetchingResultSet.class.getSimpleName());
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+
+    return defaultExecutor;
+  }
+
+  private final ArrayBlockingQueue<Object[]> buffer;
+  private final CountDownLatch done = new CountDownLatch(1);
+  private volatile boolean cancelled;
+  private volatile SQLException exception;
+  private Object[] row;
+  private int rowNumber;
+
+  /**
+   * Creates a new {@link PrefetchingResultSet} that reads the rows of the specified target {@link ResultSet} into a buffer of the
+   * provided capacity, on a thread of the provided {@link Executor}.
+   *
+   * @param target The target {@link ResultSet}.
+   * @param capacity The maximum number of rows that are read ahead of the application.
+   * @param executor The {@link Executor} on which to read the rows of the target {@link ResultSet}.
+   * @throws SQLException If a database access error occurs.
+   * @throws IllegalArgumentException If {@code capacity} is not positive.
+   * @throws NullPointerException If the target {@link ResultSet} or the {@link Executor} is null.
+   */
+  public PrefetchingResultSet(final ResultSet target, final int capacity, final Executor executor) throws SQLException {
+    super(target, true);
+    if (capacity <= 0)
+      throw new IllegalArgumentException("capacity (" + capacity + ") must be positive");
+
+    if (executor == null)
+      throw new NullPointerException("executor is null");
+
+    this.buffer = new ArrayBlockingQueue<>(capacity);
+    executor.execute(this::prefetch);
+  }
+
+  /**
+   * Creates a new {@link PrefetchingResultSet} that reads the rows of the specified target {@link ResultSet} into a buffer with the
+   * capacity of its fetch size (or {@code 256} if the fetch size is not set), on a shared pool of daemon threads.
+   *
+   * @param target The target {@link ResultSet}.
+   * @throws SQLException If a database access error occurs.
+   * @throws NullPointerException If the target {@link ResultSet} is null.
+   */
+  public PrefetchingResultSet(final ResultSet target) throws SQLException {
+    this(target, target.getFetchSize() > 0 ? target.getFetchSize() : 256, getDefaultExecutor());
+  }
+
+  private void prefetch() {
+    try {
+      while (!cancelled && target.next()) {
+        final Object[] row = new Object[columnCount];
+        for (int i = 0; i < columnCount; ++i) // [A]
+          row[i] = decode(target, i + 1);
+
+        buffer.put(row);
+      }
+    }
+    catch (final SQLException e) {
+      exception = e;
+    }
+    catch (final InterruptedException e) {
+      exception = new SQLException(e);
+    }
+    catch (final RuntimeException e) {
+      exception = new SQLException(e);
+    }
+    finally {
+      try {
+        for (; !cancelled && !buffer.offer(END, 10, TimeUnit.MILLISECONDS);); // [ST]
+      }
+      catch (final InterruptedException e) {
+        if (exception == null)
+          exception = new SQLException(e);
+      }
+
+      done.countDown();
+    }
+  }
+
+  @Override
+  public boolean next() throws SQLException {
+    checkOpen();
+    if (row == END)
+      return false;
+
+    try {
+      row = cancelled ? END : buffer.take();
+    }
+    catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException(e);
+    }
+
+    if (row != END) {
+      ++rowNumber;
+      return true;
+    }
+
+    final SQLException exception = this.exception;
+    if (exception != null)
+      throw new SQLException(exception.getMessage(), exception.getSQLState(), exception.getErrorCode(), exception);
+
+    return false;
+  }
+
+  @Override
+  Object getValue(final int columnIndex) throws SQLException {
+    checkOpen();
+    if (row == null || row == END)
+      throw new SQLException("Cursor is not on a row", "24000");
+
+    return row[columnIndex - 1];
+  }
+
+  private static SQLException forwardOnly() {
+    return new SQLException("ResultSet is TYPE_FORWARD_ONLY");
+  }
+
+  @Override
+  public boolean isBeforeFirst() throws SQLException {
+    checkOpen();
+    return row == null;
+  }
+
+  @Override
+  public boolean isAfterLast() throws SQLException {
+    checkOpen();
+    return row == END && rowNumber > 0;
+  }
+
+  @Override
+  public boolean isFirst() throws SQLException {
+    checkOpen();
+    return rowNumber == 1 && row != END;
+  }
+
+  @Override
+  public boolean isLast() throws SQLException {
+    throw new SQLFeatureNotSupportedException("isLast() is not supported by TYPE_FORWARD_ONLY " + PrefetchingResultSet.class.getSimpleName());
+  }
+
+  @Override
+  public void beforeFirst() throws SQLException {
+    throw forwardOnly();
+  }
+
+  @Override
+  public void afterLast() throws SQLException {
+    throw forwardOnly();
+  }
+
+  @Override
+  public boolean first() throws SQLException {
+    throw forwardOnly();
+  }
+
+  @Override
+  public boolean last() throws SQLException {
+    throw forwardOnly();
+  }
+
+  @Override
+  public int getRow() throws SQLException {
+    checkOpen();
+    return row == null || row == END ? 0 : rowNumber;
+  }
+
+  @Override
+  public boolean absolute(final int row) throws SQLException {
+    throw forwardOnly();
+  }
+
+  @Override
+  public boolean relative(final int rows) throws SQLException {
+    throw forwardOnly();
+  }
+
+  @Override
+  public boolean previous() throws SQLException {
+    throw forwardOnly();
+  }
+
+  @Override
+  public int getType() throws SQLException {
+    return TYPE_FORWARD_ONLY;
+  }
+
+  @Override
+  public int getHoldability() throws SQLException {
+    return target.getHoldability();
+  }
+
+  @Override
+  public void close() throws SQLException {
+    if (closed)
+      return;
+
+    super.close();
+    cancelled = true;
+    buffer.clear();
+    try {
+      if (!done.await(10, TimeUnit.MILLISECONDS)) {
+        final Statement statement = getStatement();
+        if (statement != null) {
+          try {
+            statement.cancel();
+          }
+          catch (final SQLException e) {
+            if (logger.isDebugEnabled()) { logger.debug(statement.getClass().getName() + ".cancel(): " + e.getMessage()); }
+          }
+        }
+
+        while (!done.await(10, TimeUnit.MILLISECONDS))
+          buffer.clear();
+      }
+    }
+    catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException(e);
+    }
+    finally {
+      buffer.clear();
+      row = END;
+      target.close();
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,179 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+import org.libj.lang.Hexadecimal;
+
+/**
+ * A {@link FilterInputStream} that is handed to the driver in place of an {@link InputStream} parameter of an
+ * {@link AuditPreparedStatement}, which retains a bounded preview of the leading bytes as they are read by the driver, and counts the
+ * total number of bytes read. The payload of the stream is never buffered beyond the preview.
+ */
+final class PreviewInputStream extends FilterInputStream {
+  /**
+   * Renders the provided preview bytes as a hexadecimal SQL literal, followed by the length of the stream if the preview is
+   * truncated, i.e. {@code "X'CAFEBABE'... (1048576 bytes)"}.
+   *
+   * @param buf The buffer of preview bytes.
+   * @param size The number of preview bytes in {@code buf}.
+   * @param length The total number of bytes of the stream, or the number of bytes known so far if {@code complete} is {@code false}.
+   * @param complete Whether {@code length} is the total number of bytes of the stream.
+   * @return The rendering of the provided preview bytes.
+   */
+  static String toString(final byte[] buf, final int size, final long length, final boolean complete) {
+    final StringBuilder b = new StringBuilder("X'").append(new Hexadecimal(size == buf.length ? buf : Arrays.copyOf(buf, size))).append('\'');
+    if (complete && size == length)
+      return b.toString();
+
+    b.append("... (");
+    if (!complete)
+      b.append("at least ");
+
+    return b.append(length).append(" bytes)").toString();
+  }
+
+  /**
+   * Renders a preview of at most {@code limit} leading bytes of the provided {@link InputStream} without consuming it, by way of
+   * {@link InputStream#mark(int)} and {@link InputStream#reset()}. If the stream does not support marking, it is not read, and
+   * {@link InputStream#toString()} is returned instead.
+   *
+   * @param in The {@link InputStream}.
+   * @param limit The maximum number of bytes to preview.
+   * @return The rendering of the preview of the provided {@link InputStream}.
+   * @throws UncheckedIOException If an I/O error has occurred.
+   */
+  static String peek(final InputStream in, final int limit) {
+    if (!in.markSupported())
+      return in.toString();
+
+    final byte[] buf = new byte[limit + 1];
+    int size = 0;
+    try {
+      in.mark(buf.length);
+      try {
+        for (int len; size < buf.length && (len = in.read(buf, size, buf.length - size)) != -1; size += len); // [ST]
+      }
+      finally {
+        in.reset();
+      }
+    }
+    catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    return size > limit ? toString(buf, limit, size, false) : toString(buf, size, size, true);
+  }
+
+  private final byte[] preview;
+  private int limit;
+  private long position;
+  private long length;
+  private long marked;
+  private boolean eof;
+
+  /**
+   * Creates a new {@link PreviewInputStream} that retains a preview of at most {@code limit} leading bytes of the provided
+   * {@link InputStream}.
+   *
+   * @param in The {@link InputStream}.
+   * @param limit The maximum number of bytes to preview.
+   */
+  PreviewInputStream(final InputStream in, final int limit) {
+    super(in);
+    this.preview = new byte[limit];
+    this.limit = limit;
+  }
+
+  private void advance(final long len) {
+    position += len;
+    if (position > length)
+      length = position;
+  }
+
+  @Override
+  public int read() throws IOException {
+    final int by = in.read();
+    if (by == -1) {
+      eof = true;
+    }
+    else {
+      if (position < limit)
+        preview[(int)position] = (byte)by;
+
+      advance(1);
+    }
+
+    return by;
+  }
+
+  @Override
+  public int read(final byte[] b, final int off, final int len) throws IOException {
+    final int count = in.read(b, off, len);
+    if (count == -1) {
+      eof = true;
+    }
+    else {
+      if (position < limit)
+        System.arraycopy(b, off, preview, (int)position, (int)Math.min(count, limit - position));
+
+      advance(count);
+    }
+
+    return count;
+  }
+
+  @Override
+  public long skip(final long n) throws IOException {
+    final long skipped = in.skip(n);
+    if (skipped > 0 && position < limit)
+      limit = (int)position;
+
+    advance(skipped);
+    return skipped;
+  }
+
+  @Override
+  public synchronized void mark(final int readlimit) {
+    in.mark(readlimit);
+    marked = position;
+  }
+
+  @Override
+  public synchronized void reset() throws IOException {
+    in.reset();
+    position = marked;
+  }
+
+  /**
+   * Returns a rendering of the bytes that have been read from this stream so far, which is limited to the preview, followed by the
+   * total number of bytes of the stream (if it has been read to its end), or the number of bytes read so far (otherwise). If no bytes
+   * have been read yet, a preview of the underlying stream is rendered as per {@link #peek(InputStream,int)}.
+   *
+   * @return A rendering of the bytes that have been read from this stream so far.
+   */
+  @Override
+  public String toString() {
+    final int size = (int)Math.min(length, limit);
+    return size == 0 && !eof ? peek(in, preview.length) : toString(preview, size, length, eof);
+  }
+}
\ No newline at end of file
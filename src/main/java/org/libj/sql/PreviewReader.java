@@ -0,0 +1,178 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+
+/**
+ * A {@link FilterReader} that is handed to the driver in place of an {@link Reader} parameter of an
+ * {@link AuditPreparedStatement}, which retains a bounded preview of the leading characters as they are read by the driver, and counts the
+ * total number of characters read. The payload of the reader is never buffered beyond the preview.
+ */
+final class PreviewReader extends FilterReader {
+  /**
+   * Renders the provided preview characters as a quoted SQL literal, followed by the length of the reader if the preview is
+   * truncated, i.e. {@code "'Lorem ipsum'... (1048576 chars)"}.
+   *
+   * @param buf The buffer of preview characters.
+   * @param size The number of preview characters in {@code buf}.
+   * @param length The total number of characters of the reader, or the number of characters known so far if {@code complete} is
+   *          {@code false}.
+   * @param complete Whether {@code length} is the total number of characters of the reader.
+   * @return The rendering of the provided preview characters.
+   */
+  static String toString(final char[] buf, final int size, final long length, final boolean complete) {
+    final StringBuilder b = new StringBuilder(size + 32).append('\'').append(buf, 0, size).append('\'');
+    if (complete && size == length)
+      return b.toString();
+
+    b.append("... (");
+    if (!complete)
+      b.append("at least ");
+
+    return b.append(length).append(" chars)").toString();
+  }
+
+  /**
+   * Renders a preview of at most {@code limit} leading characters of the provided {@link Reader} without consuming it, by way of
+   * {@link Reader#mark(int)} and {@link Reader#reset()}. If the reader does not support marking, it is not read, and
+   * {@link Reader#toString()} is returned instead.
+   *
+   * @param in The {@link Reader}.
+   * @param limit The maximum number of characters to preview.
+   * @return The rendering of the preview of the provided {@link Reader}.
+   * @throws UncheckedIOException If an I/O error has occurred.
+   */
+  static String peek(final Reader in, final int limit) {
+    if (!in.markSupported())
+      return in.toString();
+
+    final char[] buf = new char[limit + 1];
+    int size = 0;
+    try {
+      in.mark(buf.length);
+      try {
+        for (int len; size < buf.length && (len = in.read(buf, size, buf.length - size)) != -1; size += len); // [ST]
+      }
+      finally {
+        in.reset();
+      }
+    }
+    catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    return size > limit ? toString(buf, limit, size, false) : toString(buf, size, size, true);
+  }
+
+  private final char[] preview;
+  private int limit;
+  private long position;
+  private long length;
+  private long marked;
+  private boolean eof;
+
+  /**
+   * Creates a new {@link PreviewReader} that retains a preview of at most {@code limit} leading characters of the provided
+   * {@link Reader}.
+   *
+   * @param in The {@link Reader}.
+   * @param limit The maximum number of characters to preview.
+   */
+  PreviewReader(final Reader in, final int limit) {
+    super(in);
+    this.preview = new char[limit];
+    this.limit = limit;
+  }
+
+  private void advance(final long len) {
+    position += len;
+    if (position > length)
+      length = position;
+  }
+
+  @Override
+  public int read() throws IOException {
+    final int ch = in.read();
+    if (ch == -1) {
+      eof = true;
+    }
+    else {
+      if (position < limit)
+        preview[(int)position] = (char)ch;
+
+      advance(1);
+    }
+
+    return ch;
+  }
+
+  @Override
+  public int read(final char[] b, final int off, final int len) throws IOException {
+    final int count = in.read(b, off, len);
+    if (count == -1) {
+      eof = true;
+    }
+    else {
+      if (position < limit)
+        System.arraycopy(b, off, preview, (int)position, (int)Math.min(count, limit - position));
+
+      advance(count);
+    }
+
+    return count;
+  }
+
+  @Override
+  public long skip(final long n) throws IOException {
+    final long skipped = in.skip(n);
+    if (skipped > 0 && position < limit)
+      limit = (int)position;
+
+    advance(skipped);
+    return skipped;
+  }
+
+  @Override
+  public void mark(final int readAheadLimit) throws IOException {
+    in.mark(readAheadLimit);
+    marked = position;
+  }
+
+  @Override
+  public void reset() throws IOException {
+    in.reset();
+    position = marked;
+  }
+
+  /**
+   * Returns a rendering of the characters that have been read from this reader so far, which is limited to the preview, followed by
+   * the total number of characters of the reader (if it has been read to its end), or the number of characters read so far
+   * (otherwise). If no characters have been read yet, a preview of the underlying reader is rendered as per
+   * {@link #peek(Reader,int)}.
+   *
+   * @return A rendering of the characters that have been read from this reader so far.
+   */
+  @Override
+  public String toString() {
+    final int size = (int)Math.min(length, limit);
+    return size == 0 && !eof ? peek(in, preview.length) : toString(preview, size, length, eof);
+  }
+}
\ No newline at end of file
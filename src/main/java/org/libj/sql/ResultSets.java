@@ -18,6 +18,13 @@ package org.libj.sql;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.libj.sql.exception.UncheckedSQLException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -74,6 +81,154 @@ public final class ResultSets {
     return size;
   }
 
+  /**
+   * A {@link Spliterator} of the rows of a {@link ResultSet}. Each row is read and mapped on the thread that advances this
+   * spliterator, and {@link #trySplit()} reads the next chunk of rows into an array, which is returned as a spliterator that can be
+   * traversed by another thread. Since a spliterator is never advanced or split concurrently, the {@link ResultSet} is accessed by
+   * one thread at a time.
+   */
+  private static final class RowSpliterator<T> implements Spliterator<T> {
+    private final ResultSet resultSet;
+    private final RowMapper<T> mapper;
+    private final int unit;
+    private final int maxChunk;
+    private int chunk;
+    private boolean done;
+
+    private RowSpliterator(final ResultSet resultSet, final RowMapper<T> mapper, final int unit, final int maxChunk) {
+      this.resultSet = resultSet;
+      this.mapper = mapper;
+      this.unit = unit;
+      this.maxChunk = maxChunk;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+      if (done)
+        return false;
+
+      try {
+        if (!resultSet.next()) {
+          done = true;
+          return false;
+        }
+
+        action.accept(mapper.map(resultSet));
+        return true;
+      }
+      catch (final SQLException e) {
+        done = true;
+        throw new UncheckedSQLException(e);
+      }
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+      if (done)
+        return;
+
+      try {
+        while (resultSet.next())
+          action.accept(mapper.map(resultSet));
+      }
+      catch (final SQLException e) {
+        throw new UncheckedSQLException(e);
+      }
+      finally {
+        done = true;
+      }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+      if (done)
+        return null;
+
+      final int size = chunk = Math.min(chunk + unit, maxChunk);
+      final Object[] rows = new Object[size];
+      int i = 0;
+      try {
+        for (; i < size && resultSet.next(); ++i) // [A]
+          rows[i] = mapper.map(resultSet);
+      }
+      catch (final SQLException e) {
+        done = true;
+        throw new UncheckedSQLException(e);
+      }
+
+      if (i < size)
+        done = true;
+
+      return i == 0 ? null : Spliterators.spliterator(rows, 0, i, ORDERED);
+    }
+
+    @Override
+    public long estimateSize() {
+      return done ? 0 : Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED;
+    }
+  }
+
+  private static <T> Stream<T> stream(final ResultSet resultSet, final RowMapper<T> mapper, final int unit, final int maxChunk) {
+    if (resultSet == null)
+      throw new NullPointerException("resultSet is null");
+
+    if (mapper == null)
+      throw new NullPointerException("mapper is null");
+
+    return StreamSupport.stream(new RowSpliterator<>(resultSet, mapper, unit, maxChunk), false).onClose(() -> {
+      final SQLException e = close(resultSet);
+      if (e != null)
+        throw new UncheckedSQLException(e);
+    });
+  }
+
+  /**
+   * Returns a sequential, ordered {@link Stream} of the rows of the provided {@link ResultSet}, mapped with the provided
+   * {@link RowMapper}. Closing the stream closes the {@link ResultSet}.
+   * <p>
+   * The rows are read from the {@link ResultSet} on the thread that consumes the stream. If the stream is made
+   * {@linkplain Stream#parallel() parallel}, the rows are read in chunks of growing size (of {@code 1024}, {@code 2048}, ... rows)
+   * into arrays, which are processed in parallel while the next chunk is read, so that the processing of large results can be
+   * parallelized without reading the whole result into memory, and without concurrent access to the {@link ResultSet}.
+   * <p>
+   * A {@link SQLException} that is thrown while the stream is consumed is rethrown as an {@link UncheckedSQLException}.
+   *
+   * @param <T> The type of the elements of the stream.
+   * @param resultSet The {@link ResultSet}.
+   * @param mapper The {@link RowMapper} of the rows of the {@link ResultSet}.
+   * @return A {@link Stream} of the rows of the provided {@link ResultSet}, mapped with the provided {@link RowMapper}.
+   * @throws NullPointerException If {@code resultSet} or {@code mapper} is null.
+   */
+  public static <T> Stream<T> stream(final ResultSet resultSet, final RowMapper<T> mapper) {
+    return stream(resultSet, mapper, 1 << 10, 1 << 25);
+  }
+
+  /**
+   * Returns a sequential, ordered {@link Stream} of the rows of the provided {@link ResultSet}, mapped with the provided
+   * {@link RowMapper}, which is split into chunks of {@code chunkSize} rows if it is made {@linkplain Stream#parallel() parallel}.
+   * Closing the stream closes the {@link ResultSet}.
+   *
+   * @param <T> The type of the elements of the stream.
+   * @param resultSet The {@link ResultSet}.
+   * @param mapper The {@link RowMapper} of the rows of the {@link ResultSet}.
+   * @param chunkSize The number of rows of the chunks that are processed in parallel.
+   * @return A {@link Stream} of the rows of the provided {@link ResultSet}, mapped with the provided {@link RowMapper}.
+   * @throws IllegalArgumentException If {@code chunkSize} is not positive.
+   * @throws NullPointerException If {@code resultSet} or {@code mapper} is null.
+   * @see #stream(ResultSet,RowMapper)
+   */
+  public static <T> Stream<T> stream(final ResultSet resultSet, final RowMapper<T> mapper, final int chunkSize) {
+    if (chunkSize <= 0)
+      throw new IllegalArgumentException("chunkSize (" + chunkSize + ") must be positive");
+
+    return stream(resultSet, mapper, chunkSize, chunkSize);
+  }
+
   private ResultSets() {
   }
 }
\ No newline at end of file
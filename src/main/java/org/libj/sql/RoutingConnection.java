@@ -0,0 +1,1249 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.RowId;
+import java.sql.SQLClientInfoException;
+import java.sql.SQLException;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link DelegateConnection} that routes statements to a primary {@link Connection} or to one of a set of replica
+ * {@link Connection}s, so that read traffic is offloaded to the replicas without changes to the application. The primary connection
+ * is the {@linkplain #getTarget() target} of all methods that are not specific to statements.
+ * <p>
+ * A statement is routed to a replica if this connection is in auto-commit mode, and either:
+ * <ul>
+ * <li>this connection is {@linkplain #setReadOnly(boolean) read-only}, or</li>
+ * <li>the statement is a {@link PreparedStatement} whose SQL is a query as per {@link #isQuery(String)}.</li>
+ * </ul>
+ * All other statements, including {@link java.sql.CallableStatement}s and all statements within a transaction, are routed to the
+ * primary connection, so that a transaction reads its own writes.
+ * <p>
+ * Among the replicas, a statement is routed to the replica with the fewest outstanding (i.e. open) statements. If a replica fails to
+ * create the statement, the statement is routed to the primary connection instead.
+ * <p>
+ * The route of a statement is checked again when it is executed: a statement of a replica is rerouted to the primary connection if
+ * a transaction has begun or this connection is no longer read-only, or if the replica rejects it with a read-only violation
+ * (SQLState {@code 25006}), as it does for a query that writes, such as {@code SELECT nextval('s')}. The parameters, fetch size,
+ * maximum field size, maximum rows and query timeout of the statement are set on its replacement, and a statement that is rerouted
+ * remains on the primary connection. A query whose side effects a replica does not reject, such as
+ * {@code SELECT pg_advisory_lock(1)}, which would lock the replica rather than the primary, must be prepared within a transaction.
+ * <p>
+ * The session state that is set on this connection (its {@linkplain #setCatalog(String) catalog}, {@linkplain #setSchema(String)
+ * schema}, {@linkplain #setTransactionIsolation(int) transaction isolation}, {@linkplain #setClientInfo(Properties) client info}
+ * and {@linkplain #setNetworkTimeout(Executor,int) network timeout}) is set on the primary connection, and is recorded to be applied
+ * to each replica before the next statement that is routed to it.
+ */
+public class RoutingConnection implements DelegateConnection {
+  private static final Logger logger = LoggerFactory.getLogger(RoutingConnection.class);
+  private static final int CATALOG = 0x1;
+  private static final int SCHEMA = 0x2;
+  private static final int TRANSACTION_ISOLATION = 0x4;
+  private static final int CLIENT_INFO = 0x8;
+  private static final int NETWORK_TIMEOUT = 0x10;
+  private static final Binder[] NO_PARAMETERS = {};
+
+  private static boolean isKeyword(final String fingerprint, final int start, final int end, final String keyword) {
+    return end - start == keyword.length() && fingerprint.regionMatches(start, keyword, 0, end - start);
+  }
+
+  /**
+   * Returns whether the provided SQL is a query that can be executed on a replica, which is the case for a {@code SELECT} statement
+   * (or a {@code WITH} statement with a {@code SELECT} body) that contains no {@code INTO} clause, no locking clause (i.e.
+   * {@code FOR UPDATE}) and no data-modifying keywords (i.e. {@code INSERT}, {@code UPDATE}, {@code DELETE}, {@code MERGE}). The SQL
+   * is classified by the words of its {@link SQLFingerprint}, so that comments, literals and quoted identifiers are not mistaken for
+   * keywords. The functions that are called by the query are not inspected, so a query that calls a function with side effects (e.g.
+   * {@code nextval} or {@code pg_advisory_lock}) is also classified as a query.
+   *
+   * @param sql The SQL statement.
+   * @return Whether the provided SQL is a query that can be executed on a replica.
+   * @throws NullPointerException If {@code sql} is null.
+   */
+  public static boolean isQuery(final String sql) {
+    final String fingerprint = SQLFingerprint.of(sql).getFingerprint();
+    boolean select = false;
+    int prevStart = 0;
+    int prevEnd = 0;
+    for (int i = 0, i$ = fingerprint.length(); i < i$; ++i) { // [$]
+      final char ch = fingerprint.charAt(i);
+      if (ch == '"' || ch == '`') {
+        for (++i; i < i$ && fingerprint.charAt(i) != ch; ++i); // [ST]
+        continue;
+      }
+
+      if (!SQLScanner.isNameChar(ch))
+        continue;
+
+      final int start = i;
+      for (; i + 1 < i$ && SQLScanner.isNameChar(fingerprint.charAt(i + 1)); ++i); // [ST]
+      final int end = i + 1;
+      if (prevEnd == 0) {
+        if (!isKeyword(fingerprint, start, end, "select") && !isKeyword(fingerprint, start, end, "with"))
+          return false;
+      }
+      else if (isKeyword(fingerprint, start, end, "insert") || isKeyword(fingerprint, start, end, "update") || isKeyword(fingerprint, start, end, "delete") || isKeyword(fingerprint, start, end, "merge") || isKeyword(fingerprint, start, end, "into")) {
+        return false;
+      }
+      else if (isKeyword(fingerprint, start, end, "share") && (isKeyword(fingerprint, prevStart, prevEnd, "for") || isKeyword(fingerprint, prevStart, prevEnd, "key") || isKeyword(fingerprint, prevStart, prevEnd, "in"))) {
+        return false;
+      }
+
+      if (isKeyword(fingerprint, start, end, "select"))
+        select = true;
+
+      prevStart = start;
+      prevEnd = end;
+    }
+
+    return select;
+  }
+
+  private final class RoutedStatement implements DelegateStatement {
+    private final Factory<Statement> factory;
+    private Statement target;
+    private int index;
+    private boolean closed;
+
+    private RoutedStatement(final Factory<Statement> factory, final Statement target, final int index) {
+      this.factory = factory;
+      this.target = target;
+      this.index = index;
+    }
+
+    @Override
+    public Statement getTarget() {
+      return target;
+    }
+
+    @Override
+    public Connection getConnection() {
+      return RoutingConnection.this;
+    }
+
+    /**
+     * Reroutes this statement to the primary connection if it is routed to a replica, and the provided SQL is no longer to be
+     * executed on a replica.
+     *
+     * @param sql The SQL statement to be executed.
+     * @throws SQLException If a database access error occurs.
+     */
+    private void route(final String sql) throws SQLException {
+      if (index != replicas.length && !closed && !isReplicable(readOnly || isQuery(sql))) {
+        target = toPrimary(target, index, factory);
+        index = replicas.length;
+      }
+    }
+
+    /**
+     * Reroutes this statement to the primary connection if it is routed to a replica and the provided {@link SQLException} is a
+     * read-only violation of the replica, or otherwise throws the provided {@link SQLException}.
+     *
+     * @param e The {@link SQLException} of the execution.
+     * @throws SQLException If the statement cannot be rerouted.
+     */
+    private void reroute(final SQLException e) throws SQLException {
+      if (index == replicas.length || closed || !isReadOnlyViolation(e))
+        throw e;
+
+      try {
+        target = toPrimary(target, index, factory);
+        index = replicas.length;
+      }
+      catch (final SQLException e1) {
+        e1.addSuppressed(e);
+        throw e1;
+      }
+    }
+
+    @Override
+    public ResultSet executeQuery(final String sql) throws SQLException {
+      route(sql);
+      try {
+        return target.executeQuery(sql);
+      }
+      catch (final SQLException e) {
+        reroute(e);
+        return target.executeQuery(sql);
+      }
+    }
+
+    @Override
+    public int executeUpdate(final String sql) throws SQLException {
+      route(sql);
+      try {
+        return target.executeUpdate(sql);
+      }
+      catch (final SQLException e) {
+        reroute(e);
+        return target.executeUpdate(sql);
+      }
+    }
+
+    @Override
+    public int executeUpdate(final String sql, final int autoGeneratedKeys) throws SQLException {
+      route(sql);
+      try {
+        return target.executeUpdate(sql, autoGeneratedKeys);
+      }
+      catch (final SQLException e) {
+        reroute(e);
+        return target.executeUpdate(sql, autoGeneratedKeys);
+      }
+    }
+
+    @Override
+    public int executeUpdate(final String sql, final int[] columnIndexes) throws SQLException {
+      route(sql);
+      try {
+        return target.executeUpdate(sql, columnIndexes);
+      }
+      catch (final SQLException e) {
+        reroute(e);
+        return target.executeUpdate(sql, columnIndexes);
+      }
+    }
+
+    @Override
+    public int executeUpdate(final String sql, final String[] columnNames) throws SQLException {
+      route(sql);
+      try {
+        return target.executeUpdate(sql, columnNames);
+      }
+      catch (final SQLException e) {
+        reroute(e);
+        return target.executeUpdate(sql, columnNames);
+      }
+    }
+
+    @Override
+    public boolean execute(final String sql) throws SQLException {
+      route(sql);
+      try {
+        return target.execute(sql);
+      }
+      catch (final SQLException e) {
+        reroute(e);
+        return target.execute(sql);
+      }
+    }
+
+    @Override
+    public boolean execute(final String sql, final int autoGeneratedKeys) throws SQLException {
+      route(sql);
+      try {
+        return target.execute(sql, autoGeneratedKeys);
+      }
+      catch (final SQLException e) {
+        reroute(e);
+        return target.execute(sql, autoGeneratedKeys);
+      }
+    }
+
+    @Override
+    public boolean execute(final String sql, final int[] columnIndexes) throws SQLException {
+      route(sql);
+      try {
+        return target.execute(sql, columnIndexes);
+      }
+      catch (final SQLException e) {
+        reroute(e);
+        return target.execute(sql, columnIndexes);
+      }
+    }
+
+    @Override
+    public boolean execute(final String sql, final String[] columnNames) throws SQLException {
+      route(sql);
+      try {
+        return target.execute(sql, columnNames);
+      }
+      catch (final SQLException e) {
+        reroute(e);
+        return target.execute(sql, columnNames);
+      }
+    }
+
+    @Override
+    public void addBatch(final String sql) throws SQLException {
+      if (index != replicas.length && !closed) {
+        target = toPrimary(target, index, factory);
+        index = replicas.length;
+      }
+
+      target.addBatch(sql);
+    }
+
+    @Override
+    public void close() throws SQLException {
+      if (!closed) {
+        closed = true;
+        outstanding.decrementAndGet(index);
+      }
+
+      target.close();
+    }
+
+    @Override
+    public String toString() {
+      return target.toString();
+    }
+  }
+
+  private final class RoutedPreparedStatement implements DelegatePreparedStatement {
+    private final Factory<PreparedStatement> factory;
+    private final boolean isQuery;
+    private PreparedStatement target;
+    private int index;
+    private boolean closed;
+
+    // The binders of the parameters, which are recorded while the statement is routed to a replica, so that they can be bound again
+    // if it is rerouted to the primary connection
+    private Binder[] parameters;
+
+    private RoutedPreparedStatement(final Factory<PreparedStatement> factory, final boolean isQuery, final PreparedStatement target, final int index) {
+      this.factory = factory;
+      this.isQuery = isQuery;
+      this.target = target;
+      this.index = index;
+      if (index != replicas.length)
+        parameters = NO_PARAMETERS;
+    }
+
+    @Override
+    public PreparedStatement getTarget() {
+      return target;
+    }
+
+    @Override
+    public Connection getConnection() {
+      return RoutingConnection.this;
+    }
+
+    private void record(final int parameterIndex, final Binder binder) {
+      if (parameterIndex < 1)
+        return;
+
+      if (parameterIndex > parameters.length)
+        parameters = Arrays.copyOf(parameters, parameterIndex);
+
+      parameters[parameterIndex - 1] = binder;
+    }
+
+    private void reroute() throws SQLException {
+      final PreparedStatement statement = toPrimary(target, index, factory);
+      final Binder[] parameters = this.parameters;
+      target = statement;
+      index = replicas.length;
+      this.parameters = null;
+      for (int i = 0, i$ = parameters.length; i < i$; ++i) { // [A]
+        final Binder binder = parameters[i];
+        if (binder != null)
+          binder.bind(statement, i + 1);
+      }
+    }
+
+    /**
+     * Reroutes this statement to the primary connection if it is routed to a replica, and is no longer to be executed on a replica.
+     *
+     * @throws SQLException If a database access error occurs.
+     */
+    private void route() throws SQLException {
+      if (index != replicas.length && !closed && !isReplicable(readOnly || isQuery))
+        reroute();
+    }
+
+    /**
+     * Reroutes this statement to the primary connection if it is routed to a replica and the provided {@link SQLException} is a
+     * read-only violation of the replica, or otherwise throws the provided {@link SQLException}.
+     *
+     * @param e The {@link SQLException} of the execution.
+     * @throws SQLException If the statement cannot be rerouted.
+     */
+    private void reroute(final SQLException e) throws SQLException {
+      if (index == replicas.length || closed || !isReadOnlyViolation(e))
+        throw e;
+
+      try {
+        reroute();
+      }
+      catch (final SQLException e1) {
+        e1.addSuppressed(e);
+        throw e1;
+      }
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+      route();
+      try {
+        return target.executeQuery();
+      }
+      catch (final SQLException e) {
+        reroute(e);
+        return target.executeQuery();
+      }
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+      route();
+      try {
+        return target.executeUpdate();
+      }
+      catch (final SQLException e) {
+        reroute(e);
+        return target.executeUpdate();
+      }
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+      route();
+      try {
+        return target.execute();
+      }
+      catch (final SQLException e) {
+        reroute(e);
+        return target.execute();
+      }
+    }
+
+    @Override
+    public void addBatch() throws SQLException {
+      if (index != replicas.length && !closed)
+        reroute();
+
+      target.addBatch();
+    }
+
+    @Override
+    public void clearParameters() throws SQLException {
+      target.clearParameters();
+      if (parameters != null)
+        parameters = NO_PARAMETERS;
+    }
+
+    @Override
+    public void setNull(final int parameterIndex, final int sqlType) throws SQLException {
+      target.setNull(parameterIndex, sqlType);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setNull(i, sqlType));
+    }
+
+    @Override
+    public void setBoolean(final int parameterIndex, final boolean x) throws SQLException {
+      target.setBoolean(parameterIndex, x);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setBoolean(i, x));
+    }
+
+    @Override
+    public void setByte(final int parameterIndex, final byte x) throws SQLException {
+      target.setByte(parameterIndex, x);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setByte(i, x));
+    }
+
+    @Override
+    public void setShort(final int parameterIndex, final short x) throws SQLException {
+      target.setShort(parameterIndex, x);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setShort(i, x));
+    }
+
+    @Override
+    public void setInt(final int parameterIndex, final int x) throws SQLException {
+      target.setInt(parameterIndex, x);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setInt(i, x));
+    }
+
+    @Override
+    public void setLong(final int parameterIndex, final long x) throws SQLException {
+      target.setLong(parameterIndex, x);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setLong(i, x));
+    }
+
+    @Override
+    public void setFloat(final int parameterIndex, final float x) throws SQLException {
+      target.setFloat(parameterIndex, x);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setFloat(i, x));
+    }
+
+    @Override
+    public void setDouble(final int parameterIndex, final double x) throws SQLException {
+      target.setDouble(parameterIndex, x);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setDouble(i, x));
+    }
+
+    @Override
+    public void setBigDecimal(final int parameterIndex, final BigDecimal x) throws SQLException {
+      target.setBigDecimal(parameterIndex, x);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setBigDecimal(i, x));
+    }
+
+    @Override
+    public void setString(final int parameterIndex, final String x) throws SQLException {
+      target.setString(parameterIndex, x);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setString(i, x));
+    }
+
+    @Override
+    public void setBytes(final int parameterIndex, final byte[] x) throws SQLException {
+      target.setBytes(parameterIndex, x);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setBytes(i, x));
+    }
+
+    @Override
+    public void setDate(final int parameterIndex, final Date x) throws SQLException {
+      target.setDate(parameterIndex, x);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setDate(i, x));
+    }
+
+    @Override
+    public void setTime(final int parameterIndex, final Time x) throws SQLException {
+      target.setTime(parameterIndex, x);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setTime(i, x));
+    }
+
+    @Override
+    public void setTimestamp(final int parameterIndex, final Timestamp x) throws SQLException {
+      target.setTimestamp(parameterIndex, x);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setTimestamp(i, x));
+    }
+
+    @Override
+    public void setAsciiStream(final int parameterIndex, final InputStream x, final int length) throws SQLException {
+      target.setAsciiStream(parameterIndex, x, length);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setAsciiStream(i, x, length));
+    }
+
+    @Override
+    @Deprecated// (since="1.2")
+    public void setUnicodeStream(final int parameterIndex, final InputStream x, final int length) throws SQLException {
+      target.setUnicodeStream(parameterIndex, x, length);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setUnicodeStream(i, x, length));
+    }
+
+    @Override
+    public void setBinaryStream(final int parameterIndex, final InputStream x, final int length) throws SQLException {
+      target.setBinaryStream(parameterIndex, x, length);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setBinaryStream(i, x, length));
+    }
+
+    @Override
+    public void setObject(final int parameterIndex, final Object x, final int targetSqlType, final int scale) throws SQLException {
+      target.setObject(parameterIndex, x, targetSqlType, scale);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setObject(i, x, targetSqlType, scale));
+    }
+
+    @Override
+    public void setObject(final int parameterIndex, final Object x, final int targetSqlType) throws SQLException {
+      target.setObject(parameterIndex, x, targetSqlType);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setObject(i, x, targetSqlType));
+    }
+
+    @Override
+    public void setObject(final int parameterIndex, final Object x) throws SQLException {
+      target.setObject(parameterIndex, x);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setObject(i, x));
+    }
+
+    @Override
+    public void setCharacterStream(final int parameterIndex, final Reader reader, final int length) throws SQLException {
+      target.setCharacterStream(parameterIndex, reader, length);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setCharacterStream(i, reader, length));
+    }
+
+    @Override
+    public void setRef(final int parameterIndex, final Ref x) throws SQLException {
+      target.setRef(parameterIndex, x);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setRef(i, x));
+    }
+
+    @Override
+    public void setBlob(final int parameterIndex, final Blob x) throws SQLException {
+      target.setBlob(parameterIndex, x);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setBlob(i, x));
+    }
+
+    @Override
+    public void setClob(final int parameterIndex, final Clob x) throws SQLException {
+      target.setClob(parameterIndex, x);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setClob(i, x));
+    }
+
+    @Override
+    public void setArray(final int parameterIndex, final Array x) throws SQLException {
+      target.setArray(parameterIndex, x);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setArray(i, x));
+    }
+
+    @Override
+    public void setDate(final int parameterIndex, final Date x, final Calendar cal) throws SQLException {
+      target.setDate(parameterIndex, x, cal);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setDate(i, x, cal));
+    }
+
+    @Override
+    public void setTime(final int parameterIndex, final Time x, final Calendar cal) throws SQLException {
+      target.setTime(parameterIndex, x, cal);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setTime(i, x, cal));
+    }
+
+    @Override
+    public void setTimestamp(final int parameterIndex, final Timestamp x, final Calendar cal) throws SQLException {
+      target.setTimestamp(parameterIndex, x, cal);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setTimestamp(i, x, cal));
+    }
+
+    @Override
+    public void setNull(final int paramIndex, final int sqlType, final String typeName) throws SQLException {
+      target.setNull(paramIndex, sqlType, typeName);
+      if (parameters != null)
+        record(paramIndex, (s, i) -> s.setNull(i, sqlType, typeName));
+    }
+
+    @Override
+    public void setURL(final int parameterIndex, final URL x) throws SQLException {
+      target.setURL(parameterIndex, x);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setURL(i, x));
+    }
+
+    @Override
+    public void setRowId(final int parameterIndex, final RowId x) throws SQLException {
+      target.setRowId(parameterIndex, x);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setRowId(i, x));
+    }
+
+    @Override
+    public void setNString(final int parameterIndex, final String value) throws SQLException {
+      target.setNString(parameterIndex, value);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setNString(i, value));
+    }
+
+    @Override
+    public void setNCharacterStream(final int parameterIndex, final Reader value, final long length) throws SQLException {
+      target.setNCharacterStream(parameterIndex, value, length);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setNCharacterStream(i, value, length));
+    }
+
+    @Override
+    public void setNClob(final int parameterIndex, final NClob value) throws SQLException {
+      target.setNClob(parameterIndex, value);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setNClob(i, value));
+    }
+
+    @Override
+    public void setClob(final int parameterIndex, final Reader reader, final long length) throws SQLException {
+      target.setClob(parameterIndex, reader, length);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setClob(i, reader, length));
+    }
+
+    @Override
+    public void setBlob(final int parameterIndex, final InputStream inputStream, final long length) throws SQLException {
+      target.setBlob(parameterIndex, inputStream, length);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setBlob(i, inputStream, length));
+    }
+
+    @Override
+    public void setNClob(final int parameterIndex, final Reader reader, final long length) throws SQLException {
+      target.setNClob(parameterIndex, reader, length);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setNClob(i, reader, length));
+    }
+
+    @Override
+    public void setSQLXML(final int parameterIndex, final SQLXML xmlObject) throws SQLException {
+      target.setSQLXML(parameterIndex, xmlObject);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setSQLXML(i, xmlObject));
+    }
+
+    @Override
+    public void setAsciiStream(final int parameterIndex, final InputStream x, final long length) throws SQLException {
+      target.setAsciiStream(parameterIndex, x, length);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setAsciiStream(i, x, length));
+    }
+
+    @Override
+    public void setBinaryStream(final int parameterIndex, final InputStream x, final long length) throws SQLException {
+      target.setBinaryStream(parameterIndex, x, length);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setBinaryStream(i, x, length));
+    }
+
+    @Override
+    public void setCharacterStream(final int parameterIndex, final Reader reader, final long length) throws SQLException {
+      target.setCharacterStream(parameterIndex, reader, length);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setCharacterStream(i, reader, length));
+    }
+
+    @Override
+    public void setAsciiStream(final int parameterIndex, final InputStream x) throws SQLException {
+      target.setAsciiStream(parameterIndex, x);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setAsciiStream(i, x));
+    }
+
+    @Override
+    public void setBinaryStream(final int parameterIndex, final InputStream x) throws SQLException {
+      target.setBinaryStream(parameterIndex, x);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setBinaryStream(i, x));
+    }
+
+    @Override
+    public void setCharacterStream(final int parameterIndex, final Reader reader) throws SQLException {
+      target.setCharacterStream(parameterIndex, reader);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setCharacterStream(i, reader));
+    }
+
+    @Override
+    public void setNCharacterStream(final int parameterIndex, final Reader value) throws SQLException {
+      target.setNCharacterStream(parameterIndex, value);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setNCharacterStream(i, value));
+    }
+
+    @Override
+    public void setClob(final int parameterIndex, final Reader reader) throws SQLException {
+      target.setClob(parameterIndex, reader);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setClob(i, reader));
+    }
+
+    @Override
+    public void setBlob(final int parameterIndex, final InputStream inputStream) throws SQLException {
+      target.setBlob(parameterIndex, inputStream);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setBlob(i, inputStream));
+    }
+
+    @Override
+    public void setNClob(final int parameterIndex, final Reader reader) throws SQLException {
+      target.setNClob(parameterIndex, reader);
+      if (parameters != null)
+        record(parameterIndex, (s, i) -> s.setNClob(i, reader));
+    }
+
+    @Override
+    public void close() throws SQLException {
+      if (!closed) {
+        closed = true;
+        outstanding.decrementAndGet(index);
+      }
+
+      target.close();
+    }
+
+    @Override
+    public String toString() {
+      return target.toString();
+    }
+  }
+
+  @FunctionalInterface
+  private interface Binder {
+    void bind(PreparedStatement statement, int parameterIndex) throws SQLException;
+  }
+
+  @FunctionalInterface
+  private interface Factory<T extends Statement> {
+    T create(Connection connection) throws SQLException;
+  }
+
+  private final Connection primary;
+  private final Connection[] replicas;
+  private final AtomicIntegerArray outstanding;
+  private final AtomicInteger next = new AtomicInteger();
+  private volatile Boolean autoCommit;
+  private volatile boolean readOnly;
+
+  // The session state that is applied to the replicas, and the version of the state that was last applied to each replica
+  private final AtomicInteger version = new AtomicInteger();
+  private final AtomicIntegerArray applied;
+  private volatile int modified;
+  private volatile String catalog;
+  private volatile String schema;
+  private volatile int transactionIsolation;
+  private volatile Properties clientInfo;
+  private volatile Executor networkTimeoutExecutor;
+  private volatile int networkTimeout;
+
+  /**
+   * Creates a new {@link RoutingConnection} with the provided primary and replica {@link Connection}s.
+   *
+   * @param primary The primary {@link Connection}, to which writes and all methods that are not specific to statements are delegated.
+   * @param replicas The replica {@link Connection}s, to which reads are routed.
+   * @throws NullPointerException If {@code primary}, {@code replicas}, or any member of {@code replicas} is null.
+   */
+  public RoutingConnection(final Connection primary, final Connection ... replicas) {
+    if (primary == null)
+      throw new NullPointerException("primary is null");
+
+    for (final Connection replica : replicas) // [A]
+      if (replica == null)
+        throw new NullPointerException("replica is null");
+
+    this.primary = primary;
+    this.replicas = replicas.clone();
+    // The last slot counts the outstanding statements of the primary connection
+    this.outstanding = new AtomicIntegerArray(replicas.length + 1);
+    this.applied = new AtomicIntegerArray(replicas.length);
+  }
+
+  @Override
+  public Connection getTarget() {
+    return primary;
+  }
+
+  /**
+   * Returns the number of outstanding (i.e. open) statements of the replica at the provided index, or of the primary connection if
+   * {@code replica} is the number of replicas.
+   *
+   * @param replica The index of the replica.
+   * @return The number of outstanding statements of the replica at the provided index.
+   * @throws IndexOutOfBoundsException If {@code replica} is negative or greater than the number of replicas.
+   */
+  public int getOutstanding(final int replica) {
+    return outstanding.get(replica);
+  }
+
+  /**
+   * Returns the index of the replica with the fewest outstanding statements, starting the search at a rotating offset so that ties
+   * are broken in round-robin order, or the index of the primary connection if there are no replicas.
+   *
+   * @return The index of the replica with the fewest outstanding statements.
+   */
+  private int selectReplica() {
+    final int length = replicas.length;
+    if (length <= 1)
+      return 0;
+
+    final int offset = (next.getAndIncrement() & Integer.MAX_VALUE) % length;
+    int min = offset;
+    int minOutstanding = outstanding.get(offset);
+    for (int i = 1; i < length && minOutstanding > 0; ++i) {
+      final int index = (offset + i) % length;
+      final int count = outstanding.get(index);
+      if (count < minOutstanding) {
+        minOutstanding = count;
+        min = index;
+      }
+    }
+
+    return min;
+  }
+
+  /**
+   * Returns the index of the connection to which a statement is to be routed, which is the number of replicas for the primary
+   * connection.
+   *
+   * @param isQuery Whether the statement is a query.
+   * @return The index of the connection to which a statement is to be routed.
+   * @throws SQLException If a database access error occurs.
+   */
+  private int select(final boolean isQuery) throws SQLException {
+    return replicas.length == 0 || !isReplicable(readOnly || isQuery) ? replicas.length : selectReplica();
+  }
+
+  /**
+   * Returns whether a statement can be executed on a replica, which is the case if this connection is in auto-commit mode, and the
+   * statement is a query or this connection is read-only.
+   *
+   * @param isQuery Whether the statement is a query, or this connection is read-only.
+   * @return Whether a statement can be executed on a replica.
+   * @throws SQLException If a database access error occurs.
+   */
+  private boolean isReplicable(final boolean isQuery) throws SQLException {
+    if (!isQuery)
+      return false;
+
+    Boolean autoCommit = this.autoCommit;
+    if (autoCommit == null)
+      this.autoCommit = autoCommit = primary.getAutoCommit();
+
+    return autoCommit;
+  }
+
+  /**
+   * Returns whether the provided {@link SQLException} is a read-only violation (SQLState {@code 25006}), which a replica raises for a
+   * query that writes, such as {@code SELECT nextval('s')}.
+   *
+   * @param e The {@link SQLException}.
+   * @return Whether the provided {@link SQLException} is a read-only violation.
+   */
+  private static boolean isReadOnlyViolation(final SQLException e) {
+    return "25006".equals(e.getSQLState());
+  }
+
+  /**
+   * Returns a new statement on the primary connection that replaces the provided statement of the replica at the provided index,
+   * with the fetch size, maximum field size, maximum rows and query timeout of the provided statement, and closes the provided
+   * statement.
+   *
+   * @param <T> The type of the statement.
+   * @param statement The statement of the replica.
+   * @param index The index of the replica.
+   * @param factory The {@link Factory} with which the statement was created.
+   * @return A new statement on the primary connection that replaces the provided statement.
+   * @throws SQLException If a database access error occurs.
+   */
+  private <T extends Statement> T toPrimary(final T statement, final int index, final Factory<T> factory) throws SQLException {
+    final T rerouted = factory.create(primary);
+    try {
+      rerouted.setFetchSize(statement.getFetchSize());
+      rerouted.setMaxFieldSize(statement.getMaxFieldSize());
+      rerouted.setMaxRows(statement.getMaxRows());
+      rerouted.setQueryTimeout(statement.getQueryTimeout());
+    }
+    catch (final SQLException e) {
+      try {
+        rerouted.close();
+      }
+      catch (final SQLException e1) {
+        e.addSuppressed(e1);
+      }
+
+      throw e;
+    }
+
+    outstanding.decrementAndGet(index);
+    outstanding.incrementAndGet(replicas.length);
+    try {
+      statement.close();
+    }
+    catch (final SQLException e) {
+      if (logger.isWarnEnabled()) { logger.warn(statement.getClass().getName() + ".close(): " + e.getMessage()); }
+    }
+
+    return rerouted;
+  }
+
+  /**
+   * Returns the connection at the provided index, which is the number of replicas for the primary connection, after applying the
+   * session state that was set on this connection to it if it is a replica to which the state has not yet been applied.
+   *
+   * @param index The index of the connection.
+   * @return The connection at the provided index.
+   * @throws SQLException If a database access error occurs while applying the session state to a replica.
+   */
+  private Connection getConnection(final int index) throws SQLException {
+    if (index == replicas.length)
+      return primary;
+
+    final Connection replica = replicas[index];
+    final int version = this.version.get();
+    if (applied.get(index) != version) {
+      final int modified = this.modified;
+      if ((modified & CATALOG) != 0)
+        replica.setCatalog(catalog);
+
+      if ((modified & SCHEMA) != 0)
+        replica.setSchema(schema);
+
+      if ((modified & TRANSACTION_ISOLATION) != 0)
+        replica.setTransactionIsolation(transactionIsolation);
+
+      if ((modified & CLIENT_INFO) != 0)
+        replica.setClientInfo(clientInfo);
+
+      if ((modified & NETWORK_TIMEOUT) != 0)
+        replica.setNetworkTimeout(networkTimeoutExecutor, networkTimeout);
+
+      applied.set(index, version);
+    }
+
+    return replica;
+  }
+
+  /**
+   * Records that the session state of the provided property has been modified, so that it is applied to each replica before the next
+   * statement that is routed to it.
+   *
+   * @param property The property.
+   */
+  private void modified(final int property) {
+    modified |= property;
+    version.incrementAndGet();
+  }
+
+  private Statement routeStatement(final Factory<Statement> factory) throws SQLException {
+    int index = select(false);
+    Statement statement;
+    try {
+      statement = factory.create(getConnection(index));
+    }
+    catch (final SQLException e) {
+      if (index == replicas.length)
+        throw e;
+
+      statement = factory.create(primary);
+      index = replicas.length;
+    }
+
+    outstanding.incrementAndGet(index);
+    return new RoutedStatement(factory, statement, index);
+  }
+
+  private PreparedStatement routePreparedStatement(final String sql, final Factory<PreparedStatement> factory) throws SQLException {
+    final boolean isQuery = isQuery(sql);
+    int index = select(isQuery);
+    PreparedStatement statement;
+    try {
+      statement = factory.create(getConnection(index));
+    }
+    catch (final SQLException e) {
+      if (index == replicas.length)
+        throw e;
+
+      statement = factory.create(primary);
+      index = replicas.length;
+    }
+
+    outstanding.incrementAndGet(index);
+    return new RoutedPreparedStatement(factory, isQuery, statement, index);
+  }
+
+  @Override
+  public void setAutoCommit(final boolean autoCommit) throws SQLException {
+    this.autoCommit = null;
+    primary.setAutoCommit(autoCommit);
+    this.autoCommit = autoCommit;
+  }
+
+  @Override
+  public boolean getAutoCommit() throws SQLException {
+    final Boolean autoCommit = this.autoCommit;
+    return autoCommit != null ? autoCommit : (this.autoCommit = primary.getAutoCommit());
+  }
+
+  @Override
+  public void setReadOnly(final boolean readOnly) throws SQLException {
+    primary.setReadOnly(readOnly);
+    this.readOnly = readOnly;
+  }
+
+  @Override
+  public boolean isReadOnly() {
+    return readOnly;
+  }
+
+  @Override
+  public void setCatalog(final String catalog) throws SQLException {
+    primary.setCatalog(catalog);
+    this.catalog = catalog;
+    modified(CATALOG);
+  }
+
+  @Override
+  public void setSchema(final String schema) throws SQLException {
+    primary.setSchema(schema);
+    this.schema = schema;
+    modified(SCHEMA);
+  }
+
+  @Override
+  public void setTransactionIsolation(final int level) throws SQLException {
+    primary.setTransactionIsolation(level);
+    this.transactionIsolation = level;
+    modified(TRANSACTION_ISOLATION);
+  }
+
+  @Override
+  public void setClientInfo(final String name, final String value) throws SQLClientInfoException {
+    primary.setClientInfo(name, value);
+    final Properties clientInfo = new Properties();
+    if (this.clientInfo != null)
+      clientInfo.putAll(this.clientInfo);
+
+    if (value != null)
+      clientInfo.setProperty(name, value);
+    else
+      clientInfo.remove(name);
+
+    this.clientInfo = clientInfo;
+    modified(CLIENT_INFO);
+  }
+
+  @Override
+  public void setClientInfo(final Properties properties) throws SQLClientInfoException {
+    primary.setClientInfo(properties);
+    final Properties clientInfo = new Properties();
+    if (properties != null)
+      clientInfo.putAll(properties);
+
+    this.clientInfo = clientInfo;
+    modified(CLIENT_INFO);
+  }
+
+  @Override
+  public void setNetworkTimeout(final Executor executor, final int milliseconds) throws SQLException {
+    primary.setNetworkTimeout(executor, milliseconds);
+    this.networkTimeoutExecutor = executor;
+    this.networkTimeout = milliseconds;
+    modified(NETWORK_TIMEOUT);
+  }
+
+  @Override
+  public Statement createStatement() throws SQLException {
+    return routeStatement((final Connection c) -> c.createStatement());
+  }
+
+  @Override
+  public Statement createStatement(final int resultSetType, final int resultSetConcurrency) throws SQLException {
+    return routeStatement((final Connection c) -> c.createStatement(resultSetType, resultSetConcurrency));
+  }
+
+  @Override
+  public Statement createStatement(final int resultSetType, final int resultSetConcurrency, final int resultSetHoldability) throws SQLException {
+    return routeStatement((final Connection c) -> c.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability));
+  }
+
+  @Override
+  public PreparedStatement prepareStatement(final String sql) throws SQLException {
+    return routePreparedStatement(sql, (final Connection c) -> c.prepareStatement(sql));
+  }
+
+  @Override
+  public PreparedStatement prepareStatement(final String sql, final int resultSetType, final int resultSetConcurrency) throws SQLException {
+    return routePreparedStatement(sql, (final Connection c) -> c.prepareStatement(sql, resultSetType, resultSetConcurrency));
+  }
+
+  @Override
+  public PreparedStatement prepareStatement(final String sql, final int resultSetType, final int resultSetConcurrency, final int resultSetHoldability) throws SQLException {
+    return routePreparedStatement(sql, (final Connection c) -> c.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability));
+  }
+
+  @Override
+  public PreparedStatement prepareStatement(final String sql, final int autoGeneratedKeys) throws SQLException {
+    return routePreparedStatement(sql, (final Connection c) -> c.prepareStatement(sql, autoGeneratedKeys));
+  }
+
+  @Override
+  public PreparedStatement prepareStatement(final String sql, final int[] columnIndexes) throws SQLException {
+    return routePreparedStatement(sql, (final Connection c) -> c.prepareStatement(sql, columnIndexes));
+  }
+
+  @Override
+  public PreparedStatement prepareStatement(final String sql, final String[] columnNames) throws SQLException {
+    return routePreparedStatement(sql, (final Connection c) -> c.prepareStatement(sql, columnNames));
+  }
+
+  /**
+   * Closes the primary connection and all replica connections.
+   *
+   * @throws SQLException If a database access error occurs while closing any of the connections, in which case the exceptions of the
+   *           other connections are added as {@linkplain Throwable#addSuppressed(Throwable) suppressed} exceptions.
+   */
+  @Override
+  public void close() throws SQLException {
+    SQLException exception = AuditConnection.close(primary);
+    for (final Connection replica : replicas) { // [A]
+      final SQLException e = AuditConnection.close(replica);
+      if (e != null) {
+        if (exception == null)
+          exception = e;
+        else
+          exception.addSuppressed(e);
+      }
+    }
+
+    if (exception != null)
+      throw exception;
+  }
+
+  @Override
+  public boolean isClosed() throws SQLException {
+    return primary.isClosed();
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    return primary.equals(obj);
+  }
+
+  @Override
+  public int hashCode() {
+    return primary.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return primary.toString();
+  }
+}
\ No newline at end of file
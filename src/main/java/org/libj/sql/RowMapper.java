@@ -0,0 +1,40 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+
+package org.libj.sql;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * A function that maps the current row of a {@link ResultSet} to an object.
+ *
+ * @param <T> The type of the object.
+ * @see RowMappers
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+  /**
+   * Returns the object of the current row of the provided {@link ResultSet}. This method must not move the cursor of the
+   * {@link ResultSet}.
+   *
+   * @param resultSet The {@link ResultSet}.
+   * @return The object of the current row of the provided {@link ResultSet}.
+   * @throws SQLException If a database access error occurs.
+   */
+  T map(ResultSet resultSet) throws SQLException;
+}
\ No newline at end of file
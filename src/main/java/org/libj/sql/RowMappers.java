@@ -0,0 +1,334 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+
+package org.libj.sql;
+
+import java.beans.ConstructorProperties;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Utility functions for the compilation of {@link RowMapper}s that map the rows of a {@link ResultSet} to instances of a class.
+ * <p>
+ * The columns of the {@link ResultSet} are matched to the properties of the class by name, ignoring case and underscores (i.e. the
+ * column {@code FIRST_NAME} matches the property {@code firstName}). If the class has a no-arg constructor, the properties are its
+ * non-static, non-final and non-transient fields (including the inherited fields), and columns that do not match a field are
+ * ignored. Otherwise, the properties are the parameters of its constructor with the most parameters, the names of which are taken
+ * from {@link ConstructorProperties} or (if compiled with {@code -parameters}) from the class file, and each parameter must match a
+ * column.
+ * <p>
+ * Each property is read with the getter of the {@link ResultSet} for its type (i.e. {@link ResultSet#getInt(int)} for an
+ * {@code int}, and {@link ResultSet#getInt(int)} followed by {@link ResultSet#wasNull()} for an {@link Integer}), and the getters,
+ * the constructor and the field setters are composed into a single {@link MethodHandle} when the mapper is compiled, so that no
+ * reflection and no boxing of primitive values takes place per row. Mappers are cached by column labels with each class (so that the
+ * cache does not retain a class, or its {@link ClassLoader}, beyond its lifetime), for up to {@code org.libj.sql.RowMappers.cacheSize}
+ * (default: 1024) distinct combinations of column labels per class.
+ */
+public final class RowMappers {
+  private static final int cacheSize = Math.max(0, Integer.getInteger("org.libj.sql.RowMappers.cacheSize", 1024));
+  private static final ClassValue<ConcurrentHashMap<List<String>,RowMapper<?>>> cache = new ClassValue<ConcurrentHashMap<List<String>,RowMapper<?>>>() {
+    @Override
+    protected ConcurrentHashMap<List<String>,RowMapper<?>> computeValue(final Class<?> type) {
+      return new ConcurrentHashMap<>();
+    }
+  };
+  private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+  private static final MethodType mapperType = MethodType.methodType(Object.class, ResultSet.class);
+  private static final HashMap<Class<?>,MethodHandle> getters = new HashMap<>();
+
+  static {
+    try {
+      getter(int.class, "getInt");
+      getter(long.class, "getLong");
+      getter(double.class, "getDouble");
+      getter(float.class, "getFloat");
+      getter(short.class, "getShort");
+      getter(byte.class, "getByte");
+      getter(boolean.class, "getBoolean");
+      getter(String.class, "getString");
+      getter(BigDecimal.class, "getBigDecimal");
+      getter(byte[].class, "getBytes");
+      getter(Date.class, "getDate");
+      getter(Time.class, "getTime");
+      getter(Timestamp.class, "getTimestamp");
+      for (final String name : new String[] {"getInteger", "getLong", "getDouble", "getFloat", "getShort", "getByte", "getBoolean"}) { // [A]
+        final MethodHandle getter = lookup.findStatic(RowMappers.class, name, MethodType.methodType(Object.class, ResultSet.class, int.class));
+        getters.put(Class.forName("java.lang." + name.substring(3)), getter);
+      }
+    }
+    catch (final ClassNotFoundException | IllegalAccessException | NoSuchMethodException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private static void getter(final Class<?> type, final String name) throws IllegalAccessException, NoSuchMethodException {
+    getters.put(type, lookup.findVirtual(ResultSet.class, name, MethodType.methodType(type, int.class)));
+  }
+
+  private static Object getInteger(final ResultSet resultSet, final int columnIndex) throws SQLException {
+    final int value = resultSet.getInt(columnIndex);
+    return resultSet.wasNull() ? null : value;
+  }
+
+  private static Object getLong(final ResultSet resultSet, final int columnIndex) throws SQLException {
+    final long value = resultSet.getLong(columnIndex);
+    return resultSet.wasNull() ? null : value;
+  }
+
+  private static Object getDouble(final ResultSet resultSet, final int columnIndex) throws SQLException {
+    final double value = resultSet.getDouble(columnIndex);
+    return resultSet.wasNull() ? null : value;
+  }
+
+  private static Object getFloat(final ResultSet resultSet, final int columnIndex) throws SQLException {
+    final float value = resultSet.getFloat(columnIndex);
+    return resultSet.wasNull() ? null : value;
+  }
+
+  private static Object getShort(final ResultSet resultSet, final int columnIndex) throws SQLException {
+    final short value = resultSet.getShort(columnIndex);
+    return resultSet.wasNull() ? null : value;
+  }
+
+  private static Object getByte(final ResultSet resultSet, final int columnIndex) throws SQLException {
+    final byte value = resultSet.getByte(columnIndex);
+    return resultSet.wasNull() ? null : value;
+  }
+
+  private static Object getBoolean(final ResultSet resultSet, final int columnIndex) throws SQLException {
+    final boolean value = resultSet.getBoolean(columnIndex);
+    return resultSet.wasNull() ? null : value;
+  }
+
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private static Object getEnum(final Class<? extends Enum> type, final ResultSet resultSet, final int columnIndex) throws SQLException {
+    final String value = resultSet.getString(columnIndex);
+    return value == null ? null : Enum.valueOf(type, value);
+  }
+
+  private static final class CompiledRowMapper<T> implements RowMapper<T> {
+    private final MethodHandle handle;
+
+    private CompiledRowMapper(final MethodHandle handle) {
+      this.handle = handle.asType(mapperType);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T map(final ResultSet resultSet) throws SQLException {
+      try {
+        return (T)handle.invokeExact(resultSet);
+      }
+      catch (final SQLException | RuntimeException | Error e) {
+        throw e;
+      }
+      catch (final Throwable t) {
+        throw new SQLException(t);
+      }
+    }
+  }
+
+  private static String normalize(final String name) {
+    final StringBuilder b = new StringBuilder(name.length());
+    for (int i = 0, i$ = name.length(); i < i$; ++i) { // [$]
+      final char ch = name.charAt(i);
+      if (ch != '_')
+        b.append(ch);
+    }
+
+    return b.toString().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Returns a {@link MethodHandle} of type {@code (ResultSet)type} that reads the provided column with the getter of the
+   * {@link ResultSet} for the provided type.
+   */
+  private static MethodHandle getter(final Class<?> type, final int columnIndex) throws IllegalAccessException, NoSuchMethodException {
+    MethodHandle getter = getters.get(type);
+    if (getter == null) {
+      if (type.isEnum()) {
+        getter = MethodHandles.insertArguments(lookup.findStatic(RowMappers.class, "getEnum", MethodType.methodType(Object.class, Class.class, ResultSet.class, int.class)), 0, type);
+      }
+      else {
+        final MethodHandle getObject = lookup.findVirtual(ResultSet.class, "getObject", MethodType.methodType(Object.class, int.class, Class.class));
+        getter = MethodHandles.insertArguments(getObject, 2, type.isPrimitive() ? Object.class : type);
+      }
+    }
+
+    return MethodHandles.insertArguments(getter, 1, columnIndex).asType(MethodType.methodType(type, ResultSet.class));
+  }
+
+  private static <T> MethodHandle compile(final Class<T> type, final HashMap<String,Integer> columns) throws IllegalAccessException, NoSuchMethodException, SQLException {
+    Constructor<?> constructor = null;
+    for (final Constructor<?> candidate : type.getDeclaredConstructors()) { // [A]
+      if (candidate.getParameterCount() == 0) {
+        candidate.setAccessible(true);
+        return compileFields(type, lookup.unreflectConstructor(candidate), columns);
+      }
+
+      if (constructor == null || candidate.getParameterCount() > constructor.getParameterCount())
+        constructor = candidate;
+    }
+
+    if (constructor == null)
+      throw new IllegalArgumentException(type.getName() + " has no constructor");
+
+    constructor.setAccessible(true);
+    final Parameter[] parameters = constructor.getParameters();
+    final ConstructorProperties properties = constructor.getAnnotation(ConstructorProperties.class);
+    MethodHandle handle = lookup.unreflectConstructor(constructor);
+    for (int i = 0; i < parameters.length; ++i) { // [A]
+      final String name;
+      if (properties != null && i < properties.value().length)
+        name = properties.value()[i];
+      else if (parameters[i].isNamePresent())
+        name = parameters[i].getName();
+      else
+        throw new IllegalArgumentException("Names of the parameters of " + constructor + " are not available: annotate it with @ConstructorProperties, or compile with -parameters");
+
+      final Integer columnIndex = columns.get(normalize(name));
+      if (columnIndex == null)
+        throw new SQLException("No column for parameter \"" + name + "\" of " + constructor, "42S22");
+
+      handle = MethodHandles.filterArguments(handle, i, getter(parameters[i].getType(), columnIndex));
+    }
+
+    // Collapse the (ResultSet, ResultSet, ...) parameters into a single ResultSet parameter
+    return MethodHandles.permuteArguments(handle, MethodType.methodType(type, ResultSet.class), new int[parameters.length]);
+  }
+
+  private static <T> MethodHandle compileFields(final Class<T> type, final MethodHandle constructor, final HashMap<String,Integer> columns) throws IllegalAccessException, NoSuchMethodException {
+    final ArrayList<Field> fields = new ArrayList<>();
+    final ArrayList<Integer> columnIndexes = new ArrayList<>();
+    for (Class<?> cls = type; cls != null && cls != Object.class; cls = cls.getSuperclass()) {
+      for (final Field field : cls.getDeclaredFields()) { // [A]
+        final int modifiers = field.getModifiers();
+        if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic())
+          continue;
+
+        final Integer columnIndex = columns.get(normalize(field.getName()));
+        if (columnIndex != null) {
+          fields.add(field);
+          columnIndexes.add(columnIndex);
+        }
+      }
+    }
+
+    // (T,ResultSet)T, which returns the T after the field setters are applied
+    MethodHandle handle = MethodHandles.dropArguments(MethodHandles.identity(type), 1, ResultSet.class);
+    // Fold the setters in reverse order, so that they are applied in the order of the fields
+    for (int i = fields.size() - 1; i >= 0; --i) { // [RA]
+      final Field field = fields.get(i);
+      field.setAccessible(true);
+      final MethodHandle setter = MethodHandles.filterArguments(lookup.unreflectSetter(field), 1, getter(field.getType(), columnIndexes.get(i)));
+      handle = MethodHandles.foldArguments(handle, setter.asType(MethodType.methodType(void.class, type, ResultSet.class)));
+    }
+
+    return MethodHandles.foldArguments(handle, constructor);
+  }
+
+  /**
+   * Returns a {@link RowMapper} that maps the rows of a {@link ResultSet} with the provided {@link ResultSetMetaData} to instances of
+   * the provided class.
+   *
+   * @param <T> The type parameter of the class.
+   * @param type The class.
+   * @param metaData The {@link ResultSetMetaData} of the {@link ResultSet}.
+   * @return A {@link RowMapper} that maps the rows of a {@link ResultSet} with the provided {@link ResultSetMetaData} to instances of
+   *         the provided class.
+   * @throws SQLException If a database access error occurs, or if a parameter of the constructor of the class does not match a
+   *           column.
+   * @throws IllegalArgumentException If the class cannot be instantiated, or if the names of the parameters of its constructor are not
+   *           available.
+   * @throws NullPointerException If {@code type} or {@code metaData} is null.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> RowMapper<T> of(final Class<T> type, final ResultSetMetaData metaData) throws SQLException {
+    final int columnCount = metaData.getColumnCount();
+    final String[] labels = new String[columnCount];
+    for (int i = 0; i < columnCount; ++i) // [A]
+      labels[i] = metaData.getColumnLabel(i + 1);
+
+    final ConcurrentHashMap<List<String>,RowMapper<?>> mappers = cacheSize > 0 ? cache.get(type) : null;
+    final List<String> key = Arrays.asList(labels);
+    RowMapper<T> mapper = mappers == null ? null : (RowMapper<T>)mappers.get(key);
+    if (mapper != null)
+      return mapper;
+
+    final HashMap<String,Integer> columns = new HashMap<>(columnCount * 2);
+    for (int i = columnCount - 1; i >= 0; --i) // [A]
+      columns.put(normalize(labels[i]), i + 1);
+
+    if (Modifier.isAbstract(type.getModifiers()) || type.isInterface() || type.isPrimitive() || type.isArray())
+      throw new IllegalArgumentException(type.getName() + " cannot be instantiated");
+
+    try {
+      mapper = new CompiledRowMapper<>(compile(type, columns));
+    }
+    catch (final IllegalAccessException | NoSuchMethodException e) {
+      throw new IllegalArgumentException(e);
+    }
+
+    if (mappers != null) {
+      if (mappers.size() >= cacheSize)
+        mappers.clear();
+
+      mappers.put(key, mapper);
+    }
+
+    return mapper;
+  }
+
+  /**
+   * Returns a {@link RowMapper} that maps the rows of the provided {@link ResultSet} to instances of the provided class.
+   *
+   * @param <T> The type parameter of the class.
+   * @param type The class.
+   * @param resultSet The {@link ResultSet}.
+   * @return A {@link RowMapper} that maps the rows of the provided {@link ResultSet} to instances of the provided class.
+   * @throws SQLException If a database access error occurs, or if a parameter of the constructor of the class does not match a
+   *           column.
+   * @throws IllegalArgumentException If the class cannot be instantiated, or if the names of the parameters of its constructor are not
+   *           available.
+   * @throws NullPointerException If {@code type} or {@code resultSet} is null.
+   * @see #of(Class,ResultSetMetaData)
+   */
+  public static <T> RowMapper<T> of(final Class<T> type, final ResultSet resultSet) throws SQLException {
+    return of(type, resultSet.getMetaData());
+  }
+
+  private RowMappers() {
+  }
+}
\ No newline at end of file
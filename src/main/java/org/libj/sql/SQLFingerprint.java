@@ -0,0 +1,267 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The canonical digest of a SQL statement, which identifies the "shape" of the statement irrespective of its literal values and
+ * formatting, so that executions of like statements can be aggregated. The fingerprint of a SQL statement is computed in a single
+ * pass, with the same quote and escape rules as the rendering of parameters by {@link AuditPreparedStatement#toString()}:
+ * <ul>
+ * <li>String and numeric literals, {@code ?} parameters, {@code :name} parameters and {@code $1} parameters are replaced with
+ * {@code ?}.</li>
+ * <li>Comments are removed, runs of whitespace are collapsed to a single space, and unquoted text is lower-cased. Quoted
+ * identifiers are retained verbatim.</li>
+ * <li>Lists of parameters following {@code IN} are folded to {@code (?+)}, and repeated rows of parameters (i.e.
+ * {@code VALUES (?, ?), (?, ?)}) are folded to a single row.</li>
+ * </ul>
+ * For example, the fingerprint of {@code "SELECT * FROM foo WHERE a = 'x' AND b IN (1, 2,3) -- comment"} is
+ * {@code "select * from foo where a = ? and b in (?+)"}.
+ * <p>
+ * Fingerprints are obtained with {@link #of(String)}, which caches the fingerprints of up to
+ * {@code org.libj.sql.SQLFingerprint.cacheSize} (default: 4096) distinct SQL strings.
+ */
+public final class SQLFingerprint {
+  private static final int cacheSize = Math.max(0, Integer.getInteger("org.libj.sql.SQLFingerprint.cacheSize", 4096));
+  private static final ConcurrentHashMap<String,SQLFingerprint> cache = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the {@link SQLFingerprint} of the provided SQL statement. Fingerprints are cached by the provided {@code sql} string. Once
+   * the cache is full, it is cleared, so that the fingerprints of the statements that are executed most frequently are quickly
+   * re-cached.
+   *
+   * @param sql The SQL statement.
+   * @return The {@link SQLFingerprint} of the provided SQL statement.
+   * @throws NullPointerException If {@code sql} is null.
+   */
+  public static SQLFingerprint of(final String sql) {
+    SQLFingerprint fingerprint = cache.get(sql);
+    if (fingerprint != null)
+      return fingerprint;
+
+    fingerprint = new SQLFingerprint(normalize(sql));
+    if (cacheSize > 0) {
+      if (cache.size() >= cacheSize)
+        cache.clear();
+
+      cache.put(sql, fingerprint);
+    }
+
+    return fingerprint;
+  }
+
+  private static boolean isDigit(final char ch) {
+    return '0' <= ch && ch <= '9';
+  }
+
+  private static boolean isOperandPosition(final StringBuilder b, int n) {
+    if (n > 0 && b.charAt(n - 1) == ' ')
+      --n;
+
+    return n == 0 || "=<>(,+-*/%".indexOf(b.charAt(n - 1)) != -1;
+  }
+
+  private static boolean isParameterList(final StringBuilder b, final int start, final int end) {
+    if (end - start < 1 || b.charAt(start) != '?')
+      return false;
+
+    for (int i = start + 1; i < end; i += 3)
+      if (end - i < 3 || b.charAt(i) != ',' || b.charAt(i + 1) != ' ' || b.charAt(i + 2) != '?')
+        return false;
+
+    return true;
+  }
+
+  private static boolean endsWithIn(final StringBuilder b, int end) {
+    if (end > 0 && b.charAt(end - 1) == ' ')
+      --end;
+
+    return end >= 2 && b.charAt(end - 2) == 'i' && b.charAt(end - 1) == 'n' && (end == 2 || !SQLScanner.isNameChar(b.charAt(end - 3)));
+  }
+
+  private static boolean regionEquals(final StringBuilder b, final int start1, final int start2, final int len) {
+    for (int i = 0; i < len; ++i)
+      if (b.charAt(start1 + i) != b.charAt(start2 + i))
+        return false;
+
+    return true;
+  }
+
+  /**
+   * Returns the fingerprint of the provided SQL statement, without consulting the cache.
+   *
+   * @param sql The SQL statement.
+   * @return The fingerprint of the provided SQL statement.
+   * @throws NullPointerException If {@code sql} is null.
+   */
+  static String normalize(final String sql) {
+    final int len = sql.length();
+    final StringBuilder b = new StringBuilder(len);
+    int[] opens = new int[8];
+    int depth = 0;
+    int rowStart = -1;
+    int rowEnd = -1;
+    boolean space = false;
+    for (int i = 0; i < len; ++i) { // [$]
+      final char ch = sql.charAt(i);
+      final char next = i + 1 < len ? sql.charAt(i + 1) : '\0';
+      if (Character.isWhitespace(ch)) {
+        space = true;
+        continue;
+      }
+
+      int end = SQLScanner.skipComment(sql, i);
+      if (end != -1) {
+        i = end;
+        space = true;
+        continue;
+      }
+
+      int n = b.length();
+      final char last = n == 0 ? '\0' : b.charAt(n - 1);
+      if (space) {
+        space = false;
+        if (n > 0 && last != '(' && last != ' ' && ch != ')' && ch != ',') {
+          b.append(' ');
+          ++n;
+        }
+      }
+
+      if (ch == '\'') {
+        // Drop the prefix of N'', X'', B'' and E'' literals
+        if (n > 0 && (last == 'n' || last == 'x' || last == 'b' || last == 'e') && (n == 1 || !SQLScanner.isNameChar(b.charAt(n - 2))))
+          b.setLength(--n);
+
+        i = SQLScanner.skipQuoted(sql, i);
+        b.append('?');
+      }
+      else if ((end = SQLScanner.skipQuoted(sql, i)) != -1) {
+        b.append(sql, i, Math.min(end + 1, len));
+        i = end;
+      }
+      else if ((end = SQLScanner.skipNamedParameter(sql, i)) != -1) {
+        i = end;
+        b.append('?');
+      }
+      else if (ch == '$' && isDigit(next) && !SQLScanner.isNameChar(last)) {
+        for (++i; i + 1 < len && SQLScanner.isNameChar(sql.charAt(i + 1)); ++i); // [ST]
+        b.append('?');
+      }
+      else if ((isDigit(ch) || ch == '.' && isDigit(next)) && !SQLScanner.isNameChar(last) || (ch == '-' || ch == '+') && (isDigit(next) || next == '.') && isOperandPosition(b, n)) {
+        for (char c = ch, d; i + 1 < len; c = d) {
+          d = sql.charAt(i + 1);
+          if (SQLScanner.isNameChar(d) || d == '.' || (d == '+' || d == '-') && (c == 'e' || c == 'E') && (ch != '0' || next != 'x' && next != 'X'))
+            ++i;
+          else
+            break;
+        }
+
+        b.append('?');
+      }
+      else if (ch == '(') {
+        if (depth == opens.length)
+          opens = Arrays.copyOf(opens, depth * 2);
+
+        opens[depth++] = n;
+        b.append(ch);
+      }
+      else if (ch == ')' && depth > 0) {
+        final int open = opens[--depth];
+        if (!isParameterList(b, open + 1, n)) {
+          b.append(ch);
+        }
+        else if (endsWithIn(b, open)) {
+          b.setLength(open + 1);
+          b.append("?+)");
+        }
+        else if (open == rowEnd + 2 && b.charAt(rowEnd) == ',' && n - open == rowEnd - rowStart - 1 && regionEquals(b, rowStart, open, n - open)) {
+          b.setLength(rowEnd);
+        }
+        else {
+          b.append(ch);
+          rowStart = open;
+          rowEnd = b.length();
+        }
+      }
+      else if (ch == ',') {
+        b.append(ch);
+        space = true;
+      }
+      else {
+        b.append(Character.toLowerCase(ch));
+      }
+    }
+
+    return b.toString();
+  }
+
+  private final String fingerprint;
+  private final long hash;
+
+  private SQLFingerprint(final String fingerprint) {
+    this.fingerprint = fingerprint;
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0, i$ = fingerprint.length(); i < i$; ++i) { // [$]
+      hash ^= fingerprint.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+
+    this.hash = hash;
+  }
+
+  /**
+   * Returns the normalized SQL of this fingerprint.
+   *
+   * @return The normalized SQL of this fingerprint.
+   */
+  public String getFingerprint() {
+    return fingerprint;
+  }
+
+  /**
+   * Returns the 64-bit FNV-1a hash of the normalized SQL of this fingerprint.
+   *
+   * @return The 64-bit FNV-1a hash of the normalized SQL of this fingerprint.
+   */
+  public long getHash() {
+    return hash;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (obj == this)
+      return true;
+
+    if (!(obj instanceof SQLFingerprint))
+      return false;
+
+    final SQLFingerprint that = (SQLFingerprint)obj;
+    return hash == that.hash && fingerprint.equals(that.fingerprint);
+  }
+
+  @Override
+  public int hashCode() {
+    return (int)(hash ^ hash >>> 32);
+  }
+
+  @Override
+  public String toString() {
+    return fingerprint;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,143 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+/**
+ * The lexical rules by which the SQL of a statement is scanned for parameters, which are shared by the interpolation of the log
+ * entries of {@link AuditPreparedStatement}, the normalization of {@link SQLFingerprint}, and the parsing of
+ * {@link BatchRewritingPreparedStatement}, so that the same SQL is split into the same tokens by each.
+ * <ul>
+ * <li>String literals are delimited by {@code '}, in which {@code ''} and {@code \}-escapes do not terminate the literal.</li>
+ * <li>Quoted identifiers are delimited by {@code "} (in which {@code ""} and {@code \}-escapes do not terminate the identifier) or
+ * by {@code `} (in which {@code ``} does not terminate the identifier).</li>
+ * <li>Comments start with {@code --} (until the end of the line), or are delimited by {@code /*} and {@code *}{@code /}.</li>
+ * <li>Named parameters are {@code :name} or {@code :"name"}, but not the second colon of a {@code ::} cast.</li>
+ * </ul>
+ */
+final class SQLScanner {
+  /**
+   * Returns whether the provided character is part of an unquoted identifier, or of the name of a {@code :name} parameter.
+   *
+   * @param ch The character.
+   * @return Whether the provided character is part of an unquoted identifier, or of the name of a {@code :name} parameter.
+   */
+  static boolean isNameChar(final char ch) {
+    return ch == '#' || ch == '$' || '0' <= ch && ch <= '9' || '@' <= ch && ch <= 'Z' || ch == '_' || 'a' <= ch && ch <= 'z';
+  }
+
+  /**
+   * Returns the index of the closing quote of the string literal or quoted identifier that starts at the provided index of the SQL,
+   * {@code sql.length()} if it is not terminated, or {@code -1} if no string literal or quoted identifier starts at the index.
+   *
+   * @param sql The SQL.
+   * @param i The index of the character of the SQL at which to start.
+   * @return The index of the closing quote of the string literal or quoted identifier that starts at index {@code i}, or
+   *         {@code sql.length()} if it is not terminated, or {@code -1} if none starts at index {@code i}.
+   */
+  static int skipQuoted(final String sql, int i) {
+    final char quote = sql.charAt(i);
+    if (quote != '\'' && quote != '"' && quote != '`')
+      return -1;
+
+    for (final int len = sql.length(); ++i < len;) { // [$]
+      final char ch = sql.charAt(i);
+      if (ch == '\\' && quote != '`') {
+        ++i;
+      }
+      else if (ch == quote) {
+        if (i + 1 < len && sql.charAt(i + 1) == quote)
+          ++i;
+        else
+          return i;
+      }
+    }
+
+    return sql.length();
+  }
+
+  /**
+   * Returns the index of the last character of the comment that starts at the provided index of the SQL, {@code sql.length()} if it
+   * is a block comment that is not terminated, or {@code -1} if no comment starts at the index. The newline that ends a line comment
+   * is not part of the comment.
+   *
+   * @param sql The SQL.
+   * @param i The index of the character of the SQL at which to start.
+   * @return The index of the last character of the comment that starts at index {@code i}, {@code sql.length()} if it is a block
+   *         comment that is not terminated, or {@code -1} if none starts at index {@code i}.
+   */
+  static int skipComment(final String sql, final int i) {
+    final char ch = sql.charAt(i);
+    if (i + 1 == sql.length() || (ch != '-' && ch != '/'))
+      return -1;
+
+    final char next = sql.charAt(i + 1);
+    if (ch == '-' && next == '-') {
+      final int end = sql.indexOf('\n', i + 2);
+      return end == -1 ? sql.length() - 1 : end - 1;
+    }
+
+    if (ch == '/' && next == '*') {
+      final int end = sql.indexOf("*/", i + 2);
+      return end == -1 ? sql.length() : end + 1;
+    }
+
+    return -1;
+  }
+
+  /**
+   * Returns the index of the last character of the named parameter that starts at the provided index of the SQL, or {@code -1} if no
+   * named parameter starts at the index.
+   *
+   * @param sql The SQL.
+   * @param i The index of the character of the SQL at which to start.
+   * @return The index of the last character of the named parameter that starts at index {@code i}, or {@code -1} if none starts at
+   *         index {@code i}.
+   * @see #getParameterName(String,int,int)
+   */
+  static int skipNamedParameter(final String sql, int i) {
+    final int len = sql.length();
+    if (sql.charAt(i) != ':' || i + 1 == len || i > 0 && sql.charAt(i - 1) == ':')
+      return -1;
+
+    final char next = sql.charAt(i + 1);
+    if (next == '"') {
+      final int end = sql.indexOf('"', i + 2);
+      return end == -1 ? len - 1 : end;
+    }
+
+    if (!isNameChar(next))
+      return -1;
+
+    for (++i; i + 1 < len && isNameChar(sql.charAt(i + 1)); ++i); // [ST]
+    return i;
+  }
+
+  /**
+   * Returns the name of the named parameter that spans the provided indexes of the SQL, without its colon and quotes.
+   *
+   * @param sql The SQL.
+   * @param start The index of the colon of the named parameter.
+   * @param end The index of the last character of the named parameter, as returned by {@link #skipNamedParameter(String,int)}.
+   * @return The name of the named parameter that spans the provided indexes of the SQL.
+   */
+  static String getParameterName(final String sql, final int start, final int end) {
+    return sql.charAt(start + 1) != '"' ? sql.substring(start + 1, end + 1) : sql.substring(start + 2, sql.charAt(end) == '"' && end > start + 1 ? end : end + 1);
+  }
+
+  private SQLScanner() {
+  }
+}
\ No newline at end of file
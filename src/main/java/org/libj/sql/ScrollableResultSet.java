@@ -0,0 +1,169 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+
+package org.libj.sql;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * A {@link BufferedResultSet} of a fixed number of rows that are held by this result set, and which can therefore be scrolled in any
+ * direction. Subclasses provide the values of the rows by implementing {@link #getValue(int,int)}.
+ */
+abstract class ScrollableResultSet extends BufferedResultSet {
+  /** The number of rows of this result set, which is set by the subclass once the rows are buffered. */
+  int size;
+  private int cursor = -1;
+
+  /**
+   * Creates a new {@link ScrollableResultSet} with the {@link java.sql.Statement}, {@link java.sql.ResultSetMetaData} and fetch size
+   * of the provided {@link ResultSet}.
+   *
+   * @param resultSet The {@link ResultSet} from which this result set is buffered.
+   * @throws SQLException If a database access error occurs.
+   * @throws NullPointerException If {@code resultSet} is null.
+   */
+  ScrollableResultSet(final ResultSet resultSet) throws SQLException {
+    super(resultSet);
+  }
+
+  /**
+   * Returns the number of rows of this result set, in constant time.
+   *
+   * @return The number of rows of this result set.
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * Returns the value of the provided column of the provided row.
+   *
+   * @param row The index of the row, starting at {@code 0}.
+   * @param columnIndex The index of the column, starting at {@code 1}.
+   * @return The value of the provided column of the provided row.
+   * @throws SQLException If a database access error occurs.
+   */
+  abstract Object getValue(int row, int columnIndex) throws SQLException;
+
+  @Override
+  final Object getValue(final int columnIndex) throws SQLException {
+    return getValue(cursor(), columnIndex);
+  }
+
+  /**
+   * Returns the index of the current row, starting at {@code 0}.
+   *
+   * @return The index of the current row, starting at {@code 0}.
+   * @throws SQLException If this result set is closed, or if the cursor is not on a row.
+   */
+  final int cursor() throws SQLException {
+    checkOpen();
+    if (cursor < 0 || cursor >= size)
+      throw new SQLException("Cursor is not on a row", "24000");
+
+    return cursor;
+  }
+
+  private boolean moveTo(final int cursor) {
+    this.cursor = cursor < -1 ? -1 : cursor > size ? size : cursor;
+    return 0 <= this.cursor && this.cursor < size;
+  }
+
+  @Override
+  public boolean next() throws SQLException {
+    checkOpen();
+    return moveTo(cursor + 1);
+  }
+
+  @Override
+  public boolean previous() throws SQLException {
+    checkOpen();
+    return moveTo(cursor - 1);
+  }
+
+  @Override
+  public boolean isBeforeFirst() throws SQLException {
+    checkOpen();
+    return size > 0 && cursor == -1;
+  }
+
+  @Override
+  public boolean isAfterLast() throws SQLException {
+    checkOpen();
+    return size > 0 && cursor == size;
+  }
+
+  @Override
+  public boolean isFirst() throws SQLException {
+    checkOpen();
+    return size > 0 && cursor == 0;
+  }
+
+  @Override
+  public boolean isLast() throws SQLException {
+    checkOpen();
+    return size > 0 && cursor == size - 1;
+  }
+
+  @Override
+  public void beforeFirst() throws SQLException {
+    checkOpen();
+    cursor = -1;
+  }
+
+  @Override
+  public void afterLast() throws SQLException {
+    checkOpen();
+    cursor = size;
+  }
+
+  @Override
+  public boolean first() throws SQLException {
+    checkOpen();
+    return moveTo(size > 0 ? 0 : -1);
+  }
+
+  @Override
+  public boolean last() throws SQLException {
+    checkOpen();
+    return moveTo(size - 1);
+  }
+
+  @Override
+  public int getRow() throws SQLException {
+    checkOpen();
+    return 0 <= cursor && cursor < size ? cursor + 1 : 0;
+  }
+
+  @Override
+  public boolean absolute(final int row) throws SQLException {
+    checkOpen();
+    return moveTo(row > 0 ? row - 1 : row < 0 ? size + row : -1);
+  }
+
+  @Override
+  public boolean relative(final int rows) throws SQLException {
+    checkOpen();
+    return moveTo((int)Math.max(-1, Math.min(size, (long)cursor + rows)));
+  }
+
+  @Override
+  public int getType() throws SQLException {
+    return TYPE_SCROLL_INSENSITIVE;
+  }
+}
\ No newline at end of file
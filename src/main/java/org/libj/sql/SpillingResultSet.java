@@ -0,0 +1,488 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A disconnected, scrollable {@link DelegateResultSet} that holds all of the rows of another {@link ResultSet}, for results that must
+ * be scrolled or re-read, but may not fit in the heap. Rows are encoded in a compact binary format: the rows that fit in the memory
+ * limit are held in a {@code byte[]} on the heap, and the rest are spilled to a temporary file, which is memory-mapped once all rows
+ * have been read. An index of the offset of each row supports {@link #absolute(int)} and {@link #relative(int)} navigation in
+ * constant time, and the values of the current row are decoded when the cursor moves to it.
+ * <p>
+ * The source {@link ResultSet} is read to the end and closed by the constructor, so that its resources (and the connection, if the
+ * result set is the last use of it) are released as soon as the spill completes. The temporary file is deleted when this result set
+ * is closed.
+ * <p>
+ * Values are stored as returned by {@link ResultSet#getObject(int)}, with LOBs read into {@code byte[]} and {@link String}. Values of
+ * types that have no compact encoding are stored with Java serialization, and must therefore be {@link Serializable}.
+ */
+public class SpillingResultSet extends ScrollableResultSet {
+  private static final Logger logger = LoggerFactory.getLogger(SpillingResultSet.class);
+
+  /** The default number of bytes of encoded rows that are held in memory: 64MB. */
+  public static final long DEFAULT_MEMORY_LIMIT = 64L << 20;
+  private static final int SEGMENT_SIZE = 1 << 30;
+  private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+  private static final byte NULL = 0;
+  private static final byte FALSE = 1;
+  private static final byte TRUE = 2;
+  private static final byte BYTE = 3;
+  private static final byte SHORT = 4;
+  private static final byte INTEGER = 5;
+  private static final byte LONG = 6;
+  private static final byte FLOAT = 7;
+  private static final byte DOUBLE = 8;
+  private static final byte STRING = 9;
+  private static final byte BYTES = 10;
+  private static final byte BIG_DECIMAL = 11;
+  private static final byte BIG_INTEGER = 12;
+  private static final byte DATE = 13;
+  private static final byte TIME = 14;
+  private static final byte TIMESTAMP = 15;
+  private static final byte SERIALIZED = 16;
+
+  /**
+   * A growable buffer into which a row is encoded.
+   */
+  private static final class RowWriter {
+    private byte[] buf = new byte[256];
+    private int length;
+
+    private void ensureCapacity(final int n) throws SQLException {
+      final long capacity = (long)length + n;
+      if (capacity > buf.length) {
+        if (capacity > MAX_ARRAY_SIZE)
+          throw new SQLException("Row exceeds the maximum size of " + MAX_ARRAY_SIZE + " bytes", "22001");
+
+        buf = Arrays.copyOf(buf, (int)Math.min(MAX_ARRAY_SIZE, Math.max(capacity, (long)buf.length << 1)));
+      }
+    }
+
+    private void writeByte(final int b) throws SQLException {
+      ensureCapacity(1);
+      buf[length++] = (byte)b;
+    }
+
+    private void writeLong(final long v) throws SQLException {
+      ensureCapacity(8);
+      for (int i = 56; i >= 0; i -= 8)
+        buf[length++] = (byte)(v >>> i);
+    }
+
+    private void writeVarLong(long v) throws SQLException {
+      ensureCapacity(10);
+      for (; (v & ~0x7FL) != 0; v >>>= 7) // [ST]
+        buf[length++] = (byte)(v & 0x7F | 0x80);
+
+      buf[length++] = (byte)v;
+    }
+
+    private void writeSigned(final long v) throws SQLException {
+      writeVarLong(v << 1 ^ v >> 63);
+    }
+
+    private void writeBytes(final byte[] bytes) throws SQLException {
+      writeVarLong(bytes.length);
+      ensureCapacity(bytes.length);
+      System.arraycopy(bytes, 0, buf, length, bytes.length);
+      length += bytes.length;
+    }
+
+    private void write(final Object value) throws SQLException {
+      if (value == null) {
+        writeByte(NULL);
+      }
+      else if (value instanceof Boolean) {
+        writeByte((Boolean)value ? TRUE : FALSE);
+      }
+      else if (value instanceof Byte) {
+        writeByte(BYTE);
+        writeByte((Byte)value);
+      }
+      else if (value instanceof Short) {
+        writeByte(SHORT);
+        writeSigned((Short)value);
+      }
+      else if (value instanceof Integer) {
+        writeByte(INTEGER);
+        writeSigned((Integer)value);
+      }
+      else if (value instanceof Long) {
+        writeByte(LONG);
+        writeSigned((Long)value);
+      }
+      else if (value instanceof Float) {
+        writeByte(FLOAT);
+        writeVarLong(Integer.toUnsignedLong(Float.floatToRawIntBits((Float)value)));
+      }
+      else if (value instanceof Double) {
+        writeByte(DOUBLE);
+        writeLong(Double.doubleToRawLongBits((Double)value));
+      }
+      else if (value instanceof String) {
+        writeByte(STRING);
+        writeBytes(((String)value).getBytes(StandardCharsets.UTF_8));
+      }
+      else if (value instanceof byte[]) {
+        writeByte(BYTES);
+        writeBytes((byte[])value);
+      }
+      else if (value instanceof BigDecimal) {
+        final BigDecimal decimal = (BigDecimal)value;
+        writeByte(BIG_DECIMAL);
+        writeSigned(decimal.scale());
+        writeBytes(decimal.unscaledValue().toByteArray());
+      }
+      else if (value instanceof BigInteger) {
+        writeByte(BIG_INTEGER);
+        writeBytes(((BigInteger)value).toByteArray());
+      }
+      else if (value instanceof Timestamp) {
+        final Timestamp timestamp = (Timestamp)value;
+        writeByte(TIMESTAMP);
+        writeSigned(timestamp.getTime());
+        writeVarLong(timestamp.getNanos());
+      }
+      else if (value instanceof Date) {
+        writeByte(DATE);
+        writeSigned(((Date)value).getTime());
+      }
+      else if (value instanceof Time) {
+        writeByte(TIME);
+        writeSigned(((Time)value).getTime());
+      }
+      else if (value instanceof Serializable) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (final ObjectOutputStream oos = new ObjectOutputStream(out)) {
+          oos.writeObject(value);
+        }
+        catch (final IOException e) {
+          throw new SQLException("Cannot serialize " + value.getClass().getName(), "22000", e);
+        }
+
+        writeByte(SERIALIZED);
+        writeBytes(out.toByteArray());
+      }
+      else {
+        throw new SQLException("Cannot spill " + value.getClass().getName() + ", which is not " + Serializable.class.getName(), "22000");
+      }
+    }
+  }
+
+  private static long readVarLong(final ByteBuffer buffer) {
+    long v = 0;
+    for (int shift = 0;; shift += 7) {
+      final byte b = buffer.get();
+      v |= (long)(b & 0x7F) << shift;
+      if (b >= 0)
+        return v;
+    }
+  }
+
+  private static long readSigned(final ByteBuffer buffer) {
+    final long v = readVarLong(buffer);
+    return v >>> 1 ^ -(v & 1);
+  }
+
+  private static byte[] readBytes(final ByteBuffer buffer) {
+    final byte[] bytes = new byte[(int)readVarLong(buffer)];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  private static Object read(final ByteBuffer buffer) throws SQLException {
+    final byte tag = buffer.get();
+    switch (tag) {
+      case NULL:
+        return null;
+      case FALSE:
+        return Boolean.FALSE;
+      case TRUE:
+        return Boolean.TRUE;
+      case BYTE:
+        return buffer.get();
+      case SHORT:
+        return (short)readSigned(buffer);
+      case INTEGER:
+        return (int)readSigned(buffer);
+      case LONG:
+        return readSigned(buffer);
+      case FLOAT:
+        return Float.intBitsToFloat((int)readVarLong(buffer));
+      case DOUBLE:
+        return Double.longBitsToDouble(buffer.getLong());
+      case STRING:
+        return new String(readBytes(buffer), StandardCharsets.UTF_8);
+      case BYTES:
+        return readBytes(buffer);
+      case BIG_DECIMAL:
+        final int scale = (int)readSigned(buffer);
+        return new BigDecimal(new BigInteger(readBytes(buffer)), scale);
+      case BIG_INTEGER:
+        return new BigInteger(readBytes(buffer));
+      case DATE:
+        return new Date(readSigned(buffer));
+      case TIME:
+        return new Time(readSigned(buffer));
+      case TIMESTAMP:
+        final Timestamp timestamp = new Timestamp(readSigned(buffer));
+        timestamp.setNanos((int)readVarLong(buffer));
+        return timestamp;
+      case SERIALIZED:
+        try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(readBytes(buffer)))) {
+          return in.readObject();
+        }
+        catch (final IOException | ClassNotFoundException e) {
+          throw new SQLException("Cannot deserialize spilled value", "22000", e);
+        }
+      default:
+        throw new SQLException("Corrupt spilled row: unknown tag " + tag, "22000");
+    }
+  }
+
+  private final long memoryLimit;
+  private ByteBuffer memory;
+  private int memoryRows;
+  private long[] offsets;
+  private Path path;
+  private FileChannel channel;
+  private ByteBuffer[] segments;
+  private long spillSize;
+  private final Object[] values;
+  private int decoded = -1;
+
+  /**
+   * Creates a new {@link SpillingResultSet} with all of the rows of the provided {@link ResultSet}, which is read to the end and
+   * closed, holding up to {@link #DEFAULT_MEMORY_LIMIT} bytes of encoded rows in memory.
+   *
+   * @param resultSet The {@link ResultSet} to read.
+   * @throws SQLException If a database access error occurs, if a value cannot be encoded, or if the temporary file cannot be written.
+   * @throws NullPointerException If {@code resultSet} is null.
+   */
+  public SpillingResultSet(final ResultSet resultSet) throws SQLException {
+    this(resultSet, DEFAULT_MEMORY_LIMIT);
+  }
+
+  /**
+   * Creates a new {@link SpillingResultSet} with all of the rows of the provided {@link ResultSet}, which is read to the end and
+   * closed, holding up to {@code memoryLimit} bytes of encoded rows in memory.
+   *
+   * @param resultSet The {@link ResultSet} to read.
+   * @param memoryLimit The maximum number of bytes of encoded rows to hold in memory, beyond which rows are spilled to a temporary
+   *          file.
+   * @throws SQLException If a database access error occurs, if a value cannot be encoded, or if the temporary file cannot be written.
+   * @throws IllegalArgumentException If {@code memoryLimit} is negative.
+   * @throws NullPointerException If {@code resultSet} is null.
+   */
+  public SpillingResultSet(final ResultSet resultSet, final long memoryLimit) throws SQLException {
+    super(resultSet);
+    if (memoryLimit < 0)
+      throw new IllegalArgumentException("memoryLimit (" + memoryLimit + ") must be non-negative");
+
+    this.memoryLimit = Math.min(memoryLimit, MAX_ARRAY_SIZE);
+    this.values = new Object[columnCount];
+    try {
+      read(resultSet);
+    }
+    catch (final SQLException | RuntimeException e) {
+      release();
+      throw e;
+    }
+    finally {
+      resultSet.close();
+    }
+  }
+
+  private void read(final ResultSet resultSet) throws SQLException {
+    final RowWriter writer = new RowWriter();
+    byte[] memory = new byte[(int)Math.min(memoryLimit, 8192)];
+    int memoryLength = 0;
+    long[] offsets = new long[16];
+    ByteBuffer spill = null;
+    int maxRowLength = 0;
+    int rows = 0;
+    try {
+      for (; resultSet.next(); ++rows) { // [ST]
+        writer.length = 0;
+        for (int i = 1; i <= columnCount; ++i) // [A]
+          writer.write(decode(resultSet, i));
+
+        if (rows == offsets.length) {
+          if (rows == Integer.MAX_VALUE)
+            throw new SQLException("ResultSet has more than " + Integer.MAX_VALUE + " rows");
+
+          offsets = Arrays.copyOf(offsets, (int)Math.min(Integer.MAX_VALUE, rows * 2L));
+        }
+
+        final int length = writer.length;
+        if (channel == null && memoryLength + (long)length <= memoryLimit) {
+          if (memoryLength + length > memory.length)
+            memory = Arrays.copyOf(memory, (int)Math.min(memoryLimit, Math.max(memoryLength + (long)length, memory.length * 2L)));
+
+          System.arraycopy(writer.buf, 0, memory, memoryLength, length);
+          offsets[rows] = memoryLength;
+          memoryLength += length;
+          memoryRows = rows + 1;
+        }
+        else {
+          if (length > MAX_ARRAY_SIZE - SEGMENT_SIZE)
+            throw new SQLException("Row exceeds the maximum size of " + (MAX_ARRAY_SIZE - SEGMENT_SIZE) + " bytes to spill", "22001");
+
+          if (channel == null) {
+            path = Files.createTempFile(SpillingResultSet.class.getSimpleName(), ".bin");
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+            spill = ByteBuffer.allocate(1 << 16);
+            if (logger.isDebugEnabled()) { logger.debug("Spilling rows from {} to {}", rows, path); }
+          }
+
+          offsets[rows] = spillSize;
+          spillSize += length;
+          maxRowLength = Math.max(maxRowLength, length);
+          for (int off = 0; off < length;) {
+            if (!spill.hasRemaining())
+              flush(spill);
+
+            final int n = Math.min(spill.remaining(), length - off);
+            spill.put(writer.buf, off, n);
+            off += n;
+          }
+        }
+      }
+
+      if (channel != null) {
+        flush(spill);
+        final int count = (int)((spillSize + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+        segments = new ByteBuffer[count];
+        // Each segment overlaps the next by the length of the longest row, so that every row that starts in a segment ends in it
+        for (int i = 0; i < count; ++i) { // [A]
+          final long position = (long)i * SEGMENT_SIZE;
+          segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min((long)SEGMENT_SIZE + maxRowLength, spillSize - position));
+        }
+      }
+    }
+    catch (final IOException e) {
+      throw new SQLException("Failed to spill rows to " + path, e);
+    }
+
+    this.memory = ByteBuffer.wrap(memoryLength == memory.length ? memory : Arrays.copyOf(memory, memoryLength));
+    this.offsets = rows == offsets.length ? offsets : Arrays.copyOf(offsets, rows);
+    this.size = rows;
+  }
+
+  private void flush(final ByteBuffer spill) throws IOException {
+    spill.flip();
+    while (spill.hasRemaining())
+      channel.write(spill);
+
+    spill.clear();
+  }
+
+  /**
+   * Returns whether any rows have been spilled to a temporary file.
+   *
+   * @return Whether any rows have been spilled to a temporary file.
+   */
+  public boolean isSpilled() {
+    return channel != null;
+  }
+
+  /**
+   * Returns the number of bytes of encoded rows that have been spilled to a temporary file.
+   *
+   * @return The number of bytes of encoded rows that have been spilled to a temporary file.
+   */
+  public long getSpillSize() {
+    return spillSize;
+  }
+
+  @Override
+  Object getValue(final int row, final int columnIndex) throws SQLException {
+    if (row != decoded) {
+      final ByteBuffer buffer;
+      if (row < memoryRows) {
+        buffer = memory;
+        buffer.position((int)offsets[row]);
+      }
+      else {
+        final long offset = offsets[row];
+        buffer = segments[(int)(offset / SEGMENT_SIZE)];
+        buffer.position((int)(offset % SEGMENT_SIZE));
+      }
+
+      decoded = -1;
+      for (int i = 0; i < columnCount; ++i) // [A]
+        values[i] = read(buffer);
+
+      decoded = row;
+    }
+
+    return values[columnIndex - 1];
+  }
+
+  private void release() {
+    memory = null;
+    segments = null;
+    decoded = -1;
+    Arrays.fill(values, null);
+    try {
+      if (channel != null)
+        channel.close();
+      else if (path != null)
+        Files.deleteIfExists(path);
+    }
+    catch (final IOException e) {
+      if (logger.isDebugEnabled()) { logger.debug("Failed to delete " + path, e); }
+    }
+  }
+
+  /**
+   * Closes this result set, and deletes the temporary file to which rows have been spilled.
+   */
+  @Override
+  public void close() throws SQLException {
+    if (closed)
+      return;
+
+    super.close();
+    release();
+  }
+}
\ No newline at end of file
@@ -0,0 +1,346 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * A {@link DelegateConnection} that remembers the last known value of the auto-commit mode, read-only mode, transaction isolation
+ * level, catalog and schema of its target {@link Connection}, so that calls that would not change the value are not delegated to the
+ * driver (for which each call is commonly a round trip to the database). The getters of the tracked properties are served from the
+ * last known value as well.
+ * <p>
+ * A value becomes known when it is set or read through this connection. If a call to a tracked setter or getter raises a
+ * {@link SQLException}, all tracked values are forgotten, so that the next calls are delegated to the driver. All tracked values are
+ * also forgotten when the connection is {@linkplain #abort(Executor) aborted} or {@linkplain #close() closed}, since drivers (and
+ * pools) may reset the state of a connection when it is closed.
+ * <p>
+ * Some databases (i.e. PostgreSQL) revert the read-only mode, transaction isolation level, catalog and schema that were set within a
+ * transaction when it is rolled back. For such databases, a {@link StateTrackingConnection} that is
+ * {@linkplain #StateTrackingConnection(Connection,boolean) created} with {@code rollbackRevertsState=true} forgets these values
+ * (but not the auto-commit mode) when the connection is {@linkplain #rollback() rolled back} (entirely or to a {@link Savepoint}).
+ * Changes to the state of the connection that are made by SQL statements (i.e. {@code SET SCHEMA} or {@code USE}) are not observed,
+ * and must be followed by {@link #invalidate()}.
+ */
+public class StateTrackingConnection implements DelegateConnection {
+  private final Connection target;
+  private final boolean rollbackRevertsState;
+  private Boolean autoCommit;
+  private Boolean readOnly;
+  private int transactionIsolation = -1;
+  private boolean catalogKnown;
+  private String catalog;
+  private boolean schemaKnown;
+  private String schema;
+  private long elided;
+
+  /**
+   * Creates a new {@link StateTrackingConnection} with the specified {@code target} to which all method calls will be delegated.
+   *
+   * @param target The {@link Connection} to which all method calls will be delegated.
+   * @throws NullPointerException If the target {@link Connection} is null.
+   */
+  public StateTrackingConnection(final Connection target) {
+    this(target, false);
+  }
+
+  /**
+   * Creates a new {@link StateTrackingConnection} with the specified {@code target} to which all method calls will be delegated.
+   *
+   * @param target The {@link Connection} to which all method calls will be delegated.
+   * @param rollbackRevertsState Whether a rollback of the target {@link Connection} reverts its read-only mode, transaction isolation
+   *          level, catalog and schema, which are therefore forgotten upon {@link #rollback()} and {@link #rollback(Savepoint)}.
+   * @throws NullPointerException If the target {@link Connection} is null.
+   */
+  public StateTrackingConnection(final Connection target, final boolean rollbackRevertsState) {
+    if (target == null)
+      throw new NullPointerException("target is null");
+
+    this.target = target;
+    this.rollbackRevertsState = rollbackRevertsState;
+  }
+
+  @Override
+  public Connection getTarget() {
+    return target;
+  }
+
+  /**
+   * Returns the number of calls that have not been delegated to the target {@link Connection}, because the tracked value was known.
+   *
+   * @return The number of calls that have not been delegated to the target {@link Connection}.
+   */
+  public long getElided() {
+    return elided;
+  }
+
+  /**
+   * Forgets all tracked values, so that the next calls are delegated to the target {@link Connection}.
+   */
+  public void invalidate() {
+    autoCommit = null;
+    readOnly = null;
+    transactionIsolation = -1;
+    catalogKnown = false;
+    catalog = null;
+    schemaKnown = false;
+    schema = null;
+  }
+
+  private SQLException invalidate(final SQLException e) {
+    invalidate();
+    return e;
+  }
+
+  @Override
+  public void setAutoCommit(final boolean autoCommit) throws SQLException {
+    if (this.autoCommit != null && this.autoCommit == autoCommit) {
+      ++elided;
+      return;
+    }
+
+    try {
+      target.setAutoCommit(autoCommit);
+      this.autoCommit = autoCommit;
+    }
+    catch (final SQLException e) {
+      throw invalidate(e);
+    }
+  }
+
+  @Override
+  public boolean getAutoCommit() throws SQLException {
+    if (autoCommit != null) {
+      ++elided;
+      return autoCommit;
+    }
+
+    try {
+      return autoCommit = target.getAutoCommit();
+    }
+    catch (final SQLException e) {
+      throw invalidate(e);
+    }
+  }
+
+  @Override
+  public void setReadOnly(final boolean readOnly) throws SQLException {
+    if (this.readOnly != null && this.readOnly == readOnly) {
+      ++elided;
+      return;
+    }
+
+    try {
+      target.setReadOnly(readOnly);
+      this.readOnly = readOnly;
+    }
+    catch (final SQLException e) {
+      throw invalidate(e);
+    }
+  }
+
+  @Override
+  public boolean isReadOnly() throws SQLException {
+    if (readOnly != null) {
+      ++elided;
+      return readOnly;
+    }
+
+    try {
+      return readOnly = target.isReadOnly();
+    }
+    catch (final SQLException e) {
+      throw invalidate(e);
+    }
+  }
+
+  @Override
+  public void setTransactionIsolation(final int level) throws SQLException {
+    if (transactionIsolation == level) {
+      ++elided;
+      return;
+    }
+
+    try {
+      target.setTransactionIsolation(level);
+      transactionIsolation = level;
+    }
+    catch (final SQLException e) {
+      throw invalidate(e);
+    }
+  }
+
+  @Override
+  public int getTransactionIsolation() throws SQLException {
+    if (transactionIsolation != -1) {
+      ++elided;
+      return transactionIsolation;
+    }
+
+    try {
+      return transactionIsolation = target.getTransactionIsolation();
+    }
+    catch (final SQLException e) {
+      throw invalidate(e);
+    }
+  }
+
+  @Override
+  public void setCatalog(final String catalog) throws SQLException {
+    if (catalogKnown && Objects.equals(this.catalog, catalog)) {
+      ++elided;
+      return;
+    }
+
+    try {
+      target.setCatalog(catalog);
+      this.catalog = catalog;
+      catalogKnown = true;
+    }
+    catch (final SQLException e) {
+      throw invalidate(e);
+    }
+  }
+
+  @Override
+  public String getCatalog() throws SQLException {
+    if (catalogKnown) {
+      ++elided;
+      return catalog;
+    }
+
+    try {
+      catalog = target.getCatalog();
+      catalogKnown = true;
+      return catalog;
+    }
+    catch (final SQLException e) {
+      throw invalidate(e);
+    }
+  }
+
+  @Override
+  public void setSchema(final String schema) throws SQLException {
+    if (schemaKnown && Objects.equals(this.schema, schema)) {
+      ++elided;
+      return;
+    }
+
+    try {
+      target.setSchema(schema);
+      this.schema = schema;
+      schemaKnown = true;
+    }
+    catch (final SQLException e) {
+      throw invalidate(e);
+    }
+  }
+
+  @Override
+  public String getSchema() throws SQLException {
+    if (schemaKnown) {
+      ++elided;
+      return schema;
+    }
+
+    try {
+      schema = target.getSchema();
+      schemaKnown = true;
+      return schema;
+    }
+    catch (final SQLException e) {
+      throw invalidate(e);
+    }
+  }
+
+  /**
+   * Forgets the tracked values that a rollback reverts, if this connection was created with {@code rollbackRevertsState=true}.
+   */
+  private void rolledBack() {
+    if (rollbackRevertsState) {
+      readOnly = null;
+      transactionIsolation = -1;
+      catalogKnown = false;
+      catalog = null;
+      schemaKnown = false;
+      schema = null;
+    }
+  }
+
+  @Override
+  public void rollback() throws SQLException {
+    try {
+      target.rollback();
+    }
+    catch (final SQLException e) {
+      throw invalidate(e);
+    }
+
+    rolledBack();
+  }
+
+  @Override
+  public void rollback(final Savepoint savepoint) throws SQLException {
+    try {
+      target.rollback(savepoint);
+    }
+    catch (final SQLException e) {
+      throw invalidate(e);
+    }
+
+    rolledBack();
+  }
+
+  @Override
+  public void abort(final Executor executor) throws SQLException {
+    try {
+      target.abort(executor);
+    }
+    finally {
+      invalidate();
+    }
+  }
+
+  @Override
+  public void close() throws SQLException {
+    try {
+      target.close();
+    }
+    finally {
+      invalidate();
+    }
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    return target.equals(obj);
+  }
+
+  @Override
+  public int hashCode() {
+    return target.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return target.toString();
+  }
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+
+package org.libj.sql.exception;
+
+import java.sql.SQLException;
+
+/**
+ * An unchecked exception that wraps a {@link SQLException}, for APIs that cannot throw checked exceptions, such as
+ * {@link java.util.stream.Stream}.
+ */
+public class UncheckedSQLException extends RuntimeException {
+  /**
+   * Creates a new {@link UncheckedSQLException} with the provided {@link SQLException} as its cause.
+   *
+   * @param cause The {@link SQLException}.
+   * @throws NullPointerException If {@code cause} is null.
+   */
+  public UncheckedSQLException(final SQLException cause) {
+    super(cause.getMessage(), cause);
+  }
+
+  @Override
+  public synchronized SQLException getCause() {
+    return (SQLException)super.getCause();
+  }
+}
\ No newline at end of file
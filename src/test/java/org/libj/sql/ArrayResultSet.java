@@ -0,0 +1,169 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+
+package org.libj.sql;
+
+import java.sql.Date;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+/**
+ * A {@link MockResultSet} of the rows of an array, the columns of which are described by their labels and {@link Types}.
+ */
+public class ArrayResultSet extends MockResultSet {
+  private final String[] labels;
+  private final int[] types;
+  private final Object[][] rows;
+  private int row = -1;
+  private int failAt = -1;
+  private boolean closed;
+  private boolean wasNull;
+
+  public ArrayResultSet(final String[] labels, final int[] types, final Object[] ... rows) {
+    this.labels = labels;
+    this.types = types;
+    this.rows = rows;
+  }
+
+  /**
+   * Sets the index of the row at which {@link #next()} throws a {@link SQLException}.
+   *
+   * @param failAt The index of the row at which {@link #next()} throws a {@link SQLException}.
+   */
+  public void setFailAt(final int failAt) {
+    this.failAt = failAt;
+  }
+
+  @Override
+  public boolean next() throws SQLException {
+    if (row + 1 == failAt)
+      throw new SQLException("Failed at " + failAt, "08S01");
+
+    return ++row < rows.length;
+  }
+
+  @Override
+  public Object getObject(final int columnIndex) throws SQLException {
+    final Object value = rows[row][columnIndex - 1];
+    wasNull = value == null;
+    return value;
+  }
+
+  @Override
+  public boolean wasNull() {
+    return wasNull;
+  }
+
+  private Number getNumber(final int columnIndex) throws SQLException {
+    final Object value = getObject(columnIndex);
+    return value == null ? 0 : value instanceof Boolean ? (Boolean)value ? 1 : 0 : (Number)value;
+  }
+
+  @Override
+  public String getString(final int columnIndex) throws SQLException {
+    final Object value = getObject(columnIndex);
+    return value == null ? null : value.toString();
+  }
+
+  @Override
+  public boolean getBoolean(final int columnIndex) throws SQLException {
+    final Object value = getObject(columnIndex);
+    return value instanceof Boolean ? (Boolean)value : value != null && ((Number)value).intValue() != 0;
+  }
+
+  @Override
+  public byte getByte(final int columnIndex) throws SQLException {
+    return getNumber(columnIndex).byteValue();
+  }
+
+  @Override
+  public short getShort(final int columnIndex) throws SQLException {
+    return getNumber(columnIndex).shortValue();
+  }
+
+  @Override
+  public int getInt(final int columnIndex) throws SQLException {
+    return getNumber(columnIndex).intValue();
+  }
+
+  @Override
+  public long getLong(final int columnIndex) throws SQLException {
+    return getNumber(columnIndex).longValue();
+  }
+
+  @Override
+  public float getFloat(final int columnIndex) throws SQLException {
+    return getNumber(columnIndex).floatValue();
+  }
+
+  @Override
+  public double getDouble(final int columnIndex) throws SQLException {
+    return getNumber(columnIndex).doubleValue();
+  }
+
+  @Override
+  public byte[] getBytes(final int columnIndex) throws SQLException {
+    return (byte[])getObject(columnIndex);
+  }
+
+  @Override
+  public Date getDate(final int columnIndex) throws SQLException {
+    return (Date)getObject(columnIndex);
+  }
+
+  @Override
+  public Timestamp getTimestamp(final int columnIndex) throws SQLException {
+    return (Timestamp)getObject(columnIndex);
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+  }
+
+  @Override
+  public boolean isClosed() {
+    return closed;
+  }
+
+  @Override
+  public ResultSetMetaData getMetaData() {
+    return new MockResultSetMetaData() {
+      @Override
+      public int getColumnCount() {
+        return labels.length;
+      }
+
+      @Override
+      public String getColumnLabel(final int column) {
+        return labels[column - 1];
+      }
+
+      @Override
+      public String getColumnName(final int column) {
+        return labels[column - 1];
+      }
+
+      @Override
+      public int getColumnType(final int column) {
+        return types[column - 1];
+      }
+    };
+  }
+}
\ No newline at end of file
@@ -0,0 +1,171 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.libj.sql.AsyncAuditSink.OverflowPolicy;
+import org.slf4j.Logger;
+
+public class AsyncAuditSinkTest {
+  /**
+   * A {@link Logger} that counts the logged entries, and holds the background thread of the sink in the first entry until released.
+   */
+  private static final class Appender implements InvocationHandler {
+    private final AtomicInteger logged = new AtomicInteger();
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch gate;
+    private final Logger logger = (Logger)Proxy.newProxyInstance(Logger.class.getClassLoader(), new Class<?>[] {Logger.class}, this);
+
+    private Appender(final boolean held) {
+      this.gate = new CountDownLatch(held ? 1 : 0);
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws InterruptedException {
+      final String name = method.getName();
+      if (name.startsWith("is"))
+        return Boolean.TRUE;
+
+      if ("getName".equals(name) || "toString".equals(name))
+        return "test";
+
+      if (("debug".equals(name) || "trace".equals(name)) && args.length == 1) {
+        entered.countDown();
+        gate.await();
+        logged.incrementAndGet();
+      }
+
+      return null;
+    }
+  }
+
+  private static void publish(final AsyncAuditSink sink, final Appender appender, final int count) {
+    for (int i = 0; i < count; ++i)
+      sink.debug(appender.logger, "entry " + i);
+  }
+
+  @Test
+  public void testDrop() throws InterruptedException {
+    final Appender appender = new Appender(true);
+    final AsyncAuditSink sink = new AsyncAuditSink(2, 16, OverflowPolicy.DROP, 1);
+    assertTrue(sink.debug(appender.logger, "first"));
+    appender.entered.await();
+
+    publish(sink, appender, 10);
+    assertEquals(3, sink.getPublished());
+    assertEquals(8, sink.getDropped());
+    assertEquals(2, sink.getPending());
+    assertFalse(sink.trace(appender.logger, "dropped"));
+
+    appender.gate.countDown();
+    sink.close();
+    assertEquals(3, appender.logged.get());
+    assertEquals(0, sink.getPending());
+  }
+
+  @Test
+  public void testSample() throws InterruptedException {
+    final Appender appender = new Appender(true);
+    final AsyncAuditSink sink = new AsyncAuditSink(8, 16, OverflowPolicy.SAMPLE, 2);
+    sink.debug(appender.logger, "first");
+    appender.entered.await();
+
+    // 4 entries fill half of the ring buffer, then every 2nd entry is admitted until it is full
+    publish(sink, appender, 100);
+    assertEquals(9, sink.getPublished());
+    assertEquals(92, sink.getDropped());
+
+    appender.gate.countDown();
+    sink.close();
+    assertEquals(9, appender.logged.get());
+  }
+
+  @Test
+  public void testBlock() throws InterruptedException {
+    final Appender appender = new Appender(true);
+    final AsyncAuditSink sink = new AsyncAuditSink(2, 16, OverflowPolicy.BLOCK, 1);
+    sink.debug(appender.logger, "first");
+    appender.entered.await();
+
+    final Thread producer = new Thread(() -> publish(sink, appender, 10));
+    producer.start();
+    while (sink.getPending() < 2)
+      Thread.yield();
+
+    assertTrue(producer.isAlive());
+    appender.gate.countDown();
+    producer.join();
+    sink.close();
+    assertEquals(11, sink.getPublished());
+    assertEquals(0, sink.getDropped());
+    assertEquals(11, appender.logged.get());
+  }
+
+  @Test
+  public void testCloseWithConcurrentProducers() throws InterruptedException {
+    final Appender appender = new Appender(false);
+    final AsyncAuditSink sink = new AsyncAuditSink(64, 16, OverflowPolicy.DROP, 1);
+    final Thread[] producers = new Thread[4];
+    final CountDownLatch started = new CountDownLatch(producers.length);
+    for (int i = 0; i < producers.length; ++i) {
+      producers[i] = new Thread(() -> {
+        started.countDown();
+        publish(sink, appender, 20000);
+      });
+      producers[i].start();
+    }
+
+    started.await();
+    sink.close();
+    for (final Thread producer : producers)
+      producer.join();
+
+    // Every entry is either published and logged, or dropped
+    assertEquals(producers.length * 20000, sink.getPublished() + sink.getDropped());
+    assertEquals(sink.getPublished(), appender.logged.get());
+    assertFalse(sink.debug(appender.logger, "closed"));
+  }
+
+  @Test
+  public void testCloseInterrupted() throws InterruptedException {
+    final Appender appender = new Appender(true);
+    final AsyncAuditSink sink = new AsyncAuditSink(8, 16, OverflowPolicy.DROP, 1);
+    sink.debug(appender.logger, "first");
+    appender.entered.await();
+    publish(sink, appender, 3);
+
+    final Thread current = Thread.currentThread();
+    final Thread releaser = new Thread(() -> {
+      current.interrupt();
+      appender.gate.countDown();
+    });
+
+    releaser.start();
+    sink.close();
+    assertTrue(Thread.interrupted());
+    assertEquals(4, appender.logged.get());
+    releaser.join();
+  }
+}
\ No newline at end of file
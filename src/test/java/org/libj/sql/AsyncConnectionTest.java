@@ -0,0 +1,223 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+
+package org.libj.sql;
+
+import static org.junit.Assert.*;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class AsyncConnectionTest {
+  private static final class PhysicalConnection extends MockConnection {
+    private final AtomicInteger active = new AtomicInteger();
+    private final ArrayList<String> executed = new ArrayList<>();
+    private volatile boolean concurrent;
+
+    private int run(final String sql) throws SQLException {
+      if (active.incrementAndGet() > 1)
+        concurrent = true;
+
+      try {
+        Thread.sleep(1);
+        if (sql.equals("FAIL"))
+          throw new SQLException(sql);
+
+        executed.add(sql);
+        return executed.size();
+      }
+      catch (final InterruptedException e) {
+        throw new SQLException(e);
+      }
+      finally {
+        active.decrementAndGet();
+      }
+    }
+
+    @Override
+    public Statement createStatement() throws SQLException {
+      run("CREATE");
+      return new MockStatement() {
+        @Override
+        public int executeUpdate(final String sql) throws SQLException {
+          return run(sql);
+        }
+      };
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(final String sql) throws SQLException {
+      run("PREPARE");
+      return new MockPreparedStatement() {
+        private final ArrayList<String> batch = new ArrayList<>();
+        private String parameter;
+
+        @Override
+        public void setString(final int parameterIndex, final String x) {
+          parameter = x;
+        }
+
+        @Override
+        public void clearParameters() {
+          parameter = null;
+        }
+
+        @Override
+        public int executeUpdate() throws SQLException {
+          return run(sql + parameter);
+        }
+
+        @Override
+        public void addBatch() {
+          batch.add(parameter);
+        }
+
+        @Override
+        public int[] executeBatch() throws SQLException {
+          final int[] counts = new int[batch.size()];
+          for (int i = 0; i < counts.length; ++i)
+            counts[i] = run(sql + batch.get(i));
+
+          batch.clear();
+          return counts;
+        }
+      };
+    }
+
+    @Override
+    public void commit() throws SQLException {
+      run("COMMIT");
+    }
+  }
+
+  @Test
+  public void testSerialization() throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    final PhysicalConnection target = new PhysicalConnection();
+    final AsyncConnection connection = new AsyncConnection(target, executor);
+    final AsyncStatement statement1 = connection.createStatement();
+    final AsyncStatement statement2 = connection.createStatement();
+    final ArrayList<CompletableFuture<Integer>> futures = new ArrayList<>();
+    for (int i = 0; i < 20; ++i)
+      futures.add((i % 2 == 0 ? statement1 : statement2).executeUpdateAsync(i == 10 ? "FAIL" : String.valueOf(i)));
+
+    for (int i = 0; i < 20; ++i) {
+      if (i == 10) {
+        try {
+          futures.get(i).get();
+          fail("Expected ExecutionException");
+        }
+        catch (final ExecutionException e) {
+          assertTrue(e.getCause() instanceof SQLException);
+        }
+      }
+      else {
+        assertEquals(i < 10 ? i + 3 : i + 2, futures.get(i).get().intValue());
+      }
+    }
+
+    assertFalse(target.concurrent);
+    assertEquals(21, target.executed.size());
+    assertSame(connection, statement1.getConnection());
+
+    executor.shutdown();
+    try {
+      connection.submit(() -> null).get();
+      fail("Expected ExecutionException");
+    }
+    catch (final ExecutionException e) {
+      assertTrue(e.getCause() instanceof RejectedExecutionException);
+    }
+  }
+
+  @Test
+  public void testDefaultExecutor() throws Exception {
+    final AsyncConnection connection = new AsyncConnection(new PhysicalConnection());
+    assertEquals(2, connection.createStatement().executeUpdateAsync("A").get().intValue());
+    assertEquals(AsyncConnection.class.getSimpleName(), connection.submit(() -> Thread.currentThread().getName()).get());
+  }
+
+  @Test
+  public void testTransactionControl() throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final PhysicalConnection target = new PhysicalConnection();
+      final AsyncConnection connection = new AsyncConnection(target, executor);
+      final AsyncStatement statement = connection.createStatement();
+      for (int i = 0; i < 5; ++i)
+        statement.executeUpdateAsync(String.valueOf(i));
+
+      connection.commit();
+      assertEquals(7, target.executed.size());
+      assertEquals("COMMIT", target.executed.get(6));
+
+      statement.executeUpdateAsync("5");
+      final CompletableFuture<Void> commit = connection.commitAsync();
+      final AsyncPreparedStatement prepared = connection.prepareStatement("P");
+      commit.get();
+      assertEquals("COMMIT", target.executed.get(8));
+      assertEquals("PREPARE", target.executed.get(9));
+      assertFalse(target.concurrent);
+    }
+    finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testParameters() throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final PhysicalConnection target = new PhysicalConnection();
+      final AsyncConnection connection = new AsyncConnection(target, executor);
+      final AsyncPreparedStatement statement = connection.prepareStatement("P");
+      statement.setString(1, "A");
+      final CompletableFuture<Integer> a = statement.executeUpdateAsync();
+      statement.setString(1, "B");
+      final CompletableFuture<Integer> b = statement.executeUpdateAsync();
+      statement.addBatch();
+      statement.setString(1, "C");
+      statement.addBatch();
+      final CompletableFuture<int[]> batch = statement.executeBatchAsync();
+      statement.setString(1, "D");
+      statement.addBatch();
+      statement.clearParameters();
+      assertEquals(6, statement.executeUpdate());
+
+      assertEquals(2, a.get().intValue());
+      assertEquals(3, b.get().intValue());
+      assertArrayEquals(new int[] {4, 5}, batch.get());
+      assertEquals("[PREPARE, PA, PB, PB, PC, Pnull]", target.executed.toString());
+      assertArrayEquals(new int[] {7}, statement.executeBatch());
+      assertEquals("PD", target.executed.get(6));
+      assertFalse(target.concurrent);
+    }
+    finally {
+      executor.shutdown();
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+
+package org.libj.sql;
+
+import static org.junit.Assert.*;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+
+import org.junit.Test;
+
+public class AuditConnectionTest {
+  @Test
+  public void testOpenConnections() throws SQLException {
+    final AuditConnection.Registry registry = new AuditConnection.Registry();
+    final AuditConnection idle = new AuditConnection(new MockConnection(), registry);
+    final AuditConnection closed = new AuditConnection(new MockConnection(), registry);
+    final AuditConnection leaked = new AuditConnection(new MockConnection(), registry);
+
+    final ArrayList<String> log = new ArrayList<>();
+    assertEquals(0, registry.print(0, log::add));
+    assertEquals(0, log.size());
+
+    closed.createStatement();
+    leaked.createStatement();
+    leaked.prepareStatement("SELECT 1");
+    closed.close();
+    idle.close();
+
+    assertEquals(1, registry.print(0, log::add));
+    assertEquals(1, log.size());
+    final String trace = log.get(0);
+    assertTrue(trace, trace.startsWith("0) " + leaked + "\n    Age: "));
+    assertTrue(trace, trace.contains("\tat " + AuditConnectionTest.class.getName() + ".testOpenConnections("));
+    assertFalse(trace, trace.contains("\tat " + AuditConnection.class.getName() + "."));
+
+    log.clear();
+    assertEquals(0, registry.print(Long.MAX_VALUE, log::add));
+    assertEquals(0, log.size());
+
+    assertEquals(1, registry.sweep(0, log::add));
+    assertEquals(1, log.size());
+    assertTrue(log.get(0), log.get(0).startsWith("Connection open for longer than 0ms: " + leaked));
+    assertEquals(0, registry.sweep(0, log::add));
+    assertEquals(1, log.size());
+
+    leaked.close();
+    log.clear();
+    assertEquals(0, registry.print(0, log::add));
+    assertEquals(0, registry.sweep(0, log::add));
+    assertEquals(0, log.size());
+  }
+}
\ No newline at end of file
@@ -18,14 +18,22 @@ package org.libj.sql;
 
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
 import java.math.BigDecimal;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.sql.Date;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
 
 import org.junit.Test;
 
@@ -107,4 +115,474 @@ public class AuditPreparedStatementTest {
     assertEquals("SELECT * FROM foo WHERE a = 'hell\''?o' AND b = TRUE AND c = \"oop'?'s\"", prepareStatement("SELECT * FROM foo WHERE a = 'hell\''?o' AND b = ? AND c = \"oop'?'s\"", true).toString());
     assertEquals("SELECT * FROM foo WHERE a = 'hell\\'?o' AND b = TRUE AND c = \"oop\\\"?'s\"", prepareStatement("SELECT * FROM foo WHERE a = 'hell\\'?o' AND b = ? AND c = \"oop\\\"?'s\"", true).toString());
   }
+
+  @Test
+  public void testScanner() throws SQLException {
+    // The parameters are found by the same scanner as that of SQLFingerprint
+    final String sql = "SELECT `a?b`, ? FROM foo -- why?\nWHERE c = 'it''s?' AND d = ? /* and? */";
+    assertEquals("SELECT `a?b`, 1 FROM foo -- why?\nWHERE c = 'it''s?' AND d = 'x' /* and? */", prepareStatement(sql, 1, "x").toString());
+    assertEquals("select `a?b`, ? from foo where c = ? and d = ?", SQLFingerprint.normalize(sql));
+  }
+
+  private static final class CountingParameter {
+    private int renders;
+
+    @Override
+    public String toString() {
+      ++renders;
+      return "'x'";
+    }
+  }
+
+  private static AuditPreparedStatement auditStatement(final String sql, final boolean debugEnabled, final boolean consume) {
+    return new AuditPreparedStatement(new MockPreparedStatement(), sql) {
+      @Override
+      protected boolean isTraceEnabled() {
+        return false;
+      }
+
+      @Override
+      protected boolean isDebugEnabled() {
+        return debugEnabled;
+      }
+
+      @Override
+      protected void debug(final StatementType statementType, final CharSequence sql, final CharSequence detail, final Throwable exception) {
+        if (consume)
+          assertEquals("SELECT * FROM foo WHERE a = 'x'", sql.toString());
+      }
+    };
+  }
+
+  @Test
+  public void testLazyInterpolation() throws SQLException {
+    final String sql = "SELECT * FROM foo WHERE a = ?";
+    final CountingParameter parameter = new CountingParameter();
+
+    AuditPreparedStatement statement = auditStatement(sql, false, true);
+    statement.setObject(1, parameter);
+    statement.executeQuery();
+    statement.executeUpdate();
+    statement.execute();
+    assertEquals(0, parameter.renders);
+
+    statement = auditStatement(sql, true, false);
+    statement.setObject(1, parameter);
+    statement.executeUpdate();
+    statement.execute();
+    assertEquals(0, parameter.renders);
+
+    statement = auditStatement(sql, true, true);
+    statement.setObject(1, parameter);
+    statement.executeUpdate();
+    assertEquals(1, parameter.renders);
+  }
+
+  @Test
+  public void testBatch() throws SQLException {
+    final AuditPreparedStatement statement = auditStatement("INSERT INTO foo VALUES (?, ?, ?)", true, false);
+    statement.setInt(1, 1);
+    statement.setString(2, "a");
+    statement.setDouble(3, 1.5);
+    statement.addBatch();
+    statement.setLong(1, 2);
+    statement.setNull(2, Types.VARCHAR);
+    statement.setBoolean(3, true);
+    statement.addBatch();
+    assertEquals("[\nINSERT INTO foo VALUES (1, 'a', 1.5)\nINSERT INTO foo VALUES (2, NULL, TRUE)\n]", statement.toString());
+
+    statement.executeBatch();
+    assertEquals("INSERT INTO foo VALUES (?, ?, ?)", statement.toString());
+
+    statement.setInt(1, 3);
+    assertEquals("INSERT INTO foo VALUES (3, ?, ?)", statement.toString());
+    statement.clearParameters();
+    assertEquals("INSERT INTO foo VALUES (?, ?, ?)", statement.toString());
+    statement.setShort(3, (short)4);
+    statement.addBatch();
+    statement.clearBatch();
+    assertEquals("INSERT INTO foo VALUES (?, ?, ?)", statement.toString());
+  }
+
+  @Test
+  public void testResultSet() throws SQLException {
+    final int[] logged = {0};
+    final AuditPreparedStatement statement = new AuditPreparedStatement(new MockPreparedStatement() {
+      @Override
+      public ResultSet executeQuery() {
+        return new MockResultSet() {
+          private int rows = 3;
+
+          @Override
+          public boolean next() {
+            return rows-- > 0;
+          }
+        };
+      }
+    }, "SELECT * FROM foo") {
+      @Override
+      protected boolean isTraceEnabled() {
+        return false;
+      }
+
+      @Override
+      protected boolean isDebugEnabled() {
+        return true;
+      }
+
+      @Override
+      protected void debug(final StatementType statementType, final CharSequence sql, final CharSequence detail, final Throwable exception) {
+        ++logged[0];
+      }
+    };
+
+    final ResultSet resultSet = statement.executeQuery();
+    assertSame(statement, resultSet.getStatement());
+    while (resultSet.next());
+    assertEquals(3, ((AuditResultSet)resultSet).getSize());
+    assertEquals(0, logged[0]);
+
+    resultSet.close();
+    assertEquals(1, logged[0]);
+    resultSet.close();
+    assertEquals(1, logged[0]);
+
+    final AuditTiming timing = statement.getTiming();
+    assertEquals(-1, timing.getBindNanos());
+    assertTrue(timing.getExecuteNanos() >= 0);
+    assertTrue(timing.getFirstRowNanos() >= 0);
+    assertTrue(timing.getFetchNanos() >= timing.getFirstRowNanos());
+    assertTrue(timing.getCloseNanos() >= 0);
+    assertEquals("1.234ms", AuditTiming.appendMillis(new StringBuilder(), 1234567).toString());
+    assertEquals("0.005ms", AuditTiming.appendMillis(new StringBuilder(), 5999).toString());
+
+    statement.executeQuery();
+    assertEquals(1, logged[0]);
+    statement.close();
+    assertEquals(2, logged[0]);
+  }
+
+  @Test
+  public void testSampling() throws SQLException {
+    final int[] logged = {0};
+    final boolean[] error = {false};
+    final AuditPreparedStatement statement = new AuditPreparedStatement(new MockPreparedStatement() {
+      @Override
+      public int executeUpdate() throws SQLException {
+        if (error[0])
+          throw new SQLException("error");
+
+        return 1;
+      }
+    }, "UPDATE foo SET a = 1") {
+      @Override
+      protected boolean isTraceEnabled() {
+        return false;
+      }
+
+      @Override
+      protected boolean isDebugEnabled() {
+        return true;
+      }
+
+      @Override
+      protected void debug(final StatementType statementType, final CharSequence sql, final CharSequence detail, final Throwable exception) {
+        ++logged[0];
+      }
+    };
+
+    final AuditSampler previous = Audit.setSampler(AuditSampler.oneIn(3, true, -1));
+    try {
+      for (int i = 0; i < 6; ++i)
+        statement.executeUpdate();
+
+      assertEquals(2, logged[0]);
+      error[0] = true;
+      try {
+        statement.executeUpdate();
+        fail("Expected SQLException");
+      }
+      catch (final SQLException e) {
+      }
+
+      assertEquals(3, logged[0]);
+      assertEquals(3, Audit.getSampler().getSampled());
+      assertEquals(4, Audit.getSampler().getSuppressed());
+    }
+    finally {
+      Audit.setSampler(previous);
+    }
+
+    final AuditSampler sampler = AuditSampler.perStatement(1e-6, 2, 1, false, 1000);
+    assertTrue(sampler.isSampled("a", 0, null));
+    assertTrue(sampler.isSampled("a", 0, null));
+    assertFalse(sampler.isSampled("a", 0, null));
+    assertTrue(sampler.isSampled("a", 1000, null));
+    assertFalse(sampler.isSampled("a", 0, new SQLException()));
+    assertTrue(sampler.isSampled("b", 0, null));
+    assertTrue(sampler.isSampled("c", 0, null));
+    assertFalse(sampler.isSampled("b", 0, null));
+  }
+
+  @Test
+  public void testSamplingSlowFetch() throws SQLException {
+    final int[] logged = {0};
+    final long[] sleep = {0};
+    final AuditPreparedStatement statement = new AuditPreparedStatement(new MockPreparedStatement() {
+      @Override
+      public ResultSet executeQuery() {
+        return new MockResultSet() {
+          private int rows = 2;
+
+          @Override
+          public boolean next() {
+            try {
+              Thread.sleep(sleep[0]);
+            }
+            catch (final InterruptedException e) {
+              throw new IllegalStateException(e);
+            }
+
+            return rows-- > 0;
+          }
+        };
+      }
+    }, "SELECT * FROM foo") {
+      @Override
+      protected boolean isTraceEnabled() {
+        return false;
+      }
+
+      @Override
+      protected boolean isDebugEnabled() {
+        return true;
+      }
+
+      @Override
+      protected void debug(final StatementType statementType, final CharSequence sql, final CharSequence detail, final Throwable exception) {
+        ++logged[0];
+      }
+    };
+
+    final AuditSampler previous = Audit.setSampler(AuditSampler.oneIn(1000, false, 100000000));
+    try {
+      for (int i = 0; i < 2; ++i) {
+        try (final ResultSet resultSet = statement.executeQuery()) {
+          while (resultSet.next());
+        }
+      }
+
+      assertEquals(1, logged[0]);
+
+      // The execution is fast, but the fetch is slow
+      sleep[0] = 40;
+      try (final ResultSet resultSet = statement.executeQuery()) {
+        while (resultSet.next());
+      }
+
+      assertEquals(2, logged[0]);
+      assertEquals(2, Audit.getSampler().getSampled());
+      assertEquals(1, Audit.getSampler().getSuppressed());
+    }
+    finally {
+      Audit.setSampler(previous);
+    }
+  }
+
+  @Test
+  public void testMetrics() throws SQLException {
+    final boolean[] error = {false};
+    final AuditPreparedStatement statement = new AuditPreparedStatement(new MockPreparedStatement() {
+      @Override
+      public int executeUpdate() throws SQLException {
+        if (error[0])
+          throw new SQLException("error", "23505");
+
+        return 2;
+      }
+
+      @Override
+      public ResultSet executeQuery() {
+        return new MockResultSet() {
+          private int rows = 3;
+
+          @Override
+          public boolean next() {
+            return rows-- > 0;
+          }
+        };
+      }
+    }, "UPDATE foo SET a = 1") {
+      @Override
+      protected boolean isTraceEnabled() {
+        return false;
+      }
+
+      @Override
+      protected boolean isDebugEnabled() {
+        return false;
+      }
+    };
+
+    final AuditMetrics metrics = new AuditMetrics(16);
+    final AuditMetrics previous = Audit.setMetrics(metrics);
+    try {
+      statement.executeUpdate();
+      statement.executeUpdate();
+      error[0] = true;
+      try {
+        statement.executeUpdate();
+        fail("Expected SQLException");
+      }
+      catch (final SQLException e) {
+      }
+
+      final ResultSet resultSet = statement.executeQuery();
+      while (resultSet.next());
+      resultSet.close();
+    }
+    finally {
+      Audit.setMetrics(previous);
+    }
+
+    final List<AuditMetrics.Snapshot> snapshots = metrics.snapshot();
+    assertEquals(1, snapshots.size());
+    final AuditMetrics.Snapshot snapshot = snapshots.get(0);
+    assertEquals("update foo set a = ?", snapshot.getFingerprint().toString());
+    assertEquals(4, snapshot.getCalls());
+    assertEquals(1, snapshot.getErrors());
+    assertEquals(Long.valueOf(1), snapshot.getErrorsBySqlStateClass().get("23"));
+    assertEquals(4, snapshot.getRowsAffected());
+    assertEquals(3, snapshot.getRowsReturned());
+    long count = 0;
+    for (final long bucket : snapshot.getHistogram()) // [A]
+      count += bucket;
+
+    assertEquals(4, count);
+    assertTrue(snapshot.getMaxNanos() <= snapshot.getTotalNanos());
+    assertTrue(snapshot.getPercentileNanos(50) <= snapshot.getMaxNanos());
+
+    metrics.clear();
+    assertEquals(0, metrics.snapshot().size());
+  }
+
+  @Test
+  public void testSlowLog() throws SQLException {
+    final CountingParameter parameter = new CountingParameter();
+    AuditSlowLog slowLog = new AuditSlowLog(Long.MAX_VALUE, 2);
+    AuditSlowLog previous = Audit.setSlowLog(slowLog);
+    try {
+      final AuditPreparedStatement statement = auditStatement("SELECT * FROM foo WHERE a = ?", false, false);
+      statement.setObject(1, parameter);
+      statement.executeUpdate();
+      statement.execute();
+    }
+    finally {
+      Audit.setSlowLog(previous);
+    }
+
+    assertEquals(0, parameter.renders);
+    assertEquals(0, slowLog.getSlowCount());
+    assertEquals(0, slowLog.getTopByMax().size());
+
+    slowLog = new AuditSlowLog(0, 2);
+    previous = Audit.setSlowLog(slowLog);
+    try {
+      AuditPreparedStatement statement = auditStatement("SELECT * FROM foo WHERE a = ?", false, false);
+      statement.setObject(1, parameter);
+      statement.executeUpdate();
+      assertEquals(1, parameter.renders);
+
+      for (int i = 0; i < 3; ++i) {
+        statement = auditStatement("SELECT * FROM bar WHERE b = " + i, false, false);
+        statement.executeUpdate();
+      }
+
+      statement = auditStatement("SELECT * FROM baz", false, false);
+      statement.executeUpdate();
+    }
+    finally {
+      Audit.setSlowLog(previous);
+    }
+
+    assertEquals(5, slowLog.getSlowCount());
+
+    final List<AuditSlowLog.Entry> byMax = slowLog.getTopByMax();
+    assertEquals(2, byMax.size());
+    assertTrue(byMax.get(0).getMaxNanos() >= byMax.get(1).getMaxNanos());
+
+    final List<AuditSlowLog.Entry> byTotal = slowLog.getTopByTotal();
+    assertEquals(2, byTotal.size());
+    assertTrue(byTotal.get(0).getTotalNanos() >= byTotal.get(1).getTotalNanos());
+    long count = 0;
+    for (int i = 0, i$ = byTotal.size(); i < i$; ++i) { // [RA]
+      final AuditSlowLog.Entry entry = byTotal.get(i);
+      assertTrue(entry.getSql().contains("SELECT * FROM "));
+      count += entry.getCount();
+    }
+
+    assertEquals(5, count);
+
+    slowLog.clear();
+    assertEquals(0, slowLog.getTopByTotal().size());
+  }
+
+  @Test
+  public void testSlowLogBatch() throws SQLException {
+    final AuditSlowLog slowLog = new AuditSlowLog(0, 2);
+    final AuditSlowLog previous = Audit.setSlowLog(slowLog);
+    try {
+      final AuditPreparedStatement statement = auditStatement("INSERT INTO foo VALUES (?)", false, false);
+      statement.setInt(1, 1);
+      statement.addBatch();
+      statement.setInt(1, 2);
+      statement.addBatch();
+      statement.executeBatch();
+    }
+    finally {
+      Audit.setSlowLog(previous);
+    }
+
+    final List<AuditSlowLog.Entry> entries = slowLog.getTopByMax();
+    assertEquals(1, entries.size());
+    final String sql = entries.get(0).getSql();
+    assertTrue(sql, sql.contains("INSERT INTO foo VALUES (1)"));
+    assertTrue(sql, sql.contains("INSERT INTO foo VALUES (2)"));
+  }
+
+  private static String repeat(final String str, final int count) {
+    final StringBuilder b = new StringBuilder(str.length() * count);
+    for (int i = 0; i < count; ++i)
+      b.append(str);
+
+    return b.toString();
+  }
+
+  @Test
+  public void testStreamPreview() throws IOException, SQLException {
+    final int limit = AuditPreparedStatement.previewLength;
+    final byte[] bytes = new byte[1 << 20];
+    Arrays.fill(bytes, (byte)0x11);
+
+    final AuditPreparedStatement statement = auditStatement("UPDATE foo SET a = ?, b = ?", false, false);
+    final ByteArrayInputStream in = new ByteArrayInputStream(bytes);
+    final StringReader reader = new StringReader(repeat("a", limit * 2));
+    statement.setBinaryStream(1, in);
+    statement.setCharacterStream(2, reader);
+    assertEquals("UPDATE foo SET a = X'" + repeat("11", limit) + "'... (at least " + (limit + 1) + " bytes), b = '" + repeat("a", limit) + "'... (at least " + (limit + 1) + " chars)", statement.toString());
+    assertEquals(bytes.length, in.available());
+    assertEquals('a', reader.read());
+
+    final InputStream preview = AuditPreparedStatement.preview(true, new ByteArrayInputStream(bytes));
+    assertEquals("X'" + repeat("11", limit) + "'... (at least " + (limit + 1) + " bytes)", preview.toString());
+    final byte[] buf = new byte[8192];
+    for (int len; (len = preview.read(buf)) != -1;)
+      assertTrue(len > 0);
+
+    assertEquals("X'" + repeat("11", limit) + "'... (" + bytes.length + " bytes)", preview.toString());
+
+    final Reader small = AuditPreparedStatement.preview(true, new StringReader("hi"));
+    for (; small.read() != -1;); // [ST]
+    assertEquals("'hi'", small.toString());
+  }
 }
\ No newline at end of file
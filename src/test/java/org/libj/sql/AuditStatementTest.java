@@ -0,0 +1,66 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import static org.junit.Assert.*;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import org.junit.Test;
+
+public class AuditStatementTest {
+  @Test
+  public void testBatchMetrics() throws SQLException {
+    final AuditStatement statement = new AuditStatement(new MockStatement() {
+      @Override
+      public int[] executeBatch() {
+        return new int[] {1, 2};
+      }
+    }) {
+      @Override
+      protected boolean isTraceEnabled() {
+        return false;
+      }
+
+      @Override
+      protected boolean isDebugEnabled() {
+        return false;
+      }
+    };
+
+    final AuditMetrics metrics = new AuditMetrics(16);
+    final AuditMetrics previous = Audit.setMetrics(metrics);
+    try {
+      statement.addBatch("UPDATE foo SET a = 1 WHERE b = 2");
+      statement.addBatch("UPDATE foo SET a = 3 WHERE b = 4");
+      statement.executeBatch();
+      statement.addBatch("DELETE FROM foo");
+      statement.executeBatch();
+    }
+    finally {
+      Audit.setMetrics(previous);
+    }
+
+    final List<AuditMetrics.Snapshot> snapshots = metrics.snapshot();
+    assertEquals(2, snapshots.size());
+    final AuditMetrics.Snapshot snapshot = snapshots.get(0).getFingerprint().toString().startsWith("update") ? snapshots.get(0) : snapshots.get(1);
+    assertEquals("update foo set a = ? where b = ?", snapshot.getFingerprint().toString());
+    assertEquals(1, snapshot.getCalls());
+    assertEquals(3, snapshot.getRowsAffected());
+  }
+}
\ No newline at end of file
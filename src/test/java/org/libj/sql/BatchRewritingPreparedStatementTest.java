@@ -0,0 +1,150 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+
+package org.libj.sql;
+
+import static org.junit.Assert.*;
+
+import java.sql.BatchUpdateException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class BatchRewritingPreparedStatementTest {
+  private static final class PhysicalStatement extends MockPreparedStatement {
+    private final String sql;
+    private final ArrayList<Integer> parameters = new ArrayList<>();
+    private final ArrayList<String> batches = new ArrayList<>();
+    private int failAt = -1;
+
+    private PhysicalStatement(final String sql) {
+      this.sql = sql;
+    }
+
+    @Override
+    public void setInt(final int parameterIndex, final int x) {
+      while (parameters.size() < parameterIndex)
+        parameters.add(null);
+
+      parameters.set(parameterIndex - 1, x);
+    }
+
+    @Override
+    public void addBatch() {
+      batches.add(parameters.toString());
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+      final int rows = parameters.size() / 2;
+      final int[] counts = new int[batches.size()];
+      batches.clear();
+      if (failAt != -1)
+        throw new BatchUpdateException("failed", "23000", 1, Arrays.copyOf(counts, failAt), null);
+
+      Arrays.fill(counts, rows);
+      return counts;
+    }
+  }
+
+  private static final class PhysicalConnection extends MockConnection {
+    private final ArrayList<PhysicalStatement> prepared = new ArrayList<>();
+
+    @Override
+    public PreparedStatement prepareStatement(final String sql) {
+      final PhysicalStatement statement = new PhysicalStatement(sql);
+      prepared.add(statement);
+      return statement;
+    }
+  }
+
+  private static void assertTemplate(final String expected, final String sql) {
+    final BatchRewritingPreparedStatement.Template template = BatchRewritingPreparedStatement.parse(sql);
+    assertEquals(expected, template == null ? null : template.toSql(2));
+  }
+
+  @Test
+  public void testParse() {
+    assertTemplate("INSERT INTO t (a, b) VALUES (?, ?), (?, ?)", "INSERT INTO t (a, b) VALUES (?, ?)");
+    assertTemplate("insert into t values(?, now()), (?, now());", "insert into t values(?, now());");
+    assertTemplate("INSERT INTO t VALUES (?, ':x'), (?, ':x') ON DUPLICATE KEY UPDATE a = VALUES(a), b = 1", "INSERT INTO t VALUES (?, ':x') ON DUPLICATE KEY UPDATE a = VALUES(a), b = 1");
+    assertTemplate("/* ? */ INSERT INTO t VALUES ('?', ?), ('?', ?)", "/* ? */ INSERT INTO t VALUES ('?', ?)");
+    assertTemplate(null, "INSERT INTO t VALUES (?), (?)");
+    assertTemplate(null, "INSERT INTO t VALUES (1)");
+    assertTemplate(null, "INSERT INTO t SELECT ? FROM u");
+    assertTemplate(null, "INSERT INTO t VALUES (?) ON DUPLICATE KEY UPDATE a = ?");
+    assertTemplate(null, "UPDATE t SET a = ?");
+    assertTemplate(null, "INSERT INTO t VALUES (?); DELETE FROM t");
+  }
+
+  @Test
+  public void testExecuteBatch() throws SQLException {
+    final PhysicalConnection connection = new PhysicalConnection();
+    final PreparedStatement statement = BatchRewritingPreparedStatement.prepareStatement(connection, "INSERT INTO t (a, b) VALUES (?, ?)", 3);
+    assertTrue(statement instanceof BatchRewritingPreparedStatement);
+    for (int i = 0; i < 8; ++i) {
+      statement.setInt(1, i);
+      if (i < 2)
+        statement.setInt(2, -i);
+
+      statement.addBatch();
+    }
+
+    final int[] counts = statement.executeBatch();
+    assertArrayEquals(new int[] {1, 1, 1, 1, 1, 1, 1, 1}, counts);
+    assertEquals(2, connection.prepared.size());
+    final PhysicalStatement multiRow = connection.prepared.get(1);
+    assertEquals("INSERT INTO t (a, b) VALUES (?, ?), (?, ?), (?, ?)", multiRow.sql);
+    assertEquals("[3, -1, 4, -1, 5, -1]", multiRow.parameters.toString());
+    assertEquals("[7, -1]", connection.prepared.get(0).parameters.toString());
+
+    statement.setInt(1, 8);
+    statement.addBatch();
+    statement.clearBatch();
+    assertArrayEquals(new int[0], statement.executeBatch());
+
+    multiRow.failAt = 1;
+    for (int i = 0; i < 7; ++i) {
+      statement.setInt(1, i);
+      statement.addBatch();
+    }
+
+    try {
+      statement.executeBatch();
+      fail("Expected BatchUpdateException");
+    }
+    catch (final BatchUpdateException e) {
+      assertEquals(3, e.getUpdateCounts().length);
+      assertEquals("23000", e.getSQLState());
+    }
+
+    statement.clearParameters();
+    try {
+      statement.addBatch();
+      fail("Expected SQLException");
+    }
+    catch (final SQLException e) {
+      assertEquals("07001", e.getSQLState());
+    }
+
+    final PreparedStatement plain = BatchRewritingPreparedStatement.prepareStatement(connection, "UPDATE t SET a = ?", 3);
+    assertFalse(plain instanceof BatchRewritingPreparedStatement);
+  }
+}
\ No newline at end of file
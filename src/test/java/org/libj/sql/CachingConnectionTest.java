@@ -0,0 +1,169 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import static org.junit.Assert.*;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+
+import org.junit.Test;
+
+public class CachingConnectionTest {
+  private static final class PhysicalStatement extends MockPreparedStatement {
+    private final String sql;
+    private long maxRows;
+    private int clears;
+    private boolean closed;
+
+    private PhysicalStatement(final String sql) {
+      this.sql = sql;
+    }
+
+    @Override
+    public void clearParameters() {
+      ++clears;
+    }
+
+    @Override
+    public int getMaxRows() {
+      return (int)maxRows;
+    }
+
+    @Override
+    public void setMaxRows(final int max) {
+      maxRows = max;
+    }
+
+    @Override
+    public long getLargeMaxRows() {
+      return maxRows;
+    }
+
+    @Override
+    public void setLargeMaxRows(final long max) {
+      maxRows = max;
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+
+    @Override
+    public boolean isClosed() {
+      return closed;
+    }
+  }
+
+  private static final class PhysicalConnection extends MockConnection {
+    private final ArrayList<PhysicalStatement> prepared = new ArrayList<>();
+    private boolean closed;
+
+    @Override
+    public PreparedStatement prepareStatement(final String sql) {
+      final PhysicalStatement statement = new PhysicalStatement(sql);
+      prepared.add(statement);
+      return statement;
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(final String sql, final int autoGeneratedKeys) {
+      return prepareStatement(sql);
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+
+  @Test
+  public void testCache() throws SQLException {
+    final PhysicalConnection target = new PhysicalConnection();
+    final CachingConnection connection = new CachingConnection(target, 2);
+
+    PreparedStatement statement = connection.prepareStatement("SELECT 1");
+    assertSame(connection, statement.getConnection());
+    statement.setMaxRows(10);
+    statement.setLargeMaxRows(20);
+    statement.close();
+    assertTrue(statement.isClosed());
+    final PhysicalStatement physical = target.prepared.get(0);
+    assertFalse(physical.closed);
+    assertEquals(1, physical.clears);
+    assertEquals(0, physical.maxRows);
+    assertEquals(1, connection.getCacheSize());
+
+    statement = connection.prepareStatement("SELECT 1");
+    assertEquals(1, target.prepared.size());
+    statement.setLargeMaxRows(30);
+    assertEquals(30, physical.maxRows);
+    statement.close();
+    assertEquals(0, physical.maxRows);
+    assertEquals(1, connection.getCacheSize());
+
+    statement = connection.prepareStatement("SELECT 1");
+    final PreparedStatement concurrent = connection.prepareStatement("SELECT 1");
+    assertEquals(2, target.prepared.size());
+    statement.close();
+    concurrent.close();
+    assertTrue(target.prepared.get(1).closed);
+    assertEquals(1, connection.getCacheSize());
+
+    connection.prepareStatement("SELECT 1", Statement.RETURN_GENERATED_KEYS).close();
+    assertEquals(3, target.prepared.size());
+    assertEquals(2, connection.getCacheSize());
+
+    connection.prepareStatement("SELECT 2").close();
+    assertEquals(2, connection.getCacheSize());
+    assertEquals(1, connection.getEvictions());
+    assertTrue(physical.closed);
+
+    assertEquals(2, connection.getHits());
+    assertEquals(4, connection.getMisses());
+
+    statement = connection.prepareStatement("SELECT 2");
+    statement.setPoolable(false);
+    statement.close();
+    assertTrue(target.prepared.get(3).closed);
+    assertEquals(1, connection.getCacheSize());
+
+    connection.close();
+    assertTrue(target.closed);
+    assertTrue(target.prepared.get(2).closed);
+    assertEquals(0, connection.getCacheSize());
+
+    try {
+      statement.executeQuery();
+      fail("Expected SQLException");
+    }
+    catch (final SQLException e) {
+      assertEquals("HY010", e.getSQLState());
+    }
+
+    try {
+      statement.getConnection();
+      fail("Expected SQLException");
+    }
+    catch (final SQLException e) {
+      assertEquals("HY010", e.getSQLState());
+    }
+  }
+}
\ No newline at end of file
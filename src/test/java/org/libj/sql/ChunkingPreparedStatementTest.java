@@ -0,0 +1,150 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+
+package org.libj.sql;
+
+import static org.junit.Assert.*;
+
+import java.io.StringReader;
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class ChunkingPreparedStatementTest {
+  private static final class PhysicalStatement extends MockPreparedStatement {
+    private final ArrayList<Integer> chunks = new ArrayList<>();
+    private int batch;
+    private int executed;
+    private int failAt = -1;
+    private boolean continueOnFailure;
+
+    @Override
+    public void addBatch() {
+      ++batch;
+    }
+
+    @Override
+    public void clearBatch() {
+      batch = 0;
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+      chunks.add(batch);
+      final int[] counts = new int[batch];
+      for (int i = 0; i < batch; ++i, ++executed)
+        counts[i] = executed == failAt ? Statement.EXECUTE_FAILED : 1;
+
+      batch = 0;
+      final int failed = failAt - executed + counts.length;
+      if (0 <= failed && failed < counts.length)
+        throw new BatchUpdateException("failed", "23000", 1, continueOnFailure ? counts : Arrays.copyOf(counts, failed), null);
+
+      return counts;
+    }
+  }
+
+  @Test
+  public void testRows() throws SQLException {
+    final PhysicalStatement target = new PhysicalStatement();
+    final ChunkingPreparedStatement statement = new ChunkingPreparedStatement(target, 3, Long.MAX_VALUE);
+    for (int i = 0; i < 7; ++i) {
+      statement.setInt(1, i);
+      statement.addBatch();
+    }
+
+    assertEquals("[3, 3]", target.chunks.toString());
+    assertArrayEquals(new int[] {1, 1, 1, 1, 1, 1, 1}, statement.executeBatch());
+    assertEquals("[3, 3, 1]", target.chunks.toString());
+    assertArrayEquals(new int[0], statement.executeBatch());
+  }
+
+  @Test
+  public void testBytes() throws SQLException {
+    final PhysicalStatement target = new PhysicalStatement();
+    final ChunkingPreparedStatement statement = new ChunkingPreparedStatement(target, 100, 20);
+    statement.setInt(1, 0);
+    statement.setString(2, "abcd");
+    for (int i = 0; i < 5; ++i)
+      statement.addBatch();
+
+    assertEquals("[2, 2]", target.chunks.toString());
+    statement.setString(2, null);
+    statement.addBatch();
+    assertEquals(6, statement.executeBatch().length);
+    assertEquals("[2, 2, 2]", target.chunks.toString());
+  }
+
+  @Test
+  public void testCharacterStream() throws SQLException {
+    final PhysicalStatement target = new PhysicalStatement();
+    final ChunkingPreparedStatement statement = new ChunkingPreparedStatement(target, 100, 20);
+    statement.setInt(1, 0);
+    for (int i = 0; i < 4; ++i) {
+      statement.setCharacterStream(2, new StringReader("abcd"), 4);
+      statement.addBatch();
+    }
+
+    assertEquals("[2, 2]", target.chunks.toString());
+    for (int i = 0; i < 5; ++i) {
+      statement.setCharacterStream(2, new StringReader("abcd"));
+      statement.addBatch();
+    }
+
+    assertEquals("[2, 2, 5]", target.chunks.toString());
+  }
+
+  @Test
+  public void testFailure() throws SQLException {
+    final PhysicalStatement target = new PhysicalStatement();
+    final ChunkingPreparedStatement statement = new ChunkingPreparedStatement(target, 3, Long.MAX_VALUE);
+    target.failAt = 4;
+    for (int i = 0; i < 8; ++i)
+      statement.addBatch();
+
+    try {
+      statement.executeBatch();
+      fail("Expected BatchUpdateException");
+    }
+    catch (final BatchUpdateException e) {
+      assertArrayEquals(new int[] {1, 1, 1, 1}, e.getUpdateCounts());
+      assertEquals("23000", e.getSQLState());
+    }
+
+    assertEquals("[3, 3]", target.chunks.toString());
+
+    target.chunks.clear();
+    target.executed = 0;
+    target.continueOnFailure = true;
+    for (int i = 0; i < 8; ++i)
+      statement.addBatch();
+
+    try {
+      statement.executeBatch();
+      fail("Expected BatchUpdateException");
+    }
+    catch (final BatchUpdateException e) {
+      assertArrayEquals(new int[] {1, 1, 1, 1, Statement.EXECUTE_FAILED, 1, 1, 1}, e.getUpdateCounts());
+    }
+
+    assertEquals("[3, 3, 2]", target.chunks.toString());
+  }
+}
\ No newline at end of file
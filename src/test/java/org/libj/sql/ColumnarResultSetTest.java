@@ -0,0 +1,91 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+
+package org.libj.sql;
+
+import static org.junit.Assert.*;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import org.junit.Test;
+
+public class ColumnarResultSetTest {
+  @Test
+  public void testColumns() throws SQLException {
+    final Object[][] rows = new Object[100][];
+    for (int i = 0; i < rows.length; ++i)
+      rows[i] = new Object[] {i, (long)i << 32, i / 2d, i % 3 == 0 ? null : i % 2 == 0, "v" + i % 4, i == 50 ? (Object)1L : (Object)(short)i, new Date(i * 86400000L)};
+
+    final ArrayResultSet target = new ArrayResultSet(new String[] {"i", "l", "d", "b", "s", "m", "t"}, new int[] {Types.INTEGER, Types.BIGINT, Types.DOUBLE, Types.BOOLEAN, Types.VARCHAR, Types.SMALLINT, Types.DATE}, rows);
+    final ColumnarResultSet resultSet = new ColumnarResultSet(target);
+    assertTrue(target.isClosed());
+    assertEquals(100, resultSet.getSize());
+    assertEquals(ResultSet.TYPE_SCROLL_INSENSITIVE, resultSet.getType());
+    assertEquals(100, ResultSets.getSize(resultSet));
+
+    for (int i = 0; resultSet.next(); ++i) {
+      assertEquals(i + 1, resultSet.getRow());
+      assertEquals(i, resultSet.getInt(1));
+      assertEquals((long)i << 32, resultSet.getLong("L"));
+      assertEquals(i / 2d, resultSet.getDouble(3), 0);
+      assertEquals(i % 3 != 0 && i % 2 == 0, resultSet.getBoolean(4));
+      assertEquals(i % 3 == 0, resultSet.wasNull());
+      assertEquals("v" + i % 4, resultSet.getString(5));
+      assertEquals(i == 50 ? 1 : i, resultSet.getInt(6));
+      assertEquals(i == 50 ? 1L : i, ((Number)resultSet.getObject(6)).longValue());
+      assertEquals(Integer.valueOf(i), resultSet.getObject(1));
+      assertEquals(new Date(i * 86400000L), resultSet.getDate("t"));
+    }
+
+    assertTrue(resultSet.isAfterLast());
+    assertTrue(resultSet.previous());
+    assertEquals(99, resultSet.getInt(1));
+    assertTrue(resultSet.absolute(-100));
+    assertEquals(0, resultSet.getInt(1));
+    assertTrue(resultSet.relative(10));
+    assertEquals(10, resultSet.getObject(1));
+    assertFalse(resultSet.relative(-20));
+    assertTrue(resultSet.isBeforeFirst());
+    assertFalse(resultSet.absolute(101));
+    assertTrue(resultSet.isAfterLast());
+    assertTrue(resultSet.first());
+    assertTrue(resultSet.isFirst());
+    assertTrue(resultSet.last());
+    assertTrue(resultSet.isLast());
+
+    resultSet.close();
+    try {
+      resultSet.getInt(1);
+      fail("Expected SQLException");
+    }
+    catch (final SQLException e) {
+      assertEquals("24000", e.getSQLState());
+    }
+  }
+
+  @Test
+  public void testEmpty() throws SQLException {
+    final ColumnarResultSet resultSet = new ColumnarResultSet(new ArrayResultSet(new String[] {"i"}, new int[] {Types.INTEGER}));
+    assertEquals(0, resultSet.getSize());
+    assertFalse(resultSet.next());
+    assertFalse(resultSet.isAfterLast());
+    assertFalse(resultSet.first());
+  }
+}
\ No newline at end of file
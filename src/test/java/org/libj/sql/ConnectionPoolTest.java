@@ -0,0 +1,299 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import static org.junit.Assert.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+public class ConnectionPoolTest {
+  private static final class PhysicalStatement extends MockStatement {
+    private boolean closed;
+
+    @Override
+    public ResultSet executeQuery(final String sql) {
+      return new ArrayResultSet(new String[] {"a"}, new int[] {Types.INTEGER}, new Object[] {1});
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+
+    @Override
+    public boolean isClosed() {
+      return closed;
+    }
+  }
+
+  private static final class PhysicalConnection extends MockConnection {
+    private final ArrayList<PhysicalStatement> statements = new ArrayList<>();
+    private boolean autoCommit = true;
+    private boolean readOnly;
+    private int transactionIsolation = Connection.TRANSACTION_READ_COMMITTED;
+    private String schema = "public";
+    private int rollbacks;
+    private boolean closed;
+
+    @Override
+    public Statement createStatement() {
+      final PhysicalStatement statement = new PhysicalStatement();
+      statements.add(statement);
+      return statement;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+      return readOnly;
+    }
+
+    @Override
+    public void setReadOnly(final boolean readOnly) {
+      this.readOnly = readOnly;
+    }
+
+    @Override
+    public int getTransactionIsolation() {
+      return transactionIsolation;
+    }
+
+    @Override
+    public void setTransactionIsolation(final int level) {
+      this.transactionIsolation = level;
+    }
+
+    @Override
+    public String getSchema() {
+      return schema;
+    }
+
+    @Override
+    public void setSchema(final String schema) {
+      this.schema = schema;
+    }
+
+    @Override
+    public boolean getAutoCommit() {
+      return autoCommit;
+    }
+
+    @Override
+    public void setAutoCommit(final boolean autoCommit) {
+      this.autoCommit = autoCommit;
+    }
+
+    @Override
+    public void rollback() {
+      ++rollbacks;
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+
+    @Override
+    public boolean isClosed() {
+      return closed;
+    }
+  }
+
+  @Test
+  public void testPool() throws Exception {
+    final ArrayList<PhysicalConnection> created = new ArrayList<>();
+    try (final ConnectionPool pool = new ConnectionPool(() -> {
+      final PhysicalConnection connection = new PhysicalConnection();
+      created.add(connection);
+      return connection;
+    }, 2, 50, 0, 0)) {
+      Connection connection = pool.getConnection();
+      assertTrue(connection instanceof DelegateConnection);
+      final Connection physical = ((DelegateConnection)connection).getTarget();
+      connection.setAutoCommit(false);
+      connection.close();
+      assertTrue(connection.isClosed());
+      assertFalse(connection.isValid(0));
+      try {
+        connection.createStatement();
+        fail("Expected SQLException");
+      }
+      catch (final SQLException e) {
+        assertEquals("08003", e.getSQLState());
+      }
+
+      assertEquals(1, created.get(0).rollbacks);
+      assertTrue(created.get(0).autoCommit);
+      assertEquals(1, pool.getIdleCount());
+
+      connection = pool.getConnection();
+      assertSame(physical, ((DelegateConnection)connection).getTarget());
+      final Connection second = pool.getConnection();
+      assertEquals(2, pool.getSize());
+
+      try {
+        pool.getConnection();
+        fail("Expected SQLTransientConnectionException");
+      }
+      catch (final SQLTransientConnectionException e) {
+      }
+
+      assertEquals(1, pool.getTimeouts());
+
+      final AtomicReference<Object> handedOff = new AtomicReference<>();
+      final Thread waiter = new Thread(() -> {
+        try (final Connection c = pool.getConnection()) {
+          handedOff.set(((DelegateConnection)c).getTarget());
+        }
+        catch (final SQLException e) {
+          handedOff.set(e);
+        }
+      });
+
+      waiter.start();
+      while (pool.getWaiterCount() == 0 && waiter.isAlive())
+        Thread.yield();
+
+      second.close();
+      waiter.join();
+      assertSame(created.get(1), handedOff.get());
+      connection.close();
+
+      assertEquals(2, created.size());
+      assertEquals(5, pool.getWaitStats().getCount() + pool.getTimeouts());
+      assertEquals(4, pool.getHoldStats().getCount());
+      assertTrue(pool.getHoldStats().getMaxNanos() <= pool.getHoldStats().getTotalNanos());
+    }
+
+    assertTrue(created.get(0).closed);
+    assertTrue(created.get(1).closed);
+  }
+
+  @Test
+  public void testReset() throws Exception {
+    final ArrayList<PhysicalConnection> created = new ArrayList<>();
+    try (final ConnectionPool pool = new ConnectionPool(() -> {
+      final PhysicalConnection connection = new PhysicalConnection();
+      created.add(connection);
+      return connection;
+    }, 1, 50, 0, 0)) {
+      Connection connection = pool.getConnection();
+      connection.setReadOnly(true);
+      connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+      connection.setSchema("other");
+      final Statement closed = connection.createStatement();
+      assertSame(connection, closed.getConnection());
+      assertSame(closed, closed.executeQuery("SELECT 1").getStatement());
+      closed.close();
+      connection.createStatement();
+      connection.close();
+
+      final PhysicalConnection physical = created.get(0);
+      assertFalse(physical.closed);
+      assertFalse(physical.readOnly);
+      assertEquals(Connection.TRANSACTION_READ_COMMITTED, physical.transactionIsolation);
+      assertEquals("public", physical.schema);
+      assertEquals(2, physical.statements.size());
+      assertTrue(physical.statements.get(1).closed);
+      assertEquals(1, pool.getIdleCount());
+
+      // The initial catalog is not reported by the driver, so it cannot be restored
+      connection = pool.getConnection();
+      connection.setCatalog("other");
+      connection.close();
+      assertTrue(physical.closed);
+      assertEquals(0, pool.getSize());
+
+      pool.getConnection().close();
+      assertEquals(2, created.size());
+      assertFalse(created.get(1).closed);
+    }
+  }
+
+  @Test
+  public void testCloseAndAbort() throws Exception {
+    final ArrayList<PhysicalConnection> created = new ArrayList<>();
+    try (final ConnectionPool pool = new ConnectionPool(() -> {
+      final PhysicalConnection connection = new PhysicalConnection();
+      created.add(connection);
+      return connection;
+    }, 2, 50, 0, 0)) {
+      Connection connection = pool.getConnection();
+      connection.close();
+      connection.abort(Runnable::run);
+      connection.close();
+      assertEquals(1, pool.getSize());
+      assertEquals(1, pool.getIdleCount());
+
+      connection = pool.getConnection();
+      assertSame(created.get(0), ((DelegateConnection)connection).getTarget());
+      connection.abort(Runnable::run);
+      connection.close();
+      assertEquals(0, pool.getSize());
+      assertEquals(0, pool.getIdleCount());
+
+      for (int i = 0; i < 100; ++i) {
+        final Connection c = pool.getConnection();
+        final Thread closer = new Thread(() -> {
+          try {
+            c.close();
+          }
+          catch (final SQLException e) {
+            throw new RuntimeException(e);
+          }
+        });
+        closer.start();
+        c.close();
+        closer.join();
+        assertEquals(1, pool.getIdleCount());
+      }
+
+      final Connection first = pool.getConnection();
+      final Connection second = pool.getConnection();
+      assertNotSame(((DelegateConnection)first).getTarget(), ((DelegateConnection)second).getTarget());
+      first.close();
+      second.close();
+    }
+  }
+
+  @Test
+  public void testMaxLifetime() throws Exception {
+    final ArrayList<PhysicalConnection> created = new ArrayList<>();
+    try (final ConnectionPool pool = new ConnectionPool(() -> {
+      final PhysicalConnection connection = new PhysicalConnection();
+      created.add(connection);
+      return connection;
+    }, 1, 50, 0, 1)) {
+      final Connection connection = pool.getConnection();
+      Thread.sleep(5);
+      connection.close();
+      assertTrue(created.get(0).closed);
+      assertEquals(0, pool.getSize());
+
+      pool.getConnection().close();
+      assertEquals(2, created.size());
+    }
+  }
+}
\ No newline at end of file
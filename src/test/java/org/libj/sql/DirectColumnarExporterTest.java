@@ -0,0 +1,131 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+import org.junit.Test;
+import org.libj.sql.DirectColumnarExporter.Column;
+import org.libj.sql.DirectColumnarExporter.Type;
+
+public class DirectColumnarExporterTest {
+  private static final String[] labels = {"id", "amount", "flag", "name", "data", "day", "at"};
+  private static final int[] types = {Types.INTEGER, Types.DOUBLE, Types.BOOLEAN, Types.VARCHAR, Types.VARBINARY, Types.DATE, Types.TIMESTAMP};
+
+  private static String utf8(final Column column, final int row) {
+    final ByteBuffer offsets = column.getOffsets();
+    final ByteBuffer data = column.getData();
+    final byte[] bytes = new byte[offsets.getInt((row + 1) << 2) - offsets.getInt(row << 2)];
+    data.position(offsets.getInt(row << 2));
+    data.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testExport() throws SQLException {
+    final Timestamp timestamp = new Timestamp(1500000000123L);
+    timestamp.setNanos(123456789);
+    final String wide = "\u00e9\u4e2d\ud83d\ude00x";
+    final ArrayResultSet resultSet = new ArrayResultSet(labels, types,
+      new Object[] {1, 1.5, true, "a", new byte[] {1, 2}, Date.valueOf("1970-01-02"), timestamp},
+      new Object[] {null, null, null, null, null, null, null},
+      new Object[] {3, -2.5, false, wide, new byte[0], Date.valueOf("2000-01-01"), new Timestamp(0)});
+
+    try (final DirectColumnarExporter exporter = new DirectColumnarExporter(resultSet, 2)) {
+      assertEquals(7, exporter.getColumnCount());
+      assertEquals(Type.INT32, exporter.getColumn(1).getType());
+      assertEquals(Type.UTF8, exporter.getColumn(4).getType());
+
+      assertEquals(2, exporter.next());
+      final Column id = exporter.getColumn(1);
+      assertTrue(id.getData().isDirect());
+      assertEquals(8, id.getData().remaining());
+      assertEquals(1, id.getData().getInt(0));
+      assertFalse(id.isNull(0));
+      assertTrue(id.isNull(1));
+      assertEquals(1, id.getNullCount());
+      assertEquals(0x01, id.getValidity().get(0));
+
+      assertEquals(1.5, exporter.getColumn(2).getData().getDouble(0), 0);
+      assertEquals(0x01, exporter.getColumn(3).getData().get(0));
+
+      final Column name = exporter.getColumn(4);
+      assertEquals("a", utf8(name, 0));
+      assertEquals(1, name.getOffsets().getInt(8));
+      assertEquals(1, name.getData().remaining());
+
+      final Column data = exporter.getColumn(5);
+      assertEquals(2, data.getData().remaining());
+      assertEquals(2, data.getData().get(1));
+
+      assertEquals(1, exporter.getColumn(6).getData().getInt(0));
+      assertEquals(1500000000123456L, exporter.getColumn(7).getData().getLong(0));
+
+      assertEquals(1, exporter.next());
+      assertEquals(3, id.getData().getInt(0));
+      assertEquals(0, id.getNullCount());
+      assertEquals(0x00, exporter.getColumn(3).getData().get(0));
+      assertEquals(wide, utf8(name, 0));
+      assertEquals(wide.getBytes(StandardCharsets.UTF_8).length, name.getData().remaining());
+      assertEquals(10957, exporter.getColumn(6).getData().getInt(0));
+      assertFalse(data.isNull(0));
+      assertEquals(0, data.getData().remaining());
+
+      assertEquals(0, exporter.next());
+      assertEquals(0, exporter.next());
+    }
+
+    assertTrue(resultSet.isClosed());
+  }
+
+  @Test
+  public void testGrow() throws SQLException {
+    final StringBuilder b = new StringBuilder();
+    for (int i = 0; i < 1000; ++i)
+      b.append((char)('a' + i % 26));
+
+    final String string = b.toString();
+    final Object[][] rows = new Object[10][];
+    for (int i = 0; i < rows.length; ++i)
+      rows[i] = new Object[] {string + i};
+
+    try (final DirectColumnarExporter exporter = new DirectColumnarExporter(new ArrayResultSet(new String[] {"s"}, new int[] {Types.VARCHAR}, rows), 4)) {
+      final Column column = exporter.getColumn(1);
+      for (int i = 0; exporter.next() > 0;)
+        for (int j = 0; j < exporter.getRowCount(); ++j, ++i)
+          assertEquals(string + i, utf8(column, j));
+    }
+  }
+
+  @Test
+  public void testIllegalArgument() throws SQLException {
+    try {
+      new DirectColumnarExporter(new ArrayResultSet(labels, types), 0);
+      fail("Expected IllegalArgumentException");
+    }
+    catch (final IllegalArgumentException e) {
+      assertEquals("batchSize (0) must be positive", e.getMessage());
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,84 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import static org.junit.Assert.*;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import org.junit.Test;
+
+public class LabelResolvingResultSetTest {
+  private static final String[] labels = {"id", "Name", "ID", "value"};
+  private static final int[] types = {Types.INTEGER, Types.VARCHAR, Types.INTEGER, Types.VARCHAR};
+
+  private static ResultSet newResultSet() {
+    return new LabelResolvingResultSet(new ArrayResultSet(labels, types, new Object[] {1, "a", 2, "x"}) {
+      @Override
+      public Object getObject(final String columnLabel) {
+        throw new AssertionError("Column label was not resolved: " + columnLabel);
+      }
+
+      @Override
+      public int findColumn(final String columnLabel) {
+        throw new AssertionError("Column label was not resolved: " + columnLabel);
+      }
+    });
+  }
+
+  @Test
+  public void testFindColumn() throws SQLException {
+    final ResultSet resultSet = newResultSet();
+    assertEquals(1, resultSet.findColumn("id"));
+    assertEquals(1, resultSet.findColumn("ID"));
+    assertEquals(1, resultSet.findColumn("Id"));
+    assertEquals(2, resultSet.findColumn("name"));
+    assertEquals(2, resultSet.findColumn("Name"));
+    assertEquals(4, resultSet.findColumn("VALUE"));
+  }
+
+  @Test
+  public void testGetObject() throws SQLException {
+    final ResultSet resultSet = newResultSet();
+    assertTrue(resultSet.next());
+    assertEquals(1, resultSet.getObject("ID"));
+    assertEquals("a", resultSet.getObject("NAME"));
+    assertEquals("x", resultSet.getObject("value"));
+  }
+
+  @Test
+  public void testInvalidLabel() {
+    try {
+      newResultSet().findColumn("missing");
+      fail("Expected SQLException");
+    }
+    catch (final SQLException e) {
+      assertEquals("42S22", e.getSQLState());
+    }
+  }
+
+  @Test
+  public void testShared() throws SQLException {
+    final ColumnLabels columnLabels = ColumnLabels.of(new ArrayResultSet(labels, types).getMetaData());
+    assertSame(columnLabels, ColumnLabels.of(new ArrayResultSet(labels.clone(), types).getMetaData()));
+    assertNotSame(columnLabels, ColumnLabels.of(new ArrayResultSet(new String[] {"id"}, types).getMetaData()));
+    assertEquals(4, columnLabels.size());
+    assertEquals(0, columnLabels.indexOf("missing"));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,141 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+
+package org.libj.sql;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * Mock implementation of {@link ResultSetMetaData}.
+ */
+public class MockResultSetMetaData implements ResultSetMetaData {
+  @Override
+  public <T> T unwrap(final Class<T> iface) throws SQLException {
+    return null;
+  }
+
+  @Override
+  public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+    return false;
+  }
+
+  @Override
+  public int getColumnCount() throws SQLException {
+    return 0;
+  }
+
+  @Override
+  public boolean isAutoIncrement(final int column) throws SQLException {
+    return false;
+  }
+
+  @Override
+  public boolean isCaseSensitive(final int column) throws SQLException {
+    return false;
+  }
+
+  @Override
+  public boolean isSearchable(final int column) throws SQLException {
+    return false;
+  }
+
+  @Override
+  public boolean isCurrency(final int column) throws SQLException {
+    return false;
+  }
+
+  @Override
+  public int isNullable(final int column) throws SQLException {
+    return 0;
+  }
+
+  @Override
+  public boolean isSigned(final int column) throws SQLException {
+    return false;
+  }
+
+  @Override
+  public int getColumnDisplaySize(final int column) throws SQLException {
+    return 0;
+  }
+
+  @Override
+  public String getColumnLabel(final int column) throws SQLException {
+    return null;
+  }
+
+  @Override
+  public String getColumnName(final int column) throws SQLException {
+    return null;
+  }
+
+  @Override
+  public String getSchemaName(final int column) throws SQLException {
+    return null;
+  }
+
+  @Override
+  public int getPrecision(final int column) throws SQLException {
+    return 0;
+  }
+
+  @Override
+  public int getScale(final int column) throws SQLException {
+    return 0;
+  }
+
+  @Override
+  public String getTableName(final int column) throws SQLException {
+    return null;
+  }
+
+  @Override
+  public String getCatalogName(final int column) throws SQLException {
+    return null;
+  }
+
+  @Override
+  public int getColumnType(final int column) throws SQLException {
+    return 0;
+  }
+
+  @Override
+  public String getColumnTypeName(final int column) throws SQLException {
+    return null;
+  }
+
+  @Override
+  public boolean isReadOnly(final int column) throws SQLException {
+    return false;
+  }
+
+  @Override
+  public boolean isWritable(final int column) throws SQLException {
+    return false;
+  }
+
+  @Override
+  public boolean isDefinitelyWritable(final int column) throws SQLException {
+    return false;
+  }
+
+  @Override
+  public String getColumnClassName(final int column) throws SQLException {
+    return null;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+
+package org.libj.sql;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+public class PrefetchingResultSetTest {
+  private static ArrayResultSet newResultSet(final int size) {
+    final Object[][] rows = new Object[size][];
+    for (int i = 0; i < size; ++i)
+      rows[i] = new Object[] {i, i % 2 == 0 ? null : "v" + i};
+
+    return new ArrayResultSet(new String[] {"id", "value"}, new int[] {Types.INTEGER, Types.VARCHAR}, rows);
+  }
+
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+
+  @Test
+  public void testPrefetch() throws SQLException {
+    final ArrayResultSet target = newResultSet(100);
+    try (final ResultSet resultSet = new PrefetchingResultSet(target, 4, executor)) {
+      assertTrue(resultSet.isBeforeFirst());
+      for (int i = 0; i < 100; ++i) {
+        assertTrue(resultSet.next());
+        assertEquals(i + 1, resultSet.getRow());
+        assertEquals(i, resultSet.getInt("ID"));
+        assertEquals(String.valueOf(i), resultSet.getString(1));
+        assertEquals(BigDecimal.valueOf(i), resultSet.getBigDecimal("id"));
+        assertEquals(i % 2 == 0 ? null : "v" + i, resultSet.getString("value"));
+        assertEquals(i % 2 == 0, resultSet.wasNull());
+      }
+
+      assertFalse(resultSet.next());
+      assertTrue(resultSet.isAfterLast());
+      assertEquals("value", resultSet.getMetaData().getColumnLabel(2));
+    }
+
+    assertTrue(target.isClosed());
+  }
+
+  @Test
+  public void testException() throws SQLException {
+    final ArrayResultSet target = newResultSet(10);
+    target.setFailAt(5);
+    try (final ResultSet resultSet = new PrefetchingResultSet(target, 2, executor)) {
+      for (int i = 0; i < 5; ++i)
+        assertTrue(resultSet.next());
+
+      try {
+        resultSet.next();
+        fail("Expected SQLException");
+      }
+      catch (final SQLException e) {
+        assertEquals("08S01", e.getSQLState());
+      }
+    }
+  }
+
+  @Test
+  public void testClose() throws SQLException {
+    final ArrayResultSet target = newResultSet(1000);
+    final ResultSet resultSet = new PrefetchingResultSet(target, 2, executor);
+    assertTrue(resultSet.next());
+    resultSet.close();
+    assertTrue(resultSet.isClosed());
+    assertTrue(target.isClosed());
+    try {
+      resultSet.next();
+      fail("Expected SQLException");
+    }
+    catch (final SQLException e) {
+      assertEquals("24000", e.getSQLState());
+    }
+  }
+
+  @Test
+  public void testCloseInterrupted() throws SQLException {
+    final ArrayResultSet target = newResultSet(10);
+    // The prefetch never runs, so close() waits for it until it is interrupted
+    final ResultSet resultSet = new PrefetchingResultSet(target, 2, (final Runnable r) -> {});
+    Thread.currentThread().interrupt();
+    try {
+      resultSet.close();
+      fail("Expected SQLException");
+    }
+    catch (final SQLException e) {
+      assertTrue(e.getCause() instanceof InterruptedException);
+    }
+    finally {
+      assertTrue(Thread.interrupted());
+    }
+
+    assertTrue(resultSet.isClosed());
+    assertTrue(target.isClosed());
+  }
+}
\ No newline at end of file
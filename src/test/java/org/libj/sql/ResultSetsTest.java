@@ -0,0 +1,92 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+
+package org.libj.sql;
+
+import static org.junit.Assert.*;
+
+import java.sql.Types;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+import org.libj.sql.exception.UncheckedSQLException;
+
+public class ResultSetsTest {
+  private static ArrayResultSet newResultSet(final int size) {
+    final Object[][] rows = new Object[size][];
+    for (int i = 0; i < size; ++i)
+      rows[i] = new Object[] {i};
+
+    return new ArrayResultSet(new String[] {"id"}, new int[] {Types.INTEGER}, rows);
+  }
+
+  private static final RowMapper<Integer> mapper = r -> (Integer)r.getObject(1);
+
+  @Test
+  public void testStream() {
+    final ArrayResultSet resultSet = newResultSet(100);
+    try (final Stream<Integer> stream = ResultSets.stream(resultSet, mapper)) {
+      final List<Integer> list = stream.collect(Collectors.toList());
+      assertEquals(100, list.size());
+      for (int i = 0; i < 100; ++i)
+        assertEquals(Integer.valueOf(i), list.get(i));
+    }
+
+    assertTrue(resultSet.isClosed());
+  }
+
+  @Test
+  public void testParallel() {
+    final ArrayResultSet resultSet = newResultSet(10000);
+    try (final Stream<Integer> stream = ResultSets.stream(resultSet, mapper, 100)) {
+      final List<Integer> list = stream.parallel().map(i -> i * 2).collect(Collectors.toList());
+      assertEquals(10000, list.size());
+      for (int i = 0; i < 10000; ++i)
+        assertEquals(Integer.valueOf(i * 2), list.get(i));
+    }
+  }
+
+  @Test
+  public void testException() {
+    final ArrayResultSet resultSet = newResultSet(10);
+    resultSet.setFailAt(5);
+    try (final Stream<Integer> stream = ResultSets.stream(resultSet, mapper)) {
+      stream.forEach(i -> assertTrue(i < 5));
+      fail("Expected UncheckedSQLException");
+    }
+    catch (final UncheckedSQLException e) {
+      assertEquals("08S01", e.getCause().getSQLState());
+    }
+  }
+
+  @Test
+  public void testIllegalArgument() {
+    try {
+      ResultSets.stream(newResultSet(0), mapper, 0);
+      fail("Expected IllegalArgumentException");
+    }
+    catch (final IllegalArgumentException e) {
+    }
+  }
+
+  @Test
+  public void testEmpty() {
+    assertEquals(0, ResultSets.stream(newResultSet(0), mapper).parallel().count());
+  }
+}
\ No newline at end of file
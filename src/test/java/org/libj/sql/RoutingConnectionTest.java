@@ -0,0 +1,205 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import static org.junit.Assert.*;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+
+import org.junit.Test;
+
+public class RoutingConnectionTest {
+  private static final class NamedConnection extends MockConnection {
+    private final String name;
+    private boolean autoCommit = true;
+    private String schema = "public";
+
+    private NamedConnection(final String name) {
+      this.name = name;
+    }
+
+    @Override
+    public boolean getAutoCommit() {
+      return autoCommit;
+    }
+
+    @Override
+    public void setAutoCommit(final boolean autoCommit) {
+      this.autoCommit = autoCommit;
+    }
+
+    @Override
+    public String getSchema() {
+      return schema;
+    }
+
+    @Override
+    public void setSchema(final String schema) {
+      this.schema = schema;
+    }
+
+    @Override
+    public Statement createStatement() {
+      return new MockStatement() {
+        @Override
+        public String toString() {
+          return name;
+        }
+      };
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(final String sql) {
+      final String schema = this.schema;
+      return new MockPreparedStatement() {
+        private String parameter;
+
+        @Override
+        public void setString(final int parameterIndex, final String x) {
+          parameter = x;
+        }
+
+        @Override
+        public ResultSet executeQuery() throws SQLException {
+          if (sql.contains("nextval") && name.startsWith("replica"))
+            throw new SQLException("cannot execute nextval() in a read-only transaction", "25006");
+
+          return new ArrayResultSet(new String[] {"schema", "parameter"}, new int[] {Types.VARCHAR, Types.VARCHAR}, new Object[] {schema, parameter});
+        }
+
+        @Override
+        public String toString() {
+          return name;
+        }
+      };
+    }
+  }
+
+  @Test
+  public void testIsQuery() {
+    assertTrue(RoutingConnection.isQuery("SELECT * FROM foo WHERE a = 'update'"));
+    assertTrue(RoutingConnection.isQuery("/* insert */ select \"delete\" from foo"));
+    assertTrue(RoutingConnection.isQuery("WITH x AS (SELECT 1) SELECT * FROM x"));
+    assertFalse(RoutingConnection.isQuery("SELECT * FROM foo FOR UPDATE"));
+    assertFalse(RoutingConnection.isQuery("SELECT * FROM foo FOR SHARE"));
+    assertFalse(RoutingConnection.isQuery("SELECT * INTO bar FROM foo"));
+    assertFalse(RoutingConnection.isQuery("WITH x AS (DELETE FROM foo RETURNING *) SELECT * FROM x"));
+    assertFalse(RoutingConnection.isQuery("UPDATE foo SET a = 1"));
+    assertFalse(RoutingConnection.isQuery("INSERT INTO foo SELECT * FROM bar"));
+  }
+
+  @Test
+  public void testRouting() throws SQLException {
+    final RoutingConnection connection = new RoutingConnection(new NamedConnection("primary"), new NamedConnection("replica0"), new NamedConnection("replica1"));
+    assertEquals("primary", connection.prepareStatement("UPDATE foo SET a = ?").toString());
+    assertEquals("primary", connection.createStatement().toString());
+
+    final PreparedStatement first = connection.prepareStatement("SELECT * FROM foo");
+    final PreparedStatement second = connection.prepareStatement("SELECT * FROM foo");
+    assertNotEquals(first.toString(), second.toString());
+    assertSame(connection, first.getConnection());
+    assertEquals(1, connection.getOutstanding(0));
+    assertEquals(1, connection.getOutstanding(1));
+    assertEquals(2, connection.getOutstanding(2));
+
+    first.close();
+    first.close();
+    assertEquals(first.toString(), connection.prepareStatement("SELECT * FROM bar").toString());
+
+    connection.setReadOnly(true);
+    assertTrue(connection.createStatement().toString().startsWith("replica"));
+
+    connection.setAutoCommit(false);
+    assertEquals("primary", connection.prepareStatement("SELECT * FROM foo").toString());
+  }
+
+  @Test
+  public void testSessionState() throws SQLException {
+    final NamedConnection primary = new NamedConnection("primary");
+    final NamedConnection replica0 = new NamedConnection("replica0");
+    final NamedConnection replica1 = new NamedConnection("replica1");
+    final RoutingConnection connection = new RoutingConnection(primary, replica0, replica1);
+    connection.setSchema("reporting");
+    assertEquals("reporting", primary.schema);
+    assertEquals("public", replica0.schema);
+    assertEquals("public", replica1.schema);
+
+    for (int i = 0; i < 2; ++i) {
+      final PreparedStatement statement = connection.prepareStatement("SELECT current_schema");
+      assertTrue(statement.toString().startsWith("replica"));
+      try (final ResultSet resultSet = statement.executeQuery()) {
+        assertTrue(resultSet.next());
+        assertEquals("reporting", resultSet.getString(1));
+      }
+    }
+
+    assertEquals("reporting", replica0.schema);
+    assertEquals("reporting", replica1.schema);
+
+    // A replica is not updated again until the state is modified
+    replica0.schema = "public";
+    connection.prepareStatement("SELECT 1").close();
+    connection.prepareStatement("SELECT 1").close();
+    assertEquals("public", replica0.schema);
+
+    connection.setSchema(null);
+    connection.prepareStatement("SELECT 1").close();
+    connection.prepareStatement("SELECT 1").close();
+    assertNull(replica0.schema);
+    assertNull(replica1.schema);
+  }
+
+  @Test
+  public void testReroute() throws SQLException {
+    final RoutingConnection connection = new RoutingConnection(new NamedConnection("primary"), new NamedConnection("replica0"));
+    final PreparedStatement statement = connection.prepareStatement("SELECT * FROM foo WHERE a = ?");
+    assertEquals("replica0", statement.toString());
+    statement.setString(1, "a");
+
+    connection.setAutoCommit(false);
+    try (final ResultSet resultSet = statement.executeQuery()) {
+      assertTrue(resultSet.next());
+      assertEquals("a", resultSet.getString(2));
+    }
+
+    assertEquals("primary", statement.toString());
+    assertEquals(0, connection.getOutstanding(0));
+    assertEquals(1, connection.getOutstanding(1));
+
+    connection.setAutoCommit(true);
+    final PreparedStatement nextval = connection.prepareStatement("SELECT nextval('s')");
+    assertEquals("replica0", nextval.toString());
+    try (final ResultSet resultSet = nextval.executeQuery()) {
+      assertTrue(resultSet.next());
+    }
+
+    assertEquals("primary", nextval.toString());
+    assertEquals(0, connection.getOutstanding(0));
+    assertEquals(2, connection.getOutstanding(1));
+
+    connection.setReadOnly(true);
+    final Statement readOnly = connection.createStatement();
+    assertEquals("replica0", readOnly.toString());
+    connection.setReadOnly(false);
+    readOnly.executeUpdate("UPDATE foo SET a = 1");
+    assertEquals("primary", readOnly.toString());
+  }
+}
\ No newline at end of file
@@ -0,0 +1,104 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+
+package org.libj.sql;
+
+import static org.junit.Assert.*;
+
+import java.beans.ConstructorProperties;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import org.junit.Test;
+
+public class RowMappersTest {
+  public enum Status {
+    ACTIVE,
+    INACTIVE
+  }
+
+  public static class Base {
+    long id;
+  }
+
+  public static class Bean extends Base {
+    private String firstName;
+    private Integer age;
+    private double score;
+    private Status status;
+    private transient String ignored;
+  }
+
+  public static final class Value {
+    private final long id;
+    private final String firstName;
+    private final int age;
+
+    @ConstructorProperties({"id", "firstName", "age"})
+    public Value(final long id, final String firstName, final int age) {
+      this.id = id;
+      this.firstName = firstName;
+      this.age = age;
+    }
+  }
+
+  private static ResultSet newResultSet() throws SQLException {
+    return new ColumnarResultSet(new ArrayResultSet(new String[] {"ID", "FIRST_NAME", "age", "Score", "status", "extra"}, new int[] {Types.BIGINT, Types.VARCHAR, Types.INTEGER, Types.DOUBLE, Types.VARCHAR, Types.VARCHAR},
+      new Object[] {1L, "Ann", 30, 1.5, "ACTIVE", "x"},
+      new Object[] {2L, "Bob", null, 2.5, null, "y"}));
+  }
+
+  @Test
+  public void testFields() throws SQLException {
+    try (final ResultSet resultSet = newResultSet()) {
+      final RowMapper<Bean> mapper = RowMappers.of(Bean.class, resultSet);
+      assertSame(mapper, RowMappers.of(Bean.class, resultSet.getMetaData()));
+
+      assertTrue(resultSet.next());
+      Bean bean = mapper.map(resultSet);
+      assertEquals(1, bean.id);
+      assertEquals("Ann", bean.firstName);
+      assertEquals(Integer.valueOf(30), bean.age);
+      assertEquals(1.5, bean.score, 0);
+      assertEquals(Status.ACTIVE, bean.status);
+      assertNull(bean.ignored);
+
+      assertTrue(resultSet.next());
+      bean = mapper.map(resultSet);
+      assertEquals(2, bean.id);
+      assertNull(bean.age);
+      assertNull(bean.status);
+    }
+  }
+
+  @Test
+  public void testConstructor() throws SQLException {
+    try (final ResultSet resultSet = newResultSet()) {
+      final RowMapper<Value> mapper = RowMappers.of(Value.class, resultSet);
+      assertTrue(resultSet.next());
+      Value value = mapper.map(resultSet);
+      assertEquals(1, value.id);
+      assertEquals("Ann", value.firstName);
+      assertEquals(30, value.age);
+
+      assertTrue(resultSet.next());
+      value = mapper.map(resultSet);
+      assertEquals(0, value.age);
+    }
+  }
+}
\ No newline at end of file
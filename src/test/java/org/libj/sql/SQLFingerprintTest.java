@@ -0,0 +1,68 @@
+/* Copyright (c) 2017 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class SQLFingerprintTest {
+  private static void assertFingerprint(final String expected, final String sql) {
+    assertEquals(expected, SQLFingerprint.normalize(sql));
+  }
+
+  @Test
+  public void testLiterals() {
+    assertFingerprint("select * from foo where a = ? and b = ? and c = ?", "SELECT * FROM foo WHERE a = 'x' AND b = 42 AND c = -1");
+    assertFingerprint("select * from foo where a = ? and b = ?", "SELECT * FROM foo WHERE a = 'it''s \\'quoted\\'' AND b = 1.5e-3");
+    assertFingerprint("select ?, ?, ?, ?", "SELECT N'x', X'0A', 0x1F, .5");
+    assertFingerprint("select a1, t2.c3 from t2", "SELECT a1, t2.c3 FROM t2");
+    assertFingerprint("select * from foo where a = ? and b = ? and c::int = ?", "SELECT * FROM foo WHERE a = :a AND b = $1 AND c::int = ?");
+    assertFingerprint("select * from foo where a = ? and b = ?", "SELECT * FROM foo WHERE a = :\"my name\" AND b = ':c'");
+  }
+
+  @Test
+  public void testQuotedIdentifiers() {
+    assertFingerprint("select \"Foo\", `Bar` from \"My \"\"Table\"\"\"", "SELECT \"Foo\", `Bar` FROM \"My \"\"Table\"\"\"");
+  }
+
+  @Test
+  public void testWhitespaceAndComments() {
+    assertFingerprint("select a, b from foo where c = ?", "  SELECT a ,b\n\tFROM /* comment */ foo -- comment\n WHERE c = 1  ");
+    assertFingerprint("select count(*) from foo", "SELECT COUNT( * ) FROM foo");
+  }
+
+  @Test
+  public void testFolding() {
+    assertFingerprint("select * from foo where a in (?+)", "SELECT * FROM foo WHERE a IN (1, 2, 3)");
+    assertFingerprint("select * from foo where a in (?+)", "SELECT * FROM foo WHERE a in ('x')");
+    assertFingerprint("select * from foo where a in (?+) and b not in(?+)", "SELECT * FROM foo WHERE a IN (?,?) AND b NOT IN(:x, :y)");
+    assertFingerprint("insert into foo (a, b) values (?, ?)", "INSERT INTO foo (a, b) VALUES (1, 'a'), (2, 'b'), (3, 'c')");
+    assertFingerprint("insert into foo (a, b) values (?, ?), (?, ?, ?)", "INSERT INTO foo (a, b) VALUES (1, 'a'), (2, 'b'), (3, 'c', 4)");
+    assertFingerprint("select min(?, ?)", "SELECT MIN(1, 2)");
+  }
+
+  @Test
+  public void testOf() {
+    final SQLFingerprint fingerprint = SQLFingerprint.of("SELECT * FROM foo WHERE a = 1");
+    assertSame(fingerprint, SQLFingerprint.of("SELECT * FROM foo WHERE a = 1"));
+    assertEquals(fingerprint, SQLFingerprint.of("select *\nfrom foo\nwhere a = 2"));
+    assertEquals(fingerprint.getHash(), SQLFingerprint.of("select *\nfrom foo\nwhere a = 2").getHash());
+    assertNotEquals(fingerprint.getHash(), SQLFingerprint.of("SELECT * FROM bar WHERE a = 1").getHash());
+    assertEquals("select * from foo where a = ?", fingerprint.toString());
+  }
+}
\ No newline at end of file
@@ -0,0 +1,129 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.UUID;
+
+import org.junit.Test;
+
+public class SpillingResultSetTest {
+  private static final String[] labels = {"id", "name", "amount", "score", "data", "at", "flag", "uuid"};
+  private static final int[] types = {Types.BIGINT, Types.VARCHAR, Types.DECIMAL, Types.DOUBLE, Types.VARBINARY, Types.TIMESTAMP, Types.BOOLEAN, Types.OTHER};
+
+  private static Object[] row(final int i) {
+    if (i % 7 == 3)
+      return new Object[] {(long)i - 500, null, null, null, null, null, null, null};
+
+    final Timestamp timestamp = new Timestamp(1500000000000L + i * 1000L);
+    timestamp.setNanos(i);
+    return new Object[] {(long)i - 500, "name" + i + "\u00e9", new BigDecimal(i).movePointLeft(2), i / 3.0, new byte[] {(byte)i, 1}, timestamp, i % 2 == 0, new UUID(i, -i)};
+  }
+
+  private static ArrayResultSet newResultSet(final int size) {
+    final Object[][] rows = new Object[size][];
+    for (int i = 0; i < size; ++i)
+      rows[i] = row(i);
+
+    return new ArrayResultSet(labels, types, rows);
+  }
+
+  private static void assertRow(final int i, final SpillingResultSet resultSet) throws SQLException {
+    final Object[] expected = row(i);
+    assertEquals(i + 1, resultSet.getRow());
+    for (int c = 0; c < expected.length; ++c) {
+      final Object actual = resultSet.getObject(c + 1);
+      if (expected[c] instanceof byte[])
+        assertArrayEquals((byte[])expected[c], (byte[])actual);
+      else
+        assertEquals(expected[c], actual);
+    }
+
+    assertEquals(i - 500, resultSet.getLong("ID"));
+  }
+
+  @Test
+  public void testInMemory() throws SQLException {
+    final ArrayResultSet source = newResultSet(100);
+    try (final SpillingResultSet resultSet = new SpillingResultSet(source)) {
+      assertTrue(source.isClosed());
+      assertFalse(resultSet.isSpilled());
+      assertEquals(0, resultSet.getSpillSize());
+      assertEquals(100, resultSet.getSize());
+      for (int i = 0; resultSet.next(); ++i)
+        assertRow(i, resultSet);
+    }
+  }
+
+  @Test
+  public void testSpill() throws SQLException {
+    final ArrayResultSet source = newResultSet(1000);
+    try (final SpillingResultSet resultSet = new SpillingResultSet(source, 1024)) {
+      assertTrue(source.isClosed());
+      assertTrue(resultSet.isSpilled());
+      assertTrue(resultSet.getSpillSize() > 0);
+      assertEquals(1000, resultSet.getSize());
+      for (int i = 0; resultSet.next(); ++i)
+        assertRow(i, resultSet);
+
+      assertTrue(resultSet.absolute(500));
+      assertRow(499, resultSet);
+      assertTrue(resultSet.relative(-495));
+      assertRow(4, resultSet);
+      assertTrue(resultSet.absolute(-1));
+      assertRow(999, resultSet);
+      assertTrue(resultSet.previous());
+      assertRow(998, resultSet);
+      assertFalse(resultSet.relative(10));
+      assertTrue(resultSet.isAfterLast());
+      assertTrue(resultSet.first());
+      assertRow(0, resultSet);
+    }
+  }
+
+  @Test
+  public void testSpillAll() throws SQLException {
+    try (final SpillingResultSet resultSet = new SpillingResultSet(newResultSet(10), 0)) {
+      assertTrue(resultSet.isSpilled());
+      assertTrue(resultSet.last());
+      assertRow(9, resultSet);
+      assertTrue(resultSet.absolute(4));
+      assertRow(3, resultSet);
+      assertNull(resultSet.getString(2));
+      assertTrue(resultSet.wasNull());
+    }
+  }
+
+  @Test
+  public void testClose() throws SQLException {
+    final SpillingResultSet resultSet = new SpillingResultSet(newResultSet(10), 0);
+    resultSet.close();
+    assertTrue(resultSet.isClosed());
+    try {
+      resultSet.first();
+      fail("Expected SQLException");
+    }
+    catch (final SQLException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains("closed"));
+    }
+  }
+}
\ No newline at end of file
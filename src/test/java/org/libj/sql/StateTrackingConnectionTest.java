@@ -0,0 +1,137 @@
+/* Copyright (c) 2024 LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.sql;
+
+import static org.junit.Assert.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.junit.Test;
+
+public class StateTrackingConnectionTest {
+  private static final class PhysicalConnection extends MockConnection {
+    private int calls;
+    private boolean fail;
+    private boolean autoCommit = true;
+    private int transactionIsolation = Connection.TRANSACTION_READ_COMMITTED;
+    private String schema = "public";
+
+    @Override
+    public void setAutoCommit(final boolean autoCommit) throws SQLException {
+      ++calls;
+      if (fail)
+        throw new SQLException("connection reset", "08006");
+
+      this.autoCommit = autoCommit;
+    }
+
+    @Override
+    public boolean getAutoCommit() {
+      ++calls;
+      return autoCommit;
+    }
+
+    @Override
+    public void setTransactionIsolation(final int level) {
+      ++calls;
+      transactionIsolation = level;
+    }
+
+    @Override
+    public int getTransactionIsolation() {
+      ++calls;
+      return transactionIsolation;
+    }
+
+    @Override
+    public void setSchema(final String schema) {
+      ++calls;
+      this.schema = schema;
+    }
+
+    @Override
+    public String getSchema() {
+      ++calls;
+      return schema;
+    }
+  }
+
+  @Test
+  public void testElision() throws SQLException {
+    final PhysicalConnection target = new PhysicalConnection();
+    final StateTrackingConnection connection = new StateTrackingConnection(target);
+
+    assertTrue(connection.getAutoCommit());
+    connection.setAutoCommit(true);
+    assertEquals(1, target.calls);
+
+    connection.setAutoCommit(false);
+    connection.setAutoCommit(false);
+    assertFalse(connection.getAutoCommit());
+    assertEquals(2, target.calls);
+
+    connection.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+    connection.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+    assertEquals(Connection.TRANSACTION_READ_COMMITTED, connection.getTransactionIsolation());
+    assertEquals(3, target.calls);
+
+    assertEquals("public", connection.getSchema());
+    connection.setSchema("public");
+    connection.setSchema(null);
+    connection.setSchema(null);
+    assertNull(connection.getSchema());
+    assertEquals(5, target.calls);
+    assertEquals(8, connection.getElided());
+
+    target.fail = true;
+    try {
+      connection.setAutoCommit(true);
+      fail("Expected SQLException");
+    }
+    catch (final SQLException e) {
+    }
+
+    target.fail = false;
+    connection.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+    assertFalse(connection.getAutoCommit());
+    assertEquals(8, target.calls);
+
+    // A rollback does not revert the tracked values, unless the connection is created with rollbackRevertsState=true
+    connection.rollback();
+    assertFalse(connection.getAutoCommit());
+    assertEquals(Connection.TRANSACTION_READ_COMMITTED, connection.getTransactionIsolation());
+    assertEquals(8, target.calls);
+  }
+
+  @Test
+  public void testRollbackRevertsState() throws SQLException {
+    final PhysicalConnection target = new PhysicalConnection();
+    final StateTrackingConnection connection = new StateTrackingConnection(target, true);
+    connection.setAutoCommit(false);
+    connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+    connection.rollback();
+    assertFalse(connection.getAutoCommit());
+    assertEquals(2, target.calls);
+    assertEquals(Connection.TRANSACTION_SERIALIZABLE, connection.getTransactionIsolation());
+    assertEquals(3, target.calls);
+
+    connection.close();
+    assertFalse(connection.getAutoCommit());
+    assertEquals(4, target.calls);
+  }
+}
\ No newline at end of file